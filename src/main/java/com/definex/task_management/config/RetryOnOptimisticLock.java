@@ -0,0 +1,28 @@
+package com.definex.task_management.config;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs an idempotent, server-side mutation in a fresh transaction when it loses an
+ * optimistic locking race. Must only be placed on methods whose effect does not depend
+ * on client-supplied versions.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = ObjectOptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${app.retry.optimistic-lock.max-attempts:3}",
+        backoff = @Backoff(
+                delayExpression = "${app.retry.optimistic-lock.initial-delay-ms:50}",
+                multiplier = 2))
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,38 @@
+package com.definex.task_management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+    public static final String ATTACHMENT_MAINTENANCE_SCHEDULER = "attachmentMaintenanceScheduler";
+
+    /**
+     * Default scheduler for the short periodic jobs, sized by {@code spring.task.scheduling.*}.
+     * Declared explicitly because any other scheduler bean switches off Boot's auto-configured one.
+     */
+    @Bean(name = "taskScheduler")
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Runs the paced attachment garbage collection and layout migration passes, which can take
+     * hours on a large store, so they never hold up the health sampler or stats jobs.
+     */
+    @Bean(name = ATTACHMENT_MAINTENANCE_SCHEDULER)
+    public ThreadPoolTaskScheduler attachmentMaintenanceScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("attachment-maintenance-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
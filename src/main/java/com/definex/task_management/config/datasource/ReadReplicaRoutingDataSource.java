@@ -0,0 +1,137 @@
+package com.definex.task_management.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy replica and everything else to the
+ * primary. A user who committed a write within the read-your-writes window keeps
+ * reading from the primary. The lookup key is resolved when the first statement
+ * runs, so this must sit behind a {@code LazyConnectionDataSourceProxy}.
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaNames;
+    private final ReplicaLagMonitor lagMonitor;
+    private final RecentWriteTracker writeTracker;
+    private final List<DataSource> pools = new ArrayList<>();
+    private final Map<String, Counter> routeCounters = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReadReplicaRoutingDataSource(DataSource primary,
+                                        Map<String, DataSource> replicas,
+                                        ReplicaLagMonitor lagMonitor,
+                                        RecentWriteTracker writeTracker,
+                                        MeterRegistry meterRegistry) {
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.lagMonitor = lagMonitor;
+        this.writeTracker = writeTracker;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        pools.add(primary);
+        pools.addAll(replicas.values());
+        if (meterRegistry != null) {
+            targets.keySet().forEach(route -> routeCounters.put((String) route,
+                    Counter.builder("app.datasource.routing")
+                            .tag("route", (String) route)
+                            .register(meterRegistry)));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWriteOnCommit(user);
+            return route(PRIMARY);
+        }
+        if (user != null && writeTracker.hasRecentWrite(user)) {
+            return route(PRIMARY);
+        }
+        String replica = nextHealthyReplica();
+        return route(replica != null ? replica : PRIMARY);
+    }
+
+    private String nextHealthyReplica() {
+        int size = replicaNames.size();
+        if (size == 0) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String candidate = replicaNames.get((start + i) % size);
+            if (lagMonitor.isHealthy(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void trackWriteOnCommit(String user) {
+        if (user == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeTracker.recordWrite(user);
+            }
+        });
+    }
+
+    private String route(String route) {
+        Counter counter = routeCounters.get(route);
+        if (counter != null) {
+            counter.increment();
+        }
+        return route;
+    }
+
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null
+                || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() {
+        lagMonitor.close();
+        for (DataSource pool : pools) {
+            if (pool instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close data source pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.definex.task_management.config.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each user last committed a write so their reads can stay on the
+ * primary until the replicas have had time to catch up.
+ */
+public class RecentWriteTracker {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final Clock clock;
+
+    public RecentWriteTracker(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    public void recordWrite(String user) {
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            purgeExpired();
+        }
+        lastWrites.put(user, clock.millis());
+    }
+
+    public boolean hasRecentWrite(String user) {
+        Long writtenAt = lastWrites.get(user);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.millis() - writtenAt < windowMillis) {
+            return true;
+        }
+        lastWrites.remove(user, writtenAt);
+        return false;
+    }
+
+    public void purgeExpired() {
+        long cutoff = clock.millis() - windowMillis;
+        lastWrites.values().removeIf(writtenAt -> writtenAt <= cutoff);
+    }
+}
@@ -0,0 +1,100 @@
+package com.definex.task_management.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Polls every replica for its replay lag and keeps the set of replicas that are
+ * close enough to the primary to serve reads. A replica starts out of rotation
+ * and only joins once a lag check has passed.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    static final String LAG_QUERY = "SELECT CAST(CASE " +
+            "WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) " +
+            "END AS bigint)";
+
+    private static final long UNKNOWN_LAG = -1;
+
+    private final Map<String, JdbcTemplate> replicas = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final long maxLagMillis;
+    private ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.maxLagMillis = maxLag.toMillis();
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.put(name, new JdbcTemplate(dataSource));
+            AtomicLong lag = new AtomicLong(UNKNOWN_LAG);
+            lagMillis.put(name, lag);
+            if (meterRegistry != null) {
+                Gauge.builder("app.datasource.replica.lag", lag, AtomicLong::get)
+                        .tag("replica", name)
+                        .baseUnit("milliseconds")
+                        .register(meterRegistry);
+                Gauge.builder("app.datasource.replica.healthy", healthyReplicas, set -> set.contains(name) ? 1 : 0)
+                        .tag("replica", name)
+                        .register(meterRegistry);
+            }
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isHealthy(String replica) {
+        return healthyReplicas.contains(replica);
+    }
+
+    void checkLag() {
+        replicas.forEach((name, jdbcTemplate) -> {
+            try {
+                Long lag = jdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+                recordLag(name, lag != null ? lag : UNKNOWN_LAG);
+            } catch (RuntimeException e) {
+                log.warn("Lag check failed for replica {}: {}", name, e.getMessage());
+                recordLag(name, UNKNOWN_LAG);
+            }
+        });
+    }
+
+    void recordLag(String replica, long lag) {
+        lagMillis.get(replica).set(lag);
+        if (lag != UNKNOWN_LAG && lag <= maxLagMillis) {
+            if (healthyReplicas.add(replica)) {
+                log.info("Replica {} is serving reads, lag: {} ms", replica, lag);
+            }
+        } else if (healthyReplicas.remove(replica)) {
+            log.warn("Replica {} removed from read rotation, lag: {} ms", replica, lag);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.definex.task_management.config.storage;
+
+import com.definex.task_management.service.impl.S3AttachmentStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.checksums.RequestChecksumCalculation;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.net.URI;
+
+/**
+ * Stores attachment content in an S3-compatible bucket instead of the local
+ * file storage location. Enabled with {@code app.attachments.storage=s3}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.attachments.storage", havingValue = "s3")
+@EnableConfigurationProperties(S3StorageProperties.class)
+public class S3StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public S3Client attachmentS3Client(S3StorageProperties properties) {
+        var builder = S3Client.builder()
+                .region(Region.of(properties.getRegion()))
+                .credentialsProvider(credentials(properties))
+                .serviceConfiguration(s3Configuration(properties))
+                .requestChecksumCalculation(RequestChecksumCalculation.WHEN_REQUIRED);
+        if (StringUtils.hasText(properties.getEndpoint())) {
+            builder.endpointOverride(URI.create(properties.getEndpoint()));
+        }
+        return builder.build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public S3Presigner attachmentS3Presigner(S3StorageProperties properties) {
+        var builder = S3Presigner.builder()
+                .region(Region.of(properties.getRegion()))
+                .credentialsProvider(credentials(properties))
+                .serviceConfiguration(s3Configuration(properties));
+        if (StringUtils.hasText(properties.getEndpoint())) {
+            builder.endpointOverride(URI.create(properties.getEndpoint()));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public S3AttachmentStorage s3AttachmentStorage(S3Client attachmentS3Client,
+                                                   S3Presigner attachmentS3Presigner,
+                                                   S3StorageProperties properties) {
+        if (!StringUtils.hasText(properties.getBucket())) {
+            throw new IllegalStateException("app.attachments.s3.bucket is required for S3 attachment storage");
+        }
+        log.info("Storing attachments in bucket {}", properties.getBucket());
+        return new S3AttachmentStorage(attachmentS3Client, attachmentS3Presigner,
+                properties.getBucket(), properties.getPresignTtl());
+    }
+
+    private static AwsCredentialsProvider credentials(S3StorageProperties properties) {
+        if (StringUtils.hasText(properties.getAccessKey())) {
+            return StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(properties.getAccessKey(), properties.getSecretKey()));
+        }
+        return DefaultCredentialsProvider.builder().build();
+    }
+
+    private static S3Configuration s3Configuration(S3StorageProperties properties) {
+        return S3Configuration.builder()
+                .pathStyleAccessEnabled(properties.isPathStyleAccess())
+                .build();
+    }
+}
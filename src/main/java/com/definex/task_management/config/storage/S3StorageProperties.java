@@ -0,0 +1,31 @@
+package com.definex.task_management.config.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "app.attachments.s3")
+public class S3StorageProperties {
+
+    private String bucket;
+
+    private String region = "us-east-1";
+
+    /**
+     * Endpoint of an S3-compatible service such as MinIO. Left empty for AWS.
+     */
+    private String endpoint;
+
+    private boolean pathStyleAccess;
+
+    /**
+     * Static credentials. When empty the default AWS provider chain is used.
+     */
+    private String accessKey;
+
+    private String secretKey;
+
+    private Duration presignTtl = Duration.ofMinutes(15);
+}
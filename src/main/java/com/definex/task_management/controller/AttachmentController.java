@@ -1,16 +1,26 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.AttachmentArchive;
 import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.DirectUploadRequest;
+import com.definex.task_management.dto.DirectUploadResponse;
+import com.definex.task_management.service.AttachmentArchiveService;
 import com.definex.task_management.service.AttachmentService;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,9 +30,12 @@ import java.util.UUID;
 @Slf4j
 public class AttachmentController {
     private final AttachmentService attachmentService;
+    private final AttachmentArchiveService attachmentArchiveService;
 
-    public AttachmentController(AttachmentService attachmentService) {
+    public AttachmentController(AttachmentService attachmentService,
+                                AttachmentArchiveService attachmentArchiveService) {
         this.attachmentService = attachmentService;
+        this.attachmentArchiveService = attachmentArchiveService;
     }
 
     @PostMapping
@@ -37,6 +50,35 @@ public class AttachmentController {
         return ResponseEntity.ok(attachmentService.uploadAttachment(request));
     }
 
+    @PostMapping("/task/{taskId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentResponse> streamAttachment(
+            @PathVariable UUID taskId,
+            @RequestParam(required = false) String fileName,
+            HttpServletRequest request) throws IOException {
+        log.info("Streaming attachment for task id: {}", taskId);
+        return ResponseEntity.ok(attachmentService.streamAttachment(
+                taskId, fileName, request.getContentType(), request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    @PostMapping("/task/{taskId}/direct-uploads")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<DirectUploadResponse> createDirectUpload(
+            @PathVariable UUID taskId,
+            @Valid @RequestBody DirectUploadRequest request) {
+        log.info("Creating direct upload for task id: {}", taskId);
+        return ResponseEntity.ok(attachmentService.createDirectUpload(taskId, request));
+    }
+
+    @PostMapping("/task/{taskId}/direct-uploads/complete")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentResponse> completeDirectUpload(
+            @PathVariable UUID taskId,
+            @Valid @RequestBody DirectUploadRequest request) {
+        log.info("Completing direct upload for task id: {}", taskId);
+        return ResponseEntity.ok(attachmentService.completeDirectUpload(taskId, request));
+    }
+
     @GetMapping("/{attachmentId}")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
     public ResponseEntity<AttachmentResponse> getAttachmentById(@PathVariable UUID attachmentId) {
@@ -61,11 +103,55 @@ public class AttachmentController {
 
     @GetMapping("/{attachmentId}/download")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
-    public ResponseEntity<Resource> downloadAttachment(@PathVariable UUID attachmentId) {
+    public void downloadAttachment(
+            @PathVariable UUID attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         log.info("Downloading attachment with id: {}", attachmentId);
-        Resource resource = attachmentService.downloadAttachment(attachmentId);
-        return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+        AttachmentDownloads.write(attachmentService.downloadAttachment(attachmentId), request, response);
+    }
+
+    @GetMapping("/{attachmentId}/thumbnail")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public void downloadThumbnail(
+            @PathVariable UUID attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("Downloading thumbnail of attachment with id: {}", attachmentId);
+        AttachmentDownloads.write(attachmentService.downloadThumbnail(attachmentId), request, response);
+    }
+
+    @GetMapping("/{attachmentId}/preview")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public void downloadPreview(
+            @PathVariable UUID attachmentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        log.info("Downloading preview of attachment with id: {}", attachmentId);
+        AttachmentDownloads.write(attachmentService.downloadPreview(attachmentId), request, response);
+    }
+
+    @GetMapping("/task/{taskId}/archive")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public void downloadTaskArchive(@PathVariable UUID taskId, HttpServletResponse response) throws IOException {
+        log.info("Downloading attachment archive for task id: {}", taskId);
+        writeArchive(attachmentArchiveService.getTaskArchive(taskId), response);
+    }
+
+    @GetMapping("/project/{projectId}/archive")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public void downloadProjectArchive(@PathVariable UUID projectId, HttpServletResponse response) throws IOException {
+        log.info("Downloading attachment archive for project id: {}", projectId);
+        writeArchive(attachmentArchiveService.getProjectArchive(projectId), response);
+    }
+
+    private void writeArchive(AttachmentArchive archive, HttpServletResponse response) throws IOException {
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(archive.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        attachmentArchiveService.writeArchive(archive, response.getOutputStream());
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,294 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.dto.AttachmentDownload;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletResponseWrapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes attachment bytes straight from the file to the socket. A single
+ * region is handed to Tomcat's sendfile when the connector supports it and
+ * otherwise copied with {@link FileChannel#transferTo}; the body never passes
+ * through a heap buffer of ours. Content the cache holds in direct memory
+ * is handed to the connector as a buffer instead. Range and If-Range follow
+ * RFC 9110, with several ranges answered as multipart/byteranges. Content
+ * kept in remote storage is not proxied; the client is redirected to a
+ * presigned URL.
+ */
+final class AttachmentDownloads {
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CRLF = "\r\n";
+
+    private AttachmentDownloads() {
+    }
+
+    static void write(AttachmentDownload download, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (download.getRedirectUri() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.sendRedirect(download.getRedirectUri().toString());
+            return;
+        }
+
+        String eTag = toETag(download);
+        long lastModified = lastModified(download);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        long length = download.getFileSize();
+        MediaType contentType = contentType(download.getFileType());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(download.getFileName(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        List<HttpRange> ranges = requestedRanges(request, eTag, lastModified);
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            writeRegion(download, 0, length, request, response);
+            return;
+        }
+
+        List<long[]> regions = toRegions(ranges, length);
+        if (regions == null) {
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setContentLengthLong(0);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        if (regions.size() == 1) {
+            long[] region = regions.get(0);
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, length));
+            response.setContentLengthLong(region[1]);
+            writeRegion(download, region[0], region[1], request, response);
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (long[] region : regions) {
+            byte[] header = (CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, length) + CRLF + CRLF)
+                    .getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(header);
+            contentLength += header.length + region[1];
+        }
+        byte[] trailer = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += trailer.length;
+
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if (isHead(request)) {
+            return;
+        }
+        if (download.getContent() != null) {
+            OutputStream outputStream = connectorOutputStream(response);
+            for (int i = 0; i < regions.size(); i++) {
+                outputStream.write(partHeaders.get(i));
+                writeBuffer(slice(download.getContent(), regions.get(i)[0], regions.get(i)[1]), outputStream);
+            }
+            outputStream.write(trailer);
+            return;
+        }
+        OutputStream outputStream = response.getOutputStream();
+        try (FileChannel channel = FileChannel.open(download.getFilePath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+            for (int i = 0; i < regions.size(); i++) {
+                outputStream.write(partHeaders.get(i));
+                transfer(channel, regions.get(i)[0], regions.get(i)[1], target);
+            }
+        }
+        outputStream.write(trailer);
+    }
+
+    static String toETag(AttachmentDownload download) {
+        return "\"" + download.getId() + "-" + download.getFileSize() + "\"";
+    }
+
+    static long lastModified(AttachmentDownload download) {
+        if (download.getUploadDate() == null) {
+            return -1;
+        }
+        long millis = download.getUploadDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return millis - millis % 1000;
+    }
+
+    /**
+     * Ranges to serve, or an empty list for the whole file. A Range header
+     * that cannot be parsed, or an If-Range that no longer matches, falls back
+     * to a full response as the spec requires.
+     */
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String eTag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !ifRangeMatches(request, eTag, lastModified)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException ex) {
+            return List.of();
+        }
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified != -1 && date == lastModified;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Resolves ranges to {start, length} pairs, dropping the unsatisfiable
+     * ones. Returns null when none is left, or when the ranges add up to more
+     * than the file so overlapping requests cannot amplify the response.
+     */
+    private static List<long[]> toRegions(List<HttpRange> ranges, long length) {
+        List<long[]> regions = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            long start;
+            long end;
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException ex) {
+                continue;
+            }
+            if (start > end) {
+                continue;
+            }
+            regions.add(new long[]{start, end - start + 1});
+            total += end - start + 1;
+        }
+        if (regions.isEmpty() || (regions.size() > 1 && total > length)) {
+            return null;
+        }
+        return regions;
+    }
+
+    private static void writeRegion(AttachmentDownload download, long start, long count,
+                                    HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (isHead(request) || count == 0) {
+            return;
+        }
+        if (download.getContent() != null) {
+            writeBuffer(slice(download.getContent(), start, count), connectorOutputStream(response));
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, download.getFilePath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(download.getFilePath(), StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer content, long start, long count) {
+        return content.slice((int) start, (int) count);
+    }
+
+    /**
+     * The connector's own stream beneath any response wrappers, which only
+     * accept byte arrays. The response is committed through the wrappers
+     * first, so headers they add on commit are still sent.
+     */
+    private static OutputStream connectorOutputStream(HttpServletResponse response) throws IOException {
+        response.flushBuffer();
+        ServletResponse target = response;
+        while (target instanceof ServletResponseWrapper wrapper) {
+            target = wrapper.getResponse();
+        }
+        return target.getOutputStream();
+    }
+
+    /**
+     * Tomcat copies a buffer straight into its socket buffer; other
+     * containers get it through a small heap buffer.
+     */
+    private static void writeBuffer(ByteBuffer content, OutputStream outputStream) throws IOException {
+        if (outputStream instanceof CoyoteOutputStream coyoteOutputStream) {
+            coyoteOutputStream.write(content);
+        } else {
+            Channels.newChannel(outputStream).write(content);
+        }
+    }
+
+    private static void transfer(FileChannel channel, long position, long count, WritableByteChannel target)
+            throws IOException {
+        long end = position + count;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new IOException("Attachment file ended before byte " + end);
+            }
+            position += transferred;
+        }
+    }
+
+    private static String contentRange(long[] region, long length) {
+        return "bytes " + region[0] + "-" + (region[0] + region[1] - 1) + "/" + length;
+    }
+
+    private static MediaType contentType(String fileType) {
+        if (fileType == null || fileType.isBlank()) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(fileType);
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static boolean isHead(HttpServletRequest request) {
+        return HttpMethod.HEAD.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,68 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.AttachmentUploadRequest;
+import com.definex.task_management.dto.AttachmentUploadResponse;
+import com.definex.task_management.service.AttachmentUploadService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/attachment-uploads")
+@Tag(name = "6. Attachment Management")
+@Slf4j
+public class AttachmentUploadController {
+    private final AttachmentUploadService attachmentUploadService;
+
+    public AttachmentUploadController(AttachmentUploadService attachmentUploadService) {
+        this.attachmentUploadService = attachmentUploadService;
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentUploadResponse> createUpload(@Valid @RequestBody AttachmentUploadRequest request) {
+        log.info("Creating resumable upload for task id: {}", request.getTaskId());
+        return ResponseEntity.ok(attachmentUploadService.createUpload(request));
+    }
+
+    @PutMapping("/{uploadId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentUploadResponse> writeChunk(
+            @PathVariable UUID uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request) throws IOException {
+        log.info("Writing chunk at offset {} of upload id: {}", offset, uploadId);
+        return ResponseEntity.ok(attachmentUploadService.writeChunk(
+                uploadId, offset, request.getContentLengthLong(), request.getInputStream()));
+    }
+
+    @GetMapping("/{uploadId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentUploadResponse> getUpload(@PathVariable UUID uploadId) {
+        log.info("Fetching resumable upload with id: {}", uploadId);
+        return ResponseEntity.ok(attachmentUploadService.getUpload(uploadId));
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<AttachmentResponse> completeUpload(@PathVariable UUID uploadId) {
+        log.info("Completing resumable upload with id: {}", uploadId);
+        return ResponseEntity.ok(attachmentUploadService.completeUpload(uploadId));
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<Void> cancelUpload(@PathVariable UUID uploadId) {
+        log.info("Cancelling resumable upload with id: {}", uploadId);
+        attachmentUploadService.cancelUpload(uploadId);
+        return ResponseEntity.ok().build();
+    }
+}
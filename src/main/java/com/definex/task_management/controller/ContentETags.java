@@ -0,0 +1,33 @@
+package com.definex.task_management.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * ETags for read-only reports that have no version column. The tag is a hash
+ * of the response body, and Spring answers a matching If-None-Match with 304.
+ */
+final class ContentETags {
+    static final Duration SETTLED_MAX_AGE = Duration.ofHours(1);
+
+    private ContentETags() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, boolean settled) {
+        CacheControl cacheControl = settled
+                ? CacheControl.maxAge(SETTLED_MAX_AGE).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+        return ResponseEntity.ok()
+                .eTag(toETag(body))
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+
+    static String toETag(Object body) {
+        return "\"" + DigestUtils.md5DigestAsHex(String.valueOf(body).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
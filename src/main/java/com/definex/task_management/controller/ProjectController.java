@@ -1,15 +1,26 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.BurndownResponse;
+import com.definex.task_management.dto.CumulativeFlowResponse;
+import com.definex.task_management.dto.CycleTimeResponse;
+import com.definex.task_management.dto.DepartmentDashboardResponse;
+import com.definex.task_management.dto.ProjectDashboardResponse;
 import com.definex.task_management.dto.ProjectRequest;
 import com.definex.task_management.dto.ProjectResponse;
+import com.definex.task_management.service.ProjectDashboardService;
 import com.definex.task_management.service.ProjectService;
+import com.definex.task_management.service.TaskTransitionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,9 +30,15 @@ import java.util.UUID;
 @Slf4j
 public class ProjectController {
     private final ProjectService projectService;
+    private final ProjectDashboardService projectDashboardService;
+    private final TaskTransitionService taskTransitionService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService,
+                             ProjectDashboardService projectDashboardService,
+                             TaskTransitionService taskTransitionService) {
         this.projectService = projectService;
+        this.projectDashboardService = projectDashboardService;
+        this.taskTransitionService = taskTransitionService;
     }
 
     @PostMapping
@@ -38,20 +55,72 @@ public class ProjectController {
         return ResponseEntity.ok(projectService.getProjectsByDepartment(department));
     }
 
+    @GetMapping("/department/{department}/dashboard")
+    @PreAuthorize("hasRole('ROLE_PROJECT_GROUP_MANAGER')")
+    public ResponseEntity<DepartmentDashboardResponse> getDepartmentDashboard(@PathVariable String department) {
+        log.info("Fetching dashboard for department: {}", department);
+        return ResponseEntity.ok(projectDashboardService.getDepartmentDashboard(department));
+    }
+
+    @GetMapping("/{projectId}/dashboard")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<ProjectDashboardResponse> getProjectDashboard(@PathVariable UUID projectId) {
+        log.info("Fetching dashboard for project id: {}", projectId);
+        return ResponseEntity.ok(projectDashboardService.getProjectDashboard(projectId));
+    }
+
+    @GetMapping("/{projectId}/cumulative-flow")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<CumulativeFlowResponse> getCumulativeFlow(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching cumulative flow for project id: {}", projectId);
+        CumulativeFlowResponse response = projectDashboardService.getCumulativeFlow(projectId, from, to);
+        return ContentETags.ok(response, response.getTo().isBefore(LocalDate.now()));
+    }
+
+    @GetMapping("/{projectId}/burndown")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<BurndownResponse> getBurndown(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("Fetching burndown for project id: {}", projectId);
+        BurndownResponse response = projectDashboardService.getBurndown(projectId, from, to);
+        return ContentETags.ok(response, response.getTo().isBefore(LocalDate.now()));
+    }
+
+    @GetMapping("/{projectId}/cycle-time")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<CycleTimeResponse> getCycleTime(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Fetching cycle time for project id: {}", projectId);
+        return ResponseEntity.ok(taskTransitionService.getCycleTime(projectId, from, to));
+    }
+
     @GetMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
     public ResponseEntity<ProjectResponse> getProjectById(@PathVariable UUID projectId) {
         log.info("Fetching project with id: {}", projectId);
-        return ResponseEntity.ok(projectService.getProjectById(projectId));
+        ProjectResponse response = projectService.getProjectById(projectId);
+        return VersionETags.ok(response, response.getVersion());
     }
 
     @PutMapping("/{projectId}")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER')")
     public ResponseEntity<ProjectResponse> updateProject(
             @PathVariable UUID projectId,
-            @Valid @RequestBody ProjectRequest projectRequest) {
+            @Valid @RequestBody ProjectRequest projectRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating project with id: {}", projectId);
-        return ResponseEntity.ok(projectService.updateProject(projectId, projectRequest));
+        Long expectedVersion = VersionETags.parseIfMatch(ifMatch);
+        ProjectResponse response = expectedVersion == null
+                ? projectService.updateProject(projectId, projectRequest)
+                : projectService.updateProject(projectId, projectRequest, expectedVersion);
+        return VersionETags.ok(response, response.getVersion());
     }
 
     @PatchMapping("/{projectId}/status/{status}")
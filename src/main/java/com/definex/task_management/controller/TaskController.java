@@ -1,18 +1,40 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.BulkTaskAssigneeRequest;
+import com.definex.task_management.dto.BulkTaskOperationResponse;
+import com.definex.task_management.dto.BulkTaskPriorityUpdateRequest;
+import com.definex.task_management.dto.BulkTaskStateUpdateRequest;
+import com.definex.task_management.dto.TaskCursorPageResponse;
+import com.definex.task_management.dto.TaskFilterRequest;
+import com.definex.task_management.dto.TaskFilterResponse;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
+import com.definex.task_management.dto.TaskSearchResponse;
 import com.definex.task_management.dto.TaskStateUpdateRequest;
+import com.definex.task_management.dto.TaskTransitionResponse;
+import com.definex.task_management.enums.TaskExportFormat;
 import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.service.TaskExportService;
+import com.definex.task_management.service.TaskSearchService;
 import com.definex.task_management.service.TaskService;
+import com.definex.task_management.service.TaskTransitionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -21,9 +43,18 @@ import java.util.UUID;
 @Slf4j
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExportService taskExportService;
+    private final TaskSearchService taskSearchService;
+    private final TaskTransitionService taskTransitionService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService,
+                          TaskExportService taskExportService,
+                          TaskSearchService taskSearchService,
+                          TaskTransitionService taskTransitionService) {
         this.taskService = taskService;
+        this.taskExportService = taskExportService;
+        this.taskSearchService = taskSearchService;
+        this.taskTransitionService = taskTransitionService;
     }
 
     @PostMapping
@@ -33,11 +64,51 @@ public class TaskController {
         return ResponseEntity.ok(taskService.createTask(taskRequest));
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @NotBlank @RequestParam String q,
+            @RequestParam(required = false) UUID projectId,
+            @Min(0) @RequestParam(defaultValue = "0") int page,
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size) {
+        log.info("Searching tasks for query: {}", q);
+        return ResponseEntity.ok(taskSearchService.searchTasks(q, projectId, page, size));
+    }
+
+    @GetMapping("/filter")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<TaskFilterResponse> filterTasks(
+            @ModelAttribute TaskFilterRequest filter,
+            @Min(0) @RequestParam(defaultValue = "0") int page,
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size) {
+        log.info("Filtering tasks with criteria: {}", filter);
+        return ResponseEntity.ok(taskSearchService.filterTasks(filter, page, size));
+    }
+
+    @GetMapping("/mine")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<TaskCursorPageResponse> getMyTasks(
+            @RequestParam(required = false) Set<TaskState> states,
+            @RequestParam(required = false) Set<TaskPriority> priorities,
+            @RequestParam(required = false) UUID after,
+            @Min(1) @Max(100) @RequestParam(defaultValue = "20") int size) {
+        log.info("Fetching tasks assigned to current user after: {}", after);
+        return ResponseEntity.ok(taskSearchService.getMyTasks(states, priorities, after, size));
+    }
+
     @GetMapping("/{taskId}")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
     public ResponseEntity<TaskResponse> getTaskById(@PathVariable UUID taskId) {
         log.info("Fetching task with id: {}", taskId);
-        return ResponseEntity.ok(taskService.getTaskById(taskId));
+        TaskResponse response = taskService.getTaskById(taskId);
+        return VersionETags.ok(response, response.getVersion());
+    }
+
+    @GetMapping("/{taskId}/transitions")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER', 'ROLE_TEAM_MEMBER')")
+    public ResponseEntity<List<TaskTransitionResponse>> getTaskTransitions(@PathVariable UUID taskId) {
+        log.info("Fetching state transitions for task id: {}", taskId);
+        return ResponseEntity.ok(taskTransitionService.getTaskHistory(taskId));
     }
 
     @GetMapping("/project/{projectId}")
@@ -47,11 +118,36 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getAllTasksUnderProject(projectId));
     }
 
+    @GetMapping("/project/{projectId}/export")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<StreamingResponseBody> exportTasksUnderProject(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "NDJSON") TaskExportFormat format) {
+        log.info("Exporting tasks for project id: {} as {}", projectId, format);
+        taskExportService.validateExportAccess(projectId);
+        StreamingResponseBody body = outputStream ->
+                taskExportService.exportTasksUnderProject(projectId, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("project-" + projectId + "-tasks." + format.getFileExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @PutMapping("/{taskId}")
     @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
-    public ResponseEntity<TaskResponse> updateTask(@PathVariable UUID taskId, @Valid @RequestBody TaskRequest taskRequest) {
+    public ResponseEntity<TaskResponse> updateTask(
+            @PathVariable UUID taskId,
+            @Valid @RequestBody TaskRequest taskRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Updating task with id: {}", taskId);
-        return ResponseEntity.ok(taskService.updateTask(taskId, taskRequest));
+        Long expectedVersion = VersionETags.parseIfMatch(ifMatch);
+        TaskResponse response = expectedVersion == null
+                ? taskService.updateTask(taskId, taskRequest)
+                : taskService.updateTask(taskId, taskRequest, expectedVersion);
+        return VersionETags.ok(response, response.getVersion());
     }
 
     @DeleteMapping("/{taskId}")
@@ -96,4 +192,38 @@ public class TaskController {
         log.info("Removing user id: {} from task id: {}", userId, taskId);
         return ResponseEntity.ok(taskService.removeUserFromTask(taskId, userId));
     }
-} 
\ No newline at end of file
+
+    @PatchMapping("/bulk/state")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<BulkTaskOperationResponse> bulkUpdateTaskState(
+            @Valid @RequestBody BulkTaskStateUpdateRequest request) {
+        log.info("Bulk updating state of {} tasks to state: {}", request.getTaskIds().size(), request.getNewState());
+        return ResponseEntity.ok(taskService.bulkUpdateTaskState(request));
+    }
+
+    @PatchMapping("/bulk/priority")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<BulkTaskOperationResponse> bulkUpdateTaskPriority(
+            @Valid @RequestBody BulkTaskPriorityUpdateRequest request) {
+        log.info("Bulk updating priority of {} tasks to priority: {}", request.getTaskIds().size(), request.getPriority());
+        return ResponseEntity.ok(taskService.bulkUpdateTaskPriority(request));
+    }
+
+    @PostMapping("/bulk/assignees/{userId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<BulkTaskOperationResponse> bulkAssignUserToTasks(
+            @PathVariable UUID userId,
+            @Valid @RequestBody BulkTaskAssigneeRequest request) {
+        log.info("Bulk assigning user id: {} to {} tasks", userId, request.getTaskIds().size());
+        return ResponseEntity.ok(taskService.bulkAssignUserToTasks(userId, request.getTaskIds()));
+    }
+
+    @DeleteMapping("/bulk/assignees/{userId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<BulkTaskOperationResponse> bulkRemoveUserFromTasks(
+            @PathVariable UUID userId,
+            @Valid @RequestBody BulkTaskAssigneeRequest request) {
+        log.info("Bulk removing user id: {} from {} tasks", userId, request.getTaskIds().size());
+        return ResponseEntity.ok(taskService.bulkRemoveUserFromTasks(userId, request.getTaskIds()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.service.TaskImportService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/task-imports")
+@Tag(name = "4. Task Management")
+@Slf4j
+public class TaskImportController {
+    private final TaskImportService taskImportService;
+
+    public TaskImportController(TaskImportService taskImportService) {
+        this.taskImportService = taskImportService;
+    }
+
+    @PostMapping("/project/{projectId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<TaskImportResponse> startImport(
+            @PathVariable UUID projectId,
+            @RequestParam(defaultValue = "NDJSON") TaskExportFormat format,
+            HttpServletRequest request) throws IOException {
+        log.info("Importing tasks into project id: {} as {}", projectId, format);
+        return ResponseEntity.ok(taskImportService.startImport(projectId, format, request.getInputStream()));
+    }
+
+    @PostMapping("/{importId}/resume")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<TaskImportResponse> resumeImport(
+            @PathVariable UUID importId,
+            HttpServletRequest request) throws IOException {
+        log.info("Resuming task import with id: {}", importId);
+        return ResponseEntity.ok(taskImportService.resumeImport(importId, request.getInputStream()));
+    }
+
+    @GetMapping("/{importId}")
+    @PreAuthorize("hasAnyRole('ROLE_PROJECT_GROUP_MANAGER', 'ROLE_PROJECT_MANAGER', 'ROLE_TEAM_LEADER')")
+    public ResponseEntity<TaskImportResponse> getImport(@PathVariable UUID importId) {
+        log.info("Fetching task import with id: {}", importId);
+        return ResponseEntity.ok(taskImportService.getImport(importId));
+    }
+}
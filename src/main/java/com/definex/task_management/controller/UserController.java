@@ -1,8 +1,10 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.DepartmentWorkloadResponse;
 import com.definex.task_management.dto.UserRequest;
 import com.definex.task_management.dto.UserResponse;
 import com.definex.task_management.service.UserService;
+import com.definex.task_management.service.WorkloadService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -19,9 +21,11 @@ import java.util.UUID;
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final WorkloadService workloadService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, WorkloadService workloadService) {
         this.userService = userService;
+        this.workloadService = workloadService;
     }
 
     @PostMapping
@@ -38,6 +42,13 @@ public class UserController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    @GetMapping("/department/{department}/workload")
+    @PreAuthorize("hasAnyRole('PROJECT_GROUP_MANAGER', 'PROJECT_MANAGER', 'TEAM_LEADER')")
+    public ResponseEntity<DepartmentWorkloadResponse> getDepartmentWorkload(@PathVariable String department) {
+        log.info("Fetching workload for department: {}", department);
+        return ResponseEntity.ok(workloadService.getDepartmentWorkload(department));
+    }
+
     @GetMapping("/{userId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PROJECT_GROUP_MANAGER')")
     public ResponseEntity<UserResponse> getUserById(@PathVariable UUID userId) {
@@ -0,0 +1,40 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+final class VersionETags {
+
+    private VersionETags() {
+    }
+
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag(toETag(version));
+        }
+        return builder.body(body);
+    }
+
+    static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException("If-Match header does not contain a valid version: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentArchive {
+    private String fileName;
+    private List<AttachmentArchiveEntry> entries;
+}
@@ -0,0 +1,21 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentArchiveEntry {
+    private UUID attachmentId;
+    private String name;
+    private String fileType;
+    private String filePath;
+    private LocalDateTime uploadDate;
+}
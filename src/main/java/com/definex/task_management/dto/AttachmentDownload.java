@@ -0,0 +1,27 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentDownload {
+    private UUID id;
+    private String fileName;
+    private String fileType;
+    private long fileSize;
+    private Path filePath;
+    private ByteBuffer content;
+    private URI redirectUri;
+    private LocalDateTime uploadDate;
+}
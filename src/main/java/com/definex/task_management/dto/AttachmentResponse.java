@@ -17,6 +17,7 @@ public class AttachmentResponse {
     private String fileName;
     private String fileType;
     private Long fileSize;
+    private String checksum;
     private UUID taskId;
     private LocalDateTime uploadDate;
 } 
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.definex.task_management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadRequest {
+    @NotNull(message = "Task ID is required")
+    private UUID taskId;
+
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String fileType;
+
+    @NotNull(message = "File size is required")
+    @PositiveOrZero(message = "File size cannot be negative")
+    private Long fileSize;
+}
@@ -0,0 +1,31 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadResponse {
+    private UUID id;
+    private UUID taskId;
+    private String fileName;
+    private String fileType;
+    private long fileSize;
+    private int chunkSize;
+    private long receivedBytes;
+    private long nextOffset;
+    private List<Long> missingOffsets;
+    private AttachmentUploadStatus status;
+    private UUID attachmentId;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package com.definex.task_management.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskAssigneeRequest {
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 1000, message = "At most 1000 tasks can be updated at once")
+    private Set<UUID> taskIds;
+}
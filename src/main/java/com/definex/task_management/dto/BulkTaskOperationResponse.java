@@ -0,0 +1,19 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskOperationResponse {
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BulkTaskResult> results;
+}
@@ -0,0 +1,26 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskPriorityUpdateRequest {
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 1000, message = "At most 1000 tasks can be updated at once")
+    private Set<UUID> taskIds;
+
+    @NotNull(message = "Priority is required")
+    private TaskPriority priority;
+}
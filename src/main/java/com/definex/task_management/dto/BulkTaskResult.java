@@ -0,0 +1,18 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResult {
+    private UUID taskId;
+    private boolean success;
+    private String message;
+}
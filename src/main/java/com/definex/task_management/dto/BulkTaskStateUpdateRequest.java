@@ -0,0 +1,28 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskState;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskStateUpdateRequest {
+    @NotEmpty(message = "Task IDs are required")
+    @Size(max = 1000, message = "At most 1000 tasks can be updated at once")
+    private Set<UUID> taskIds;
+
+    @NotNull(message = "New state is required")
+    private TaskState newState;
+
+    private String reason;
+}
@@ -0,0 +1,19 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurndownPoint {
+    private LocalDate date;
+    private long totalTasks;
+    private long completedTasks;
+    private long remainingTasks;
+}
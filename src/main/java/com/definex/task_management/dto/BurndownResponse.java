@@ -0,0 +1,21 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurndownResponse {
+    private UUID projectId;
+    private LocalDate from;
+    private LocalDate to;
+    private List<BurndownPoint> points;
+}
@@ -0,0 +1,19 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CumulativeFlowPoint {
+    private LocalDate date;
+    private Map<TaskState, Long> tasksByState;
+}
@@ -0,0 +1,25 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CycleTimeResponse {
+    private UUID projectId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long completedTasks;
+    private Double p50Hours;
+    private Double p75Hours;
+    private Double p90Hours;
+    private Double p95Hours;
+    private Double averageHours;
+}
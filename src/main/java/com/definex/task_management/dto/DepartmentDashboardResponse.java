@@ -0,0 +1,23 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentDashboardResponse {
+    private String department;
+    private long totalTasks;
+    private Map<TaskState, Long> tasksByState;
+    private Map<TaskPriority, Long> tasksByPriority;
+    private List<ProjectDashboardResponse> projects;
+}
@@ -0,0 +1,18 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentWorkloadResponse {
+    private String department;
+    private long openTasks;
+    private List<UserWorkloadResponse> users;
+}
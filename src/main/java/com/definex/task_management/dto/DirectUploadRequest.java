@@ -0,0 +1,29 @@
+package com.definex.task_management.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadRequest {
+    @NotBlank(message = "File name is required")
+    private String fileName;
+
+    private String fileType;
+
+    @NotNull(message = "File size is required")
+    @PositiveOrZero(message = "File size cannot be negative")
+    private Long fileSize;
+
+    @NotBlank(message = "Checksum is required")
+    @Pattern(regexp = "[0-9a-f]{64}", message = "Checksum must be a lowercase hex SHA-256")
+    private String checksum;
+}
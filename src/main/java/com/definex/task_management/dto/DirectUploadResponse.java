@@ -0,0 +1,20 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectUploadResponse {
+    private String url;
+    private String method;
+    private Map<String, String> headers;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDashboardResponse {
+    private UUID projectId;
+    private String projectTitle;
+    private long totalTasks;
+    private Map<TaskState, Long> tasksByState;
+    private Map<TaskPriority, Long> tasksByPriority;
+}
@@ -21,6 +21,7 @@ public class ProjectResponse {
     private String description;
     private String department;
     private ProjectStatus status;
+    private Long version;
     private Set<UserResponse> teamMembers;
     private List<TaskResponse> tasks;
 } 
\ No newline at end of file
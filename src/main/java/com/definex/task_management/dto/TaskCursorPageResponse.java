@@ -0,0 +1,20 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCursorPageResponse {
+    private List<TaskSummaryResponse> results;
+    private int size;
+    private boolean hasMore;
+    private UUID nextCursor;
+}
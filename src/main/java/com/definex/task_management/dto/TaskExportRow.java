@@ -0,0 +1,28 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExportRow {
+    private UUID id;
+    private UUID projectId;
+    private String title;
+    private String userStory;
+    private String acceptanceCriteria;
+    private TaskState state;
+    private TaskPriority priority;
+    private String stateTransitionReason;
+    private Long version;
+    private Set<UUID> assigneeIds;
+}
@@ -0,0 +1,22 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilterRequest {
+    private Set<TaskState> states;
+    private Set<TaskPriority> priorities;
+    private UUID projectId;
+    private UUID assigneeId;
+}
@@ -0,0 +1,30 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of a task import. Records default to {@code TASK}; {@code COMMENT}
+ * records attach to the task with the matching {@code taskExternalId}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportRecord {
+    private String recordType;
+    private String externalId;
+    private String taskExternalId;
+    private String title;
+    private String userStory;
+    private String acceptanceCriteria;
+    private String state;
+    private String priority;
+    private List<String> assigneeEmails;
+    private String authorEmail;
+    private String content;
+}
@@ -0,0 +1,32 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskImportResponse {
+    private UUID id;
+    private UUID projectId;
+    private TaskExportFormat format;
+    private TaskImportStatus status;
+    private long stagedThroughLine;
+    private long stagedRecords;
+    private long rejectedRecords;
+    private long mergedTasks;
+    private long mergedAssignees;
+    private long mergedComments;
+    private List<String> errors;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
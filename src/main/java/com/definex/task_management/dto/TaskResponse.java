@@ -22,6 +22,10 @@ public class TaskResponse {
     private String acceptanceCriteria;
     private TaskState state;
     private TaskPriority priority;
+    private Long version;
+    private Integer commentCount;
+    private Integer attachmentCount;
+    private Long totalAttachmentBytes;
     private UUID projectId;
     private String projectTitle;
     private Set<UserResponse> assignees;
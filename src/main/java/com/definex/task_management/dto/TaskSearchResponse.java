@@ -0,0 +1,21 @@
+package com.definex.task_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    private String query;
+    private List<TaskSearchResult> results;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+}
@@ -0,0 +1,24 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResult {
+    private UUID id;
+    private UUID projectId;
+    private String title;
+    private TaskState state;
+    private TaskPriority priority;
+    private Double rank;
+    private Long matchedComments;
+}
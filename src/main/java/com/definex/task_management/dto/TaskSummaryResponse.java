@@ -0,0 +1,26 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSummaryResponse {
+    private UUID id;
+    private String title;
+    private TaskState state;
+    private TaskPriority priority;
+    private Long version;
+    private Integer commentCount;
+    private Integer attachmentCount;
+    private UUID projectId;
+    private String projectTitle;
+}
@@ -0,0 +1,24 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskTransitionResponse {
+    private UUID id;
+    private UUID taskId;
+    private TaskState fromState;
+    private TaskState toState;
+    private String reason;
+    private UUID actorId;
+    private LocalDateTime transitionedAt;
+}
@@ -0,0 +1,26 @@
+package com.definex.task_management.dto;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserWorkloadResponse {
+    private UUID userId;
+    private String name;
+    private String email;
+    private UserRole role;
+    private long openTasks;
+    private Map<TaskState, Long> tasksByState;
+    private Map<TaskPriority, Long> tasksByPriority;
+}
@@ -13,7 +13,7 @@ import org.hibernate.annotations.SQLRestriction;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "attachments")
+@Table(name = "attachments", indexes = @Index(name = "idx_attachments_checksum", columnList = "checksum"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
@@ -35,6 +35,9 @@ public class Attachment extends BaseEntity {
     @Column(nullable = false)
     private Long fileSize;
 
+    @Column(length = 64)
+    private String checksum;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id", nullable = false)
     private Task task;
@@ -0,0 +1,61 @@
+package com.definex.task_management.entity;
+
+import com.definex.task_management.enums.AttachmentProcessingStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stored file, keyed by the SHA-256 of its content and shared by every
+ * {@link Attachment} with that checksum. The file is removed only once the
+ * reference count drops to zero. Its content type, thumbnail and text
+ * preview are worked out in the background, see
+ * {@link com.definex.task_management.service.impl.AttachmentProcessor}.
+ */
+@Entity
+@Table(name = "attachment_blobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentBlob {
+    @Id
+    @Column(length = 64)
+    private String checksum;
+
+    @Column(nullable = false)
+    private long fileSize;
+
+    @Column(nullable = false)
+    private int refCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(16) default 'PENDING'")
+    private AttachmentProcessingStatus processingStatus = AttachmentProcessingStatus.PENDING;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int processingAttempts;
+
+    private LocalDateTime nextProcessingAt;
+
+    private String contentType;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean thumbnail;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean preview;
+}
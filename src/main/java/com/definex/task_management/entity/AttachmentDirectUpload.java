@@ -0,0 +1,40 @@
+package com.definex.task_management.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A presigned upload handed out for content that was not stored yet.
+ * Completing a direct upload consumes the matching row, so only the user
+ * who asked for the URL can attach the content, and only once.
+ */
+@Entity
+@Table(name = "attachment_direct_uploads", indexes = {
+        @Index(name = "idx_attachment_direct_uploads_task_checksum", columnList = "task_id, checksum"),
+        @Index(name = "idx_attachment_direct_uploads_created_at", columnList = "created_at")
+})
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"task"})
+public class AttachmentDirectUpload extends BaseEntity {
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @Column(nullable = false)
+    private UUID startedBy;
+
+    @Column(nullable = false, length = 64)
+    private String checksum;
+
+    private long fileSize;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
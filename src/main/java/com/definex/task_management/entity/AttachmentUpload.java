@@ -0,0 +1,54 @@
+package com.definex.task_management.entity;
+
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A resumable upload session. Chunks are written into a preallocated part
+ * file at {@code filePath}; completion copies it into the attachment store and
+ * records the resulting {@link Attachment}.
+ */
+@Entity
+@Table(name = "attachment_uploads", indexes = {
+        @Index(name = "idx_attachment_uploads_updated_at", columnList = "updated_at")
+})
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"task"})
+public class AttachmentUpload extends BaseEntity {
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    private Task task;
+
+    @Column(nullable = false)
+    private UUID startedBy;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private String fileType;
+
+    private long fileSize;
+    private int chunkSize;
+    private long receivedBytes;
+
+    @Column(nullable = false)
+    private String filePath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AttachmentUploadStatus status;
+
+    private UUID attachmentId;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,25 @@
+package com.definex.task_management.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks one chunk of an {@link AttachmentUpload} as written and flushed to
+ * disk. Chunks may arrive in any order and in parallel, so progress is the
+ * set of these rows rather than a single offset.
+ */
+@Entity
+@Table(name = "attachment_upload_chunks")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadChunk {
+    @EmbeddedId
+    private AttachmentUploadChunkId id;
+}
@@ -0,0 +1,24 @@
+package com.definex.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttachmentUploadChunkId implements Serializable {
+    @Column(name = "upload_id", nullable = false)
+    private UUID uploadId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+}
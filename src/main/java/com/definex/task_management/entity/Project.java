@@ -13,13 +13,13 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_department", columnList = "department"))
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"teamMembers", "tasks"})
-@SQLDelete(sql = "UPDATE projects SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE projects SET deleted = true WHERE id=? AND version=?")
 @SQLRestriction("deleted = false")
 public class Project extends BaseEntity {
 
@@ -34,12 +34,17 @@ public class Project extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private ProjectStatus status;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @ManyToMany
     @Builder.Default
     @JoinTable(
             name = "project_team_members",
             joinColumns = @JoinColumn(name = "project_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id"))
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_project_team_members_user_project", columnList = "user_id, project_id"))
     private Set<User> teamMembers = new HashSet<>();
 
     @OneToMany(mappedBy = "project")
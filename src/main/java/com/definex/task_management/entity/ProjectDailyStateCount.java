@@ -0,0 +1,30 @@
+package com.definex.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * End-of-day number of live tasks per project and state. Today's rows are
+ * opened once a day from {@code project_task_stats} and patched by every
+ * transition, so earlier days never change and charts read a single primary
+ * key range instead of counting tasks.
+ */
+@Entity
+@Table(name = "project_daily_state_counts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDailyStateCount {
+    @EmbeddedId
+    private ProjectDailyStateCountId id;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long taskCount;
+}
@@ -0,0 +1,32 @@
+package com.definex.task_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of live tasks per project, state and priority. Rows are adjusted by
+ * delta upserts in the same transaction as the task write and periodically
+ * reconciled against {@code tasks}, so dashboards never count tasks directly.
+ */
+@Entity
+@Table(name = "project_task_stats", indexes = {
+        @Index(name = "idx_project_task_stats_project_state_priority", columnList = "project_id, state, priority")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTaskStat {
+    @EmbeddedId
+    private ProjectTaskStatId id;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long taskCount;
+}
@@ -6,6 +6,7 @@ import com.definex.task_management.enums.TaskState;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -15,13 +16,16 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_state_priority", columnList = "project_id, state, priority"),
+        @Index(name = "idx_tasks_state_priority_project", columnList = "state, priority, project_id")
+})
 @Data
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true, exclude = {"assignees", "comments", "attachments"})
-@SQLDelete(sql = "UPDATE tasks SET deleted = true WHERE id=?")
+@SQLDelete(sql = "UPDATE tasks SET deleted = true WHERE id=? AND version=?")
 @SQLRestriction("deleted = false")
 public class Task extends BaseEntity {
     private String title;
@@ -37,16 +41,34 @@ public class Task extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private TaskPriority priority;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer commentCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer attachmentCount = 0;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long totalAttachmentBytes = 0L;
+
     @ManyToOne
     @JoinColumn(name = "project_id")
     private Project project;
 
     @ManyToMany
     @Builder.Default
+    @BatchSize(size = 100)
     @JoinTable(
             name = "task_assignees",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id"))
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_task_assignees_user_task", columnList = "user_id, task_id"))
     private Set<User> assignees = new HashSet<>();
 
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL)
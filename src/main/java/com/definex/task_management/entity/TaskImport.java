@@ -0,0 +1,51 @@
+package com.definex.task_management.entity;
+
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskImportStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "task_imports")
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"project"})
+public class TaskImport extends BaseEntity {
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "project_id", nullable = false)
+    private Project project;
+
+    @Column(nullable = false)
+    private UUID startedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskExportFormat format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskImportStatus status;
+
+    private long stagedThroughLine;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long stagedThroughPosition;
+
+    private long stagedRecords;
+    private long rejectedRecords;
+    private long mergedTasks;
+    private long mergedAssignees;
+    private long mergedComments;
+
+    @Column(columnDefinition = "TEXT")
+    private String errors;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
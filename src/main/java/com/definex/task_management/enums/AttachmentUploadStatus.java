@@ -0,0 +1,5 @@
+package com.definex.task_management.enums;
+
+public enum AttachmentUploadStatus {
+    IN_PROGRESS, COMPLETING, COMPLETED
+}
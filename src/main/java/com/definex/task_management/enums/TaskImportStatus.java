@@ -0,0 +1,5 @@
+package com.definex.task_management.enums;
+
+public enum TaskImportStatus {
+    STAGING, MERGING, COMPLETED, FAILED
+}
@@ -0,0 +1,7 @@
+package com.definex.task_management.exception;
+
+public class InsufficientStorageException extends RuntimeException {
+    public InsufficientStorageException(String message) {
+        super(message);
+    }
+}
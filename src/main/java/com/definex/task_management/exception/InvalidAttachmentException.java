@@ -0,0 +1,7 @@
+package com.definex.task_management.exception;
+
+public class InvalidAttachmentException extends RuntimeException {
+    public InvalidAttachmentException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.definex.task_management.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
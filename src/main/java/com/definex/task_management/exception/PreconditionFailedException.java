@@ -0,0 +1,7 @@
+package com.definex.task_management.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.definex.task_management.exception;
+
+public class ResourceConflictException extends RuntimeException {
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.definex.task_management.exception;
+
+import com.definex.task_management.enums.TaskState;
+
+import java.util.UUID;
+
+public class TaskStateConflictException extends RuntimeException {
+    private final UUID taskId;
+    private final TaskState currentState;
+
+    public TaskStateConflictException(UUID taskId, TaskState currentState) {
+        super("Task " + taskId + " was modified concurrently, current state is " + currentState);
+        this.taskId = taskId;
+        this.currentState = currentState;
+    }
+
+    public UUID getTaskId() {
+        return taskId;
+    }
+
+    public TaskState getCurrentState() {
+        return currentState;
+    }
+}
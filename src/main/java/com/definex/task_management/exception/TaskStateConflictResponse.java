@@ -0,0 +1,20 @@
+package com.definex.task_management.exception;
+
+import com.definex.task_management.enums.TaskState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStateConflictResponse {
+    private int status;
+    private String message;
+    private UUID taskId;
+    private TaskState currentState;
+    private LocalDateTime timestamp;
+}
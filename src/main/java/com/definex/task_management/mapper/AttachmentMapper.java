@@ -1,20 +1,19 @@
 package com.definex.task_management.mapper;
 
-import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
 import com.definex.task_management.entity.Attachment;
 import com.definex.task_management.entity.Task;
 import org.springframework.stereotype.Component;
-import org.springframework.web.multipart.MultipartFile;
 
 @Component
 public class AttachmentMapper {
-    public static Attachment toEntity(AttachmentRequest request, Task task, String filePath) {
-        MultipartFile file = request.getFile();
+    public static Attachment toEntity(Task task, String fileName, String fileType, String filePath,
+                                      long fileSize, String checksum) {
         return Attachment.builder()
-                .fileName(file.getOriginalFilename())
-                .fileType(file.getContentType())
-                .fileSize(file.getSize())
+                .fileName(fileName)
+                .fileType(fileType)
+                .fileSize(fileSize)
+                .checksum(checksum)
                 .filePath(filePath)
                 .task(task)
                 .build();
@@ -26,6 +25,7 @@ public class AttachmentMapper {
                 .fileName(attachment.getFileName())
                 .fileType(attachment.getFileType())
                 .fileSize(attachment.getFileSize())
+                .checksum(attachment.getChecksum())
                 .taskId(attachment.getTask().getId())
                 .uploadDate(attachment.getUploadDate())
                 .build();
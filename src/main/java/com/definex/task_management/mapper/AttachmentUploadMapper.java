@@ -0,0 +1,47 @@
+package com.definex.task_management.mapper;
+
+import com.definex.task_management.dto.AttachmentUploadResponse;
+import com.definex.task_management.entity.AttachmentUpload;
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class AttachmentUploadMapper {
+
+    public static AttachmentUploadResponse toResponse(AttachmentUpload upload, List<Integer> receivedChunks) {
+        List<Long> missingOffsets = new ArrayList<>();
+        if (upload.getStatus() == AttachmentUploadStatus.IN_PROGRESS) {
+            int received = 0;
+            for (int chunk = 0; chunk < chunkCount(upload); chunk++) {
+                if (received < receivedChunks.size() && receivedChunks.get(received) == chunk) {
+                    received++;
+                } else {
+                    missingOffsets.add((long) chunk * upload.getChunkSize());
+                }
+            }
+        }
+
+        return AttachmentUploadResponse.builder()
+                .id(upload.getId())
+                .taskId(upload.getTask().getId())
+                .fileName(upload.getFileName())
+                .fileType(upload.getFileType())
+                .fileSize(upload.getFileSize())
+                .chunkSize(upload.getChunkSize())
+                .receivedBytes(upload.getReceivedBytes())
+                .nextOffset(missingOffsets.isEmpty() ? upload.getFileSize() : missingOffsets.get(0))
+                .missingOffsets(missingOffsets)
+                .status(upload.getStatus())
+                .attachmentId(upload.getAttachmentId())
+                .startedAt(upload.getStartedAt())
+                .updatedAt(upload.getUpdatedAt())
+                .build();
+    }
+
+    public static int chunkCount(AttachmentUpload upload) {
+        return (int) ((upload.getFileSize() + upload.getChunkSize() - 1) / upload.getChunkSize());
+    }
+}
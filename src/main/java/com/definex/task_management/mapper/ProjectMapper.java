@@ -28,11 +28,12 @@ public class ProjectMapper {
                 .description(project.getDescription())
                 .department(project.getDepartment())
                 .status(project.getStatus())
+                .version(project.getVersion())
                 .teamMembers(project.getTeamMembers().stream()
                         .map(UserMapper::toResponse)
                         .collect(Collectors.toSet()))
                 .tasks(project.getTasks().stream()
-                        .map(TaskMapper::toResponse)
+                        .map(TaskMapper::toListResponse)
                         .collect(Collectors.toList()))
                 .build();
     }
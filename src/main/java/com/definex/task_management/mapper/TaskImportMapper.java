@@ -0,0 +1,32 @@
+package com.definex.task_management.mapper;
+
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.entity.TaskImport;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Component
+public class TaskImportMapper {
+
+    public static TaskImportResponse toResponse(TaskImport taskImport) {
+        return TaskImportResponse.builder()
+                .id(taskImport.getId())
+                .projectId(taskImport.getProject().getId())
+                .format(taskImport.getFormat())
+                .status(taskImport.getStatus())
+                .stagedThroughLine(taskImport.getStagedThroughLine())
+                .stagedRecords(taskImport.getStagedRecords())
+                .rejectedRecords(taskImport.getRejectedRecords())
+                .mergedTasks(taskImport.getMergedTasks())
+                .mergedAssignees(taskImport.getMergedAssignees())
+                .mergedComments(taskImport.getMergedComments())
+                .errors(taskImport.getErrors() == null || taskImport.getErrors().isEmpty()
+                        ? List.of()
+                        : Arrays.asList(taskImport.getErrors().split("\n")))
+                .startedAt(taskImport.getStartedAt())
+                .updatedAt(taskImport.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,8 +1,18 @@
 package com.definex.task_management.mapper;
 
+import com.definex.task_management.dto.TaskExportRow;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
+import com.definex.task_management.dto.TaskSearchResult;
+import com.definex.task_management.dto.TaskSummaryResponse;
+import com.definex.task_management.dto.TaskTransitionResponse;
 import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.projection.TaskSearchHit;
+import com.definex.task_management.repository.projection.TaskStateView;
+import com.definex.task_management.repository.projection.TaskSummaryView;
 
 import org.springframework.stereotype.Component;
 
@@ -30,6 +40,10 @@ public class TaskMapper {
                 .acceptanceCriteria(task.getAcceptanceCriteria())
                 .state(task.getState())
                 .priority(task.getPriority())
+                .version(task.getVersion())
+                .commentCount(task.getCommentCount())
+                .attachmentCount(task.getAttachmentCount())
+                .totalAttachmentBytes(task.getTotalAttachmentBytes())
                 .projectId(task.getProject().getId())
                 .projectTitle(task.getProject().getTitle())
                 .assignees(task.getAssignees().stream()
@@ -43,4 +57,103 @@ public class TaskMapper {
                 .collect(Collectors.toList()))
                 .build();
     }
+
+    public static TaskResponse toStateResponse(TaskStateView task, TaskState state, Long version) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .state(state)
+                .priority(task.getPriority())
+                .version(version)
+                .projectId(task.getProjectId())
+                .build();
+    }
+
+    public static TaskResponse toListResponse(Task task) {
+        return TaskResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .userStory(task.getUserStory())
+                .acceptanceCriteria(task.getAcceptanceCriteria())
+                .state(task.getState())
+                .priority(task.getPriority())
+                .version(task.getVersion())
+                .commentCount(task.getCommentCount())
+                .attachmentCount(task.getAttachmentCount())
+                .totalAttachmentBytes(task.getTotalAttachmentBytes())
+                .projectId(task.getProject().getId())
+                .projectTitle(task.getProject().getTitle())
+                .assignees(task.getAssignees().stream()
+                .map(UserMapper::toResponse)
+                .collect(Collectors.toSet()))
+                .build();
+    }
+
+    public static TaskSummaryResponse toSummaryResponse(Task task) {
+        return TaskSummaryResponse.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .state(task.getState())
+                .priority(task.getPriority())
+                .version(task.getVersion())
+                .commentCount(task.getCommentCount())
+                .attachmentCount(task.getAttachmentCount())
+                .projectId(task.getProject().getId())
+                .projectTitle(task.getProject().getTitle())
+                .build();
+    }
+
+    public static TaskSummaryResponse toSummaryResponse(TaskSummaryView view) {
+        return TaskSummaryResponse.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .state(view.getState())
+                .priority(view.getPriority())
+                .version(view.getVersion())
+                .commentCount(view.getCommentCount())
+                .attachmentCount(view.getAttachmentCount())
+                .projectId(view.getProjectId())
+                .projectTitle(view.getProjectTitle())
+                .build();
+    }
+
+    public static TaskExportRow toExportRow(Task task) {
+        return TaskExportRow.builder()
+                .id(task.getId())
+                .projectId(task.getProject().getId())
+                .title(task.getTitle())
+                .userStory(task.getUserStory())
+                .acceptanceCriteria(task.getAcceptanceCriteria())
+                .state(task.getState())
+                .priority(task.getPriority())
+                .stateTransitionReason(task.getStateTransitionReason())
+                .version(task.getVersion())
+                .assigneeIds(task.getAssignees().stream()
+                .map(User::getId)
+                .collect(Collectors.toSet()))
+                .build();
+    }
+
+    public static TaskSearchResult toSearchResult(TaskSearchHit hit) {
+        return TaskSearchResult.builder()
+                .id(hit.getId())
+                .projectId(hit.getProjectId())
+                .title(hit.getTitle())
+                .state(hit.getState())
+                .priority(hit.getPriority())
+                .rank(hit.getRank())
+                .matchedComments(hit.getMatchedComments())
+                .build();
+    }
+
+    public static TaskTransitionResponse toTransitionResponse(TaskStateTransition transition) {
+        return TaskTransitionResponse.builder()
+                .id(transition.getId())
+                .taskId(transition.getTaskId())
+                .fromState(transition.getFromState())
+                .toState(transition.getToState())
+                .reason(transition.getReason())
+                .actorId(transition.getActorId())
+                .transitionedAt(transition.getTransitionedAt())
+                .build();
+    }
 }
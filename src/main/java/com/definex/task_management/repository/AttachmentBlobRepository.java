@@ -0,0 +1,93 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.enums.AttachmentProcessingStatus;
+import com.definex.task_management.repository.projection.BlobReferenceView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, String> {
+    /**
+     * Adds a reference, creating the row for new content. The row stays
+     * locked until the transaction ends, so concurrent uploads and deletes of
+     * the same content are serialized.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO attachment_blobs (checksum, file_size, ref_count, created_at) " +
+            "VALUES (:checksum, :fileSize, 1, :now) " +
+            "ON CONFLICT (checksum) DO UPDATE SET ref_count = attachment_blobs.ref_count + 1", nativeQuery = true)
+    int acquire(@Param("checksum") String checksum, @Param("fileSize") long fileSize, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AttachmentBlob b SET b.refCount = b.refCount - 1 WHERE b.checksum = :checksum AND b.refCount > 0")
+    int release(@Param("checksum") String checksum);
+
+    /**
+     * Creates an unreferenced row unless one exists. Waits for a concurrent
+     * upload that is inserting the same content, so a following {@link #lock}
+     * always finds the row.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO attachment_blobs (checksum, file_size, ref_count, created_at) " +
+            "VALUES (:checksum, 0, 0, :now) ON CONFLICT (checksum) DO NOTHING", nativeQuery = true)
+    int claim(@Param("checksum") String checksum, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT checksum FROM attachment_blobs WHERE checksum = :checksum FOR UPDATE", nativeQuery = true)
+    Optional<String> lock(@Param("checksum") String checksum);
+
+    @Query(value = "SELECT checksum FROM attachment_blobs WHERE checksum = :checksum AND ref_count = 0 FOR UPDATE",
+            nativeQuery = true)
+    Optional<String> lockUnreferenced(@Param("checksum") String checksum);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AttachmentBlob b WHERE b.checksum = :checksum AND b.refCount = 0")
+    int deleteUnreferenced(@Param("checksum") String checksum);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AttachmentBlob b WHERE b.checksum = :checksum")
+    int deleteByChecksum(@Param("checksum") String checksum);
+
+    /**
+     * Blobs in checksum order with the number of attachments still using
+     * them, counting only attachments whose task and project exist.
+     */
+    @Query(value = "SELECT b.checksum AS checksum, b.ref_count AS refCount, b.created_at AS createdAt, " +
+            "(SELECT count(*) FROM attachments a JOIN tasks t ON t.id = a.task_id " +
+            "LEFT JOIN projects p ON p.id = t.project_id " +
+            "WHERE a.checksum = b.checksum AND a.deleted = false AND t.deleted = false " +
+            "AND (p.id IS NULL OR p.deleted = false)) AS liveReferences " +
+            "FROM attachment_blobs b WHERE b.checksum > :after ORDER BY b.checksum LIMIT :limit", nativeQuery = true)
+    List<BlobReferenceView> findReferencesAfter(@Param("after") String after, @Param("limit") int limit);
+
+    @Query("SELECT b.checksum FROM AttachmentBlob b WHERE b.processingStatus = :status " +
+            "AND (b.nextProcessingAt IS NULL OR b.nextProcessingAt <= :now) ORDER BY b.createdAt")
+    List<String> findDueForProcessing(@Param("status") AttachmentProcessingStatus status,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AttachmentBlob b SET b.processingStatus = :status, b.contentType = :contentType, " +
+            "b.thumbnail = :thumbnail, b.preview = :preview, b.nextProcessingAt = null WHERE b.checksum = :checksum")
+    int markProcessed(@Param("checksum") String checksum,
+                      @Param("status") AttachmentProcessingStatus status,
+                      @Param("contentType") String contentType,
+                      @Param("thumbnail") boolean thumbnail,
+                      @Param("preview") boolean preview);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AttachmentBlob b SET b.processingStatus = :status, b.processingAttempts = :attempts, " +
+            "b.nextProcessingAt = :nextProcessingAt WHERE b.checksum = :checksum")
+    int markAttempt(@Param("checksum") String checksum,
+                    @Param("status") AttachmentProcessingStatus status,
+                    @Param("attempts") int attempts,
+                    @Param("nextProcessingAt") LocalDateTime nextProcessingAt);
+}
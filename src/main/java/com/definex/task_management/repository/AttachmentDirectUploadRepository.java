@@ -0,0 +1,27 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.AttachmentDirectUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface AttachmentDirectUploadRepository extends JpaRepository<AttachmentDirectUpload, UUID> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AttachmentDirectUpload d WHERE d.task.id = :taskId AND d.startedBy = :startedBy " +
+            "AND d.checksum = :checksum AND d.fileSize = :fileSize")
+    int consume(@Param("taskId") UUID taskId,
+                @Param("startedBy") UUID startedBy,
+                @Param("checksum") String checksum,
+                @Param("fileSize") long fileSize);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AttachmentDirectUpload d WHERE d.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,11 +1,70 @@
 package com.definex.task_management.repository;
 
 import com.definex.task_management.entity.Attachment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface AttachmentRepository extends JpaRepository<Attachment, UUID> {
     List<Attachment> findByTaskId(UUID taskId);
+
+    List<Attachment> findByChecksum(String checksum);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attachment a SET a.fileType = :fileType WHERE a.id = :id")
+    int updateFileType(@Param("id") UUID id, @Param("fileType") String fileType);
+
+    @Query("SELECT a FROM Attachment a JOIN FETCH a.task t WHERE t.project.id = :projectId AND t.deleted = false " +
+            "ORDER BY t.title, t.id, a.uploadDate")
+    List<Attachment> findByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT a FROM Attachment a JOIN FETCH a.task t JOIN t.assignees u " +
+            "WHERE t.project.id = :projectId AND t.deleted = false AND u.id = :userId " +
+            "ORDER BY t.title, t.id, a.uploadDate")
+    List<Attachment> findByProjectIdAndAssigneeId(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attachment a SET a.deleted = true WHERE a.id = :id AND a.deleted = false")
+    int softDeleteById(@Param("id") UUID id);
+
+    /**
+     * Attachments whose content is not yet under a sharded blob key, in id
+     * order so a migration pass can page through them by the last id seen.
+     */
+    @Query("SELECT a FROM Attachment a WHERE a.filePath NOT LIKE 'blobs/%/%/%' AND a.id > :after ORDER BY a.id")
+    List<Attachment> findUnshardedAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attachment a SET a.filePath = :filePath WHERE a.checksum = :checksum " +
+            "AND a.filePath = :previousPath AND a.deleted = false")
+    int updateBlobPath(@Param("checksum") String checksum,
+                       @Param("previousPath") String previousPath,
+                       @Param("filePath") String filePath);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attachment a SET a.filePath = :filePath, a.checksum = :checksum WHERE a.id = :id " +
+            "AND a.filePath = :previousPath AND a.deleted = false")
+    int moveToBlob(@Param("id") UUID id,
+                   @Param("previousPath") String previousPath,
+                   @Param("filePath") String filePath,
+                   @Param("checksum") String checksum);
+
+    @Query(value = "SELECT count(*) FROM attachments a JOIN tasks t ON t.id = a.task_id " +
+            "LEFT JOIN projects p ON p.id = t.project_id " +
+            "WHERE a.checksum = :checksum AND a.deleted = false AND t.deleted = false " +
+            "AND (p.id IS NULL OR p.deleted = false)", nativeQuery = true)
+    long countLiveByChecksum(@Param("checksum") String checksum);
+
+    /**
+     * Marks the attachments left behind by deleted tasks and projects as
+     * deleted once their content is collected.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Attachment a SET a.deleted = true WHERE a.checksum = :checksum AND a.deleted = false")
+    int softDeleteByChecksum(@Param("checksum") String checksum);
 }
@@ -0,0 +1,31 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.AttachmentUploadChunk;
+import com.definex.task_management.entity.AttachmentUploadChunkId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AttachmentUploadChunkRepository extends JpaRepository<AttachmentUploadChunk, AttachmentUploadChunkId> {
+    /**
+     * Records a chunk once. Returns 0 when the chunk was already recorded, so
+     * a retried chunk is not counted twice.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO attachment_upload_chunks (upload_id, chunk_index) VALUES (:uploadId, :chunkIndex) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int markReceived(@Param("uploadId") UUID uploadId, @Param("chunkIndex") int chunkIndex);
+
+    @Query("SELECT c.id.chunkIndex FROM AttachmentUploadChunk c WHERE c.id.uploadId = :uploadId ORDER BY c.id.chunkIndex")
+    List<Integer> findChunkIndexes(@Param("uploadId") UUID uploadId);
+
+    @Modifying
+    @Query("DELETE FROM AttachmentUploadChunk c WHERE c.id.uploadId = :uploadId")
+    int deleteByUploadId(@Param("uploadId") UUID uploadId);
+}
@@ -0,0 +1,67 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.AttachmentUpload;
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AttachmentUploadRepository extends JpaRepository<AttachmentUpload, UUID> {
+    List<AttachmentUpload> findTop100ByUpdatedAtBeforeOrderByUpdatedAt(LocalDateTime cutoff);
+
+    boolean existsByFilePath(String filePath);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttachmentUpload u SET u.receivedBytes = u.receivedBytes + :bytes, u.updatedAt = :now " +
+            "WHERE u.id = :id")
+    int addReceivedBytes(@Param("id") UUID id, @Param("bytes") long bytes, @Param("now") LocalDateTime now);
+
+    /**
+     * Stops the upload from taking further chunks so it can be completed.
+     * A completion that stalled before {@code staleBefore} can be taken over.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttachmentUpload u SET u.status = :completing, u.updatedAt = :now " +
+            "WHERE u.id = :id AND (u.status = :inProgress OR (u.status = :completing AND u.updatedAt < :staleBefore))")
+    int claimCompletion(@Param("id") UUID id,
+                        @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("now") LocalDateTime now,
+                        @Param("inProgress") AttachmentUploadStatus inProgress,
+                        @Param("completing") AttachmentUploadStatus completing);
+
+    default int claimCompletion(UUID id, LocalDateTime staleBefore, LocalDateTime now) {
+        return claimCompletion(id, staleBefore, now,
+                AttachmentUploadStatus.IN_PROGRESS, AttachmentUploadStatus.COMPLETING);
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttachmentUpload u SET u.status = :to, u.updatedAt = :now WHERE u.id = :id AND u.status = :from")
+    int updateStatus(@Param("id") UUID id,
+                     @Param("from") AttachmentUploadStatus from,
+                     @Param("to") AttachmentUploadStatus to,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttachmentUpload u SET u.status = :completed, u.attachmentId = :attachmentId, u.updatedAt = :now " +
+            "WHERE u.id = :id AND u.status = :completing")
+    int markCompleted(@Param("id") UUID id,
+                      @Param("attachmentId") UUID attachmentId,
+                      @Param("now") LocalDateTime now,
+                      @Param("completing") AttachmentUploadStatus completing,
+                      @Param("completed") AttachmentUploadStatus completed);
+
+    default int markCompleted(UUID id, UUID attachmentId, LocalDateTime now) {
+        return markCompleted(id, attachmentId, now, AttachmentUploadStatus.COMPLETING, AttachmentUploadStatus.COMPLETED);
+    }
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM AttachmentUpload u WHERE u.id = :id AND u.updatedAt < :cutoff")
+    int deleteIfIdleSince(@Param("id") UUID id, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,10 +2,17 @@ package com.definex.task_management.repository;
 
 import com.definex.task_management.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
     List<Comment> findByTaskId(UUID taskId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Comment c SET c.deleted = true WHERE c.id = :id AND c.deleted = false")
+    int softDeleteById(@Param("id") UUID id);
 }
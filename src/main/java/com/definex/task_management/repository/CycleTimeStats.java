@@ -0,0 +1,15 @@
+package com.definex.task_management.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CycleTimeStats {
+    long completedTasks;
+    Double p50Seconds;
+    Double p75Seconds;
+    Double p90Seconds;
+    Double p95Seconds;
+    Double averageSeconds;
+}
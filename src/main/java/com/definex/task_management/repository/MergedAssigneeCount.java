@@ -0,0 +1,17 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class MergedAssigneeCount {
+    UUID userId;
+    TaskState state;
+    TaskPriority priority;
+    int taskCount;
+}
@@ -0,0 +1,47 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.ProjectDailyStateCount;
+import com.definex.task_management.entity.ProjectDailyStateCountId;
+import com.definex.task_management.repository.projection.DailyStateCountView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProjectDailyStateCountRepository extends JpaRepository<ProjectDailyStateCount, ProjectDailyStateCountId> {
+
+    /**
+     * Rows from the last snapshot on or before {@code from} through {@code to},
+     * read as one range of the (project_id, snapshot_date, state) primary key.
+     * Starting at that earlier snapshot lets callers carry counts into days
+     * that have no rows of their own.
+     */
+    @Query(value = "SELECT c.snapshot_date AS snapshotDate, c.state AS state, c.task_count AS taskCount " +
+            "FROM project_daily_state_counts c " +
+            "WHERE c.project_id = :projectId AND c.snapshot_date <= :to AND c.snapshot_date >= COALESCE(" +
+            "(SELECT max(p.snapshot_date) FROM project_daily_state_counts p " +
+            "WHERE p.project_id = :projectId AND p.snapshot_date <= :from), :from) " +
+            "ORDER BY c.snapshot_date, c.state", nativeQuery = true)
+    List<DailyStateCountView> findRange(@Param("projectId") UUID projectId,
+                                        @Param("from") LocalDate from,
+                                        @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_state_counts (project_id, snapshot_date, state, task_count) " +
+            "SELECT s.project_id, CURRENT_DATE, s.state, sum(s.task_count) FROM project_task_stats s " +
+            "GROUP BY s.project_id, s.state ORDER BY s.project_id, s.state " +
+            "ON CONFLICT (project_id, snapshot_date, state) DO NOTHING", nativeQuery = true)
+    int appendTodaysSnapshot();
+
+    @Modifying
+    @Query(value = "INSERT INTO project_daily_state_counts (project_id, snapshot_date, state, task_count) " +
+            "SELECT s.project_id, CURRENT_DATE, s.state, sum(s.task_count) FROM project_task_stats s " +
+            "WHERE s.project_id = :projectId GROUP BY s.project_id, s.state ORDER BY s.state " +
+            "ON CONFLICT (project_id, snapshot_date, state) DO UPDATE SET task_count = EXCLUDED.task_count " +
+            "WHERE project_daily_state_counts.task_count <> EXCLUDED.task_count", nativeQuery = true)
+    int resyncTodaysSnapshot(@Param("projectId") UUID projectId);
+}
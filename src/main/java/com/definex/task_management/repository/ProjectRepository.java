@@ -2,6 +2,7 @@ package com.definex.task_management.repository;
 
 import com.definex.task_management.entity.Project;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,9 +13,31 @@ import java.util.UUID;
 public interface ProjectRepository extends JpaRepository<Project, UUID> {
     List<Project> findByDepartment(String department);
 
+    @Query("SELECT p.id FROM Project p")
+    List<UUID> findAllIds();
+
     @Query("SELECT p FROM Project p JOIN p.teamMembers m WHERE p.department = :department AND m.id = :userId")
     List<Project> findByDepartmentAndTeamMembersContaining(@Param("department") String department, @Param("userId") UUID userId);
     
     @Query(value = "SELECT p.* FROM projects p LEFT JOIN project_team_members ptm ON p.id = ptm.project_id WHERE p.id = :projectId AND ptm.user_id = :userId", nativeQuery = true)
     Optional<Project> findByIdAndUserAccess(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM project_team_members WHERE project_id = :projectId AND user_id = :userId)",
+            nativeQuery = true)
+    boolean isTeamMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO project_team_members (project_id, user_id) " +
+            "SELECT :projectId, u.id FROM users u WHERE u.id = :userId AND u.deleted = false " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addTeamMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM project_team_members WHERE project_id = :projectId AND user_id = :userId",
+            nativeQuery = true)
+    int removeTeamMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Project p SET p.version = p.version + 1 WHERE p.id = :projectId AND p.deleted = false")
+    int incrementVersion(@Param("projectId") UUID projectId);
 }
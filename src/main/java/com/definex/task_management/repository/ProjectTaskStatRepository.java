@@ -0,0 +1,118 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.ProjectTaskStat;
+import com.definex.task_management.entity.ProjectTaskStatId;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.projection.ProjectTaskStatView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+public interface ProjectTaskStatRepository extends JpaRepository<ProjectTaskStat, ProjectTaskStatId> {
+    /**
+     * Orders state and priority by their stored names, which is the same
+     * order as {@code ORDER BY state COLLATE "C", priority COLLATE "C"} in the
+     * set-based writers such as the import merge.
+     */
+    Comparator<ProjectTaskStatId> LOCK_ORDER = Comparator.comparing(ProjectTaskStatId::getProjectId)
+            .thenComparing(id -> id.getState().name())
+            .thenComparing(id -> id.getPriority().name());
+
+    String RECONCILE_PROJECT = "WITH actual AS (" +
+            "SELECT t.project_id, t.state, t.priority, count(*) AS task_count FROM tasks t " +
+            "WHERE t.project_id = :projectId AND t.deleted = false AND t.state IS NOT NULL AND t.priority IS NOT NULL " +
+            "GROUP BY t.project_id, t.state, t.priority), " +
+            "repaired AS (INSERT INTO project_task_stats (project_id, state, priority, task_count) " +
+            "SELECT project_id, state, priority, task_count FROM actual " +
+            "ON CONFLICT (project_id, state, priority) DO UPDATE SET task_count = EXCLUDED.task_count " +
+            "WHERE project_task_stats.task_count <> EXCLUDED.task_count RETURNING 1), " +
+            "cleared AS (UPDATE project_task_stats s SET task_count = 0 " +
+            "WHERE s.project_id = :projectId AND s.task_count <> 0 AND NOT EXISTS (" +
+            "SELECT 1 FROM actual a WHERE a.state = s.state AND a.priority = s.priority) RETURNING 1) " +
+            "SELECT (SELECT count(*) FROM repaired) + (SELECT count(*) FROM cleared)";
+
+    @Query("SELECT s FROM ProjectTaskStat s WHERE s.id.projectId = :projectId")
+    List<ProjectTaskStat> findByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(value = "SELECT s.project_id AS projectId, p.title AS projectTitle, s.state AS state, " +
+            "s.priority AS priority, s.task_count AS taskCount " +
+            "FROM project_task_stats s JOIN projects p ON p.id = s.project_id " +
+            "WHERE p.department = :department AND p.deleted = false AND s.task_count <> 0 " +
+            "ORDER BY p.title, s.project_id", nativeQuery = true)
+    List<ProjectTaskStatView> findDepartmentStats(@Param("department") String department);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO project_task_stats (project_id, state, priority, task_count) " +
+            "VALUES (:projectId, :state, :priority, :delta) " +
+            "ON CONFLICT (project_id, state, priority) " +
+            "DO UPDATE SET task_count = project_task_stats.task_count + EXCLUDED.task_count", nativeQuery = true)
+    int applyDelta(@Param("projectId") UUID projectId,
+                   @Param("state") String state,
+                   @Param("priority") String priority,
+                   @Param("delta") long delta);
+
+    /**
+     * Moves today's count for one project and state by {@code delta}. A day's
+     * first patch seeds the row from the most recent earlier snapshot, so the
+     * result is correct whether or not today's snapshot was appended yet.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO project_daily_state_counts (project_id, snapshot_date, state, task_count) " +
+            "VALUES (:projectId, CURRENT_DATE, :state, :delta + COALESCE((" +
+            "SELECT c.task_count FROM project_daily_state_counts c " +
+            "WHERE c.project_id = :projectId AND c.state = :state AND c.snapshot_date < CURRENT_DATE " +
+            "ORDER BY c.snapshot_date DESC LIMIT 1), 0)) " +
+            "ON CONFLICT (project_id, snapshot_date, state) " +
+            "DO UPDATE SET task_count = project_daily_state_counts.task_count + :delta", nativeQuery = true)
+    int patchDailyCount(@Param("projectId") UUID projectId,
+                        @Param("state") String state,
+                        @Param("delta") long delta);
+
+    /**
+     * Locks the project's stat rows in {@link #LOCK_ORDER}, the order every writer takes them in.
+     */
+    @Query(value = "SELECT project_id FROM project_task_stats WHERE project_id = :projectId " +
+            "ORDER BY state COLLATE \"C\", priority COLLATE \"C\" FOR UPDATE", nativeQuery = true)
+    List<UUID> lockProjectStats(@Param("projectId") UUID projectId);
+
+    @Query(value = RECONCILE_PROJECT, nativeQuery = true)
+    long reconcileProject(@Param("projectId") UUID projectId);
+
+    /**
+     * Applies the non-zero deltas in a fixed key order so that concurrent
+     * writers touching the same rows always lock them in the same sequence,
+     * then patches today's per-state snapshot with the same changes.
+     */
+    default void applyDeltas(Map<ProjectTaskStatId, Long> deltas) {
+        Map<UUID, Map<String, Long>> dailyDeltas = new TreeMap<>();
+        deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(LOCK_ORDER))
+                .forEach(entry -> {
+                    ProjectTaskStatId key = entry.getKey();
+                    applyDelta(key.getProjectId(), key.getState().name(), key.getPriority().name(), entry.getValue());
+                    dailyDeltas.computeIfAbsent(key.getProjectId(), id -> new TreeMap<>())
+                            .merge(key.getState().name(), entry.getValue(), Long::sum);
+                });
+        dailyDeltas.forEach((projectId, states) -> states.forEach((state, delta) -> {
+            if (delta != 0) {
+                patchDailyCount(projectId, state, delta);
+            }
+        }));
+    }
+
+    static void addDelta(Map<ProjectTaskStatId, Long> deltas, UUID projectId,
+                         TaskState state, TaskPriority priority, long delta) {
+        if (projectId != null && state != null && priority != null) {
+            deltas.merge(new ProjectTaskStatId(projectId, state, priority), delta, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.definex.task_management.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class StagedImportRow {
+    long lineNumber;
+    String recordType;
+    UUID taskId;
+    UUID commentId;
+    String title;
+    String userStory;
+    String acceptanceCriteria;
+    String state;
+    String priority;
+    String assigneeEmails;
+    String authorEmail;
+    String content;
+}
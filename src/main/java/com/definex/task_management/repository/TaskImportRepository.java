@@ -0,0 +1,32 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.TaskImport;
+import com.definex.task_management.enums.TaskImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface TaskImportRepository extends JpaRepository<TaskImport, UUID> {
+
+    /**
+     * Moves a failed import, or one whose run stopped reporting progress
+     * before {@code staleBefore}, back to staging. Only one of several
+     * concurrent resumes gets a row back.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskImport i SET i.status = :staging, i.updatedAt = :now " +
+            "WHERE i.id = :importId AND i.status <> :completed " +
+            "AND (i.status = :failed OR i.updatedAt < :staleBefore)")
+    int claimForResume(@Param("importId") UUID importId,
+                       @Param("staleBefore") LocalDateTime staleBefore,
+                       @Param("now") LocalDateTime now,
+                       @Param("staging") TaskImportStatus staging,
+                       @Param("failed") TaskImportStatus failed,
+                       @Param("completed") TaskImportStatus completed);
+}
@@ -0,0 +1,157 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Loads import rows into the UNLOGGED {@code task_import_staging} table with
+ * COPY and merges them into the live tables with set-based statements. Ids are
+ * derived from the external ids, so every merge is safe to run again.
+ */
+@Repository
+public class TaskImportStagingRepository {
+
+    static final String COPY_SQL = "COPY task_import_staging (import_id, line_number, record_type, task_id, " +
+            "comment_id, title, user_story, acceptance_criteria, state, priority, assignee_emails, author_email, " +
+            "content) FROM STDIN WITH (FORMAT csv)";
+
+    static final String MERGE_TASKS_SQL = "WITH inserted AS (" +
+            "INSERT INTO tasks (id, title, user_story, acceptance_criteria, state, " +
+            "priority, project_id, deleted, version) " +
+            "SELECT DISTINCT ON (s.task_id) s.task_id, s.title, s.user_story, s.acceptance_criteria, " +
+            "COALESCE(s.state, 'BACKLOG'), s.priority, ?, false, 0 " +
+            "FROM task_import_staging s " +
+            "WHERE s.import_id = ? AND s.record_type = 'TASK' " +
+            "ORDER BY s.task_id, s.line_number " +
+            "ON CONFLICT (id) DO NOTHING " +
+            "RETURNING project_id, state, priority), " +
+            "tallied AS (INSERT INTO project_task_stats (project_id, state, priority, task_count) " +
+            "SELECT project_id, state, priority, count(*) FROM inserted WHERE priority IS NOT NULL " +
+            "GROUP BY project_id, state, priority ORDER BY state COLLATE \"C\", priority COLLATE \"C\" " +
+            "ON CONFLICT (project_id, state, priority) " +
+            "DO UPDATE SET task_count = project_task_stats.task_count + EXCLUDED.task_count), " +
+            "daily AS (SELECT project_id, state, count(*) AS delta, COALESCE((" +
+            "SELECT c.task_count FROM project_daily_state_counts c " +
+            "WHERE c.project_id = i.project_id AND c.state = i.state AND c.snapshot_date < CURRENT_DATE " +
+            "ORDER BY c.snapshot_date DESC LIMIT 1), 0) AS seed " +
+            "FROM inserted i WHERE priority IS NOT NULL GROUP BY project_id, state), " +
+            "patched AS (INSERT INTO project_daily_state_counts (project_id, snapshot_date, state, task_count) " +
+            "SELECT project_id, CURRENT_DATE, state, seed + delta FROM daily ORDER BY state COLLATE \"C\" " +
+            "ON CONFLICT (project_id, snapshot_date, state) " +
+            "DO UPDATE SET task_count = project_daily_state_counts.task_count + EXCLUDED.task_count - (" +
+            "SELECT d.seed FROM daily d WHERE d.state = EXCLUDED.state)) " +
+            "SELECT count(*) FROM inserted";
+
+    static final String MERGE_ASSIGNEES_SQL = "WITH inserted AS (" +
+            "INSERT INTO task_assignees (task_id, user_id) " +
+            "SELECT DISTINCT s.task_id, u.id " +
+            "FROM task_import_staging s " +
+            "CROSS JOIN LATERAL unnest(string_to_array(s.assignee_emails, ';')) AS a(email) " +
+            "JOIN tasks t ON t.id = s.task_id AND t.project_id = ? AND t.deleted = false " +
+            "JOIN users u ON lower(u.email) = a.email AND u.deleted = false " +
+            "WHERE s.import_id = ? AND s.record_type = 'TASK' AND s.assignee_emails IS NOT NULL " +
+            "ON CONFLICT DO NOTHING " +
+            "RETURNING task_id, user_id) " +
+            "SELECT i.user_id, t.state, t.priority, count(*) AS task_count " +
+            "FROM inserted i JOIN tasks t ON t.id = i.task_id " +
+            "GROUP BY i.user_id, t.state, t.priority";
+
+    static final String MERGE_COMMENTS_SQL = "WITH inserted AS (" +
+            "INSERT INTO comments (id, content, task_id, user_id, deleted) " +
+            "SELECT s.comment_id, s.content, s.task_id, u.id, false " +
+            "FROM task_import_staging s " +
+            "JOIN tasks t ON t.id = s.task_id AND t.project_id = ? AND t.deleted = false " +
+            "JOIN users u ON lower(u.email) = s.author_email AND u.deleted = false " +
+            "WHERE s.import_id = ? AND s.record_type = 'COMMENT' " +
+            "ON CONFLICT (id) DO NOTHING " +
+            "RETURNING task_id), " +
+            "counted AS (SELECT task_id, count(*) AS added FROM inserted GROUP BY task_id), " +
+            "bumped AS (UPDATE tasks t SET comment_count = t.comment_count + c.added " +
+            "FROM counted c WHERE t.id = c.task_id RETURNING c.added) " +
+            "SELECT COALESCE(sum(added), 0) FROM bumped";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskImportStagingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long copyIntoStaging(UUID importId, List<StagedImportRow> rows) {
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                for (StagedImportRow row : rows) {
+                    byte[] line = toCopyLine(importId, row).getBytes(StandardCharsets.UTF_8);
+                    copyIn.writeToCopy(line, 0, line.length);
+                }
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+
+    public int mergeTasks(UUID importId, UUID projectId) {
+        Long merged = jdbcTemplate.queryForObject(MERGE_TASKS_SQL, Long.class, projectId, importId);
+        return merged != null ? merged.intValue() : 0;
+    }
+
+    /**
+     * Returns the new assignments counted by assignee and by the state and
+     * priority of the task, so open-task workloads can be updated in place.
+     */
+    public List<MergedAssigneeCount> mergeAssignees(UUID importId, UUID projectId) {
+        return jdbcTemplate.query(MERGE_ASSIGNEES_SQL, (rs, rowNum) -> MergedAssigneeCount.builder()
+                        .userId(rs.getObject("user_id", UUID.class))
+                        .state(TaskState.valueOf(rs.getString("state")))
+                        .priority(rs.getString("priority") != null ? TaskPriority.valueOf(rs.getString("priority")) : null)
+                        .taskCount(rs.getInt("task_count"))
+                        .build(),
+                projectId, importId);
+    }
+
+    public int mergeComments(UUID importId, UUID projectId) {
+        Long merged = jdbcTemplate.queryForObject(MERGE_COMMENTS_SQL, Long.class, projectId, importId);
+        return merged != null ? merged.intValue() : 0;
+    }
+
+    public int deleteStagedRows(UUID importId) {
+        return jdbcTemplate.update("DELETE FROM task_import_staging WHERE import_id = ?", importId);
+    }
+
+    static String toCopyLine(UUID importId, StagedImportRow row) {
+        return String.join(",",
+                importId.toString(),
+                Long.toString(row.getLineNumber()),
+                row.getRecordType(),
+                row.getTaskId().toString(),
+                row.getCommentId() != null ? row.getCommentId().toString() : "",
+                quote(row.getTitle()),
+                quote(row.getUserStory()),
+                quote(row.getAcceptanceCriteria()),
+                quote(row.getState()),
+                quote(row.getPriority()),
+                quote(row.getAssigneeEmails()),
+                quote(row.getAuthorEmail()),
+                quote(row.getContent())) + "\n";
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,20 +1,212 @@
 package com.definex.task_management.repository;
 
 import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.projection.AssigneeWorkloadView;
+import com.definex.task_management.repository.projection.TaskAssigneeView;
+import com.definex.task_management.repository.projection.TaskSearchHit;
+import com.definex.task_management.repository.projection.TaskStateView;
+import com.definex.task_management.repository.projection.TaskSummaryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
+    String SEARCH_MATCHES = "WITH query AS (SELECT to_tsquery('english', :query) AS q), " +
+            "matches AS (" +
+            "SELECT t.id AS task_id, ts_rank(t.search_vector, query.q) AS rank, 0 AS comment_match " +
+            "FROM tasks t, query WHERE t.search_vector @@ query.q AND t.deleted = false " +
+            "UNION ALL " +
+            "SELECT c.task_id, ts_rank(c.search_vector, query.q), 1 " +
+            "FROM comments c, query WHERE c.search_vector @@ query.q AND c.deleted = false), " +
+            "ranked AS (SELECT task_id, sum(rank) AS rank, sum(comment_match) AS matched_comments " +
+            "FROM matches GROUP BY task_id) ";
+
+    String SEARCH_ACCESS_FILTER = "FROM ranked r " +
+            "JOIN tasks t ON t.id = r.task_id " +
+            "JOIN projects p ON p.id = t.project_id AND p.deleted = false " +
+            "WHERE p.department = :department " +
+            "AND (CAST(:projectId AS uuid) IS NULL OR t.project_id = CAST(:projectId AS uuid)) " +
+            "AND (:allProjects = true OR EXISTS (SELECT 1 FROM project_team_members ptm " +
+            "WHERE ptm.project_id = t.project_id AND ptm.user_id = :userId)) ";
+
+    String ASSIGNED_TASKS_SELECT = "SELECT t.id AS id, t.title AS title, t.state AS state, t.priority AS priority, " +
+            "t.version AS version, t.comment_count AS commentCount, t.attachment_count AS attachmentCount, " +
+            "t.project_id AS projectId, p.title AS projectTitle " +
+            "FROM task_assignees ta " +
+            "JOIN tasks t ON t.id = ta.task_id AND t.deleted = false " +
+            "JOIN projects p ON p.id = t.project_id AND p.deleted = false ";
+
     List<Task> findByProjectId(UUID projectId);
 
-    @Query(value = "UPDATE tasks SET project_id = :projectId WHERE id = :taskId", nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Task t JOIN FETCH t.project WHERE t.project.id = :projectId ORDER BY t.id")
+    Stream<Task> streamByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(value = SEARCH_MATCHES +
+            "SELECT t.id AS id, t.project_id AS projectId, t.title AS title, t.state AS state, " +
+            "t.priority AS priority, CAST(r.rank AS double precision) AS rank, " +
+            "CAST(r.matched_comments AS bigint) AS matchedComments " +
+            SEARCH_ACCESS_FILTER +
+            "ORDER BY r.rank DESC, t.id",
+            countQuery = SEARCH_MATCHES + "SELECT count(*) " + SEARCH_ACCESS_FILTER,
+            nativeQuery = true)
+    Page<TaskSearchHit> search(@Param("query") String query,
+                               @Param("department") String department,
+                               @Param("projectId") UUID projectId,
+                               @Param("userId") UUID userId,
+                               @Param("allProjects") boolean allProjects,
+                               Pageable pageable);
+
+    @Query(value = ASSIGNED_TASKS_SELECT +
+            "WHERE ta.user_id = :userId AND t.state IN (:states) AND t.priority IN (:priorities) " +
+            "ORDER BY ta.task_id LIMIT :limit", nativeQuery = true)
+    List<TaskSummaryView> findAssignedTasks(@Param("userId") UUID userId,
+                                            @Param("states") Collection<String> states,
+                                            @Param("priorities") Collection<String> priorities,
+                                            @Param("limit") int limit);
+
+    @Query(value = ASSIGNED_TASKS_SELECT +
+            "WHERE ta.user_id = :userId AND ta.task_id > :after AND t.id > :after " +
+            "AND t.state IN (:states) AND t.priority IN (:priorities) " +
+            "ORDER BY ta.task_id LIMIT :limit", nativeQuery = true)
+    List<TaskSummaryView> findAssignedTasksAfter(@Param("userId") UUID userId,
+                                                 @Param("after") UUID after,
+                                                 @Param("states") Collection<String> states,
+                                                 @Param("priorities") Collection<String> priorities,
+                                                 @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE tasks SET project_id = :projectId WHERE id = :taskId AND deleted = false", nativeQuery = true)
     int assignTaskToProject(@Param("taskId") UUID taskId, @Param("projectId") UUID projectId);
+
+    @Query("SELECT t.id AS id, t.state AS state, t.priority AS priority, t.project.id AS projectId " +
+            "FROM Task t WHERE t.id IN :taskIds")
+    List<TaskStateView> findStateViewsByIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    @Query("SELECT t.id AS id, t.state AS state, t.priority AS priority, t.project.id AS projectId " +
+            "FROM Task t WHERE t.id = :taskId")
+    Optional<TaskStateView> findStateViewById(@Param("taskId") UUID taskId);
+
+    @Query("SELECT t.state FROM Task t WHERE t.id = :taskId")
+    Optional<TaskState> findStateById(@Param("taskId") UUID taskId);
+
+    /**
+     * Moves the task to {@code newState} only if it is still in {@code expectedState},
+     * returning its new version, or nothing if another writer got there first.
+     */
+    @Query(value = "UPDATE tasks SET state = :newState, version = version + 1, " +
+            "state_transition_reason = COALESCE(CAST(:reason AS text), state_transition_reason) " +
+            "WHERE id = :taskId AND state = :expectedState AND deleted = false " +
+            "RETURNING version", nativeQuery = true)
+    Optional<Long> compareAndSetState(@Param("taskId") UUID taskId,
+                                      @Param("expectedState") String expectedState,
+                                      @Param("newState") String newState,
+                                      @Param("reason") String reason);
+
+    /**
+     * Moves the given tasks that are still in {@code fromState} to {@code newState}
+     * and returns exactly the rows it changed, with their current priority and project.
+     */
+    @Query(value = "UPDATE tasks SET state = :newState, version = version + 1, " +
+            "state_transition_reason = COALESCE(CAST(:reason AS text), state_transition_reason) " +
+            "WHERE id IN (:taskIds) AND state = :fromState AND deleted = false " +
+            "RETURNING id AS id, state AS state, priority AS priority, project_id AS projectId", nativeQuery = true)
+    List<TaskStateView> bulkUpdateState(@Param("taskIds") Collection<UUID> taskIds,
+                                        @Param("fromState") String fromState,
+                                        @Param("newState") String newState,
+                                        @Param("reason") String reason);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.version = t.version + 1 WHERE t.id IN :taskIds AND t.deleted = false")
+    int bulkUpdatePriority(@Param("taskIds") Collection<UUID> taskIds, @Param("priority") TaskPriority priority);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta WHERE t.id = :taskId")
+    int adjustCommentCount(@Param("taskId") UUID taskId, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.attachmentCount = t.attachmentCount + :countDelta, " +
+            "t.totalAttachmentBytes = t.totalAttachmentBytes + :bytesDelta WHERE t.id = :taskId")
+    int adjustAttachmentTotals(@Param("taskId") UUID taskId,
+                               @Param("countDelta") int countDelta,
+                               @Param("bytesDelta") long bytesDelta);
+
+    /**
+     * Counts one more attachment of {@code bytes} unless that would take the
+     * task past {@code maxTotalBytes}. Returns 0 when the quota is exceeded.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.attachmentCount = t.attachmentCount + 1, " +
+            "t.totalAttachmentBytes = t.totalAttachmentBytes + :bytes " +
+            "WHERE t.id = :taskId AND t.totalAttachmentBytes + :bytes <= :maxTotalBytes")
+    int addAttachmentWithinQuota(@Param("taskId") UUID taskId,
+                                 @Param("bytes") long bytes,
+                                 @Param("maxTotalBytes") long maxTotalBytes);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO task_assignees (task_id, user_id) " +
+            "SELECT :taskId, u.id FROM users u WHERE u.id = :userId AND u.deleted = false " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addAssignee(@Param("taskId") UUID taskId, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_assignees WHERE task_id = :taskId AND user_id = :userId", nativeQuery = true)
+    int removeAssignee(@Param("taskId") UUID taskId, @Param("userId") UUID userId);
+
+    /**
+     * Assigns the user to each of the given tasks they are not assigned to yet
+     * and returns the ids of exactly the tasks it added them to.
+     */
+    @Query(value = "INSERT INTO task_assignees (task_id, user_id) " +
+            "SELECT t.id, :userId FROM tasks t " +
+            "WHERE t.id IN (:taskIds) AND t.deleted = false " +
+            "ON CONFLICT DO NOTHING RETURNING task_id", nativeQuery = true)
+    List<UUID> bulkAddAssignee(@Param("taskIds") Collection<UUID> taskIds, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.version = t.version + 1 WHERE t.id IN :taskIds AND t.deleted = false")
+    int incrementVersions(@Param("taskIds") Collection<UUID> taskIds);
+
+    @Query("SELECT t.id AS taskId, u.id AS userId FROM Task t JOIN t.assignees u WHERE t.id IN :taskIds")
+    List<TaskAssigneeView> findAssigneesByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+
+    /**
+     * Runs a trivial statement, which fixes the snapshot of a repeatable-read transaction.
+     */
+    @Query(value = "SELECT 1", nativeQuery = true)
+    int openSnapshot();
+
+    @Query("SELECT u.id AS userId, t.state AS state, t.priority AS priority, count(t) AS taskCount " +
+            "FROM Task t JOIN t.assignees u WHERE t.state IN :states AND t.priority IS NOT NULL " +
+            "GROUP BY u.id, t.state, t.priority")
+    List<AssigneeWorkloadView> countAssignedTasksByState(@Param("states") Collection<TaskState> states);
+
+    @Query(value = "SELECT ta.task_id FROM task_assignees ta WHERE ta.user_id = :userId AND ta.task_id IN (:taskIds)",
+            nativeQuery = true)
+    List<UUID> findAssignedTaskIds(@Param("taskIds") Collection<UUID> taskIds, @Param("userId") UUID userId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM task_assignees WHERE user_id = :userId AND task_id IN (:taskIds)", nativeQuery = true)
+    int bulkRemoveAssignee(@Param("taskIds") Collection<UUID> taskIds, @Param("userId") UUID userId);
 }
@@ -0,0 +1,65 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public final class TaskSpecifications {
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> inDepartment(String department) {
+        return (root, query, cb) -> {
+            Join<Task, Project> project = isCountQuery(query)
+                    ? root.join("project", JoinType.INNER)
+                    : (Join<Task, Project>) root.<Task, Project>fetch("project", JoinType.INNER);
+            return cb.equal(project.get("department"), department);
+        };
+    }
+
+    public static Specification<Task> visibleTo(UUID userId) {
+        return (root, query, cb) -> {
+            Subquery<UUID> membership = query.subquery(UUID.class);
+            Root<Project> project = membership.from(Project.class);
+            Join<Project, User> member = project.join("teamMembers");
+            membership.select(project.get("id"))
+                    .where(cb.equal(project.get("id"), root.get("project").get("id")),
+                            cb.equal(member.get("id"), userId));
+            return cb.exists(membership);
+        };
+    }
+
+    public static Specification<Task> inProject(UUID projectId) {
+        return projectId == null ? null : (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> hasStates(Collection<TaskState> states) {
+        return states == null || states.isEmpty() ? null : (root, query, cb) -> root.get("state").in(states);
+    }
+
+    public static Specification<Task> hasPriorities(Collection<TaskPriority> priorities) {
+        return priorities == null || priorities.isEmpty() ? null : (root, query, cb) -> root.get("priority").in(priorities);
+    }
+
+    public static Specification<Task> assignedTo(UUID userId) {
+        return userId == null ? null : (root, query, cb) -> {
+            Join<Task, User> assignee = root.join("assignees", JoinType.INNER);
+            return cb.equal(assignee.get("id"), userId);
+        };
+    }
+
+    private static boolean isCountQuery(CriteriaQuery<?> query) {
+        return Long.class == query.getResultType() || long.class == query.getResultType();
+    }
+}
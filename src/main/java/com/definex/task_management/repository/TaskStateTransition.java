@@ -0,0 +1,21 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.enums.TaskState;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class TaskStateTransition {
+    UUID id;
+    UUID taskId;
+    UUID projectId;
+    TaskState fromState;
+    TaskState toState;
+    String reason;
+    UUID actorId;
+    LocalDateTime transitionedAt;
+}
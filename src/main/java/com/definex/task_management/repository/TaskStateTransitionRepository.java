@@ -0,0 +1,111 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.enums.TaskState;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only access to {@code task_state_transitions}, which is range
+ * partitioned by month on {@code transitioned_at}. The parent table and its
+ * default partition are created by schema-postgresql.sql; monthly partitions
+ * are added ahead of time by {@link #createMonthlyPartition(YearMonth)}.
+ */
+@Repository
+public class TaskStateTransitionRepository {
+
+    static final String INSERT_SQL = "INSERT INTO task_state_transitions (id, task_id, project_id, from_state, " +
+            "to_state, reason, actor_id, transitioned_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String HISTORY_SQL = "SELECT id, task_id, project_id, from_state, to_state, reason, actor_id, " +
+            "transitioned_at FROM task_state_transitions WHERE task_id = ? ORDER BY transitioned_at, id";
+
+    /**
+     * Completions are pruned to the partitions inside the window. The BACKLOG
+     * exit can be in any earlier month, so that side is bounded only by the
+     * window end and scoped to the project, which lets each remaining partition
+     * answer it with one range scan of its backlog-exit index.
+     */
+    static final String CYCLE_TIME_SQL = "WITH completed AS (" +
+            "SELECT task_id, max(transitioned_at) AS completed_at FROM task_state_transitions " +
+            "WHERE project_id = ? AND to_state = 'COMPLETED' AND transitioned_at >= ? AND transitioned_at < ? " +
+            "GROUP BY task_id), " +
+            "cycles AS (SELECT CAST(EXTRACT(EPOCH FROM c.completed_at - min(t.transitioned_at)) AS double precision) " +
+            "AS seconds " +
+            "FROM completed c JOIN task_state_transitions t ON t.project_id = ? AND t.task_id = c.task_id " +
+            "AND t.from_state = 'BACKLOG' AND t.transitioned_at <= c.completed_at AND t.transitioned_at < ? " +
+            "GROUP BY c.task_id, c.completed_at) " +
+            "SELECT count(*) AS completed_tasks, " +
+            "percentile_cont(0.5) WITHIN GROUP (ORDER BY seconds) AS p50, " +
+            "percentile_cont(0.75) WITHIN GROUP (ORDER BY seconds) AS p75, " +
+            "percentile_cont(0.9) WITHIN GROUP (ORDER BY seconds) AS p90, " +
+            "percentile_cont(0.95) WITHIN GROUP (ORDER BY seconds) AS p95, " +
+            "avg(seconds) AS average FROM cycles";
+
+    private static final RowMapper<TaskStateTransition> TRANSITION_ROW_MAPPER = (rs, rowNum) -> TaskStateTransition.builder()
+            .id(rs.getObject("id", UUID.class))
+            .taskId(rs.getObject("task_id", UUID.class))
+            .projectId(rs.getObject("project_id", UUID.class))
+            .fromState(rs.getString("from_state") != null ? TaskState.valueOf(rs.getString("from_state")) : null)
+            .toState(TaskState.valueOf(rs.getString("to_state")))
+            .reason(rs.getString("reason"))
+            .actorId(rs.getObject("actor_id", UUID.class))
+            .transitionedAt(rs.getTimestamp("transitioned_at").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskStateTransitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<TaskStateTransition> transitions) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, transitions.stream()
+                .map(transition -> new Object[]{
+                        transition.getId(),
+                        transition.getTaskId(),
+                        transition.getProjectId(),
+                        transition.getFromState() != null ? transition.getFromState().name() : null,
+                        transition.getToState().name(),
+                        transition.getReason(),
+                        transition.getActorId(),
+                        Timestamp.valueOf(transition.getTransitionedAt())})
+                .collect(Collectors.toList()));
+    }
+
+    public List<TaskStateTransition> findByTaskId(UUID taskId) {
+        return jdbcTemplate.query(HISTORY_SQL, TRANSITION_ROW_MAPPER, taskId);
+    }
+
+    public CycleTimeStats findCycleTimeStats(UUID projectId, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.queryForObject(CYCLE_TIME_SQL, (rs, rowNum) -> CycleTimeStats.builder()
+                        .completedTasks(rs.getLong("completed_tasks"))
+                        .p50Seconds(rs.getObject("p50", Double.class))
+                        .p75Seconds(rs.getObject("p75", Double.class))
+                        .p90Seconds(rs.getObject("p90", Double.class))
+                        .p95Seconds(rs.getObject("p95", Double.class))
+                        .averageSeconds(rs.getObject("average", Double.class))
+                        .build(),
+                projectId, Timestamp.valueOf(from), Timestamp.valueOf(to), projectId, Timestamp.valueOf(to));
+    }
+
+    public void createMonthlyPartition(YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.plusMonths(1).atDay(1);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF task_state_transitions FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), start, end));
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("task_state_transitions_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,10 @@
+package com.definex.task_management.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface BlobReferenceView {
+    String getChecksum();
+    Integer getRefCount();
+    LocalDateTime getCreatedAt();
+    Long getLiveReferences();
+}
@@ -0,0 +1,11 @@
+package com.definex.task_management.repository.projection;
+
+import com.definex.task_management.enums.TaskState;
+
+import java.time.LocalDate;
+
+public interface DailyStateCountView {
+    LocalDate getSnapshotDate();
+    TaskState getState();
+    Long getTaskCount();
+}
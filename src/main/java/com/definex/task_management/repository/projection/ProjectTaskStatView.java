@@ -0,0 +1,14 @@
+package com.definex.task_management.repository.projection;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+
+import java.util.UUID;
+
+public interface ProjectTaskStatView {
+    UUID getProjectId();
+    String getProjectTitle();
+    TaskState getState();
+    TaskPriority getPriority();
+    Long getTaskCount();
+}
@@ -0,0 +1,8 @@
+package com.definex.task_management.repository.projection;
+
+import java.util.UUID;
+
+public interface TaskAssigneeView {
+    UUID getTaskId();
+    UUID getUserId();
+}
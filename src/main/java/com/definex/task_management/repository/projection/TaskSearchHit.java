@@ -0,0 +1,16 @@
+package com.definex.task_management.repository.projection;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+
+import java.util.UUID;
+
+public interface TaskSearchHit {
+    UUID getId();
+    UUID getProjectId();
+    String getTitle();
+    TaskState getState();
+    TaskPriority getPriority();
+    Double getRank();
+    Long getMatchedComments();
+}
@@ -0,0 +1,13 @@
+package com.definex.task_management.repository.projection;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+
+import java.util.UUID;
+
+public interface TaskStateView {
+    UUID getId();
+    TaskState getState();
+    TaskPriority getPriority();
+    UUID getProjectId();
+}
@@ -0,0 +1,18 @@
+package com.definex.task_management.repository.projection;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+
+import java.util.UUID;
+
+public interface TaskSummaryView {
+    UUID getId();
+    String getTitle();
+    TaskState getState();
+    TaskPriority getPriority();
+    Long getVersion();
+    Integer getCommentCount();
+    Integer getAttachmentCount();
+    UUID getProjectId();
+    String getProjectTitle();
+}
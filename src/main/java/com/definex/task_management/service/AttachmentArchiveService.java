@@ -0,0 +1,13 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.AttachmentArchive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface AttachmentArchiveService {
+    AttachmentArchive getTaskArchive(UUID taskId);
+    AttachmentArchive getProjectArchive(UUID projectId);
+    void writeArchive(AttachmentArchive archive, OutputStream outputStream) throws IOException;
+}
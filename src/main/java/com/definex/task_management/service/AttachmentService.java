@@ -1,16 +1,24 @@
 package com.definex.task_management.service;
 
+import com.definex.task_management.dto.AttachmentDownload;
 import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
-import org.springframework.core.io.Resource;
+import com.definex.task_management.dto.DirectUploadRequest;
+import com.definex.task_management.dto.DirectUploadResponse;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
 public interface AttachmentService {
     AttachmentResponse uploadAttachment(AttachmentRequest attachmentRequest);
+    AttachmentResponse streamAttachment(UUID taskId, String fileName, String contentType, long contentLength, InputStream inputStream);
+    DirectUploadResponse createDirectUpload(UUID taskId, DirectUploadRequest request);
+    AttachmentResponse completeDirectUpload(UUID taskId, DirectUploadRequest request);
     AttachmentResponse getAttachmentById(UUID attachmentId);
     List<AttachmentResponse> getAttachmentsByTaskId(UUID taskId);
-    Resource downloadAttachment(UUID attachmentId);
+    AttachmentDownload downloadAttachment(UUID attachmentId);
+    AttachmentDownload downloadThumbnail(UUID attachmentId);
+    AttachmentDownload downloadPreview(UUID attachmentId);
     void deleteAttachment(UUID attachmentId);
 } 
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.AttachmentUploadRequest;
+import com.definex.task_management.dto.AttachmentUploadResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface AttachmentUploadService {
+    public AttachmentUploadResponse createUpload(AttachmentUploadRequest request);
+    public AttachmentUploadResponse writeChunk(UUID uploadId, long offset, long contentLength, InputStream inputStream);
+    public AttachmentUploadResponse getUpload(UUID uploadId);
+    public AttachmentResponse completeUpload(UUID uploadId);
+    public void cancelUpload(UUID uploadId);
+    public int purgeAbandonedUploads();
+}
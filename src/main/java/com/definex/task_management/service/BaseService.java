@@ -1,14 +1,27 @@
 package com.definex.task_management.service;
 
 import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
 import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.PreconditionFailedException;
+import com.definex.task_management.repository.ProjectRepository;
 import com.definex.task_management.security.CustomUserDetails;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.UUID;
 
 public abstract class BaseService {
+    protected final ProjectRepository projectRepository;
+
+    protected BaseService() {
+        this(null);
+    }
+
+    protected BaseService(ProjectRepository projectRepository) {
+        this.projectRepository = projectRepository;
+    }
+
     protected CustomUserDetails getCurrentUser() {
         return (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
@@ -26,13 +39,47 @@ public abstract class BaseService {
         }
     }
 
-    protected void validateUserAssignedToProject(UUID userId, Project project) {
-        boolean isAssigned = project.getTeamMembers().stream()
+    /**
+     * Services constructed with a {@link ProjectRepository} answer with an EXISTS query
+     * instead of loading the project's team members.
+     */
+    protected boolean isProjectMember(UUID userId, Project project) {
+        if (projectRepository != null) {
+            return projectRepository.isTeamMember(project.getId(), userId);
+        }
+        return project.getTeamMembers().stream()
                 .anyMatch(member -> member.getId().equals(userId));
+    }
 
-        if (!isAssigned) {
+    protected void validateExpectedVersion(Long expectedVersion, Long currentVersion, String resourceName) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(resourceName + " has been modified, current version is " + currentVersion);
+        }
+    }
+
+    protected void validateUserAssignedToProject(UUID userId, Project project) {
+        if (!isProjectMember(userId, project)) {
             throw new DeniedAccessException("User is not assigned to this project");
         }
     }
 
+    /**
+     * Managers and team leaders reach every task of their projects, team members
+     * only the tasks they are assigned to.
+     */
+    protected void validateUserAccessToTask(CustomUserDetails user, Task task, String deniedMessage) {
+        if (user.getRole().equals(UserRole.PROJECT_GROUP_MANAGER) ||
+                user.getRole().equals(UserRole.PROJECT_MANAGER) ||
+                user.getRole().equals(UserRole.TEAM_LEADER)) {
+            return;
+        }
+        if (user.getRole().equals(UserRole.TEAM_MEMBER)) {
+            boolean isAssigned = task.getAssignees().stream()
+                    .anyMatch(assignee -> assignee.getId().equals(user.getUserId()));
+            if (!isAssigned) {
+                throw new DeniedAccessException(deniedMessage);
+            }
+        }
+    }
+
 } 
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.BurndownResponse;
+import com.definex.task_management.dto.CumulativeFlowResponse;
+import com.definex.task_management.dto.DepartmentDashboardResponse;
+import com.definex.task_management.dto.ProjectDashboardResponse;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface ProjectDashboardService {
+    public ProjectDashboardResponse getProjectDashboard(UUID projectId);
+    public DepartmentDashboardResponse getDepartmentDashboard(String department);
+    public CumulativeFlowResponse getCumulativeFlow(UUID projectId, LocalDate from, LocalDate to);
+    public BurndownResponse getBurndown(UUID projectId, LocalDate from, LocalDate to);
+    public long reconcileTaskStats();
+    public int appendDailySnapshots();
+}
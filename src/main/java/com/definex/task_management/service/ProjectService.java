@@ -12,6 +12,7 @@ public interface ProjectService {
     public ProjectResponse getProjectById(UUID projectId);
     public List<ProjectResponse> getProjectsByDepartment(String department);
     public ProjectResponse updateProject(UUID projectId, ProjectRequest projectRequest);
+    public ProjectResponse updateProject(UUID projectId, ProjectRequest projectRequest, Long expectedVersion);
     public ProjectResponse updateProjectStatus(UUID projectId, String newStatus);
     public ProjectResponse assignTask(UUID projectId, UUID taskId);
     public ProjectResponse addTeamMember(UUID projectId, UUID userId);
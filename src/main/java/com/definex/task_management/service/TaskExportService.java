@@ -0,0 +1,12 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.enums.TaskExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface TaskExportService {
+    public void validateExportAccess(UUID projectId);
+    public void exportTasksUnderProject(UUID projectId, TaskExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,13 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.enums.TaskExportFormat;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface TaskImportService {
+    public TaskImportResponse startImport(UUID projectId, TaskExportFormat format, InputStream inputStream);
+    public TaskImportResponse resumeImport(UUID importId, InputStream inputStream);
+    public TaskImportResponse getImport(UUID importId);
+}
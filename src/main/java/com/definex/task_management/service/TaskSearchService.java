@@ -0,0 +1,17 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.TaskCursorPageResponse;
+import com.definex.task_management.dto.TaskFilterRequest;
+import com.definex.task_management.dto.TaskFilterResponse;
+import com.definex.task_management.dto.TaskSearchResponse;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+
+import java.util.Set;
+import java.util.UUID;
+
+public interface TaskSearchService {
+    public TaskSearchResponse searchTasks(String query, UUID projectId, int page, int size);
+    public TaskFilterResponse filterTasks(TaskFilterRequest filter, int page, int size);
+    public TaskCursorPageResponse getMyTasks(Set<TaskState> states, Set<TaskPriority> priorities, UUID after, int size);
+}
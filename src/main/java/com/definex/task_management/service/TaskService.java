@@ -1,11 +1,15 @@
 package com.definex.task_management.service;
 
+import com.definex.task_management.dto.BulkTaskOperationResponse;
+import com.definex.task_management.dto.BulkTaskPriorityUpdateRequest;
+import com.definex.task_management.dto.BulkTaskStateUpdateRequest;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
 import com.definex.task_management.enums.TaskPriority;
 import com.definex.task_management.enums.TaskState;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskService {
@@ -13,11 +17,16 @@ public interface TaskService {
     public TaskResponse getTaskById(UUID taskId);
     public List<TaskResponse> getAllTasksUnderProject(UUID projectId);
     public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest);
+    public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, Long expectedVersion);
     public TaskResponse deleteTask(UUID taskId);
     public TaskResponse updateTaskState(UUID taskId, TaskState taskState, String reason);
     public TaskResponse updateTaskPriority(UUID taskId, TaskPriority taskPriority);
     public TaskResponse assignUserToTask(UUID taskId, UUID userId);
     public TaskResponse removeUserFromTask(UUID taskId, UUID userId);
+    public BulkTaskOperationResponse bulkUpdateTaskState(BulkTaskStateUpdateRequest request);
+    public BulkTaskOperationResponse bulkUpdateTaskPriority(BulkTaskPriorityUpdateRequest request);
+    public BulkTaskOperationResponse bulkAssignUserToTasks(UUID userId, Set<UUID> taskIds);
+    public BulkTaskOperationResponse bulkRemoveUserFromTasks(UUID userId, Set<UUID> taskIds);
 
     
 }
@@ -0,0 +1,13 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.CycleTimeResponse;
+import com.definex.task_management.dto.TaskTransitionResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskTransitionService {
+    public List<TaskTransitionResponse> getTaskHistory(UUID taskId);
+    public CycleTimeResponse getCycleTime(UUID projectId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,7 @@
+package com.definex.task_management.service;
+
+import com.definex.task_management.dto.DepartmentWorkloadResponse;
+
+public interface WorkloadService {
+    public DepartmentWorkloadResponse getDepartmentWorkload(String department);
+}
@@ -0,0 +1,260 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.AttachmentArchive;
+import com.definex.task_management.dto.AttachmentArchiveEntry;
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.AttachmentArchiveService;
+import com.definex.task_management.service.BaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP archives of all attachments of a task or project, written while they
+ * are sent. Entries are copied from the attachment files through a fixed
+ * buffer, so neither the archive nor a single file is held in memory or on
+ * disk. Content that is compressed already, such as images, video or other
+ * archives, is stored as is instead of being deflated a second time.
+ */
+@Slf4j
+@Service
+public class AttachmentArchiveServiceImpl extends BaseService implements AttachmentArchiveService {
+    private static final String TASK_ACCESS_DENIED = "You can only access attachments for tasks you are assigned to";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+            "application/vnd.rar", "application/x-rar-compressed", "application/x-bzip2", "application/x-xz",
+            "application/zstd", "application/java-archive", "application/epub+zip");
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of(
+            "zip", "gz", "tgz", "7z", "rar", "bz2", "xz", "zst", "jar", "epub",
+            "jpg", "jpeg", "png", "gif", "webp", "avif", "heic",
+            "mp3", "m4a", "aac", "ogg", "opus", "flac", "mp4", "m4v", "mov", "mkv", "webm", "avi",
+            "docx", "xlsx", "pptx", "odt", "ods", "odp");
+
+    private final AttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final AttachmentStorage storage;
+
+    public AttachmentArchiveServiceImpl(AttachmentRepository attachmentRepository,
+                                        TaskRepository taskRepository,
+                                        ProjectRepository projectRepository,
+                                        AttachmentStorage storage) {
+        super(projectRepository);
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.storage = storage;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentArchive getTaskArchive(UUID taskId) {
+        log.info("Preparing attachment archive for task id: {}", taskId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+
+        validateUserAccessToProject(currentUser, task.getProject());
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
+
+        List<Attachment> attachments = new ArrayList<>(attachmentRepository.findByTaskId(taskId));
+        attachments.sort(Comparator.comparing(Attachment::getUploadDate, Comparator.nullsFirst(Comparator.naturalOrder())));
+        Set<String> names = new HashSet<>();
+        List<AttachmentArchiveEntry> entries = attachments.stream()
+                .map(attachment -> toEntry(attachment, uniqueName("", attachment.getFileName(), names)))
+                .toList();
+        return AttachmentArchive.builder()
+                .fileName("task-" + taskId + "-attachments.zip")
+                .entries(entries)
+                .build();
+    }
+
+    /**
+     * Attachments of every task in the project, one folder per task. Team
+     * members only get the tasks they are assigned to.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentArchive getProjectArchive(UUID projectId) {
+        log.info("Preparing attachment archive for project id: {}", projectId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+
+        validateUserAccessToProject(currentUser, project);
+
+        List<Attachment> attachments = currentUser.getRole() == UserRole.TEAM_MEMBER
+                ? attachmentRepository.findByProjectIdAndAssigneeId(projectId, currentUser.getUserId())
+                : attachmentRepository.findByProjectId(projectId);
+        Set<String> names = new HashSet<>();
+        List<AttachmentArchiveEntry> entries = attachments.stream()
+                .map(attachment -> toEntry(attachment,
+                        uniqueName(taskFolder(attachment.getTask()), attachment.getFileName(), names)))
+                .toList();
+        return AttachmentArchive.builder()
+                .fileName("project-" + projectId + "-attachments.zip")
+                .entries(entries)
+                .build();
+    }
+
+    @Override
+    public void writeArchive(AttachmentArchive archive, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        ByteBuffer checksumBuffer = ByteBuffer.allocateDirect(COPY_BUFFER_SIZE);
+        int written = 0;
+        for (AttachmentArchiveEntry entry : archive.getEntries()) {
+            try {
+                writeEntry(zip, entry, buffer, checksumBuffer);
+                written++;
+            } catch (NoSuchFileException ex) {
+                log.warn("File of attachment {} is missing, leaving it out of {}",
+                        entry.getAttachmentId(), archive.getFileName());
+            }
+        }
+        zip.finish();
+        zip.flush();
+        log.info("Wrote {} of {} attachments to {}", written, archive.getEntries().size(), archive.getFileName());
+    }
+
+    /**
+     * Writes one entry. A stored entry needs its CRC before its data, so a
+     * local file is read twice, the second time mostly from the page cache.
+     * Remote content is only fetched once and is deflated at level zero
+     * instead, which keeps it uncompressed as well.
+     */
+    private void writeEntry(ZipOutputStream zip, AttachmentArchiveEntry entry, byte[] buffer,
+                            ByteBuffer checksumBuffer) throws IOException {
+        ZipEntry zipEntry = new ZipEntry(entry.getName());
+        if (entry.getUploadDate() != null) {
+            zipEntry.setTimeLocal(entry.getUploadDate());
+        }
+        boolean compressed = isCompressed(entry.getName(), entry.getFileType());
+        zip.setLevel(compressed ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+
+        Optional<Path> localFile = storage.localFile(entry.getFilePath());
+        if (localFile.isPresent()) {
+            try (FileChannel channel = FileChannel.open(localFile.get(), StandardOpenOption.READ)) {
+                if (compressed) {
+                    long size = channel.size();
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(size);
+                    zipEntry.setCompressedSize(size);
+                    zipEntry.setCrc(crc32(channel, checksumBuffer));
+                }
+                zip.putNextEntry(zipEntry);
+                ByteBuffer target = ByteBuffer.wrap(buffer);
+                long position = 0;
+                int read;
+                while ((read = channel.read(target.clear(), position)) != -1) {
+                    zip.write(buffer, 0, read);
+                    position += read;
+                }
+            }
+        } else {
+            try (InputStream inputStream = storage.open(entry.getFilePath())) {
+                zip.putNextEntry(zipEntry);
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+        }
+        zip.closeEntry();
+    }
+
+    private static long crc32(FileChannel channel, ByteBuffer buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        long position = 0;
+        int read;
+        while ((read = channel.read(buffer.clear(), position)) != -1) {
+            crc.update(buffer.flip());
+            position += read;
+        }
+        return crc.getValue();
+    }
+
+    static boolean isCompressed(String fileName, String fileType) {
+        if (fileType != null) {
+            String type = fileType.toLowerCase(Locale.ROOT);
+            int parameters = type.indexOf(';');
+            type = (parameters >= 0 ? type.substring(0, parameters) : type).trim();
+            if (COMPRESSED_TYPES.contains(type) || type.startsWith("video/")
+                    || (type.startsWith("image/") && !type.equals("image/svg+xml") && !type.equals("image/bmp")
+                    && !type.equals("image/tiff"))) {
+                return true;
+            }
+        }
+        String extension = StringUtils.getFilenameExtension(fileName);
+        return extension != null && COMPRESSED_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    private static String taskFolder(Task task) {
+        String title = StringUtils.hasText(task.getTitle()) ? task.getTitle().strip() : "task";
+        String safeTitle = title.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        if (safeTitle.length() > 80) {
+            safeTitle = safeTitle.substring(0, 80);
+        }
+        return safeTitle + " (" + task.getId().toString().substring(0, 8) + ")/";
+    }
+
+    /**
+     * Entry name for a file, numbered like {@code report (2).pdf} when the
+     * folder already has a file of that name.
+     */
+    private static String uniqueName(String folder, String fileName, Set<String> names) {
+        String name = folder + fileName;
+        if (names.add(name.toLowerCase(Locale.ROOT))) {
+            return name;
+        }
+        String extension = StringUtils.getFilenameExtension(fileName);
+        String base = extension == null ? fileName : fileName.substring(0, fileName.length() - extension.length() - 1);
+        String suffix = extension == null ? "" : "." + extension;
+        for (int copy = 2; ; copy++) {
+            name = folder + base + " (" + copy + ")" + suffix;
+            if (names.add(name.toLowerCase(Locale.ROOT))) {
+                return name;
+            }
+        }
+    }
+
+    private static AttachmentArchiveEntry toEntry(Attachment attachment, String name) {
+        return AttachmentArchiveEntry.builder()
+                .attachmentId(attachment.getId())
+                .name(name)
+                .fileType(attachment.getFileType())
+                .filePath(attachment.getFilePath())
+                .uploadDate(attachment.getUploadDate())
+                .build();
+    }
+}
@@ -0,0 +1,204 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Content-addressed attachment files. Each distinct content is stored once
+ * under its SHA-256 and counted in {@code attachment_blobs}; uploading the
+ * same bytes again only adds a reference. Both reference changes and file
+ * removal run under the blob's row lock, so a file is never deleted while a
+ * concurrent upload is relying on it. New content is handed to the
+ * {@link AttachmentProcessor}, whose thumbnail and preview are stored next to
+ * the blob and removed with it.
+ */
+@Slf4j
+@Component
+public class AttachmentBlobStore {
+    static final String BLOBS_DIRECTORY = "blobs";
+
+    private final AttachmentBlobRepository blobRepository;
+    private final AttachmentStorage storage;
+    private final AttachmentProcessor processor;
+    private final AttachmentContentCache contentCache;
+    private final TransactionTemplate purgeTemplate;
+
+    public AttachmentBlobStore(AttachmentBlobRepository blobRepository,
+                               AttachmentStorage storage,
+                               AttachmentProcessor processor,
+                               AttachmentContentCache contentCache,
+                               PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        this.storage = storage;
+        this.processor = processor;
+        this.contentCache = contentCache;
+        this.purgeTemplate = new TransactionTemplate(transactionManager);
+        this.purgeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Storage key of a blob, fanned out over two directory levels taken from
+     * the checksum so no single directory grows past a few thousand entries.
+     */
+    public static String blobKey(String checksum) {
+        return BLOBS_DIRECTORY + "/" + checksum.substring(0, 2) + "/" + checksum.substring(2, 4) + "/" + checksum;
+    }
+
+    public static String thumbnailKey(String checksum) {
+        return blobKey(checksum) + ".thumbnail.png";
+    }
+
+    public static String previewKey(String checksum) {
+        return blobKey(checksum) + ".preview.txt";
+    }
+
+    /**
+     * Key a blob had in the flat layout used before sharding.
+     */
+    static String flatBlobKey(String checksum) {
+        return BLOBS_DIRECTORY + "/" + checksum;
+    }
+
+    public Optional<AttachmentBlob> find(String checksum) {
+        return checksum == null ? Optional.empty() : blobRepository.findById(checksum);
+    }
+
+    /**
+     * Whether an attachment's stored path refers to shared content. Rows not
+     * yet moved to the sharded layout hold the flat key, or the blob's
+     * absolute local path if they predate storage keys.
+     */
+    public boolean isBlob(String checksum, String filePath) {
+        if (checksum == null) {
+            return false;
+        }
+        return blobKey(checksum).equals(filePath) || isFlatBlob(checksum, filePath);
+    }
+
+    public boolean isFlatBlob(String checksum, String filePath) {
+        if (checksum == null) {
+            return false;
+        }
+        String flatKey = flatBlobKey(checksum);
+        return flatKey.equals(filePath) || storage.localFile(flatKey)
+                .map(path -> path.toString().equals(filePath))
+                .orElse(false);
+    }
+
+    /**
+     * Moves a blob from the flat layout to its sharded key under the blob's
+     * row lock. Returns false when the blob has no row, for instance because
+     * it was purged meanwhile. Must run in a transaction.
+     */
+    public boolean relocate(String checksum, String filePath) {
+        if (blobRepository.lock(checksum).isEmpty()) {
+            return false;
+        }
+        String key = blobKey(checksum);
+        if (storage.exists(key)) {
+            AttachmentFileStore.afterCommit(() -> storage.delete(filePath));
+        } else {
+            storage.rename(filePath, key);
+        }
+        return true;
+    }
+
+    /**
+     * Adds a reference to the content of {@code source}, whose checksum the
+     * caller computed while writing it, and returns its storage key. Known
+     * content is not written again and {@code source} is dropped once the
+     * transaction commits. On rollback {@code source} is left as it was.
+     */
+    public String store(Path source, String checksum, long fileSize) {
+        blobRepository.acquire(checksum, fileSize, LocalDateTime.now());
+        String key = blobKey(checksum);
+        processor.submit(checksum);
+        if (storage.exists(key)) {
+            log.debug("Attachment content {} is already stored", checksum);
+            AttachmentFileStore.afterCommit(() -> AttachmentFileStore.deleteQuietly(source));
+            return key;
+        }
+        storage.put(key, source);
+        return key;
+    }
+
+    /**
+     * Adds a reference to content the client uploaded straight to storage
+     * and returns its storage key. The storage only accepts a presigned
+     * upload whose body matches its checksum, so only the size is checked.
+     * Callers must have consumed the pending direct upload first, which is
+     * only handed out while no content is stored under the checksum.
+     */
+    public String register(String checksum, long fileSize) {
+        blobRepository.acquire(checksum, fileSize, LocalDateTime.now());
+        String key = blobKey(checksum);
+        long storedSize;
+        try {
+            storedSize = storage.size(key);
+        } catch (NoSuchFileException ex) {
+            throw new InvalidAttachmentException("File has not been uploaded yet");
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not check the uploaded file. Please try again!", ex);
+        }
+        if (storedSize != fileSize) {
+            throw new InvalidAttachmentException("Uploaded file is " + storedSize + " bytes, expected " + fileSize);
+        }
+        processor.submit(checksum);
+        return key;
+    }
+
+    /**
+     * Drops one reference. The content itself is removed after the
+     * transaction commits if no reference is left, and only then leaves the
+     * content cache, since other attachments may still be serving it. Files
+     * written before content addressing are not shared and are removed
+     * directly.
+     */
+    public void release(String checksum, String filePath) {
+        if (!isBlob(checksum, filePath)) {
+            AttachmentFileStore.afterCommit(() -> {
+                storage.delete(filePath);
+                contentCache.invalidate(filePath);
+            });
+            return;
+        }
+        if (blobRepository.release(checksum) == 0) {
+            log.warn("Attachment content {} had no references left to release", checksum);
+        }
+        AttachmentFileStore.afterCommit(() -> purge(checksum));
+    }
+
+    /**
+     * Deletes the content and row of an unreferenced blob. Returns false
+     * when the blob gained a reference again or is already gone.
+     */
+    public boolean purge(String checksum) {
+        return Boolean.TRUE.equals(purgeTemplate.execute(status -> {
+            if (blobRepository.lockUnreferenced(checksum).isEmpty()) {
+                return false;
+            }
+            storage.delete(blobKey(checksum));
+            storage.delete(flatBlobKey(checksum));
+            storage.delete(thumbnailKey(checksum));
+            storage.delete(previewKey(checksum));
+            blobRepository.deleteUnreferenced(checksum);
+            contentCache.invalidate(blobKey(checksum));
+            contentCache.invalidate(flatBlobKey(checksum));
+            contentCache.invalidate(thumbnailKey(checksum));
+            contentCache.invalidate(previewKey(checksum));
+            return true;
+        }));
+    }
+}
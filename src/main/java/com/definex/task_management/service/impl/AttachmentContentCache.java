@@ -0,0 +1,261 @@
+package com.definex.task_management.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small, frequently downloaded attachment files held in direct memory, so
+ * serving them takes neither a file open nor a disk read, and the bytes go
+ * to the connector without passing through a heap array. Admission follows
+ * TinyLFU: every request is counted in a compact frequency sketch, a file is
+ * cached only once it has been asked for a few times, and a full cache only
+ * makes room by evicting least recently used entries that are requested less
+ * often than the newcomer. A one-off download therefore never displaces the
+ * logo every task card shows. Stored content never changes under its key,
+ * so entries only have to be dropped when the content is deleted.
+ */
+@Slf4j
+@Component
+public class AttachmentContentCache {
+    private static final int SKETCH_WIDTH = 4096;
+
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final int minHits;
+    private final FrequencySketch sketch = new FrequencySketch(SKETCH_WIDTH);
+    private final LinkedHashMap<String, ByteBuffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong admissions = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AttachmentContentCache(
+            @Value("${app.attachments.cache.max-size:64MB}") DataSize maxSize,
+            @Value("${app.attachments.cache.max-entry-size:1MB}") DataSize maxEntrySize,
+            @Value("${app.attachments.cache.min-hits:2}") int minHits,
+            ObjectProvider<MeterRegistry> meterRegistryProvider
+    ) {
+        this.maxSize = maxSize.toBytes();
+        this.maxEntrySize = Math.min(maxEntrySize.toBytes(), Integer.MAX_VALUE);
+        this.minHits = minHits;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            FunctionCounter.builder("app.attachments.cache.hits", hits, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.cache.misses", misses, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.cache.admissions", admissions, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.cache.evictions", evictions, AtomicLong::get)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.cache.hit.ratio", this, AttachmentContentCache::hitRatio)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.cache.resident", this, AttachmentContentCache::residentBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.cache.entries", this, AttachmentContentCache::size)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Content of {@code file}, stored under {@code key}. A miss reads the file
+     * into the cache if it is small and requested often enough; otherwise
+     * the caller serves it from disk. The returned buffer is a read-only view
+     * of the caller's own.
+     */
+    public Optional<ByteBuffer> get(String key, Path file, long fileSize) {
+        if (maxSize == 0) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            int frequency = sketch.increment(key);
+            ByteBuffer cached = entries.get(key);
+            if (cached != null && cached.capacity() == fileSize) {
+                hits.incrementAndGet();
+                return Optional.of(cached.duplicate());
+            }
+            if (cached != null) {
+                remove(key);
+            }
+            misses.incrementAndGet();
+            if (fileSize > maxEntrySize || frequency < minHits || !hasRoomFor(fileSize, frequency)) {
+                return Optional.empty();
+            }
+        }
+
+        ByteBuffer content = read(file, fileSize);
+        if (content == null) {
+            return Optional.empty();
+        }
+        synchronized (this) {
+            ByteBuffer cached = entries.get(key);
+            if (cached != null) {
+                return Optional.of(cached.duplicate());
+            }
+            if (!hasRoomFor(fileSize, sketch.frequency(key))) {
+                return Optional.of(content);
+            }
+            Iterator<Map.Entry<String, ByteBuffer>> eldest = entries.entrySet().iterator();
+            while (residentBytes + fileSize > maxSize) {
+                residentBytes -= eldest.next().getValue().capacity();
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            entries.put(key, content);
+            residentBytes += fileSize;
+            admissions.incrementAndGet();
+            return Optional.of(content.duplicate());
+        }
+    }
+
+    /**
+     * Drops the content stored under {@code key}. Its direct memory is given
+     * back once the last response still writing it is done.
+     */
+    public synchronized void invalidate(String key) {
+        remove(key);
+    }
+
+    synchronized long residentBytes() {
+        return residentBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    double hitRatio() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0 : (double) hits.get() / requests;
+    }
+
+    private void remove(String key) {
+        ByteBuffer removed = entries.remove(key);
+        if (removed != null) {
+            residentBytes -= removed.capacity();
+        }
+    }
+
+    /**
+     * Whether the content fits once least recently used entries requested
+     * less often than {@code frequency} are evicted.
+     */
+    private boolean hasRoomFor(long fileSize, int frequency) {
+        long needed = residentBytes + fileSize - maxSize;
+        if (needed <= 0) {
+            return true;
+        }
+        if (fileSize > maxSize) {
+            return false;
+        }
+        for (Map.Entry<String, ByteBuffer> victim : entries.entrySet()) {
+            if (sketch.frequency(victim.getKey()) >= frequency) {
+                return false;
+            }
+            needed -= victim.getValue().capacity();
+            if (needed <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ByteBuffer read(Path file, long fileSize) {
+        ByteBuffer content = ByteBuffer.allocateDirect((int) fileSize);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0) {
+                    return null;
+                }
+            }
+        } catch (IOException ex) {
+            log.debug("Could not read {} into the attachment cache", file, ex);
+            return null;
+        }
+        return content.flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Count-min sketch of request counts, four rows of counters saturating
+     * at 15. All counters are halved every ten times the width of additions,
+     * so files that were popular once cool down again.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final int MAX_COUNT = 15;
+
+        private final int[][] counts;
+        private final int mask;
+        private final int resetAfter;
+        private int additions;
+
+        private FrequencySketch(int width) {
+            this.counts = new int[SEEDS.length][width];
+            this.mask = width - 1;
+            this.resetAfter = width * 10;
+        }
+
+        private int increment(String key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = indexOf(hash, row);
+                if (counts[row][index] < MAX_COUNT) {
+                    counts[row][index]++;
+                }
+                frequency = Math.min(frequency, counts[row][index]);
+            }
+            if (++additions >= resetAfter) {
+                for (int[] row : counts) {
+                    for (int i = 0; i < row.length; i++) {
+                        row[i] >>>= 1;
+                    }
+                }
+                additions /= 2;
+            }
+            return frequency;
+        }
+
+        private int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counts[row][indexOf(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private int indexOf(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h += h >>> 32;
+            return (int) h & mask;
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
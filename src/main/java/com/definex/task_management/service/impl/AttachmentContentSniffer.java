@@ -0,0 +1,234 @@
+package com.definex.task_management.service.impl;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Content type of attachment bytes, told from their leading magic numbers
+ * instead of the type the client claimed. Formats built on a common
+ * container, such as Office documents on ZIP, cannot be told apart this way;
+ * for those a claimed type from the same family is kept.
+ */
+final class AttachmentContentSniffer {
+    static final int HEAD_SIZE = 8 * 1024;
+    static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final String ZIP = "application/zip";
+    private static final String OLE = "application/x-ole-storage";
+    private static final String TEXT = "text/plain";
+    private static final String XML = "application/xml";
+
+    private static final Set<String> TEXTUAL_TYPES = Set.of(
+            "application/json", "application/xml", "application/javascript", "application/x-yaml",
+            "application/yaml", "application/x-sh", "application/sql", "application/x-ndjson", "image/svg+xml");
+
+    private AttachmentContentSniffer() {
+    }
+
+    /**
+     * Type of content starting with {@code head}, or null when the bytes
+     * match no known format.
+     */
+    static String sniff(byte[] head, int length) {
+        if (length == 0) {
+            return null;
+        }
+        if (startsWith(head, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, 'G', 'I', 'F', '8', '7', 'a')
+                || startsWith(head, length, 0, 'G', 'I', 'F', '8', '9', 'a')) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 0, 'B', 'M') && length > 14
+                && head[6] == 0 && head[7] == 0 && head[8] == 0 && head[9] == 0) {
+            return "image/bmp";
+        }
+        if (startsWith(head, length, 0, 'R', 'I', 'F', 'F')) {
+            if (startsWith(head, length, 8, 'W', 'E', 'B', 'P')) {
+                return "image/webp";
+            }
+            if (startsWith(head, length, 8, 'W', 'A', 'V', 'E')) {
+                return "audio/wav";
+            }
+            if (startsWith(head, length, 8, 'A', 'V', 'I', ' ')) {
+                return "video/x-msvideo";
+            }
+        }
+        if (startsWith(head, length, 4, 'f', 't', 'y', 'p') && length >= 12) {
+            String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+            return switch (brand) {
+                case "heic", "heix", "mif1" -> "image/heic";
+                case "avif" -> "image/avif";
+                case "M4A " -> "audio/mp4";
+                case "qt  " -> "video/quicktime";
+                default -> "video/mp4";
+            };
+        }
+        if (startsWith(head, length, 0, 0x1A, 0x45, 0xDF, 0xA3)) {
+            return "video/webm";
+        }
+        if (startsWith(head, length, 0, 'I', 'D', '3') || startsWith(head, length, 0, 0xFF, 0xFB)) {
+            return "audio/mpeg";
+        }
+        if (startsWith(head, length, 0, 'O', 'g', 'g', 'S')) {
+            return "audio/ogg";
+        }
+        if (startsWith(head, length, 0, 'f', 'L', 'a', 'C')) {
+            return "audio/flac";
+        }
+        if (startsWith(head, length, 0, '%', 'P', 'D', 'F', '-')) {
+            return "application/pdf";
+        }
+        if (startsWith(head, length, 0, 'P', 'K', 0x03, 0x04) || startsWith(head, length, 0, 'P', 'K', 0x05, 0x06)) {
+            return ZIP;
+        }
+        if (startsWith(head, length, 0, 0x1F, 0x8B)) {
+            return "application/gzip";
+        }
+        if (startsWith(head, length, 0, '7', 'z', 0xBC, 0xAF, 0x27, 0x1C)) {
+            return "application/x-7z-compressed";
+        }
+        if (startsWith(head, length, 0, 'R', 'a', 'r', '!', 0x1A, 0x07)) {
+            return "application/vnd.rar";
+        }
+        if (startsWith(head, length, 0, 0xFD, '7', 'z', 'X', 'Z', 0x00)) {
+            return "application/x-xz";
+        }
+        if (startsWith(head, length, 0, 0x28, 0xB5, 0x2F, 0xFD)) {
+            return "application/zstd";
+        }
+        if (startsWith(head, length, 0, 0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1)) {
+            return OLE;
+        }
+        if (startsWith(head, length, 0, 0x7F, 'E', 'L', 'F')) {
+            return "application/x-executable";
+        }
+        if (startsWith(head, length, 0, 'M', 'Z')) {
+            return "application/x-msdownload";
+        }
+        return sniffText(head, length);
+    }
+
+    /**
+     * The type to record for an attachment: the sniffed type, unless the
+     * claimed one is a more specific member of the same family.
+     */
+    static String resolve(String claimed, String sniffed) {
+        String claimedType = baseType(claimed);
+        if (sniffed == null) {
+            return StringUtils.hasText(claimed) ? claimed : OCTET_STREAM;
+        }
+        if (claimedType == null || claimedType.equals(OCTET_STREAM)) {
+            return sniffed;
+        }
+        if (claimedType.equals(sniffed)) {
+            return claimed;
+        }
+        boolean sameFamily = switch (sniffed) {
+            case ZIP -> claimedType.contains("zip") || claimedType.contains("openxmlformats")
+                    || claimedType.contains("opendocument") || claimedType.equals("application/java-archive")
+                    || claimedType.equals("application/vnd.android.package-archive");
+            case OLE -> claimedType.equals("application/msword") || claimedType.startsWith("application/vnd.ms-")
+                    || claimedType.equals("application/vnd.visio");
+            case TEXT -> isTextual(claimedType);
+            case XML -> claimedType.equals("text/xml") || claimedType.endsWith("+xml");
+            case "video/mp4", "video/webm" -> claimedType.startsWith("video/") || claimedType.startsWith("audio/");
+            default -> false;
+        };
+        return sameFamily ? claimed : sniffed;
+    }
+
+    static boolean isTextual(String type) {
+        String baseType = baseType(type);
+        return baseType != null && (baseType.startsWith("text/") || TEXTUAL_TYPES.contains(baseType)
+                || baseType.endsWith("+json") || baseType.endsWith("+xml"));
+    }
+
+    /**
+     * The head decoded as UTF-8 without a byte order mark and without a
+     * sequence cut off at its end, or null when it is not text.
+     */
+    static String decodeText(byte[] head, int length) {
+        int start = startsWith(head, length, 0, 0xEF, 0xBB, 0xBF) ? 3 : 0;
+        for (int i = start; i < length; i++) {
+            if (head[i] == 0) {
+                return null;
+            }
+        }
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try {
+            int end = completeUtf8Length(head, start, length);
+            return decoder.decode(ByteBuffer.wrap(head, start, end - start)).toString();
+        } catch (CharacterCodingException ex) {
+            return null;
+        }
+    }
+
+    private static String sniffText(byte[] head, int length) {
+        String text = decodeText(head, length);
+        if (text == null) {
+            return null;
+        }
+        String lead = text.stripLeading().toLowerCase(Locale.ROOT);
+        if (lead.startsWith("<!doctype html") || lead.startsWith("<html")) {
+            return "text/html";
+        }
+        if (lead.startsWith("<svg") || (lead.startsWith("<?xml") && lead.contains("<svg"))) {
+            return "image/svg+xml";
+        }
+        if (lead.startsWith("<?xml")) {
+            return XML;
+        }
+        return TEXT;
+    }
+
+    /**
+     * Length of {@code head} without a UTF-8 sequence cut off at its end.
+     */
+    private static int completeUtf8Length(byte[] head, int start, int length) {
+        for (int i = length - 1; i >= Math.max(start, length - 4); i--) {
+            int value = head[i] & 0xFF;
+            if (value < 0x80) {
+                return length;
+            }
+            if (value >= 0xC0) {
+                int sequenceLength = value >= 0xF0 ? 4 : value >= 0xE0 ? 3 : 2;
+                return i + sequenceLength > length ? i : length;
+            }
+        }
+        return length;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, int... magic) {
+        if (length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((head[offset + i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String baseType(String type) {
+        if (!StringUtils.hasText(type)) {
+            return null;
+        }
+        int parameters = type.indexOf(';');
+        return (parameters >= 0 ? type.substring(0, parameters) : type).trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,167 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.exception.PayloadTooLargeException;
+import com.definex.task_management.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Location, naming and size limits of attachment files on disk, shared by the
+ * direct and the chunked upload paths. Uploads are written to the uploads
+ * directory first and only become attachment content once their checksum is
+ * known, see {@link AttachmentBlobStore}.
+ */
+@Slf4j
+@Component
+public class AttachmentFileStore {
+    static final String UPLOADS_DIRECTORY = "uploads";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final Path fileStorageLocation;
+    private final Path uploadsLocation;
+    private final long maxFileSize;
+    private final long maxTaskSize;
+
+    public AttachmentFileStore(
+            @Value("${app.file-storage-location}") String fileStorageLocation,
+            @Value("${app.attachments.max-file-size:1GB}") DataSize maxFileSize,
+            @Value("${app.attachments.max-task-size:5GB}") DataSize maxTaskSize
+    ) {
+        this.fileStorageLocation = Paths.get(fileStorageLocation).toAbsolutePath().normalize();
+        this.uploadsLocation = this.fileStorageLocation.resolve(UPLOADS_DIRECTORY);
+        this.maxFileSize = maxFileSize.toBytes();
+        this.maxTaskSize = maxTaskSize.toBytes();
+
+        try {
+            Files.createDirectories(this.uploadsLocation);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+    }
+
+    public Path getRoot() {
+        return fileStorageLocation;
+    }
+
+    public Path newTempFile(String suffix) {
+        return uploadsLocation.resolve(UUID.randomUUID() + suffix);
+    }
+
+    /**
+     * Rejects an upload from its declared length, before any byte is read.
+     * Uploads without a length are still cut off by {@link #copy} once they
+     * pass {@link #uploadLimit}.
+     */
+    public void checkQuota(Task task, long contentLength) {
+        if (contentLength > maxFileSize) {
+            throw new PayloadTooLargeException("Attachment exceeds the maximum size of " + maxFileSize + " bytes");
+        }
+        if (contentLength > remainingTaskQuota(task)) {
+            throw new PayloadTooLargeException("Task attachments would exceed the quota of " + maxTaskSize + " bytes");
+        }
+    }
+
+    /**
+     * Adds an attachment to the task's totals in the same statement that
+     * checks the quota, so concurrent uploads cannot both pass
+     * {@link #checkQuota} and together exceed it.
+     */
+    public void addToTaskTotals(TaskRepository taskRepository, UUID taskId, long fileSize) {
+        if (taskRepository.addAttachmentWithinQuota(taskId, fileSize, maxTaskSize) == 0) {
+            throw new PayloadTooLargeException("Task attachments would exceed the quota of " + maxTaskSize + " bytes");
+        }
+    }
+
+    public long uploadLimit(Task task) {
+        return Math.min(maxFileSize, remainingTaskQuota(task));
+    }
+
+    private long remainingTaskQuota(Task task) {
+        long used = task.getTotalAttachmentBytes() == null ? 0 : task.getTotalAttachmentBytes();
+        return Math.max(maxTaskSize - used, 0);
+    }
+
+    public static long copy(InputStream inputStream, OutputStream outputStream, MessageDigest digest, long limit)
+            throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            total += read;
+            if (total > limit) {
+                throw new PayloadTooLargeException("Attachment exceeds the upload limit of " + limit + " bytes");
+            }
+            digest.update(buffer, 0, read);
+            outputStream.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    public static void deleteOnRollback(Path path) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(path);
+                }
+            }
+        });
+    }
+
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete attachment file {}", path, ex);
+        }
+    }
+
+    public static String cleanFileName(String fileName) {
+        String name = fileName == null ? null : StringUtils.getFilename(StringUtils.cleanPath(fileName.replace('\\', '/')));
+        if (!StringUtils.hasText(name) || name.equals("..")) {
+            throw new InvalidAttachmentException("File name is required");
+        }
+        return name;
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.config.SchedulingConfig;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.AttachmentUploadRepository;
+import com.definex.task_management.repository.projection.BlobReferenceView;
+import com.definex.task_management.service.impl.AttachmentStorage.StoredObject;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Finds attachment content nothing refers to any more, and content that
+ * went missing. Uploads interrupted by a crash leave files without a blob
+ * row, and tasks or projects deleted as a whole leave their attachments'
+ * blobs referenced forever. A pass merges the storage's sorted blob listing
+ * with {@code attachment_blobs} in checksum order, so neither side is held in
+ * memory. Orphans are moved to {@code quarantine/<date>/} under the blob's
+ * row lock, where they can still be restored by hand, and are deleted once
+ * the quarantine period is over. Stale temporary files in the uploads
+ * directory are removed as well. Moves and deletes are paced to a fixed rate
+ * so a large backlog does not saturate the disk.
+ */
+@Slf4j
+@Component
+public class AttachmentGarbageCollector {
+    static final String QUARANTINE_DIRECTORY = "quarantine";
+    private static final Pattern BLOB_KEY = Pattern.compile("blobs/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}");
+
+    private final AttachmentBlobRepository blobRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentUploadRepository uploadRepository;
+    private final AttachmentStorage storage;
+    private final Path uploadsLocation;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTemplate;
+    private final Duration gracePeriod;
+    private final Duration quarantinePeriod;
+    private final int batchSize;
+    private final long operationIntervalNanos;
+    private long nextOperationAt;
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong quarantined = new AtomicLong();
+    private final AtomicLong purged = new AtomicLong();
+    private final AtomicLong uploadsRemoved = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+    private final AtomicLong lastDurationMillis = new AtomicLong();
+
+    public AttachmentGarbageCollector(
+            AttachmentBlobRepository blobRepository,
+            AttachmentRepository attachmentRepository,
+            AttachmentUploadRepository uploadRepository,
+            AttachmentStorage storage,
+            AttachmentFileStore fileStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attachments.gc.grace-period:P1D}") Duration gracePeriod,
+            @Value("${app.attachments.gc.quarantine-period:P7D}") Duration quarantinePeriod,
+            @Value("${app.attachments.gc.batch-size:500}") int batchSize,
+            @Value("${app.attachments.gc.max-operations-per-second:20}") int maxOperationsPerSecond,
+            ObjectProvider<MeterRegistry> meterRegistryProvider
+    ) {
+        this.blobRepository = blobRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.uploadRepository = uploadRepository;
+        this.storage = storage;
+        this.uploadsLocation = fileStore.getRoot().resolve(AttachmentFileStore.UPLOADS_DIRECTORY);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTemplate.setReadOnly(true);
+        this.gracePeriod = gracePeriod;
+        this.quarantinePeriod = quarantinePeriod;
+        this.batchSize = batchSize;
+        this.operationIntervalNanos = maxOperationsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxOperationsPerSecond : 0;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            FunctionCounter.builder("app.attachments.gc.scanned", scanned, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.gc.quarantined", quarantined, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.gc.purged", purged, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.gc.uploads.removed", uploadsRemoved, AtomicLong::get)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.gc.missing", missing, AtomicLong::get)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.gc.last.duration", lastDurationMillis, AtomicLong::get)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public record Result(long scanned, int quarantined, int missing, int purged, int uploadsRemoved) {
+    }
+
+    @Scheduled(fixedDelayString = "${app.attachments.gc.interval:PT6H}",
+            initialDelayString = "${app.attachments.gc.initial-delay:PT30M}",
+            scheduler = SchedulingConfig.ATTACHMENT_MAINTENANCE_SCHEDULER)
+    public void scheduledCollection() {
+        Result result = collect();
+        if (result.quarantined() > 0 || result.purged() > 0 || result.uploadsRemoved() > 0 || result.missing() > 0) {
+            log.info("Attachment garbage collection: {}", result);
+        }
+    }
+
+    /**
+     * Runs one pass. Files and rows younger than the grace period are left
+     * alone, since an upload may still be about to reference them.
+     */
+    public synchronized Result collect() {
+        long startedAt = System.nanoTime();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Pass pass = new Pass();
+
+        reconcileBlobs(cutoff, pass);
+        purgeQuarantine(pass);
+        sweepUploads(cutoff, pass);
+
+        scanned.addAndGet(pass.scanned);
+        quarantined.addAndGet(pass.quarantined);
+        purged.addAndGet(pass.purged);
+        uploadsRemoved.addAndGet(pass.uploadsRemoved);
+        missing.set(pass.missing);
+        lastDurationMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return new Result(pass.scanned, pass.quarantined, pass.missing, pass.purged, pass.uploadsRemoved);
+    }
+
+    private void reconcileBlobs(Instant cutoff, Pass pass) {
+        LocalDateTime rowCutoff = LocalDateTime.ofInstant(cutoff, ZoneId.systemDefault());
+        try (Stream<StoredObject> listing = storage.list(AttachmentBlobStore.BLOBS_DIRECTORY + "/")) {
+            Iterator<StoredObject> files = listing.filter(object -> BLOB_KEY.matcher(object.key()).matches()).iterator();
+            Iterator<BlobReferenceView> rows = new BlobRows();
+            StoredObject file = files.hasNext() ? files.next() : null;
+            BlobReferenceView row = rows.hasNext() ? rows.next() : null;
+
+            while (file != null || row != null) {
+                pass.scanned++;
+                int order = file == null ? 1 : row == null ? -1 : checksumOf(file).compareTo(row.getChecksum());
+                if (order < 0) {
+                    if (file.lastModified().isBefore(cutoff)) {
+                        quarantine(checksumOf(file), pass);
+                    }
+                    file = files.hasNext() ? files.next() : null;
+                } else if (order > 0) {
+                    reconcileRowWithoutFile(row, rowCutoff, pass);
+                    row = rows.hasNext() ? rows.next() : null;
+                } else {
+                    if (row.getLiveReferences() == 0 && file.lastModified().isBefore(cutoff)
+                            && row.getCreatedAt().isBefore(rowCutoff)) {
+                        quarantine(row.getChecksum(), pass);
+                    }
+                    file = files.hasNext() ? files.next() : null;
+                    row = rows.hasNext() ? rows.next() : null;
+                }
+            }
+        }
+    }
+
+    private void reconcileRowWithoutFile(BlobReferenceView row, LocalDateTime rowCutoff, Pass pass) {
+        if (!row.getCreatedAt().isBefore(rowCutoff)
+                || storage.exists(AttachmentBlobStore.flatBlobKey(row.getChecksum()))) {
+            return;
+        }
+        if (row.getLiveReferences() > 0) {
+            log.warn("Content {} of {} attachments is missing from storage", row.getChecksum(), row.getLiveReferences());
+            pass.missing++;
+        } else {
+            quarantine(row.getChecksum(), pass);
+        }
+    }
+
+    /**
+     * Takes the blob's row lock, creating the row if needed so an upload of
+     * the same content waits for us, and checks again that no attachment
+     * uses the content before dropping the row and moving the file aside.
+     */
+    private void quarantine(String checksum, Pass pass) {
+        pace();
+        try {
+            Boolean collected = transactionTemplate.execute(status -> {
+                blobRepository.claim(checksum, LocalDateTime.now());
+                blobRepository.lock(checksum);
+                if (attachmentRepository.countLiveByChecksum(checksum) > 0) {
+                    status.setRollbackOnly();
+                    return false;
+                }
+                attachmentRepository.softDeleteByChecksum(checksum);
+                blobRepository.deleteByChecksum(checksum);
+                String key = AttachmentBlobStore.blobKey(checksum);
+                if (storage.exists(key)) {
+                    storage.rename(key, QUARANTINE_DIRECTORY + "/" + LocalDate.now() + "/" + checksum);
+                }
+                AttachmentFileStore.afterCommit(() -> {
+                    storage.delete(AttachmentBlobStore.thumbnailKey(checksum));
+                    storage.delete(AttachmentBlobStore.previewKey(checksum));
+                });
+                return true;
+            });
+            if (Boolean.TRUE.equals(collected)) {
+                log.debug("Quarantined unreferenced attachment content {}", checksum);
+                pass.quarantined++;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not quarantine attachment content {}", checksum, ex);
+        }
+    }
+
+    private void purgeQuarantine(Pass pass) {
+        String expiredBefore = QUARANTINE_DIRECTORY + "/" + LocalDate.now().minusDays(quarantinePeriod.toDays()) + "/";
+        try (Stream<StoredObject> listing = storage.list(QUARANTINE_DIRECTORY + "/")) {
+            Iterator<StoredObject> expired = listing
+                    .takeWhile(object -> object.key().compareTo(expiredBefore) < 0)
+                    .iterator();
+            while (expired.hasNext()) {
+                pace();
+                storage.delete(expired.next().key());
+                pass.purged++;
+            }
+        }
+    }
+
+    /**
+     * Removes temporary files of uploads that were neither completed nor
+     * rolled back, keeping the part files of chunked uploads in progress.
+     */
+    private void sweepUploads(Instant cutoff, Pass pass) {
+        List<Path> stale;
+        try (Stream<Path> files = Files.list(uploadsLocation)) {
+            stale = files
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(file -> modifiedBefore(file, cutoff))
+                    .toList();
+        } catch (IOException ex) {
+            log.warn("Could not list {}", uploadsLocation, ex);
+            return;
+        }
+        for (Path file : stale) {
+            if (uploadRepository.existsByFilePath(file.toString())) {
+                continue;
+            }
+            pace();
+            AttachmentFileStore.deleteQuietly(file);
+            pass.uploadsRemoved++;
+        }
+    }
+
+    private static boolean modifiedBefore(Path file, Instant cutoff) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException ex) {
+            return false;
+        } catch (IOException ex) {
+            log.warn("Could not read {}", file, ex);
+            return false;
+        }
+    }
+
+    private void pace() {
+        if (operationIntervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (nextOperationAt - now > 0) {
+            LockSupport.parkNanos(nextOperationAt - now);
+        }
+        nextOperationAt = Math.max(now, nextOperationAt) + operationIntervalNanos;
+    }
+
+    private static String checksumOf(StoredObject object) {
+        return object.key().substring(object.key().lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Blob rows in checksum order, read a page at a time by the last
+     * checksum seen.
+     */
+    private class BlobRows implements Iterator<BlobReferenceView> {
+        private Iterator<BlobReferenceView> page = List.<BlobReferenceView>of().iterator();
+        private String after = "";
+        private boolean exhausted;
+
+        @Override
+        public boolean hasNext() {
+            if (!page.hasNext() && !exhausted) {
+                String lastChecksum = after;
+                List<BlobReferenceView> rows = readOnlyTemplate.execute(status ->
+                        blobRepository.findReferencesAfter(lastChecksum, batchSize));
+                if (rows == null || rows.isEmpty()) {
+                    exhausted = true;
+                } else {
+                    exhausted = rows.size() < batchSize;
+                    after = rows.get(rows.size() - 1).getChecksum();
+                    page = rows.iterator();
+                }
+            }
+            return page.hasNext();
+        }
+
+        @Override
+        public BlobReferenceView next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.next();
+        }
+    }
+
+    private static class Pass {
+        private long scanned;
+        private int quarantined;
+        private int missing;
+        private int purged;
+        private int uploadsRemoved;
+    }
+}
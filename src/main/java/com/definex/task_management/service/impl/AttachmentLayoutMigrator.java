@@ -0,0 +1,137 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.config.SchedulingConfig;
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.repository.AttachmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves existing attachment content into the sharded blob layout in the
+ * background. Files from the flat blob directory are renamed to their
+ * sharded key; files stored as {@code UUID_name} before content addressing
+ * become blobs, hashed first if they have no checksum. Each attachment is
+ * moved in its own short transaction, and attachments that cannot be moved
+ * are skipped until the next pass.
+ */
+@Slf4j
+@Component
+public class AttachmentLayoutMigrator {
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentBlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public AttachmentLayoutMigrator(AttachmentRepository attachmentRepository,
+                                    AttachmentBlobStore blobStore,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.attachments.layout-migration.batch-size:200}") int batchSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.attachments.layout-migration.interval:PT6H}",
+            initialDelayString = "${app.attachments.layout-migration.initial-delay:PT2M}",
+            scheduler = SchedulingConfig.ATTACHMENT_MAINTENANCE_SCHEDULER)
+    public void scheduledMigration() {
+        int migrated = migrate();
+        if (migrated > 0) {
+            log.info("Moved {} attachments to the sharded storage layout", migrated);
+        }
+    }
+
+    /**
+     * Runs one pass over all attachments outside the sharded layout and
+     * returns how many were moved.
+     */
+    public int migrate() {
+        UUID after = FIRST_ID;
+        int migrated = 0;
+        while (true) {
+            UUID lastId = after;
+            List<Attachment> batch = transactionTemplate.execute(status ->
+                    attachmentRepository.findUnshardedAfter(lastId, PageRequest.of(0, batchSize)));
+            if (batch == null || batch.isEmpty()) {
+                return migrated;
+            }
+            for (Attachment attachment : batch) {
+                after = attachment.getId();
+                try {
+                    if (migrate(attachment)) {
+                        migrated++;
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Could not move attachment {} to the sharded layout", attachment.getId(), ex);
+                }
+            }
+        }
+    }
+
+    private boolean migrate(Attachment attachment) {
+        String filePath = attachment.getFilePath();
+        if (blobStore.isFlatBlob(attachment.getChecksum(), filePath)) {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!blobStore.relocate(attachment.getChecksum(), filePath)) {
+                    return false;
+                }
+                attachmentRepository.updateBlobPath(attachment.getChecksum(), filePath,
+                        AttachmentBlobStore.blobKey(attachment.getChecksum()));
+                return true;
+            }));
+        }
+
+        Path file = Paths.get(filePath);
+        String checksum;
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+            checksum = attachment.getChecksum() != null ? attachment.getChecksum() : checksum(file);
+        } catch (NoSuchFileException ex) {
+            log.warn("File of attachment {} is missing: {}", attachment.getId(), filePath);
+            return false;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read " + filePath, ex);
+        }
+
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            String key = blobStore.store(file, checksum, fileSize);
+            if (attachmentRepository.moveToBlob(attachment.getId(), filePath, key, checksum) == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        }));
+    }
+
+    private static String checksum(Path file) throws IOException {
+        MessageDigest digest = AttachmentFileStore.sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,440 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.enums.AttachmentProcessingStatus;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Works out what stored attachment content really is, off the upload path.
+ * Once the upload commits, the blob is queued for a small worker pool that
+ * reads the content once to verify its SHA-256 and sniff its type from the
+ * leading bytes, then writes a PNG thumbnail for images and a text preview
+ * for text next to the blob. The claimed type of every attachment sharing
+ * the content is corrected where it disagrees. The queue is bounded and an
+ * upload never waits on it: when it is full the blob stays pending and a
+ * periodic sweep queues it once there is room again. Failed attempts are
+ * retried with exponential backoff and given up after a fixed number.
+ */
+@Slf4j
+@Component
+public class AttachmentProcessor {
+    static final String THUMBNAIL_TYPE = "image/png";
+    static final String PREVIEW_TYPE = "text/plain;charset=UTF-8";
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final AttachmentBlobRepository blobRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final AttachmentStorage storage;
+    private final AttachmentFileStore fileStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int workers;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final int thumbnailSize;
+    private final int previewLength;
+    private final long maxImageSize;
+    private final long maxImagePixels;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AttachmentProcessor(
+            AttachmentBlobRepository blobRepository,
+            AttachmentRepository attachmentRepository,
+            AttachmentStorage storage,
+            AttachmentFileStore fileStore,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attachments.processing.workers:2}") int workers,
+            @Value("${app.attachments.processing.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.attachments.processing.max-attempts:5}") int maxAttempts,
+            @Value("${app.attachments.processing.retry-delay:PT1M}") Duration retryDelay,
+            @Value("${app.attachments.processing.thumbnail-size:256}") int thumbnailSize,
+            @Value("${app.attachments.processing.preview-length:2000}") int previewLength,
+            @Value("${app.attachments.processing.max-image-size:50MB}") DataSize maxImageSize,
+            @Value("${app.attachments.processing.max-image-pixels:50000000}") long maxImagePixels,
+            ObjectProvider<MeterRegistry> meterRegistryProvider
+    ) {
+        this.blobRepository = blobRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.storage = storage;
+        this.fileStore = fileStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+        this.thumbnailSize = thumbnailSize;
+        this.previewLength = previewLength;
+        this.maxImageSize = maxImageSize.toBytes();
+        this.maxImagePixels = maxImagePixels;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("app.attachments.processing.queue.size", this, AttachmentProcessor::queueSize)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.processing.queue.remaining", this, AttachmentProcessor::queueRemaining)
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.processing.active", this, AttachmentProcessor::activeWorkers)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.processing.processed", processed, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.processing.retried", retried, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.processing.failed", failed, AtomicLong::get)
+                    .register(meterRegistry);
+            FunctionCounter.builder("app.attachments.processing.rejected", rejected, AtomicLong::get)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "attachment-processor-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Content still queued stays pending in the database and is picked up
+     * by the sweep after the next start.
+     */
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues content for processing once the surrounding transaction
+     * commits. Never blocks.
+     */
+    public void submit(String checksum) {
+        AttachmentFileStore.afterCommit(() -> enqueue(checksum));
+    }
+
+    /**
+     * Queues pending content whose retry is due, as much as the queue has
+     * room for. Picks up content that did not fit into the queue on upload.
+     */
+    @Scheduled(fixedDelayString = "${app.attachments.processing.sweep-interval:PT1M}",
+            initialDelayString = "${app.attachments.processing.sweep-initial-delay:PT1M}")
+    public void sweep() {
+        int room = queueRemaining();
+        if (room == 0) {
+            return;
+        }
+        List<String> due = blobRepository.findDueForProcessing(
+                AttachmentProcessingStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, room));
+        for (String checksum : due) {
+            if (!enqueue(checksum)) {
+                break;
+            }
+        }
+    }
+
+    private boolean enqueue(String checksum) {
+        if (executor == null || !inFlight.add(checksum)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(checksum);
+                } finally {
+                    inFlight.remove(checksum);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(checksum);
+            rejected.incrementAndGet();
+            log.debug("Attachment processing queue is full, leaving {} to the next sweep", checksum);
+            return false;
+        }
+    }
+
+    /**
+     * Processes one blob. Content processed before, for instance when the
+     * same bytes are uploaded again, only has the new attachment's type
+     * corrected.
+     */
+    void process(String checksum) {
+        AttachmentBlob blob;
+        try {
+            Optional<AttachmentBlob> found = blobRepository.findById(checksum);
+            if (found.isEmpty()) {
+                return;
+            }
+            blob = found.get();
+        } catch (RuntimeException ex) {
+            log.warn("Could not load attachment content {} for processing", checksum, ex);
+            return;
+        }
+
+        if (blob.getProcessingStatus() == AttachmentProcessingStatus.READY) {
+            if (blob.getContentType() != null) {
+                transactionTemplate.executeWithoutResult(status -> applyContentType(checksum, blob.getContentType()));
+            }
+            return;
+        }
+        if (blob.getProcessingStatus() == AttachmentProcessingStatus.FAILED) {
+            return;
+        }
+
+        try {
+            analyze(blob);
+        } catch (IOException | RuntimeException ex) {
+            retryLater(blob, ex);
+        }
+    }
+
+    private void analyze(AttachmentBlob blob) throws IOException {
+        String checksum = blob.getChecksum();
+        String key = AttachmentBlobStore.blobKey(checksum);
+        if (!storage.exists(key) && storage.exists(AttachmentBlobStore.flatBlobKey(checksum))) {
+            key = AttachmentBlobStore.flatBlobKey(checksum);
+        }
+
+        MessageDigest digest = AttachmentFileStore.sha256();
+        byte[] head = new byte[AttachmentContentSniffer.HEAD_SIZE];
+        int headLength = 0;
+        long size = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (InputStream inputStream = storage.open(key)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                if (headLength < head.length) {
+                    int copied = Math.min(read, head.length - headLength);
+                    System.arraycopy(buffer, 0, head, headLength, copied);
+                    headLength += copied;
+                }
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+        String actualChecksum = HexFormat.of().formatHex(digest.digest());
+        if (!actualChecksum.equals(checksum) || size != blob.getFileSize()) {
+            log.error("Attachment content {} is corrupt: read {} bytes hashing to {}, expected {} bytes",
+                    checksum, size, actualChecksum, blob.getFileSize());
+            transactionTemplate.executeWithoutResult(status -> blobRepository.markAttempt(
+                    checksum, AttachmentProcessingStatus.FAILED, blob.getProcessingAttempts() + 1, null));
+            failed.incrementAndGet();
+            return;
+        }
+
+        String contentType = AttachmentContentSniffer.sniff(head, headLength);
+        boolean thumbnail = contentType != null && writeThumbnail(checksum, key, contentType, size);
+        boolean preview = contentType != null && AttachmentContentSniffer.isTextual(contentType)
+                && writePreview(checksum, head, headLength);
+
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = blobRepository.markProcessed(
+                    checksum, AttachmentProcessingStatus.READY, contentType, thumbnail, preview);
+            if (rows > 0 && contentType != null) {
+                applyContentType(checksum, contentType);
+            }
+            return rows;
+        });
+        if (updated == null || updated == 0) {
+            // Purged while we were working on it.
+            storage.delete(AttachmentBlobStore.thumbnailKey(checksum));
+            storage.delete(AttachmentBlobStore.previewKey(checksum));
+            return;
+        }
+        processed.incrementAndGet();
+        log.debug("Processed attachment content {} as {}, thumbnail: {}, preview: {}",
+                checksum, contentType, thumbnail, preview);
+    }
+
+    private void applyContentType(String checksum, String contentType) {
+        for (Attachment attachment : attachmentRepository.findByChecksum(checksum)) {
+            String resolved = AttachmentContentSniffer.resolve(attachment.getFileType(), contentType);
+            if (!resolved.equals(attachment.getFileType())) {
+                log.info("Attachment {} was uploaded as {} but is {}", attachment.getId(), attachment.getFileType(), resolved);
+                attachmentRepository.updateFileType(attachment.getId(), resolved);
+            }
+        }
+    }
+
+    private boolean writeThumbnail(String checksum, String key, String contentType, long size) throws IOException {
+        if (size > maxImageSize || !ImageIO.getImageReadersByMIMEType(contentType).hasNext()) {
+            return false;
+        }
+        BufferedImage image;
+        try (InputStream inputStream = storage.open(key)) {
+            image = decode(checksum, inputStream, contentType);
+        }
+        if (image == null) {
+            return false;
+        }
+        Path file = fileStore.newTempFile(".png");
+        try {
+            ImageIO.write(scaleDown(image), "png", file.toFile());
+            storage.put(AttachmentBlobStore.thumbnailKey(checksum), file);
+        } finally {
+            AttachmentFileStore.deleteQuietly(file);
+        }
+        return true;
+    }
+
+    /**
+     * Decodes an image subsampled to about twice the thumbnail size, so a
+     * large photo never needs a full-resolution raster. Images above the
+     * pixel limit or that cannot be decoded get no thumbnail.
+     */
+    private BufferedImage decode(String checksum, InputStream inputStream, String contentType) throws IOException {
+        ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream);
+        if (imageInputStream == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByMIMEType(contentType);
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(imageInputStream, true, true);
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            if ((long) width * height > maxImagePixels) {
+                log.debug("Attachment content {} is {}x{} pixels, not making a thumbnail", checksum, width, height);
+                return null;
+            }
+            int step = Math.max(1, Math.max(width, height) / (thumbnailSize * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(step, step, 0, 0);
+            return reader.read(0, param);
+        } catch (IIOException | RuntimeException ex) {
+            log.debug("Could not decode attachment content {} as {}", checksum, contentType, ex);
+            return null;
+        } finally {
+            reader.dispose();
+            imageInputStream.close();
+        }
+    }
+
+    private BufferedImage scaleDown(BufferedImage image) {
+        double scale = Math.min(1.0, (double) thumbnailSize / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return thumbnail;
+    }
+
+    private boolean writePreview(String checksum, byte[] head, int headLength) throws IOException {
+        String text = AttachmentContentSniffer.decodeText(head, headLength);
+        if (text == null || text.isBlank()) {
+            return false;
+        }
+        int end = Math.min(text.length(), previewLength);
+        if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+            end--;
+        }
+        Path file = fileStore.newTempFile(".txt");
+        try {
+            Files.writeString(file, text.substring(0, end), StandardCharsets.UTF_8);
+            storage.put(AttachmentBlobStore.previewKey(checksum), file);
+        } finally {
+            AttachmentFileStore.deleteQuietly(file);
+        }
+        return true;
+    }
+
+    private void retryLater(AttachmentBlob blob, Exception cause) {
+        String checksum = blob.getChecksum();
+        int attempts = blob.getProcessingAttempts() + 1;
+        try {
+            if (attempts >= maxAttempts) {
+                log.error("Giving up on processing attachment content {} after {} attempts", checksum, attempts, cause);
+                transactionTemplate.executeWithoutResult(status -> blobRepository.markAttempt(
+                        checksum, AttachmentProcessingStatus.FAILED, attempts, null));
+                failed.incrementAndGet();
+            } else {
+                Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 16));
+                log.warn("Could not process attachment content {}, retrying in {}: {}", checksum, delay, cause.toString());
+                transactionTemplate.executeWithoutResult(status -> blobRepository.markAttempt(
+                        checksum, AttachmentProcessingStatus.PENDING, attempts, LocalDateTime.now().plus(delay)));
+                retried.incrementAndGet();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Could not record processing attempt for attachment content {}", checksum, ex);
+        }
+    }
+
+    private int queueSize() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    private int queueRemaining() {
+        return executor == null ? 0 : executor.getQueue().remainingCapacity();
+    }
+
+    private int activeWorkers() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+}
@@ -1,13 +1,18 @@
 package com.definex.task_management.service.impl;
 
+import com.definex.task_management.dto.AttachmentDownload;
 import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.DirectUploadRequest;
+import com.definex.task_management.dto.DirectUploadResponse;
 import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.entity.AttachmentDirectUpload;
 import com.definex.task_management.entity.Task;
-import com.definex.task_management.enums.UserRole;
-import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.InvalidAttachmentException;
 import com.definex.task_management.mapper.AttachmentMapper;
+import com.definex.task_management.repository.AttachmentDirectUploadRepository;
 import com.definex.task_management.repository.AttachmentRepository;
 import com.definex.task_management.repository.TaskRepository;
 import com.definex.task_management.security.CustomUserDetails;
@@ -16,67 +21,165 @@ import com.definex.task_management.service.BaseService;
 import com.definex.task_management.service.TaskService;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class AttachmentServiceImpl extends BaseService implements AttachmentService {
+    private static final String TASK_ACCESS_DENIED = "You can only access attachments for tasks you are assigned to";
+    private static final String DIRECT_UPLOADS_UNSUPPORTED = "Direct uploads are not supported by the configured storage";
+
     private final AttachmentRepository attachmentRepository;
+    private final AttachmentDirectUploadRepository directUploadRepository;
     private final TaskRepository taskRepository;
-    private final Path fileStorageLocation;
+    private final AttachmentFileStore fileStore;
+    private final AttachmentBlobStore blobStore;
+    private final AttachmentStorage storage;
+    private final AttachmentStoreHealthIndicator storeHealth;
+    private final AttachmentContentCache contentCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration uploadTtl;
 
     public AttachmentServiceImpl(
             AttachmentRepository attachmentRepository,
+            AttachmentDirectUploadRepository directUploadRepository,
             TaskRepository taskRepository,
-            @Value("${app.file-storage-location}") String fileStorageLocation
+            AttachmentFileStore fileStore,
+            AttachmentBlobStore blobStore,
+            AttachmentStorage storage,
+            AttachmentStoreHealthIndicator storeHealth,
+            AttachmentContentCache contentCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attachments.upload-ttl:P1D}") Duration uploadTtl
     ) {
         this.attachmentRepository = attachmentRepository;
+        this.directUploadRepository = directUploadRepository;
         this.taskRepository = taskRepository;
-        this.fileStorageLocation = Paths.get(fileStorageLocation).toAbsolutePath().normalize();
+        this.fileStore = fileStore;
+        this.blobStore = blobStore;
+        this.storage = storage;
+        this.storeHealth = storeHealth;
+        this.contentCache = contentCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.uploadTtl = uploadTtl;
+    }
 
-        try {
-            Files.createDirectories(this.fileStorageLocation);
+    @Override
+    public AttachmentResponse uploadAttachment(AttachmentRequest attachmentRequest) {
+        log.info("Uploading attachment for task id: {}", attachmentRequest.getTaskId());
+        MultipartFile file = attachmentRequest.getFile();
+        Task task = checkUpload(attachmentRequest.getTaskId(), file.getSize());
+
+        try (InputStream inputStream = file.getInputStream()) {
+            return AttachmentMapper.toResponse(
+                    store(task, file.getOriginalFilename(), file.getContentType(), file.getSize(), inputStream));
         } catch (IOException ex) {
-            throw new RuntimeException("Could not create the directory where the uploaded files will be stored.", ex);
+            throw new RuntimeException("Could not store file. Please try again!", ex);
         }
     }
 
+    @Override
+    public AttachmentResponse streamAttachment(UUID taskId, String fileName, String contentType,
+                                               long contentLength, InputStream inputStream) {
+        log.info("Streaming attachment for task id: {}", taskId);
+        Task task = checkUpload(taskId, contentLength);
+        return AttachmentMapper.toResponse(store(task, fileName, contentType, contentLength, inputStream));
+    }
+
+    /**
+     * Presigns an upload and records it for the current user, task, checksum
+     * and size. Content that is already stored is refused, since knowing its
+     * checksum must not be enough to attach it; it has to be uploaded through
+     * the application instead.
+     */
     @Override
     @Transactional
-    public AttachmentResponse uploadAttachment(AttachmentRequest attachmentRequest) {
-        log.info("Uploading attachment for task id: {}", attachmentRequest.getTaskId());
-        CustomUserDetails currentUser = getCurrentUser();
-        Task task = getTaskEntityById(attachmentRequest.getTaskId());
+    public DirectUploadResponse createDirectUpload(UUID taskId, DirectUploadRequest request) {
+        log.info("Creating direct upload for task id: {}", taskId);
+        Task task = getUploadableTask(taskId);
+        if (!storage.supportsDirectUploads()) {
+            throw new InvalidAttachmentException(DIRECT_UPLOADS_UNSUPPORTED);
+        }
+        AttachmentFileStore.cleanFileName(request.getFileName());
+        fileStore.checkQuota(task, request.getFileSize());
 
-        validateUserAccessToProject(currentUser, task.getProject());
-        validateUserAccessToTask(currentUser, task);
+        String key = AttachmentBlobStore.blobKey(request.getChecksum());
+        if (storage.exists(key)) {
+            throw new InvalidAttachmentException(
+                    "This content is already stored, upload it through the application instead");
+        }
+        DirectUploadResponse response = storage.presignUpload(key, request.getFileSize(), request.getChecksum())
+                .orElseThrow(() -> new InvalidAttachmentException(DIRECT_UPLOADS_UNSUPPORTED));
+        directUploadRepository.save(AttachmentDirectUpload.builder()
+                .task(task)
+                .startedBy(getCurrentUser().getUserId())
+                .checksum(request.getChecksum())
+                .fileSize(request.getFileSize())
+                .createdAt(LocalDateTime.now())
+                .build());
+        return response;
+    }
 
-        try {
-            MultipartFile file = attachmentRequest.getFile();
-            String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-            Path targetLocation = fileStorageLocation.resolve(fileName);
-            Files.copy(file.getInputStream(), targetLocation);
-
-            Attachment attachment = AttachmentMapper.toEntity(attachmentRequest, task, targetLocation.toString());
-            Attachment savedAttachment = attachmentRepository.save(attachment);
-            return AttachmentMapper.toResponse(savedAttachment);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not store file. Please try again!", ex);
+    @Override
+    @Transactional
+    public AttachmentResponse completeDirectUpload(UUID taskId, DirectUploadRequest request) {
+        log.info("Completing direct upload for task id: {}", taskId);
+        Task task = getUploadableTask(taskId);
+        if (!storage.supportsDirectUploads()) {
+            throw new InvalidAttachmentException(DIRECT_UPLOADS_UNSUPPORTED);
+        }
+        String fileName = AttachmentFileStore.cleanFileName(request.getFileName());
+        fileStore.checkQuota(task, request.getFileSize());
+
+        if (directUploadRepository.consume(taskId, getCurrentUser().getUserId(),
+                request.getChecksum(), request.getFileSize()) == 0) {
+            throw new InvalidAttachmentException("No direct upload was started for this file");
+        }
+        String storageKey = blobStore.register(request.getChecksum(), request.getFileSize());
+        Attachment attachment = attachmentRepository.save(AttachmentMapper.toEntity(
+                task,
+                fileName,
+                StringUtils.hasText(request.getFileType()) ? request.getFileType() : MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                storageKey,
+                request.getFileSize(),
+                request.getChecksum()));
+        fileStore.addToTaskTotals(taskRepository, task.getId(), request.getFileSize());
+        return AttachmentMapper.toResponse(attachment);
+    }
+
+    @Scheduled(fixedDelayString = "${app.attachments.upload-cleanup-interval:PT1H}",
+            initialDelayString = "${app.attachments.upload-cleanup-initial-delay:PT5M}")
+    public void scheduledDirectUploadCleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadTtl);
+        Integer purged = transactionTemplate.execute(status -> directUploadRepository.deleteCreatedBefore(cutoff));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} unfinished direct uploads", purged);
         }
     }
 
@@ -88,7 +191,7 @@ public class AttachmentServiceImpl extends BaseService implements AttachmentServ
         Attachment attachment = getAttachmentEntityById(attachmentId);
 
         validateUserAccessToProject(currentUser, attachment.getTask().getProject());
-        validateUserAccessToTask(currentUser, attachment.getTask());
+        validateUserAccessToTask(currentUser, attachment.getTask(), TASK_ACCESS_DENIED);
 
         return AttachmentMapper.toResponse(attachment);
     }
@@ -101,7 +204,7 @@ public class AttachmentServiceImpl extends BaseService implements AttachmentServ
         Task task = getTaskEntityById(taskId);
 
         validateUserAccessToProject(currentUser, task.getProject());
-        validateUserAccessToTask(currentUser, task);
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
         List<Attachment> attachments = attachmentRepository.findByTaskId(taskId);
         return attachments.stream()
                 .map(AttachmentMapper::toResponse)
@@ -110,25 +213,100 @@ public class AttachmentServiceImpl extends BaseService implements AttachmentServ
 
     @Override
     @Transactional(readOnly = true)
-    public Resource downloadAttachment(UUID attachmentId) {
+    public AttachmentDownload downloadAttachment(UUID attachmentId) {
         log.info("Downloading attachment with id: {}", attachmentId);
         CustomUserDetails currentUser = getCurrentUser();
         Attachment attachment = getAttachmentEntityById(attachmentId);
 
         validateUserAccessToProject(currentUser, attachment.getTask().getProject());
-        validateUserAccessToTask(currentUser, attachment.getTask());
+        validateUserAccessToTask(currentUser, attachment.getTask(), TASK_ACCESS_DENIED);
+
+        return toDownload(attachment, attachment.getFilePath(), attachment.getFileName(),
+                attachment.getFileType(), attachment.getFileSize());
+    }
+
+    /**
+     * The thumbnail made for an image attachment once it was processed in
+     * the background. Missing while processing is pending or if the content
+     * is not an image.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentDownload downloadThumbnail(UUID attachmentId) {
+        log.info("Downloading thumbnail of attachment with id: {}", attachmentId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Attachment attachment = getAttachmentEntityById(attachmentId);
 
+        validateUserAccessToProject(currentUser, attachment.getTask().getProject());
+        validateUserAccessToTask(currentUser, attachment.getTask(), TASK_ACCESS_DENIED);
+
+        blobStore.find(attachment.getChecksum())
+                .filter(AttachmentBlob::isThumbnail)
+                .orElseThrow(() -> new EntityNotFoundException("No thumbnail for attachment with id: " + attachmentId));
+        return toDownload(attachment, AttachmentBlobStore.thumbnailKey(attachment.getChecksum()),
+                StringUtils.stripFilenameExtension(attachment.getFileName()) + "-thumbnail.png",
+                AttachmentProcessor.THUMBNAIL_TYPE, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AttachmentDownload downloadPreview(UUID attachmentId) {
+        log.info("Downloading preview of attachment with id: {}", attachmentId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Attachment attachment = getAttachmentEntityById(attachmentId);
+
+        validateUserAccessToProject(currentUser, attachment.getTask().getProject());
+        validateUserAccessToTask(currentUser, attachment.getTask(), TASK_ACCESS_DENIED);
+
+        blobStore.find(attachment.getChecksum())
+                .filter(AttachmentBlob::isPreview)
+                .orElseThrow(() -> new EntityNotFoundException("No preview for attachment with id: " + attachmentId));
+        return toDownload(attachment, AttachmentBlobStore.previewKey(attachment.getChecksum()),
+                StringUtils.stripFilenameExtension(attachment.getFileName()) + "-preview.txt",
+                AttachmentProcessor.PREVIEW_TYPE, null);
+    }
+
+    /**
+     * Redirects to the content if the storage can presign downloads, and
+     * otherwise points at its local file, along with its bytes if they are
+     * hot enough to be cached. A recorded size that differs from the file on
+     * disk is only logged.
+     */
+    private AttachmentDownload toDownload(Attachment attachment, String key, String fileName, String fileType,
+                                          Long recordedSize) {
+        AttachmentDownload.AttachmentDownloadBuilder download = AttachmentDownload.builder()
+                .id(attachment.getId())
+                .fileName(fileName)
+                .fileType(fileType)
+                .uploadDate(attachment.getUploadDate());
+
+        Optional<URI> redirectUri = storage.presignDownload(key, fileName, fileType);
+        if (redirectUri.isPresent()) {
+            return download
+                    .fileSize(recordedSize == null ? 0 : recordedSize)
+                    .redirectUri(redirectUri.get())
+                    .build();
+        }
+
+        Path filePath = storage.localFile(key)
+                .orElseThrow(() -> new IllegalStateException("Attachment storage offers no way to download files"));
+        long fileSize;
         try {
-            Path filePath = Paths.get(attachment.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-            if (resource.exists()) {
-                return resource;
-            } else {
-                throw new EntityNotFoundException("File not found: " + attachment.getFileName());
-            }
-        } catch (MalformedURLException ex) {
-            throw new EntityNotFoundException("File not found: " + attachment.getFileName(), ex);
+            fileSize = Files.size(filePath);
+        } catch (NoSuchFileException ex) {
+            throw new EntityNotFoundException("File not found: " + fileName, ex);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file. Please try again!", ex);
+        }
+        if (recordedSize != null && fileSize != recordedSize) {
+            log.warn("Attachment {} is {} bytes on disk but recorded as {}", attachment.getId(), fileSize, recordedSize);
         }
+
+        return download
+                .fileSize(fileSize)
+                .filePath(filePath)
+                .content(contentCache.get(key, filePath, fileSize).orElse(null))
+                .build();
     }
 
     @Override
@@ -139,15 +317,13 @@ public class AttachmentServiceImpl extends BaseService implements AttachmentServ
         Attachment attachment = getAttachmentEntityById(attachmentId);
 
         validateUserAccessToProject(currentUser, attachment.getTask().getProject());
-        validateUserAccessToTask(currentUser, attachment.getTask());
+        validateUserAccessToTask(currentUser, attachment.getTask(), TASK_ACCESS_DENIED);
 
-        try {
-            Path filePath = Paths.get(attachment.getFilePath());
-            Files.deleteIfExists(filePath);
-            attachmentRepository.delete(attachment);
-        } catch (IOException ex) {
-            throw new RuntimeException("Could not delete file. Please try again!", ex);
+        if (attachmentRepository.softDeleteById(attachmentId) == 0) {
+            throw new EntityNotFoundException("Attachment not found with id: " + attachmentId);
         }
+        taskRepository.adjustAttachmentTotals(attachment.getTask().getId(), -1, -attachment.getFileSize());
+        blobStore.release(attachment.getChecksum(), attachment.getFilePath());
     }
 
     private Attachment getAttachmentEntityById(UUID attachmentId) {
@@ -160,17 +336,70 @@ public class AttachmentServiceImpl extends BaseService implements AttachmentServ
                 .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
     }
 
-    private void validateUserAccessToTask(CustomUserDetails currentUser, Task task) {
-        if (currentUser.getRole().equals(UserRole.PROJECT_GROUP_MANAGER) ||
-                currentUser.getRole().equals(UserRole.PROJECT_MANAGER) ||
-                currentUser.getRole().equals(UserRole.TEAM_LEADER)) {
-            return;
-        }
-        if (currentUser.getRole().equals(UserRole.TEAM_MEMBER)) {
-            boolean isAssigned = task.getAssignees().stream()
-                    .anyMatch(assignee -> assignee.getId().equals(currentUser.getUserId()));
-            if (!isAssigned) {
-                throw new DeniedAccessException("You can only access comments for tasks you are assigned to");
+    private Task getUploadableTask(UUID taskId) {
+        CustomUserDetails currentUser = getCurrentUser();
+        Task task = getTaskEntityById(taskId);
+
+        validateUserAccessToProject(currentUser, task.getProject());
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
+        return task;
+    }
+
+    private Task checkUpload(UUID taskId, long contentLength) {
+        return transactionTemplate.execute(status -> {
+            Task task = getUploadableTask(taskId);
+            fileStore.checkQuota(task, contentLength);
+            storeHealth.checkAcceptingUploads(contentLength);
+            return task;
+        });
+    }
+
+    /**
+     * Streams the body into a temporary file while hashing it, with no
+     * transaction open, then stores it by checksum and records the attachment
+     * in one short transaction. Content that is already stored is only
+     * referenced again. The temporary file is removed if anything fails, or
+     * if that transaction rolls back.
+     */
+    private Attachment store(Task task, String originalFileName, String contentType,
+                             long contentLength, InputStream inputStream) {
+        String fileName = AttachmentFileStore.cleanFileName(originalFileName);
+        Path tempFile = fileStore.newTempFile(".tmp");
+        MessageDigest digest = AttachmentFileStore.sha256();
+        boolean stored = false;
+        try {
+            long fileSize;
+            try (OutputStream outputStream = Files.newOutputStream(tempFile, StandardOpenOption.CREATE_NEW)) {
+                fileSize = AttachmentFileStore.copy(inputStream, outputStream, digest, fileStore.uploadLimit(task));
+            }
+            if (contentLength >= 0 && fileSize != contentLength) {
+                throw new InvalidAttachmentException(
+                        "Upload ended after " + fileSize + " of " + contentLength + " bytes");
+            }
+            String checksum = HexFormat.of().formatHex(digest.digest());
+            Attachment attachment = transactionTemplate.execute(status -> {
+                Task current = getTaskEntityById(task.getId());
+                fileStore.checkQuota(current, fileSize);
+                String storageKey = blobStore.store(tempFile, checksum, fileSize);
+                AttachmentFileStore.deleteOnRollback(tempFile);
+
+                Attachment saved = attachmentRepository.save(AttachmentMapper.toEntity(
+                        current,
+                        fileName,
+                        StringUtils.hasText(contentType) ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                        storageKey,
+                        fileSize,
+                        checksum));
+                fileStore.addToTaskTotals(taskRepository, current.getId(), fileSize);
+                return saved;
+            });
+            stored = true;
+            return attachment;
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        } finally {
+            if (!stored) {
+                AttachmentFileStore.deleteQuietly(tempFile);
             }
         }
     }
@@ -0,0 +1,76 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DirectUploadResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where attachment content lives. Keys are relative, such as
+ * {@code blobs/<sha256>}; attachments stored before content addressing keep
+ * their absolute local path as key. Backends that can hand out presigned
+ * URLs let clients move bytes directly, so the application only deals with
+ * metadata and authorization.
+ */
+public interface AttachmentStorage {
+    boolean exists(String key);
+
+    /**
+     * Size of the stored content, or {@link java.nio.file.NoSuchFileException}
+     * when nothing is stored under the key.
+     */
+    long size(String key) throws IOException;
+
+    /**
+     * Stores {@code source} under {@code key}. The source file belongs to the
+     * storage afterwards and is gone once the surrounding transaction
+     * commits; on rollback it is left where it was.
+     */
+    void put(String key, Path source);
+
+    /**
+     * Moves content to another key. On rollback of the surrounding
+     * transaction it is available under the old key again.
+     */
+    void rename(String sourceKey, String targetKey);
+
+    InputStream open(String key) throws IOException;
+
+    void delete(String key);
+
+    /**
+     * The file holding the content, for backends that keep it on a local
+     * disk the server can send from.
+     */
+    Optional<Path> localFile(String key);
+
+    /**
+     * Whether {@link #presignUpload} hands out URLs, so that content can be
+     * uploaded without passing through the application.
+     */
+    boolean supportsDirectUploads();
+
+    /**
+     * A URL the client can PUT exactly {@code fileSize} bytes with the given
+     * SHA-256 to. Empty when the backend only accepts uploads through the
+     * application.
+     */
+    Optional<DirectUploadResponse> presignUpload(String key, long fileSize, String checksum);
+
+    Optional<URI> presignDownload(String key, String fileName, String contentType);
+
+    /**
+     * Everything stored under a directory-like {@code prefix} such as
+     * {@code blobs/}, in ascending key order so it can be merged with a table sorted the same way. The
+     * listing is read lazily and must be closed.
+     */
+    Stream<StoredObject> list(String prefix);
+
+    record StoredObject(String key, long size, Instant lastModified) {
+    }
+}
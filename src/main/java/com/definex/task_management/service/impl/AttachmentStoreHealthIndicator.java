@@ -0,0 +1,222 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.exception.InsufficientStorageException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Free space, inode usage and write latency of the disk holding attachment
+ * files, sampled in the background. While free space or inodes are below
+ * their limits, or the probe write fails, the store reports
+ * {@link #UPLOADS_REFUSED} and uploads are refused up front instead of
+ * failing halfway through. That status is only ranked by the
+ * {@code attachments} health group, so a full disk does not take the
+ * application's aggregate health down while reads keep working.
+ */
+@Slf4j
+@Component
+public class AttachmentStoreHealthIndicator implements HealthIndicator {
+    static final Status UPLOADS_REFUSED = new Status("UPLOADS_REFUSED", "Attachment uploads are refused");
+
+    private static final String PROBE_FILE = ".health-probe";
+    private static final byte[] PROBE_CONTENT = new byte[4096];
+    private static final long DF_TIMEOUT_SECONDS = 5;
+
+    private final Path root;
+    private final Path probeFile;
+    private final long minFreeSpace;
+    private final double maxInodeUsage;
+    private final Duration maxWriteLatency;
+    private volatile Sample sample;
+
+    public AttachmentStoreHealthIndicator(
+            AttachmentFileStore fileStore,
+            @Value("${app.attachments.health.min-free-space:1GB}") DataSize minFreeSpace,
+            @Value("${app.attachments.health.max-inode-usage:0.95}") double maxInodeUsage,
+            @Value("${app.attachments.health.max-write-latency:PT1S}") Duration maxWriteLatency,
+            ObjectProvider<MeterRegistry> meterRegistryProvider
+    ) {
+        this.root = fileStore.getRoot();
+        this.probeFile = root.resolve(AttachmentFileStore.UPLOADS_DIRECTORY).resolve(PROBE_FILE);
+        this.minFreeSpace = minFreeSpace.toBytes();
+        this.maxInodeUsage = maxInodeUsage;
+        this.maxWriteLatency = maxWriteLatency;
+
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+        if (meterRegistry != null) {
+            Gauge.builder("app.attachments.store.free", this, indicator -> indicator.gauge(Sample::usableBytes))
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.store.inode.usage", this, indicator -> indicator.gauge(Sample::inodeUsage))
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.store.write.latency", this,
+                            indicator -> indicator.gauge(Sample::writeLatencyMillis))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("app.attachments.store.accepting.uploads", this,
+                            indicator -> indicator.sample == null || indicator.sample.rejection() == null ? 1 : 0)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.attachments.health.check-interval:PT30S}")
+    public void sample() {
+        long usableBytes = -1;
+        long totalBytes = -1;
+        String rejection = null;
+        try {
+            FileStore store = Files.getFileStore(root);
+            usableBytes = store.getUsableSpace();
+            totalBytes = store.getTotalSpace();
+            if (usableBytes < minFreeSpace) {
+                rejection = "Attachment storage has only " + usableBytes + " bytes free";
+            }
+        } catch (IOException ex) {
+            rejection = "Attachment storage is not readable: " + ex.getMessage();
+        }
+
+        double inodeUsage = inodeUsage();
+        if (rejection == null && inodeUsage > maxInodeUsage) {
+            rejection = "Attachment storage has used " + Math.round(inodeUsage * 100) + "% of its inodes";
+        }
+
+        long writeLatencyMillis = -1;
+        try {
+            writeLatencyMillis = probeWrite();
+        } catch (IOException ex) {
+            if (rejection == null) {
+                rejection = "Attachment storage is not writable: " + ex.getMessage();
+            }
+        }
+
+        Sample previous = sample;
+        sample = new Sample(usableBytes, totalBytes, inodeUsage, writeLatencyMillis, rejection, LocalDateTime.now());
+        if (rejection != null && (previous == null || previous.rejection() == null)) {
+            log.warn("Refusing attachment uploads: {}", rejection);
+        } else if (rejection == null && previous != null && previous.rejection() != null) {
+            log.info("Accepting attachment uploads again");
+        }
+    }
+
+    /**
+     * Refuses an upload when the store is out of service, or when writing
+     * {@code contentLength} bytes would take free space below the limit.
+     * Free space is read live since samples can be a few seconds old.
+     */
+    public void checkAcceptingUploads(long contentLength) {
+        Sample current = sample;
+        if (current != null && current.rejection() != null) {
+            throw new InsufficientStorageException(current.rejection());
+        }
+        long usableBytes;
+        try {
+            usableBytes = Files.getFileStore(root).getUsableSpace();
+        } catch (IOException ex) {
+            throw new InsufficientStorageException("Attachment storage is not readable: " + ex.getMessage());
+        }
+        if (usableBytes - Math.max(contentLength, 0) < minFreeSpace) {
+            throw new InsufficientStorageException("Not enough free space in attachment storage for this upload");
+        }
+    }
+
+    @Override
+    public Health health() {
+        Sample current = sample;
+        if (current == null) {
+            return Health.unknown().build();
+        }
+        Health.Builder builder = current.rejection() == null
+                ? Health.up()
+                : Health.status(UPLOADS_REFUSED).withDetail("reason", current.rejection());
+        return builder
+                .withDetail("path", root.toString())
+                .withDetail("freeBytes", current.usableBytes())
+                .withDetail("totalBytes", current.totalBytes())
+                .withDetail("minFreeBytes", minFreeSpace)
+                .withDetail("inodeUsage", current.inodeUsage())
+                .withDetail("writeLatencyMs", current.writeLatencyMillis())
+                .withDetail("slowWrites", current.writeLatencyMillis() > maxWriteLatency.toMillis())
+                .withDetail("sampledAt", current.sampledAt())
+                .build();
+    }
+
+    private long probeWrite() throws IOException {
+        long started = System.nanoTime();
+        try {
+            Files.write(probeFile, PROBE_CONTENT, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE, StandardOpenOption.DSYNC);
+        } finally {
+            Files.deleteIfExists(probeFile);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+    }
+
+    /**
+     * Share of inodes in use, read from {@code df} since the JDK has no
+     * inode API. Returns -1 where that is unavailable, the filesystem
+     * allocates inodes dynamically and reports none, or {@code df} hangs on
+     * an unresponsive mount. The output is two short lines and fits in the
+     * pipe buffer, so it is read only after the bounded wait.
+     */
+    private double inodeUsage() {
+        try {
+            Process process = new ProcessBuilder("df", "-Pi", root.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            if (!process.waitFor(DF_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return -1;
+            }
+            List<String> lines;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                lines = reader.lines().toList();
+            }
+            if (process.exitValue() != 0 || lines.size() < 2) {
+                return -1;
+            }
+            String[] columns = lines.get(lines.size() - 1).trim().split("\\s+");
+            long inodes = Long.parseLong(columns[1]);
+            long used = Long.parseLong(columns[2]);
+            return inodes > 0 ? (double) used / inodes : -1;
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Could not read inode usage of {}", root, ex);
+            return -1;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private double gauge(ToDoubleFunction<Sample> value) {
+        Sample current = sample;
+        return current == null ? Double.NaN : value.applyAsDouble(current);
+    }
+
+    private record Sample(long usableBytes, long totalBytes, double inodeUsage, long writeLatencyMillis,
+                          String rejection, LocalDateTime sampledAt) {
+    }
+}
@@ -0,0 +1,370 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.AttachmentUploadRequest;
+import com.definex.task_management.dto.AttachmentUploadResponse;
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentUpload;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.exception.ResourceConflictException;
+import com.definex.task_management.mapper.AttachmentMapper;
+import com.definex.task_management.mapper.AttachmentUploadMapper;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.AttachmentUploadChunkRepository;
+import com.definex.task_management.repository.AttachmentUploadRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.AttachmentUploadService;
+import com.definex.task_management.service.BaseService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resumable uploads in fixed-size chunks. Each chunk is written at its own
+ * offset of a preallocated part file with positional channel writes, so
+ * clients can send chunks in parallel and retry any of them. No transaction
+ * is held while bytes are transferred.
+ */
+@Slf4j
+@Service
+public class AttachmentUploadServiceImpl extends BaseService implements AttachmentUploadService {
+    private static final String TASK_ACCESS_DENIED = "You can only upload attachments for tasks you are assigned to";
+    static final Duration COMPLETION_STALE_AFTER = Duration.ofMinutes(10);
+
+    private final AttachmentUploadRepository uploadRepository;
+    private final AttachmentUploadChunkRepository chunkRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final TaskRepository taskRepository;
+    private final AttachmentFileStore fileStore;
+    private final AttachmentBlobStore blobStore;
+    private final AttachmentStoreHealthIndicator storeHealth;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration uploadTtl;
+
+    public AttachmentUploadServiceImpl(AttachmentUploadRepository uploadRepository,
+                                       AttachmentUploadChunkRepository chunkRepository,
+                                       AttachmentRepository attachmentRepository,
+                                       TaskRepository taskRepository,
+                                       AttachmentFileStore fileStore,
+                                       AttachmentBlobStore blobStore,
+                                       AttachmentStoreHealthIndicator storeHealth,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.attachments.upload-chunk-size:8MB}") DataSize chunkSize,
+                                       @Value("${app.attachments.upload-ttl:P1D}") Duration uploadTtl) {
+        this.uploadRepository = uploadRepository;
+        this.chunkRepository = chunkRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.taskRepository = taskRepository;
+        this.fileStore = fileStore;
+        this.blobStore = blobStore;
+        this.storeHealth = storeHealth;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.toIntExact(chunkSize.toBytes());
+        this.uploadTtl = uploadTtl;
+    }
+
+    @Override
+    public AttachmentUploadResponse createUpload(AttachmentUploadRequest request) {
+        log.info("Creating resumable upload for task id: {}", request.getTaskId());
+        CustomUserDetails currentUser = getCurrentUser();
+        String fileName = AttachmentFileStore.cleanFileName(request.getFileName());
+        Path partFile = fileStore.newTempFile(".part");
+
+        return transactionTemplate.execute(status -> {
+            Task task = getUploadableTask(currentUser, request.getTaskId());
+            fileStore.checkQuota(task, request.getFileSize());
+            storeHealth.checkAcceptingUploads(request.getFileSize());
+
+            LocalDateTime now = LocalDateTime.now();
+            AttachmentUpload upload = uploadRepository.save(AttachmentUpload.builder()
+                    .task(task)
+                    .startedBy(currentUser.getUserId())
+                    .fileName(fileName)
+                    .fileType(StringUtils.hasText(request.getFileType())
+                            ? request.getFileType()
+                            : MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    .fileSize(request.getFileSize())
+                    .chunkSize(chunkSize)
+                    .filePath(partFile.toString())
+                    .status(AttachmentUploadStatus.IN_PROGRESS)
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+
+            AttachmentFileStore.deleteOnRollback(partFile);
+            try (RandomAccessFile file = new RandomAccessFile(partFile.toFile(), "rw")) {
+                file.setLength(request.getFileSize());
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not allocate the upload file. Please try again!", ex);
+            }
+            return AttachmentUploadMapper.toResponse(upload, List.of());
+        });
+    }
+
+    @Override
+    public AttachmentUploadResponse writeChunk(UUID uploadId, long offset, long contentLength, InputStream inputStream) {
+        log.info("Writing chunk at offset {} of upload id: {}", offset, uploadId);
+        CustomUserDetails currentUser = getCurrentUser();
+        AttachmentUpload upload = transactionTemplate.execute(status -> getOwnedUpload(currentUser, uploadId));
+        if (upload.getStatus() != AttachmentUploadStatus.IN_PROGRESS) {
+            throw new InvalidAttachmentException("Upload is no longer accepting chunks");
+        }
+
+        long expectedLength = validateChunk(upload, offset, contentLength);
+        storeHealth.checkAcceptingUploads(expectedLength);
+        try (FileChannel channel = FileChannel.open(Paths.get(upload.getFilePath()), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(inputStream);
+            long written = 0;
+            while (written < expectedLength) {
+                long transferred = channel.transferFrom(source, offset + written, expectedLength - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written != expectedLength) {
+                throw new InvalidAttachmentException(
+                        "Chunk ended after " + written + " of " + expectedLength + " bytes");
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store chunk. Please try again!", ex);
+        }
+
+        int chunkIndex = (int) (offset / upload.getChunkSize());
+        return transactionTemplate.execute(status -> {
+            if (chunkRepository.markReceived(uploadId, chunkIndex) == 1) {
+                uploadRepository.addReceivedBytes(uploadId, expectedLength, LocalDateTime.now());
+            }
+            return toResponse(getUploadEntityById(uploadId));
+        });
+    }
+
+    @Override
+    public AttachmentUploadResponse getUpload(UUID uploadId) {
+        log.info("Fetching resumable upload with id: {}", uploadId);
+        CustomUserDetails currentUser = getCurrentUser();
+        return transactionTemplate.execute(status -> toResponse(getOwnedUpload(currentUser, uploadId)));
+    }
+
+    /**
+     * Stops the upload from taking chunks, then copies the part file into a
+     * private file while hashing it, so the stored content is exactly the
+     * bytes that were hashed even if a late chunk still lands in the part
+     * file. The copy is handed to the blob store and the attachment recorded
+     * in one transaction; the upload takes chunks again if that fails.
+     * Completing an upload twice returns the attachment created the first time.
+     */
+    @Override
+    public AttachmentResponse completeUpload(UUID uploadId) {
+        log.info("Completing resumable upload with id: {}", uploadId);
+        CustomUserDetails currentUser = getCurrentUser();
+        AttachmentUpload upload = transactionTemplate.execute(status -> {
+            AttachmentUpload existing = getOwnedUpload(currentUser, uploadId);
+            if (existing.getStatus() == AttachmentUploadStatus.COMPLETED) {
+                return existing;
+            }
+            if (existing.getStatus() == AttachmentUploadStatus.IN_PROGRESS) {
+                int missing = AttachmentUploadMapper.chunkCount(existing)
+                        - chunkRepository.findChunkIndexes(uploadId).size();
+                if (missing > 0) {
+                    throw new InvalidAttachmentException("Upload is missing " + missing + " chunks");
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (uploadRepository.claimCompletion(uploadId, now.minus(COMPLETION_STALE_AFTER), now) == 0) {
+                AttachmentUpload current = getUploadEntityById(uploadId);
+                if (current.getStatus() == AttachmentUploadStatus.COMPLETED) {
+                    return current;
+                }
+                throw new ResourceConflictException("Upload " + uploadId + " is already being completed");
+            }
+            return existing;
+        });
+        if (upload.getStatus() == AttachmentUploadStatus.COMPLETED) {
+            return transactionTemplate.execute(status -> AttachmentMapper.toResponse(
+                    attachmentRepository.findById(upload.getAttachmentId())
+                            .orElseThrow(() -> new EntityNotFoundException(
+                                    "Attachment not found with id: " + upload.getAttachmentId()))));
+        }
+
+        Path partFile = Paths.get(upload.getFilePath());
+        Path contentFile = fileStore.newTempFile(".blob");
+        try {
+            String checksum = copyWithChecksum(partFile, contentFile, upload.getFileSize());
+            return transactionTemplate.execute(status -> {
+                AttachmentFileStore.deleteOnRollback(contentFile);
+                Task task = getUploadableTask(currentUser, upload.getTask().getId());
+                fileStore.checkQuota(task, upload.getFileSize());
+
+                String storageKey = blobStore.store(contentFile, checksum, upload.getFileSize());
+                Attachment attachment = attachmentRepository.save(AttachmentMapper.toEntity(
+                        task,
+                        upload.getFileName(),
+                        upload.getFileType(),
+                        storageKey,
+                        upload.getFileSize(),
+                        checksum));
+                fileStore.addToTaskTotals(taskRepository, task.getId(), upload.getFileSize());
+                if (uploadRepository.markCompleted(uploadId, attachment.getId(), LocalDateTime.now()) == 0) {
+                    throw new InvalidAttachmentException("Upload is already completed");
+                }
+                chunkRepository.deleteByUploadId(uploadId);
+                AttachmentFileStore.afterCommit(() -> AttachmentFileStore.deleteQuietly(partFile));
+                return AttachmentMapper.toResponse(attachment);
+            });
+        } catch (RuntimeException ex) {
+            AttachmentFileStore.deleteQuietly(contentFile);
+            transactionTemplate.executeWithoutResult(status -> uploadRepository.updateStatus(uploadId,
+                    AttachmentUploadStatus.COMPLETING, AttachmentUploadStatus.IN_PROGRESS, LocalDateTime.now()));
+            throw ex;
+        }
+    }
+
+    @Override
+    public void cancelUpload(UUID uploadId) {
+        log.info("Cancelling resumable upload with id: {}", uploadId);
+        CustomUserDetails currentUser = getCurrentUser();
+        AttachmentUpload upload = transactionTemplate.execute(status -> {
+            AttachmentUpload existing = getOwnedUpload(currentUser, uploadId);
+            chunkRepository.deleteByUploadId(uploadId);
+            uploadRepository.delete(existing);
+            return existing;
+        });
+        if (upload.getStatus() != AttachmentUploadStatus.COMPLETED) {
+            AttachmentFileStore.deleteQuietly(Paths.get(upload.getFilePath()));
+        }
+    }
+
+    /**
+     * Drops sessions with no activity within the upload TTL together with
+     * their part files. A session touched after it was selected survives.
+     */
+    @Override
+    public int purgeAbandonedUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(uploadTtl);
+        List<AttachmentUpload> idle = transactionTemplate.execute(status ->
+                uploadRepository.findTop100ByUpdatedAtBeforeOrderByUpdatedAt(cutoff));
+        int purged = 0;
+        for (AttachmentUpload upload : idle) {
+            Boolean deleted = transactionTemplate.execute(status -> {
+                if (uploadRepository.deleteIfIdleSince(upload.getId(), cutoff) == 0) {
+                    return false;
+                }
+                chunkRepository.deleteByUploadId(upload.getId());
+                return true;
+            });
+            if (Boolean.TRUE.equals(deleted)) {
+                if (upload.getStatus() != AttachmentUploadStatus.COMPLETED) {
+                    AttachmentFileStore.deleteQuietly(Paths.get(upload.getFilePath()));
+                }
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    @Scheduled(fixedDelayString = "${app.attachments.upload-cleanup-interval:PT1H}",
+            initialDelayString = "${app.attachments.upload-cleanup-initial-delay:PT5M}")
+    public void scheduledUploadCleanup() {
+        int purged = purgeAbandonedUploads();
+        if (purged > 0) {
+            log.info("Purged {} abandoned attachment uploads", purged);
+        }
+    }
+
+    private long validateChunk(AttachmentUpload upload, long offset, long contentLength) {
+        if (offset < 0 || offset >= upload.getFileSize() || offset % upload.getChunkSize() != 0) {
+            throw new InvalidAttachmentException(
+                    "Chunk offset must be a multiple of " + upload.getChunkSize() + " below " + upload.getFileSize());
+        }
+        long expectedLength = Math.min(upload.getChunkSize(), upload.getFileSize() - offset);
+        if (contentLength != expectedLength) {
+            throw new InvalidAttachmentException(
+                    "Chunk at offset " + offset + " must be exactly " + expectedLength + " bytes");
+        }
+        return expectedLength;
+    }
+
+    private AttachmentUploadResponse toResponse(AttachmentUpload upload) {
+        return AttachmentUploadMapper.toResponse(upload, chunkRepository.findChunkIndexes(upload.getId()));
+    }
+
+    private static String copyWithChecksum(Path source, Path target, long length) {
+        MessageDigest digest = AttachmentFileStore.sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long remaining = length;
+            while (remaining > 0) {
+                buffer.limit((int) Math.min(buffer.capacity(), remaining));
+                int read = in.read(buffer);
+                if (read == -1) {
+                    throw new InvalidAttachmentException("Upload ended " + remaining + " bytes short");
+                }
+                buffer.flip();
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+                remaining -= read;
+            }
+            out.force(false);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read upload. Please try again!", ex);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private AttachmentUpload getOwnedUpload(CustomUserDetails currentUser, UUID uploadId) {
+        AttachmentUpload upload = getUploadEntityById(uploadId);
+        if (!upload.getStartedBy().equals(currentUser.getUserId())) {
+            throw new DeniedAccessException("You can only continue uploads you started");
+        }
+        return upload;
+    }
+
+    private AttachmentUpload getUploadEntityById(UUID uploadId) {
+        return uploadRepository.findById(uploadId)
+                .orElseThrow(() -> new EntityNotFoundException("Attachment upload not found with id: " + uploadId));
+    }
+
+    private Task getUploadableTask(CustomUserDetails currentUser, UUID taskId) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+
+        validateUserAccessToProject(currentUser, task.getProject());
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
+        return task;
+    }
+}
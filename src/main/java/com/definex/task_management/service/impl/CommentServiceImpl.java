@@ -27,6 +27,8 @@ import java.util.stream.Collectors;
 @Service
 @Slf4j
 public class CommentServiceImpl extends BaseService implements CommentService {
+    private static final String TASK_ACCESS_DENIED = "You can only access comments for tasks you are assigned to";
+
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
@@ -46,10 +48,11 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         User user = getUserEntityById(currentUser.getUserId());
 
         validateUserAccessToProject(currentUser, task.getProject());
-        validateUserAccessToTask(currentUser, task);
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
 
         Comment comment = CommentMapper.toEntity(commentRequest, task, user);
         Comment savedComment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(task.getId(), 1);
         return CommentMapper.toResponse(savedComment);
     }
 
@@ -61,7 +64,7 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         Comment comment = getCommentEntityById(commentId);
 
         validateUserAccessToProject(currentUser, comment.getTask().getProject());
-        validateUserAccessToTask(currentUser, comment.getTask());
+        validateUserAccessToTask(currentUser, comment.getTask(), TASK_ACCESS_DENIED);
 
         return CommentMapper.toResponse(comment);
     }
@@ -74,7 +77,7 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         Task task = getTaskEntityById(taskId);
 
         validateUserAccessToProject(currentUser, task.getProject());
-        validateUserAccessToTask(currentUser, task);
+        validateUserAccessToTask(currentUser, task, TASK_ACCESS_DENIED);
 
         List<Comment> comments = commentRepository.findByTaskId(taskId);
         return comments.stream()
@@ -90,7 +93,7 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         Comment comment = getCommentEntityById(commentId);
 
         validateUserAccessToProject(currentUser, comment.getTask().getProject());
-        validateUserAccessToTask(currentUser, comment.getTask());
+        validateUserAccessToTask(currentUser, comment.getTask(), TASK_ACCESS_DENIED);
 
         if (!comment.getUser().getId().equals(currentUser.getUserId()) &&
                 !currentUser.getRole().equals(UserRole.PROJECT_GROUP_MANAGER) &&
@@ -112,7 +115,7 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         Comment comment = getCommentEntityById(commentId);
 
         validateUserAccessToProject(currentUser, comment.getTask().getProject());
-        validateUserAccessToTask(currentUser, comment.getTask());
+        validateUserAccessToTask(currentUser, comment.getTask(), TASK_ACCESS_DENIED);
 
         if (!comment.getUser().getId().equals(currentUser.getUserId()) &&
                 !currentUser.getRole().equals(UserRole.PROJECT_GROUP_MANAGER) &&
@@ -121,7 +124,10 @@ public class CommentServiceImpl extends BaseService implements CommentService {
             throw new DeniedAccessException("You can only delete your own comments");
         }
 
-        commentRepository.delete(comment);
+        if (commentRepository.softDeleteById(commentId) == 0) {
+            throw new EntityNotFoundException("Comment not found with id: " + commentId);
+        }
+        taskRepository.adjustCommentCount(comment.getTask().getId(), -1);
     }
 
     private Comment getCommentEntityById(UUID commentId) {
@@ -138,19 +144,4 @@ public class CommentServiceImpl extends BaseService implements CommentService {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
     }
-
-    private void validateUserAccessToTask(CustomUserDetails currentUser, Task task) {
-        if (currentUser.getRole().equals(UserRole.PROJECT_GROUP_MANAGER) ||
-                currentUser.getRole().equals(UserRole.PROJECT_MANAGER) ||
-                currentUser.getRole().equals(UserRole.TEAM_LEADER)) {
-            return;
-        }
-        if (currentUser.getRole().equals(UserRole.TEAM_MEMBER)) {
-            boolean isAssigned = task.getAssignees().stream()
-                    .anyMatch(assignee -> assignee.getId().equals(currentUser.getUserId()));
-            if (!isAssigned) {
-                throw new DeniedAccessException("You can only access comments for tasks you are assigned to");
-            }
-        }
-    }
 } 
\ No newline at end of file
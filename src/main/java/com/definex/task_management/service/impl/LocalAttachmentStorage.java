@@ -0,0 +1,155 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DirectUploadResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps attachment content under the file storage location. Content is
+ * served by the application itself, so no presigned transfer is offered.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.attachments.storage", havingValue = "local", matchIfMissing = true)
+public class LocalAttachmentStorage implements AttachmentStorage {
+    private final Path root;
+
+    public LocalAttachmentStorage(AttachmentFileStore fileStore) {
+        this.root = fileStore.getRoot();
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public void put(String key, Path source) {
+        Path target = resolve(key);
+        try {
+            Files.createDirectories(target.getParent());
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        }
+        moveBackOnRollback(target, source);
+    }
+
+    @Override
+    public void rename(String sourceKey, String targetKey) {
+        put(targetKey, resolve(sourceKey));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) {
+        AttachmentFileStore.deleteQuietly(resolve(key));
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public boolean supportsDirectUploads() {
+        return false;
+    }
+
+    @Override
+    public Optional<DirectUploadResponse> presignUpload(String key, long fileSize, String checksum) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<URI> presignDownload(String key, String fileName, String contentType) {
+        return Optional.empty();
+    }
+
+    @Override
+    public Stream<StoredObject> list(String prefix) {
+        return walkSorted(resolve(prefix)).flatMap(this::toStoredObject);
+    }
+
+    private Path resolve(String key) {
+        return root.resolve(key).normalize();
+    }
+
+    /**
+     * Files below {@code directory} in key order, reading one directory at a
+     * time. Directories sort as if their name ended in a slash, which is how
+     * the keys of their files continue.
+     */
+    private static Stream<Path> walkSorted(Path directory) {
+        Map<Path, Boolean> entries;
+        try (Stream<Path> stream = Files.list(directory)) {
+            entries = stream.collect(Collectors.toMap(path -> path, Files::isDirectory));
+        } catch (NoSuchFileException ex) {
+            return Stream.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not list " + directory, ex);
+        }
+        List<Path> sorted = entries.keySet().stream()
+                .sorted(Comparator.comparing(path -> path.getFileName() + (entries.get(path) ? "/" : "")))
+                .toList();
+        return sorted.stream().flatMap(path -> entries.get(path) ? walkSorted(path) : Stream.of(path));
+    }
+
+    private Stream<StoredObject> toStoredObject(Path file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            String key = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            return Stream.of(new StoredObject(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException ex) {
+            return Stream.empty();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read " + file, ex);
+        }
+    }
+
+    private static void moveBackOnRollback(Path target, Path source) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    try {
+                        Files.move(target, source, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (IOException ex) {
+                        log.warn("Could not return {} to {}", target, source, ex);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,260 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.BurndownPoint;
+import com.definex.task_management.dto.BurndownResponse;
+import com.definex.task_management.dto.CumulativeFlowPoint;
+import com.definex.task_management.dto.CumulativeFlowResponse;
+import com.definex.task_management.dto.DepartmentDashboardResponse;
+import com.definex.task_management.dto.ProjectDashboardResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStat;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.repository.ProjectDailyStateCountRepository;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
+import com.definex.task_management.repository.projection.DailyStateCountView;
+import com.definex.task_management.repository.projection.ProjectTaskStatView;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.ProjectDashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Slf4j
+@Service
+public class ProjectDashboardServiceImpl extends BaseService implements ProjectDashboardService {
+    static final int DEFAULT_WINDOW_DAYS = 30;
+    static final int MAX_WINDOW_DAYS = 366;
+
+    private final ProjectTaskStatRepository projectTaskStatRepository;
+    private final ProjectDailyStateCountRepository projectDailyStateCountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProjectDashboardServiceImpl(ProjectRepository projectRepository,
+                                       ProjectTaskStatRepository projectTaskStatRepository,
+                                       ProjectDailyStateCountRepository projectDailyStateCountRepository,
+                                       PlatformTransactionManager transactionManager) {
+        super(projectRepository);
+        this.projectTaskStatRepository = projectTaskStatRepository;
+        this.projectDailyStateCountRepository = projectDailyStateCountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectDashboardResponse getProjectDashboard(UUID projectId) {
+        log.info("Fetching dashboard for project id: {}", projectId);
+        Project project = findAccessibleProject(projectId);
+
+        ProjectDashboardResponse dashboard = emptyProjectDashboard(projectId, project.getTitle());
+        for (ProjectTaskStat stat : projectTaskStatRepository.findByProjectId(projectId)) {
+            addCount(dashboard, stat.getId().getState(), stat.getId().getPriority(), stat.getTaskCount());
+        }
+        return dashboard;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DepartmentDashboardResponse getDepartmentDashboard(String department) {
+        log.info("Fetching dashboard for department: {}", department);
+        CustomUserDetails currentUser = getCurrentUser();
+        validateSameDepartment(currentUser, department);
+
+        DepartmentDashboardResponse rollup = DepartmentDashboardResponse.builder()
+                .department(department)
+                .tasksByState(zeroCounts(TaskState.class))
+                .tasksByPriority(zeroCounts(TaskPriority.class))
+                .build();
+        Map<UUID, ProjectDashboardResponse> projects = new LinkedHashMap<>();
+        for (ProjectTaskStatView stat : projectTaskStatRepository.findDepartmentStats(department)) {
+            ProjectDashboardResponse project = projects.computeIfAbsent(stat.getProjectId(),
+                    id -> emptyProjectDashboard(id, stat.getProjectTitle()));
+            addCount(project, stat.getState(), stat.getPriority(), stat.getTaskCount());
+
+            rollup.setTotalTasks(rollup.getTotalTasks() + stat.getTaskCount());
+            rollup.getTasksByState().merge(stat.getState(), stat.getTaskCount(), Long::sum);
+            rollup.getTasksByPriority().merge(stat.getPriority(), stat.getTaskCount(), Long::sum);
+        }
+        rollup.setProjects(new ArrayList<>(projects.values()));
+        return rollup;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CumulativeFlowResponse getCumulativeFlow(UUID projectId, LocalDate from, LocalDate to) {
+        log.info("Fetching cumulative flow for project id: {}", projectId);
+        findAccessibleProject(projectId);
+
+        LocalDate windowEnd = windowEnd(to);
+        LocalDate windowStart = windowStart(from, windowEnd);
+        List<CumulativeFlowPoint> points = new ArrayList<>();
+        dailyCounts(projectId, windowStart, windowEnd).forEach((date, counts) -> points.add(
+                CumulativeFlowPoint.builder().date(date).tasksByState(counts).build()));
+
+        return CumulativeFlowResponse.builder()
+                .projectId(projectId)
+                .from(windowStart)
+                .to(windowEnd)
+                .points(points)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BurndownResponse getBurndown(UUID projectId, LocalDate from, LocalDate to) {
+        log.info("Fetching burndown for project id: {}", projectId);
+        findAccessibleProject(projectId);
+
+        LocalDate windowEnd = windowEnd(to);
+        LocalDate windowStart = windowStart(from, windowEnd);
+        List<BurndownPoint> points = new ArrayList<>();
+        dailyCounts(projectId, windowStart, windowEnd).forEach((date, counts) -> {
+            long total = counts.values().stream().mapToLong(Long::longValue).sum() - counts.get(TaskState.CANCELLED);
+            long completed = counts.get(TaskState.COMPLETED);
+            points.add(BurndownPoint.builder()
+                    .date(date)
+                    .totalTasks(total)
+                    .completedTasks(completed)
+                    .remainingTasks(total - completed)
+                    .build());
+        });
+
+        return BurndownResponse.builder()
+                .projectId(projectId)
+                .from(windowStart)
+                .to(windowEnd)
+                .points(points)
+                .build();
+    }
+
+    /**
+     * Rewrites each project's counters from {@code tasks} in its own short
+     * transaction. The project's stat rows are locked first, so writers
+     * applying deltas wait instead of racing the recount; today's snapshot is
+     * then realigned with the repaired counters.
+     */
+    @Override
+    public long reconcileTaskStats() {
+        long repaired = 0;
+        for (UUID projectId : projectRepository.findAllIds()) {
+            Long repairedRows = transactionTemplate.execute(status -> {
+                projectTaskStatRepository.lockProjectStats(projectId);
+                return projectTaskStatRepository.reconcileProject(projectId)
+                        + projectDailyStateCountRepository.resyncTodaysSnapshot(projectId);
+            });
+            if (repairedRows != null && repairedRows > 0) {
+                log.warn("Repaired {} task stat rows for project id: {}", repairedRows, projectId);
+                repaired += repairedRows;
+            }
+        }
+        return repaired;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.reconciliation-interval:PT15M}",
+            initialDelayString = "${app.stats.reconciliation-initial-delay:PT1M}")
+    public void scheduledReconciliation() {
+        long repaired = reconcileTaskStats();
+        log.info("Task stat reconciliation finished, repaired rows: {}", repaired);
+    }
+
+    /**
+     * Opens today's snapshot rows from the live counters. Rows already
+     * created by transitions are kept, so running this more than once a day
+     * is harmless.
+     */
+    @Override
+    public int appendDailySnapshots() {
+        Integer appended = transactionTemplate.execute(status -> projectDailyStateCountRepository.appendTodaysSnapshot());
+        return appended != null ? appended : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.daily-snapshot-interval:PT1H}",
+            initialDelayString = "${app.stats.daily-snapshot-initial-delay:PT30S}")
+    public void scheduledDailySnapshot() {
+        int appended = appendDailySnapshots();
+        if (appended > 0) {
+            log.info("Appended {} daily task state snapshot rows", appended);
+        }
+    }
+
+    private Project findAccessibleProject(UUID projectId) {
+        CustomUserDetails currentUser = getCurrentUser();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+        validateUserAccessToProject(currentUser, project);
+        return project;
+    }
+
+    /**
+     * Expands the stored snapshots into one entry per day of the window.
+     * Days without a row for a state keep that state's previous count.
+     */
+    private Map<LocalDate, Map<TaskState, Long>> dailyCounts(UUID projectId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Map<TaskState, Long>> days = new LinkedHashMap<>();
+        if (from.isAfter(to)) {
+            return days;
+        }
+        Iterator<DailyStateCountView> rows = projectDailyStateCountRepository.findRange(projectId, from, to).iterator();
+        DailyStateCountView next = rows.hasNext() ? rows.next() : null;
+        Map<TaskState, Long> current = zeroCounts(TaskState.class);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            while (next != null && !next.getSnapshotDate().isAfter(date)) {
+                current.put(next.getState(), next.getTaskCount());
+                next = rows.hasNext() ? rows.next() : null;
+            }
+            days.put(date, new EnumMap<>(current));
+        }
+        return days;
+    }
+
+    private static LocalDate windowEnd(LocalDate to) {
+        LocalDate today = LocalDate.now();
+        return to == null || to.isAfter(today) ? today : to;
+    }
+
+    private static LocalDate windowStart(LocalDate from, LocalDate windowEnd) {
+        LocalDate earliest = windowEnd.minusDays(MAX_WINDOW_DAYS - 1);
+        if (from == null) {
+            return windowEnd.minusDays(DEFAULT_WINDOW_DAYS - 1);
+        }
+        return from.isBefore(earliest) ? earliest : from;
+    }
+
+    private ProjectDashboardResponse emptyProjectDashboard(UUID projectId, String projectTitle) {
+        return ProjectDashboardResponse.builder()
+                .projectId(projectId)
+                .projectTitle(projectTitle)
+                .tasksByState(zeroCounts(TaskState.class))
+                .tasksByPriority(zeroCounts(TaskPriority.class))
+                .build();
+    }
+
+    private void addCount(ProjectDashboardResponse dashboard, TaskState state, TaskPriority priority, long count) {
+        dashboard.setTotalTasks(dashboard.getTotalTasks() + count);
+        dashboard.getTasksByState().merge(state, count, Long::sum);
+        dashboard.getTasksByPriority().merge(priority, count, Long::sum);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+}
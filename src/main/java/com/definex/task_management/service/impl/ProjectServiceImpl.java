@@ -3,6 +3,7 @@ package com.definex.task_management.service.impl;
 import com.definex.task_management.dto.ProjectRequest;
 import com.definex.task_management.dto.ProjectResponse;
 import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStatId;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.ProjectStatus;
 import com.definex.task_management.exception.DeniedAccessException;
@@ -10,7 +11,9 @@ import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.exception.InvalidStateTransitionException;
 import com.definex.task_management.mapper.ProjectMapper;
 import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
 import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.projection.TaskStateView;
 import com.definex.task_management.security.CustomUserDetails;
 import com.definex.task_management.service.BaseService;
 import com.definex.task_management.service.ProjectService;
@@ -22,7 +25,9 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,16 +35,18 @@ import java.util.stream.Collectors;
 @Service
 @Slf4j
 public class ProjectServiceImpl extends BaseService implements ProjectService {
-    private final ProjectRepository projectRepository;
     private final UserService userService;
     private final TaskRepository taskRepository;
+    private final ProjectTaskStatRepository projectTaskStatRepository;
 
     public ProjectServiceImpl(ProjectRepository projectRepository, 
                             UserService userService,
-                            TaskRepository taskRepository) {
-        this.projectRepository = projectRepository;
+                            TaskRepository taskRepository,
+                            ProjectTaskStatRepository projectTaskStatRepository) {
+        super(projectRepository);
         this.userService = userService;
         this.taskRepository = taskRepository;
+        this.projectTaskStatRepository = projectTaskStatRepository;
     }
 
     @Override
@@ -93,10 +100,18 @@ public class ProjectServiceImpl extends BaseService implements ProjectService {
     @Transactional
     @CacheEvict(value = "projectCache", allEntries = true)
     public ProjectResponse updateProject(UUID projectId, ProjectRequest projectRequest) {
+        return updateProject(projectId, projectRequest, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "projectCache", allEntries = true)
+    public ProjectResponse updateProject(UUID projectId, ProjectRequest projectRequest, Long expectedVersion) {
         log.info("Updating project with id: {}", projectId);
         CustomUserDetails currentUser = getCurrentUser();
         Project project = getProjectEntityById(projectId);
         validateUserAccessToProject(currentUser, project);
+        validateExpectedVersion(expectedVersion, project.getVersion(), "Project");
 
         project.setTitle(projectRequest.getTitle());
         project.setDescription(projectRequest.getDescription());
@@ -139,10 +154,18 @@ public class ProjectServiceImpl extends BaseService implements ProjectService {
         Project project = getProjectEntityById(projectId);
         validateUserAccessToProject(currentUser, project);
         
+        List<TaskStateView> previous = taskRepository.findStateViewsByIdIn(Set.of(taskId));
         int updatedCount = taskRepository.assignTaskToProject(taskId, projectId);
         if (updatedCount == 0) {
             throw new EntityNotFoundException("Task not found with id: " + taskId);
         }
+
+        Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+        for (TaskStateView view : previous) {
+            ProjectTaskStatRepository.addDelta(deltas, view.getProjectId(), view.getState(), view.getPriority(), -1);
+            ProjectTaskStatRepository.addDelta(deltas, projectId, view.getState(), view.getPriority(), 1);
+        }
+        projectTaskStatRepository.applyDeltas(deltas);
         
         Project updatedProject = projectRepository.findById(projectId).orElseThrow(
             () -> new EntityNotFoundException("Project not found with id: " + projectId)
@@ -160,11 +183,12 @@ public class ProjectServiceImpl extends BaseService implements ProjectService {
         Project project = getProjectEntityById(projectId);
         validateUserAccessToProject(currentUser, project);
 
-        User user = userService.getUserEntityById(userId);
-
-        project.getTeamMembers().add(user);
-        Project updatedProject = projectRepository.save(project);
-        return ProjectMapper.toResponse(updatedProject);
+        if (projectRepository.addTeamMember(projectId, userId) == 0) {
+            userService.getUserEntityById(userId);
+        } else {
+            projectRepository.incrementVersion(projectId);
+        }
+        return ProjectMapper.toResponse(getProjectEntityById(projectId));
     }
 
     @Override
@@ -176,11 +200,12 @@ public class ProjectServiceImpl extends BaseService implements ProjectService {
         Project project = getProjectEntityById(projectId);
         validateUserAccessToProject(currentUser, project);
 
-        User user = userService.getUserEntityById(userId);
-
-        project.getTeamMembers().remove(user);
-        Project updatedProject = projectRepository.save(project);
-        return ProjectMapper.toResponse(updatedProject);
+        if (projectRepository.removeTeamMember(projectId, userId) == 0) {
+            userService.getUserEntityById(userId);
+        } else {
+            projectRepository.incrementVersion(projectId);
+        }
+        return ProjectMapper.toResponse(getProjectEntityById(projectId));
     }
 
     @Override
@@ -198,9 +223,7 @@ public class ProjectServiceImpl extends BaseService implements ProjectService {
     @Transactional(readOnly = true)
     public ProjectResponse getProjectByIdWithValidation(UUID projectId, UUID userId) {
         Project project = getProjectEntityById(projectId);
-        boolean isAssigned = project.getTeamMembers().stream()
-                .anyMatch(member -> member.getId().equals(userId));
-        if (!isAssigned) {
+        if (!isProjectMember(userId, project)) {
             throw new DeniedAccessException("User is not assigned to this project");
         }
         
@@ -0,0 +1,195 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DirectUploadResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Keeps attachment content in an S3-compatible bucket. Clients upload and
+ * download through presigned URLs. A presigned upload signs the content
+ * length and SHA-256, so the bucket rejects any body other than the one the
+ * URL was issued for.
+ */
+@Slf4j
+public class S3AttachmentStorage implements AttachmentStorage {
+    private final S3Client s3Client;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final Duration presignTtl;
+
+    public S3AttachmentStorage(S3Client s3Client, S3Presigner presigner, String bucket, Duration presignTtl) {
+        this.s3Client = s3Client;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.presignTtl = presignTtl;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(head(key));
+            return true;
+        } catch (NoSuchKeyException ex) {
+            return false;
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                return false;
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        try {
+            return s3Client.headObject(head(key)).contentLength();
+        } catch (NoSuchKeyException ex) {
+            throw new NoSuchFileException(key);
+        } catch (S3Exception ex) {
+            if (ex.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("Could not read " + key + " from bucket " + bucket, ex);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source) {
+        try {
+            s3Client.putObject(PutObjectRequest.builder().bucket(bucket).key(key).build(), RequestBody.fromFile(source));
+        } catch (SdkException ex) {
+            throw new RuntimeException("Could not store file. Please try again!", ex);
+        }
+        AttachmentFileStore.afterCommit(() -> AttachmentFileStore.deleteQuietly(source));
+    }
+
+    @Override
+    public void rename(String sourceKey, String targetKey) {
+        try {
+            s3Client.copyObject(builder -> builder
+                    .sourceBucket(bucket)
+                    .sourceKey(sourceKey)
+                    .destinationBucket(bucket)
+                    .destinationKey(targetKey));
+        } catch (SdkException ex) {
+            throw new RuntimeException("Could not move " + sourceKey + " to " + targetKey, ex);
+        }
+        AttachmentFileStore.afterCommit(() -> delete(sourceKey));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        try {
+            return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build());
+        } catch (NoSuchKeyException ex) {
+            throw new NoSuchFileException(key);
+        } catch (SdkException ex) {
+            throw new IOException("Could not read " + key + " from bucket " + bucket, ex);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            s3Client.deleteObject(builder -> builder.bucket(bucket).key(key));
+        } catch (SdkException ex) {
+            log.warn("Could not delete {} from bucket {}", key, bucket, ex);
+        }
+    }
+
+    @Override
+    public Optional<Path> localFile(String key) {
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean supportsDirectUploads() {
+        return true;
+    }
+
+    @Override
+    public Optional<DirectUploadResponse> presignUpload(String key, long fileSize, String checksum) {
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(request -> request
+                .signatureDuration(presignTtl)
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentLength(fileSize)
+                        .checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(checksum)))
+                        .build()));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> header : presigned.signedHeaders().entrySet()) {
+            if (!header.getKey().equalsIgnoreCase("host")) {
+                headers.put(header.getKey(), String.join(",", header.getValue()));
+            }
+        }
+        return Optional.of(DirectUploadResponse.builder()
+                .url(presigned.url().toString())
+                .method(presigned.httpRequest().method().name())
+                .headers(headers)
+                .expiresAt(LocalDateTime.ofInstant(presigned.expiration(), ZoneId.systemDefault()))
+                .build());
+    }
+
+    @Override
+    public Optional<URI> presignDownload(String key, String fileName, String contentType) {
+        PresignedGetObjectRequest presigned = presigner.presignGetObject(request -> request
+                .signatureDuration(presignTtl)
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .responseContentType(contentType)
+                        .responseContentDisposition(ContentDisposition.attachment()
+                                .filename(fileName, StandardCharsets.UTF_8)
+                                .build()
+                                .toString())
+                        .build()));
+        try {
+            return Optional.of(presigned.url().toURI());
+        } catch (URISyntaxException ex) {
+            throw new IllegalStateException("Presigned URL is not a valid URI", ex);
+        }
+    }
+
+    @Override
+    public Stream<StoredObject> list(String prefix) {
+        return s3Client.listObjectsV2Paginator(builder -> builder.bucket(bucket).prefix(prefix))
+                .contents()
+                .stream()
+                .map(object -> new StoredObject(object.key(), object.size(), object.lastModified()));
+    }
+
+    private HeadObjectRequest head(String key) {
+        return HeadObjectRequest.builder().bucket(bucket).key(key).build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.TaskExportRow;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.mapper.TaskMapper;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.TaskExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class TaskExportServiceImpl extends BaseService implements TaskExportService {
+    static final int CLEAR_INTERVAL = 500;
+
+    static final String CSV_HEADER = "id,project_id,title,user_story,acceptance_criteria,state,priority," +
+            "state_transition_reason,version,assignee_ids";
+
+    /**
+     * Leading characters that make spreadsheet applications evaluate a cell as a formula.
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportServiceImpl(TaskRepository taskRepository,
+                                 ProjectRepository projectRepository,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        super(projectRepository);
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void validateExportAccess(UUID projectId) {
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+        validateUserAccessToProject(getCurrentUser(), project);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTasksUnderProject(UUID projectId, TaskExportFormat format, OutputStream outputStream)
+            throws IOException {
+        log.info("Exporting tasks for project id: {} as {}", projectId, format);
+        validateExportAccess(projectId);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if (format == TaskExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long exported = 0;
+        try (Stream<Task> tasks = taskRepository.streamByProjectId(projectId)) {
+            Iterator<Task> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                TaskExportRow row = TaskMapper.toExportRow(iterator.next());
+                writer.write(format == TaskExportFormat.CSV ? toCsvLine(row) : objectMapper.writeValueAsString(row));
+                writer.write('\n');
+
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} tasks for project id: {}", exported, projectId);
+    }
+
+    private String toCsvLine(TaskExportRow row) {
+        String assigneeIds = row.getAssigneeIds().stream()
+                .map(UUID::toString)
+                .sorted()
+                .collect(Collectors.joining(";"));
+        return String.join(",",
+                csv(row.getId()),
+                csv(row.getProjectId()),
+                csv(row.getTitle()),
+                csv(row.getUserStory()),
+                csv(row.getAcceptanceCriteria()),
+                csv(row.getState()),
+                csv(row.getPriority()),
+                csv(row.getStateTransitionReason()),
+                csv(row.getVersion()),
+                csv(assigneeIds));
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = Objects.toString(value);
+        if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,518 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.TaskImportRecord;
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.TaskImport;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskImportStatus;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.ResourceConflictException;
+import com.definex.task_management.mapper.TaskImportMapper;
+import com.definex.task_management.repository.MergedAssigneeCount;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.StagedImportRow;
+import com.definex.task_management.repository.TaskImportRepository;
+import com.definex.task_management.repository.TaskImportStagingRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.TaskImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TaskImportServiceImpl extends BaseService implements TaskImportService {
+    static final int CHUNK_SIZE = 5_000;
+    static final int MAX_REPORTED_ERRORS = 20;
+    static final Duration RESUME_STALE_AFTER = Duration.ofMinutes(10);
+
+    private static final String TASK_RECORD = "TASK";
+    private static final String COMMENT_RECORD = "COMMENT";
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    private final TaskImportRepository taskImportRepository;
+    private final TaskImportStagingRepository stagingRepository;
+    private final TaskWorkloadCounters workloadCounters;
+    private final ObjectReader recordReader;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskImportServiceImpl(TaskImportRepository taskImportRepository,
+                                 TaskImportStagingRepository stagingRepository,
+                                 ProjectRepository projectRepository,
+                                 TaskWorkloadCounters workloadCounters,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        super(projectRepository);
+        this.taskImportRepository = taskImportRepository;
+        this.stagingRepository = stagingRepository;
+        this.workloadCounters = workloadCounters;
+        this.recordReader = objectMapper.readerFor(TaskImportRecord.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public TaskImportResponse startImport(UUID projectId, TaskExportFormat format, InputStream inputStream) {
+        log.info("Starting task import for project id: {} as {}", projectId, format);
+        CustomUserDetails currentUser = getCurrentUser();
+        TaskImport taskImport = transactionTemplate.execute(status -> {
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+            validateUserAccessToProject(currentUser, project);
+
+            LocalDateTime now = LocalDateTime.now();
+            return taskImportRepository.save(TaskImport.builder()
+                    .project(project)
+                    .startedBy(currentUser.getUserId())
+                    .format(format)
+                    .status(TaskImportStatus.STAGING)
+                    .startedAt(now)
+                    .updatedAt(now)
+                    .build());
+        });
+        return runImport(taskImport, projectId, inputStream);
+    }
+
+    @Override
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public TaskImportResponse resumeImport(UUID importId, InputStream inputStream) {
+        log.info("Resuming task import with id: {}", importId);
+        CustomUserDetails currentUser = getCurrentUser();
+        TaskImport taskImport = transactionTemplate.execute(status -> {
+            TaskImport existing = getTaskImportEntityById(importId);
+            validateUserAccessToProject(currentUser, existing.getProject());
+            if (existing.getStatus() == TaskImportStatus.COMPLETED) {
+                return existing;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = taskImportRepository.claimForResume(importId, now.minus(RESUME_STALE_AFTER), now,
+                    TaskImportStatus.STAGING, TaskImportStatus.FAILED, TaskImportStatus.COMPLETED);
+            TaskImport current = getTaskImportEntityById(importId);
+            if (claimed == 0 && current.getStatus() != TaskImportStatus.COMPLETED) {
+                throw new ResourceConflictException("Task import " + importId + " is already running");
+            }
+            return current;
+        });
+        if (taskImport.getStatus() == TaskImportStatus.COMPLETED) {
+            return TaskImportMapper.toResponse(taskImport);
+        }
+        return runImport(taskImport, taskImport.getProject().getId(), inputStream);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskImportResponse getImport(UUID importId) {
+        log.info("Fetching task import with id: {}", importId);
+        TaskImport taskImport = getTaskImportEntityById(importId);
+        validateUserAccessToProject(getCurrentUser(), taskImport.getProject());
+        return TaskImportMapper.toResponse(taskImport);
+    }
+
+    private TaskImportResponse runImport(TaskImport taskImport, UUID projectId, InputStream inputStream) {
+        UUID importId = taskImport.getId();
+        try {
+            stage(importId, projectId, taskImport.getFormat(), taskImport.getStagedThroughLine(),
+                    taskImport.getStagedThroughPosition(), inputStream);
+            updateStatus(importId, TaskImportStatus.MERGING);
+            merge(importId, projectId);
+        } catch (IOException | RuntimeException e) {
+            log.error("Task import {} failed: {}", importId, e.getMessage());
+            transactionTemplate.executeWithoutResult(status -> {
+                TaskImport failed = getTaskImportEntityById(importId);
+                failed.setStatus(TaskImportStatus.FAILED);
+                appendErrors(failed, List.of("Import failed: " + e.getMessage()));
+                failed.setUpdatedAt(LocalDateTime.now());
+                taskImportRepository.save(failed);
+            });
+        }
+        return transactionTemplate.execute(status -> TaskImportMapper.toResponse(getTaskImportEntityById(importId)));
+    }
+
+    private void stage(UUID importId, UUID projectId, TaskExportFormat format, long resumeAfterLine,
+                       long resumePosition, InputStream inputStream) throws IOException {
+        ImportChunk chunk = new ImportChunk();
+        ImportRecordHandler handler = (lineNumber, position, record, parseError) -> {
+            if (lineNumber <= resumeAfterLine) {
+                return;
+            }
+            String error = parseError != null ? parseError : validate(record);
+            if (error != null) {
+                chunk.reject(lineNumber, position, error);
+            } else {
+                chunk.add(lineNumber, position, toStagedRow(importId, projectId, lineNumber, record));
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                flushChunk(importId, chunk);
+            }
+        };
+
+        if (format == TaskExportFormat.CSV) {
+            readCsv(inputStream, resumeAfterLine, resumePosition, handler);
+        } else {
+            readNdjson(inputStream, resumeAfterLine, handler);
+        }
+        flushChunk(importId, chunk);
+    }
+
+    private void flushChunk(UUID importId, ImportChunk chunk) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            long copied = chunk.rows.isEmpty() ? 0 : stagingRepository.copyIntoStaging(importId, chunk.rows);
+            TaskImport taskImport = getTaskImportEntityById(importId);
+            taskImport.setStagedThroughLine(chunk.lastLine);
+            taskImport.setStagedThroughPosition(chunk.lastPosition);
+            taskImport.setStagedRecords(taskImport.getStagedRecords() + copied);
+            taskImport.setRejectedRecords(taskImport.getRejectedRecords() + chunk.errors.size());
+            appendErrors(taskImport, chunk.errors);
+            taskImport.setUpdatedAt(LocalDateTime.now());
+            taskImportRepository.save(taskImport);
+        });
+        log.info("Task import {} staged through line {}", importId, chunk.lastLine);
+        chunk.clear();
+    }
+
+    private void merge(UUID importId, UUID projectId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int tasks = stagingRepository.mergeTasks(importId, projectId);
+            List<MergedAssigneeCount> mergedAssignees = stagingRepository.mergeAssignees(importId, projectId);
+            int assignees = mergedAssignees.stream().mapToInt(MergedAssigneeCount::getTaskCount).sum();
+            countWorkload(mergedAssignees);
+            int comments = stagingRepository.mergeComments(importId, projectId);
+            stagingRepository.deleteStagedRows(importId);
+
+            TaskImport taskImport = getTaskImportEntityById(importId);
+            taskImport.setMergedTasks(tasks);
+            taskImport.setMergedAssignees(assignees);
+            taskImport.setMergedComments(comments);
+            taskImport.setStatus(TaskImportStatus.COMPLETED);
+            taskImport.setUpdatedAt(LocalDateTime.now());
+            taskImportRepository.save(taskImport);
+            log.info("Task import {} merged {} tasks, {} assignees and {} comments",
+                    importId, tasks, assignees, comments);
+        });
+    }
+
+    /**
+     * Adds the merged assignments to the in-memory workloads when the merge
+     * commits, one adjustment per state, priority and count.
+     */
+    private void countWorkload(List<MergedAssigneeCount> mergedAssignees) {
+        mergedAssignees.stream()
+                .collect(Collectors.groupingBy(
+                        merged -> new WorkloadSlot(merged.getState(), merged.getPriority(), merged.getTaskCount()),
+                        LinkedHashMap::new,
+                        Collectors.mapping(MergedAssigneeCount::getUserId, Collectors.toList())))
+                .forEach((slot, userIds) ->
+                        workloadCounters.adjust(userIds, slot.state(), slot.priority(), slot.taskCount()));
+    }
+
+    private void updateStatus(UUID importId, TaskImportStatus importStatus) {
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskImport taskImport = getTaskImportEntityById(importId);
+            taskImport.setStatus(importStatus);
+            taskImport.setUpdatedAt(LocalDateTime.now());
+            taskImportRepository.save(taskImport);
+        });
+    }
+
+    /**
+     * Parses CSV records by header name. When resuming, only the header is
+     * parsed before skipping straight to the start of the last staged record,
+     * which the handler then drops as already staged.
+     */
+    private void readCsv(InputStream inputStream, long resumeAfterLine, long resumePosition,
+                         ImportRecordHandler handler) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        CSVParser csvParser;
+        if (resumeAfterLine > 0 && resumePosition > 0) {
+            StringBuilder header = new StringBuilder();
+            long skipped = readCsvHeader(reader, header);
+            skipChars(reader, resumePosition - skipped);
+            CSVFormat resumeFormat = CSV_FORMAT.builder()
+                    .setHeader(parseCsvHeader(header.toString()))
+                    .setSkipHeaderRecord(false)
+                    .build();
+            csvParser = new CSVParser(reader, resumeFormat, resumePosition, resumeAfterLine);
+        } else {
+            csvParser = CSV_FORMAT.parse(reader);
+        }
+        try (CSVParser parser = csvParser) {
+            for (CSVRecord csvRecord : parser) {
+                String assigneeEmails = csvValue(csvRecord, "assignee_emails");
+                TaskImportRecord record = TaskImportRecord.builder()
+                        .recordType(csvValue(csvRecord, "record_type"))
+                        .externalId(csvValue(csvRecord, "external_id"))
+                        .taskExternalId(csvValue(csvRecord, "task_external_id"))
+                        .title(csvValue(csvRecord, "title"))
+                        .userStory(csvValue(csvRecord, "user_story"))
+                        .acceptanceCriteria(csvValue(csvRecord, "acceptance_criteria"))
+                        .state(csvValue(csvRecord, "state"))
+                        .priority(csvValue(csvRecord, "priority"))
+                        .assigneeEmails(assigneeEmails != null ? Arrays.asList(assigneeEmails.split(";")) : null)
+                        .authorEmail(csvValue(csvRecord, "author_email"))
+                        .content(csvValue(csvRecord, "content"))
+                        .build();
+                handler.handle(csvRecord.getRecordNumber(), csvRecord.getCharacterPosition(), record, null);
+            }
+        }
+    }
+
+    /**
+     * Reads the first non-blank line, honouring quoted line breaks, and
+     * returns how many characters were consumed including its terminator.
+     */
+    private long readCsvHeader(Reader reader, StringBuilder header) throws IOException {
+        long consumed = 0;
+        boolean quoted = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            consumed++;
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n' && !quoted) {
+                if (!header.toString().isBlank()) {
+                    break;
+                }
+                header.setLength(0);
+                continue;
+            }
+            header.append((char) c);
+        }
+        return consumed;
+    }
+
+    private String[] parseCsvHeader(String header) throws IOException {
+        try (CSVParser parser = CSVFormat.DEFAULT.builder().setTrim(true).build().parse(new StringReader(header))) {
+            return parser.getRecords().get(0).values();
+        }
+    }
+
+    private void skipChars(Reader reader, long count) throws IOException {
+        long remaining = count;
+        while (remaining > 0) {
+            long skipped = reader.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("Upload ends before the last staged record");
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private void readNdjson(InputStream inputStream, long resumeAfterLine, ImportRecordHandler handler)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber <= resumeAfterLine || line.isBlank()) {
+                continue;
+            }
+            TaskImportRecord record;
+            try {
+                record = recordReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                handler.handle(lineNumber, 0, null, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            handler.handle(lineNumber, 0, record, null);
+        }
+    }
+
+    private String validate(TaskImportRecord record) {
+        String recordType = recordType(record);
+        if (TASK_RECORD.equals(recordType)) {
+            if (isBlank(record.getExternalId())) {
+                return "External id is required";
+            }
+            if (isBlank(record.getTitle())) {
+                return "Title is required";
+            }
+            if (isBlank(record.getUserStory())) {
+                return "User story is required";
+            }
+            if (isBlank(record.getAcceptanceCriteria())) {
+                return "Acceptance criteria is required";
+            }
+            if (isBlank(record.getPriority())) {
+                return "Priority is required";
+            }
+            if (!isEnumValue(TaskPriority.class, record.getPriority())) {
+                return "Unknown priority: " + record.getPriority();
+            }
+            if (!isBlank(record.getState()) && !isEnumValue(TaskState.class, record.getState())) {
+                return "Unknown state: " + record.getState();
+            }
+            return null;
+        }
+        if (COMMENT_RECORD.equals(recordType)) {
+            if (isBlank(record.getTaskExternalId())) {
+                return "Task external id is required";
+            }
+            if (isBlank(record.getAuthorEmail())) {
+                return "Author email is required";
+            }
+            if (isBlank(record.getContent())) {
+                return "Content is required";
+            }
+            return null;
+        }
+        return "Unknown record type: " + record.getRecordType();
+    }
+
+    private StagedImportRow toStagedRow(UUID importId, UUID projectId, long lineNumber, TaskImportRecord record) {
+        if (COMMENT_RECORD.equals(recordType(record))) {
+            String commentKey = isBlank(record.getExternalId())
+                    ? importId + ":line:" + lineNumber
+                    : projectId + ":" + record.getExternalId().trim();
+            return StagedImportRow.builder()
+                    .lineNumber(lineNumber)
+                    .recordType(COMMENT_RECORD)
+                    .taskId(taskId(projectId, record.getTaskExternalId()))
+                    .commentId(UUID.nameUUIDFromBytes(("comment:" + commentKey).getBytes(StandardCharsets.UTF_8)))
+                    .authorEmail(record.getAuthorEmail().trim().toLowerCase(Locale.ROOT))
+                    .content(record.getContent())
+                    .build();
+        }
+        return StagedImportRow.builder()
+                .lineNumber(lineNumber)
+                .recordType(TASK_RECORD)
+                .taskId(taskId(projectId, record.getExternalId()))
+                .title(record.getTitle())
+                .userStory(record.getUserStory())
+                .acceptanceCriteria(record.getAcceptanceCriteria())
+                .state(isBlank(record.getState()) ? null : record.getState().trim().toUpperCase(Locale.ROOT))
+                .priority(record.getPriority().trim().toUpperCase(Locale.ROOT))
+                .assigneeEmails(record.getAssigneeEmails() == null ? null : record.getAssigneeEmails().stream()
+                        .filter(email -> !isBlank(email))
+                        .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                        .distinct()
+                        .collect(Collectors.collectingAndThen(Collectors.joining(";"),
+                                joined -> joined.isEmpty() ? null : joined)))
+                .build();
+    }
+
+    private UUID taskId(UUID projectId, String externalId) {
+        return UUID.nameUUIDFromBytes(("task:" + projectId + ":" + externalId.trim()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String recordType(TaskImportRecord record) {
+        return isBlank(record.getRecordType()) ? TASK_RECORD : record.getRecordType().trim().toUpperCase(Locale.ROOT);
+    }
+
+    private <E extends Enum<E>> boolean isEnumValue(Class<E> enumType, String value) {
+        try {
+            Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private String csvValue(CSVRecord csvRecord, String column) {
+        if (!csvRecord.isMapped(column) || !csvRecord.isSet(column)) {
+            return null;
+        }
+        String value = csvRecord.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private void appendErrors(TaskImport taskImport, List<String> errors) {
+        List<String> reported = new ArrayList<>();
+        if (taskImport.getErrors() != null && !taskImport.getErrors().isEmpty()) {
+            reported.addAll(Arrays.asList(taskImport.getErrors().split("\n")));
+        }
+        for (String error : errors) {
+            if (reported.size() >= MAX_REPORTED_ERRORS) {
+                break;
+            }
+            reported.add(error.replace('\n', ' '));
+        }
+        taskImport.setErrors(reported.isEmpty() ? null : String.join("\n", reported));
+    }
+
+    private TaskImport getTaskImportEntityById(UUID importId) {
+        return taskImportRepository.findById(importId)
+                .orElseThrow(() -> new EntityNotFoundException("Task import not found with id: " + importId));
+    }
+
+    @FunctionalInterface
+    private interface ImportRecordHandler {
+        void handle(long lineNumber, long position, TaskImportRecord record, String parseError);
+    }
+
+    private static class ImportChunk {
+        private List<StagedImportRow> rows = new ArrayList<>();
+        private List<String> errors = new ArrayList<>();
+        private long lastLine;
+        private long lastPosition;
+
+        void add(long lineNumber, long position, StagedImportRow row) {
+            rows.add(row);
+            lastLine = lineNumber;
+            lastPosition = position;
+        }
+
+        void reject(long lineNumber, long position, String error) {
+            errors.add("Line " + lineNumber + ": " + error);
+            lastLine = lineNumber;
+            lastPosition = position;
+        }
+
+        int size() {
+            return rows.size() + errors.size();
+        }
+
+        void clear() {
+            rows = new ArrayList<>();
+            errors = new ArrayList<>();
+        }
+    }
+
+    private record WorkloadSlot(TaskState state, TaskPriority priority, int taskCount) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.TaskCursorPageResponse;
+import com.definex.task_management.dto.TaskFilterRequest;
+import com.definex.task_management.dto.TaskFilterResponse;
+import com.definex.task_management.dto.TaskSearchResponse;
+import com.definex.task_management.dto.TaskSummaryResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.mapper.TaskMapper;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.TaskSpecifications;
+import com.definex.task_management.repository.projection.TaskSearchHit;
+import com.definex.task_management.repository.projection.TaskSummaryView;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.TaskSearchService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TaskSearchServiceImpl extends BaseService implements TaskSearchService {
+    static final int MAX_TERMS = 8;
+
+    private final TaskRepository taskRepository;
+
+    public TaskSearchServiceImpl(TaskRepository taskRepository, ProjectRepository projectRepository) {
+        super(projectRepository);
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResponse searchTasks(String query, UUID projectId, int page, int size) {
+        log.info("Searching tasks for query: {}", query);
+        CustomUserDetails currentUser = getCurrentUser();
+
+        validateProjectFilter(currentUser, projectId);
+
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery.isEmpty()) {
+            return TaskSearchResponse.builder()
+                    .query(query)
+                    .results(List.of())
+                    .page(page)
+                    .size(size)
+                    .build();
+        }
+
+        Page<TaskSearchHit> hits = taskRepository.search(
+                tsQuery,
+                currentUser.getDepartment(),
+                projectId,
+                currentUser.getUserId(),
+                currentUser.getRole() == UserRole.PROJECT_GROUP_MANAGER,
+                PageRequest.of(page, size));
+
+        return TaskSearchResponse.builder()
+                .query(query)
+                .results(hits.getContent().stream()
+                        .map(TaskMapper::toSearchResult)
+                        .collect(Collectors.toList()))
+                .page(page)
+                .size(size)
+                .totalElements(hits.getTotalElements())
+                .totalPages(hits.getTotalPages())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskFilterResponse filterTasks(TaskFilterRequest filter, int page, int size) {
+        log.info("Filtering tasks with criteria: {}", filter);
+        CustomUserDetails currentUser = getCurrentUser();
+        validateProjectFilter(currentUser, filter.getProjectId());
+
+        Specification<Task> specification = Specification.allOf(
+                TaskSpecifications.inDepartment(currentUser.getDepartment()),
+                currentUser.getRole() == UserRole.PROJECT_GROUP_MANAGER
+                        ? null
+                        : TaskSpecifications.visibleTo(currentUser.getUserId()),
+                TaskSpecifications.inProject(filter.getProjectId()),
+                TaskSpecifications.hasStates(filter.getStates()),
+                TaskSpecifications.hasPriorities(filter.getPriorities()),
+                TaskSpecifications.assignedTo(filter.getAssigneeId()));
+
+        Page<Task> tasks = taskRepository.findAll(specification, PageRequest.of(page, size, Sort.by("id")));
+
+        return TaskFilterResponse.builder()
+                .results(tasks.getContent().stream()
+                        .map(TaskMapper::toSummaryResponse)
+                        .collect(Collectors.toList()))
+                .page(page)
+                .size(size)
+                .totalElements(tasks.getTotalElements())
+                .totalPages(tasks.getTotalPages())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskCursorPageResponse getMyTasks(Set<TaskState> states, Set<TaskPriority> priorities, UUID after, int size) {
+        CustomUserDetails currentUser = getCurrentUser();
+        log.info("Fetching tasks assigned to user id: {} after: {}", currentUser.getUserId(), after);
+
+        List<String> stateNames = enumNames(states, TaskState.values());
+        List<String> priorityNames = enumNames(priorities, TaskPriority.values());
+        List<TaskSummaryView> rows = after == null
+                ? taskRepository.findAssignedTasks(currentUser.getUserId(), stateNames, priorityNames, size + 1)
+                : taskRepository.findAssignedTasksAfter(currentUser.getUserId(), after, stateNames, priorityNames, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<TaskSummaryResponse> results = rows.stream()
+                .limit(size)
+                .map(TaskMapper::toSummaryResponse)
+                .collect(Collectors.toList());
+
+        return TaskCursorPageResponse.builder()
+                .results(results)
+                .size(size)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? results.get(results.size() - 1).getId() : null)
+                .build();
+    }
+
+    private void validateProjectFilter(CustomUserDetails currentUser, UUID projectId) {
+        if (projectId != null) {
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+            validateUserAccessToProject(currentUser, project);
+        }
+    }
+
+    private static <E extends Enum<E>> List<String> enumNames(Set<E> selected, E[] all) {
+        Collection<E> values = selected == null || selected.isEmpty() ? Arrays.asList(all) : selected;
+        return values.stream().map(Enum::name).collect(Collectors.toList());
+    }
+
+    static String toPrefixTsQuery(String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -1,8 +1,14 @@
 package com.definex.task_management.service.impl;
 
+import com.definex.task_management.config.RetryOnOptimisticLock;
+import com.definex.task_management.dto.BulkTaskOperationResponse;
+import com.definex.task_management.dto.BulkTaskPriorityUpdateRequest;
+import com.definex.task_management.dto.BulkTaskResult;
+import com.definex.task_management.dto.BulkTaskStateUpdateRequest;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
 import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStatId;
 import com.definex.task_management.entity.Task;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.TaskPriority;
@@ -10,9 +16,14 @@ import com.definex.task_management.enums.TaskState;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.exception.InvalidStateTransitionException;
+import com.definex.task_management.exception.TaskStateConflictException;
 import com.definex.task_management.mapper.TaskMapper;
 import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
 import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.projection.TaskAssigneeView;
+import com.definex.task_management.repository.projection.TaskStateView;
 import com.definex.task_management.security.CustomUserDetails;
 import com.definex.task_management.service.BaseService;
 import com.definex.task_management.service.TaskService;
@@ -23,7 +34,12 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.HashSet;
@@ -33,15 +49,23 @@ import java.util.stream.Collectors;
 @Service
 public class TaskServiceImpl extends BaseService implements TaskService {
     private final TaskRepository taskRepository;
-    private final ProjectRepository projectRepository;
+    private final ProjectTaskStatRepository projectTaskStatRepository;
     private final UserService userService;
+    private final TaskTransitionRecorder transitionRecorder;
+    private final TaskWorkloadCounters workloadCounters;
 
     public TaskServiceImpl(TaskRepository taskRepository,
                           ProjectRepository projectRepository,
-                          UserService userService) {
+                          ProjectTaskStatRepository projectTaskStatRepository,
+                          UserService userService,
+                          TaskTransitionRecorder transitionRecorder,
+                          TaskWorkloadCounters workloadCounters) {
+        super(projectRepository);
         this.taskRepository = taskRepository;
-        this.projectRepository = projectRepository;
+        this.projectTaskStatRepository = projectTaskStatRepository;
         this.userService = userService;
+        this.transitionRecorder = transitionRecorder;
+        this.workloadCounters = workloadCounters;
     }
 
     @Override
@@ -64,7 +88,10 @@ public class TaskServiceImpl extends BaseService implements TaskService {
             task.setAssignees(assignees);
         }
         Task savedTask = taskRepository.save(task);
-        
+        recordStatsChange(project.getId(), null, null, TaskState.BACKLOG, savedTask.getPriority());
+        recordTransition(savedTask.getId(), project.getId(), null, TaskState.BACKLOG, null, currentUser.getUserId());
+        workloadCounters.adjust(assigneeIds(savedTask), TaskState.BACKLOG, savedTask.getPriority(), 1);
+
         return TaskMapper.toResponse(savedTask);
     }
 
@@ -91,7 +118,7 @@ public class TaskServiceImpl extends BaseService implements TaskService {
 
         List<Task> tasks = taskRepository.findByProjectId(projectId);
         return tasks.stream()
-                .map(TaskMapper::toResponse)
+                .map(TaskMapper::toListResponse)
                 .collect(Collectors.toList());
     }
 
@@ -99,15 +126,25 @@ public class TaskServiceImpl extends BaseService implements TaskService {
     @Transactional
     @CacheEvict(value = "taskCache", allEntries = true)
     public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest) {
+        return updateTask(taskId, taskRequest, null);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public TaskResponse updateTask(UUID taskId, TaskRequest taskRequest, Long expectedVersion) {
         log.info("Updating task with id: {}", taskId);
         CustomUserDetails currentUser = getCurrentUser();
         Task task = getTaskEntityById(taskId);
         validateProjectAccess(currentUser, task.getProject());
+        validateExpectedVersion(expectedVersion, task.getVersion(), "Task");
 
         if (!task.getProject().getId().equals(taskRequest.getProjectId())) {
             throw new DeniedAccessException("Cannot change task's project");
         }
 
+        TaskPriority previousPriority = task.getPriority();
+        List<UUID> previousAssigneeIds = assigneeIds(task);
         task.setTitle(taskRequest.getTitle());
         task.setUserStory(taskRequest.getUserStory());
         task.setAcceptanceCriteria(taskRequest.getAcceptanceCriteria());
@@ -120,6 +157,10 @@ public class TaskServiceImpl extends BaseService implements TaskService {
             task.setAssignees(assignees);
         }
         Task updatedTask = taskRepository.save(task);
+        recordStatsChange(task.getProject().getId(), task.getState(), previousPriority,
+                task.getState(), updatedTask.getPriority());
+        workloadCounters.adjust(previousAssigneeIds, task.getState(), previousPriority, -1);
+        workloadCounters.adjust(assigneeIds(updatedTask), task.getState(), updatedTask.getPriority(), 1);
         return TaskMapper.toResponse(updatedTask);
     }
 
@@ -131,8 +172,12 @@ public class TaskServiceImpl extends BaseService implements TaskService {
         CustomUserDetails currentUser = getCurrentUser();
         Task task = getTaskEntityById(taskId);
         validateProjectAccess(currentUser, task.getProject());
+        TaskResponse response = TaskMapper.toResponse(task);
+        List<UUID> assigneeIds = assigneeIds(task);
         taskRepository.delete(task);
-        return TaskMapper.toResponse(task);
+        recordStatsChange(task.getProject().getId(), task.getState(), task.getPriority(), null, null);
+        workloadCounters.adjust(assigneeIds, task.getState(), task.getPriority(), -1);
+        return response;
     }
 
     @Override
@@ -141,20 +186,26 @@ public class TaskServiceImpl extends BaseService implements TaskService {
     public TaskResponse updateTaskState(UUID taskId, TaskState newState, String reason) {
         log.info("Updating task state for task id: {} to state: {}", taskId, newState);
         CustomUserDetails currentUser = getCurrentUser();
-        Task task = getTaskEntityById(taskId);
-        validateProjectAccess(currentUser, task.getProject());
-        validateStateTransition(task.getState(), newState, reason);
-
-        task.setState(newState);
-        if (newState == TaskState.BLOCKED || newState == TaskState.CANCELLED) {
-            task.setStateTransitionReason(reason);
-        }
+        TaskStateView task = taskRepository.findStateViewById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateProjectAccess(currentUser, getTaskProject(task));
+        TaskState currentState = task.getState();
+        validateStateTransition(currentState, newState, reason);
 
-        Task updatedTask = taskRepository.save(task);
-        return TaskMapper.toResponse(updatedTask);
+        String transitionReason = requiresTransitionReason(newState) ? reason : null;
+        Long version = taskRepository.compareAndSetState(
+                taskId, currentState.name(), newState.name(), transitionReason)
+                .orElseThrow(() -> new TaskStateConflictException(taskId, taskRepository.findStateById(taskId)
+                        .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId))));
+        recordStatsChange(task.getProjectId(), currentState, task.getPriority(), newState, task.getPriority());
+        recordTransition(taskId, task.getProjectId(), currentState, newState, transitionReason, currentUser.getUserId());
+        workloadCounters.move(findAssigneeIds(List.of(task)).get(taskId),
+                currentState, task.getPriority(), newState, task.getPriority());
+        return TaskMapper.toStateResponse(task, newState, version);
     }
 
     @Override
+    @RetryOnOptimisticLock
     @Transactional
     @CacheEvict(value = "taskCache", allEntries = true)
     public TaskResponse updateTaskPriority(UUID taskId, TaskPriority priority) {
@@ -164,8 +215,11 @@ public class TaskServiceImpl extends BaseService implements TaskService {
 
         validateProjectAccess(currentUser, task.getProject());
 
+        TaskPriority previousPriority = task.getPriority();
         task.setPriority(priority);
         Task updatedTask = taskRepository.save(task);
+        recordStatsChange(task.getProject().getId(), task.getState(), previousPriority, task.getState(), priority);
+        workloadCounters.move(assigneeIds(updatedTask), task.getState(), previousPriority, task.getState(), priority);
         return TaskMapper.toResponse(updatedTask);
     }
 
@@ -174,14 +228,17 @@ public class TaskServiceImpl extends BaseService implements TaskService {
     @CacheEvict(value = "taskCache", allEntries = true)
     public TaskResponse assignUserToTask(UUID taskId, UUID userId) {
         log.info("Assigning user id: {} to task id: {}", userId, taskId);
-        User user = userService.getUserEntityById(userId);
         CustomUserDetails currentUser = getCurrentUser();
         Task task = getTaskEntityById(taskId);
         validateProjectAccess(currentUser, task.getProject());
 
-        task.getAssignees().add(user);
-        Task updatedTask = taskRepository.save(task);
-        return TaskMapper.toResponse(updatedTask);
+        if (taskRepository.addAssignee(taskId, userId) == 0) {
+            userService.getUserEntityById(userId);
+        } else {
+            taskRepository.incrementVersions(Set.of(taskId));
+            workloadCounters.adjust(List.of(userId), task.getState(), task.getPriority(), 1);
+        }
+        return TaskMapper.toResponse(getTaskEntityById(taskId));
     }
 
     @Override
@@ -193,16 +250,281 @@ public class TaskServiceImpl extends BaseService implements TaskService {
         Task task = getTaskEntityById(taskId);
         validateProjectAccess(currentUser, task.getProject());
 
-        User user = userService.getUserEntityById(userId);
-        boolean isAssigned = task.getAssignees().stream()
-            .anyMatch(assignee -> assignee.getId().equals(userId));
-        if (!isAssigned) {
+        if (taskRepository.removeAssignee(taskId, userId) == 0) {
+            userService.getUserEntityById(userId);
             throw new EntityNotFoundException("User is not assigned to this task");
         }
+        taskRepository.incrementVersions(Set.of(taskId));
+        workloadCounters.adjust(List.of(userId), task.getState(), task.getPriority(), -1);
+        return TaskMapper.toResponse(getTaskEntityById(taskId));
+    }
 
-        task.getAssignees().remove(user);
-        Task updatedTask = taskRepository.save(task);
-        return TaskMapper.toResponse(updatedTask);
+    @Override
+    @Transactional
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public BulkTaskOperationResponse bulkUpdateTaskState(BulkTaskStateUpdateRequest request) {
+        TaskState newState = request.getNewState();
+        log.info("Bulk updating state of {} tasks to state: {}", request.getTaskIds().size(), newState);
+        Map<UUID, BulkTaskResult> results = new HashMap<>();
+        List<TaskStateView> accessibleTasks = resolveAccessibleTasks(request.getTaskIds(), results);
+
+        Map<TaskState, Set<UUID>> eligibleTasks = new EnumMap<>(TaskState.class);
+        for (TaskStateView view : accessibleTasks) {
+            if (view.getState().canTransitionTo(newState, request.getReason())) {
+                eligibleTasks.computeIfAbsent(view.getState(), state -> new HashSet<>()).add(view.getId());
+            } else {
+                results.put(view.getId(), bulkFailure(view.getId(),
+                        "Invalid state transition from " + view.getState() + " to " + newState));
+            }
+        }
+
+        if (!eligibleTasks.isEmpty()) {
+            String reason = requiresTransitionReason(newState) ? request.getReason() : null;
+            UUID actorId = getCurrentUser().getUserId();
+            Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+            Map<UUID, TaskState> previousStates = new HashMap<>();
+            List<TaskStateView> updatedViews = new ArrayList<>();
+            eligibleTasks.forEach((fromState, taskIds) -> {
+                for (TaskStateView view : taskRepository.bulkUpdateState(
+                        taskIds, fromState.name(), newState.name(), reason)) {
+                    results.put(view.getId(), bulkSuccess(view.getId()));
+                    addStatsChange(deltas, view, fromState, view.getPriority(), newState, view.getPriority());
+                    recordTransition(view.getId(), view.getProjectId(), fromState, newState, reason, actorId);
+                    previousStates.put(view.getId(), fromState);
+                    updatedViews.add(view);
+                }
+                taskIds.stream()
+                        .filter(id -> !results.containsKey(id))
+                        .forEach(id -> results.put(id, bulkFailure(id, "Task state was changed concurrently")));
+            });
+            projectTaskStatRepository.applyDeltas(deltas);
+            Map<UUID, List<UUID>> assignees = findAssigneeIds(updatedViews);
+            updatedViews.forEach(view -> workloadCounters.move(assignees.get(view.getId()),
+                    previousStates.get(view.getId()), view.getPriority(), newState, view.getPriority()));
+        }
+        return toBulkResponse(request.getTaskIds(), results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public BulkTaskOperationResponse bulkUpdateTaskPriority(BulkTaskPriorityUpdateRequest request) {
+        log.info("Bulk updating priority of {} tasks to priority: {}", request.getTaskIds().size(), request.getPriority());
+        Map<UUID, BulkTaskResult> results = new HashMap<>();
+        List<TaskStateView> accessibleTasks = resolveAccessibleTasks(request.getTaskIds(), results);
+        Set<UUID> accessibleTaskIds = toTaskIds(accessibleTasks);
+
+        if (!accessibleTaskIds.isEmpty()) {
+            int updatedCount = taskRepository.bulkUpdatePriority(accessibleTaskIds, request.getPriority());
+            recordBulkWrite(accessibleTaskIds, updatedCount, results);
+
+            Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+            List<TaskStateView> updatedViews = new ArrayList<>();
+            for (TaskStateView view : accessibleTasks) {
+                if (results.get(view.getId()).isSuccess()) {
+                    addStatsChange(deltas, view, view.getState(), view.getPriority(),
+                            view.getState(), request.getPriority());
+                    updatedViews.add(view);
+                }
+            }
+            projectTaskStatRepository.applyDeltas(deltas);
+            Map<UUID, List<UUID>> assignees = findAssigneeIds(updatedViews);
+            updatedViews.forEach(view -> workloadCounters.move(assignees.get(view.getId()),
+                    view.getState(), view.getPriority(), view.getState(), request.getPriority()));
+        }
+        return toBulkResponse(request.getTaskIds(), results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public BulkTaskOperationResponse bulkAssignUserToTasks(UUID userId, Set<UUID> taskIds) {
+        log.info("Bulk assigning user id: {} to {} tasks", userId, taskIds.size());
+        userService.getUserEntityById(userId);
+        Map<UUID, BulkTaskResult> results = new HashMap<>();
+        List<TaskStateView> accessibleTasks = resolveAccessibleTasks(taskIds, results);
+        Set<UUID> accessibleTaskIds = toTaskIds(accessibleTasks);
+
+        if (!accessibleTaskIds.isEmpty()) {
+            Set<UUID> addedTaskIds = new HashSet<>(taskRepository.bulkAddAssignee(accessibleTaskIds, userId));
+            if (!addedTaskIds.isEmpty()) {
+                taskRepository.incrementVersions(addedTaskIds);
+            }
+            Set<UUID> skippedTaskIds = new HashSet<>(accessibleTaskIds);
+            skippedTaskIds.removeAll(addedTaskIds);
+            Set<UUID> alreadyAssigned = skippedTaskIds.isEmpty()
+                    ? Set.of()
+                    : new HashSet<>(taskRepository.findAssignedTaskIds(skippedTaskIds, userId));
+            for (UUID id : accessibleTaskIds) {
+                if (addedTaskIds.contains(id)) {
+                    results.put(id, bulkSuccess(id));
+                } else if (alreadyAssigned.contains(id)) {
+                    results.put(id, bulkFailure(id, "User is already assigned to this task"));
+                } else {
+                    results.put(id, bulkFailure(id, "Task not found with id: " + id));
+                }
+            }
+            accessibleTasks.stream()
+                    .filter(view -> addedTaskIds.contains(view.getId()))
+                    .forEach(view -> workloadCounters.adjust(List.of(userId), view.getState(), view.getPriority(), 1));
+        }
+        return toBulkResponse(taskIds, results);
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "taskCache", allEntries = true)
+    public BulkTaskOperationResponse bulkRemoveUserFromTasks(UUID userId, Set<UUID> taskIds) {
+        log.info("Bulk removing user id: {} from {} tasks", userId, taskIds.size());
+        Map<UUID, BulkTaskResult> results = new HashMap<>();
+        List<TaskStateView> accessibleTasks = resolveAccessibleTasks(taskIds, results);
+        Set<UUID> accessibleTaskIds = toTaskIds(accessibleTasks);
+
+        if (!accessibleTaskIds.isEmpty()) {
+            Set<UUID> assignedTaskIds = new HashSet<>(taskRepository.findAssignedTaskIds(accessibleTaskIds, userId));
+            for (UUID id : accessibleTaskIds) {
+                if (!assignedTaskIds.contains(id)) {
+                    results.put(id, bulkFailure(id, "User is not assigned to this task"));
+                }
+            }
+            if (!assignedTaskIds.isEmpty()) {
+                int removedCount = taskRepository.bulkRemoveAssignee(assignedTaskIds, userId);
+                taskRepository.incrementVersions(assignedTaskIds);
+                recordBulkWrite(assignedTaskIds, removedCount, results);
+                accessibleTasks.stream()
+                        .filter(view -> assignedTaskIds.contains(view.getId()) && results.get(view.getId()).isSuccess())
+                        .forEach(view -> workloadCounters.adjust(List.of(userId), view.getState(), view.getPriority(), -1));
+            }
+        }
+        return toBulkResponse(taskIds, results);
+    }
+
+    private List<TaskStateView> resolveAccessibleTasks(Set<UUID> taskIds, Map<UUID, BulkTaskResult> results) {
+        CustomUserDetails currentUser = getCurrentUser();
+        List<TaskStateView> views = taskRepository.findStateViewsByIdIn(taskIds);
+
+        Map<UUID, List<TaskStateView>> tasksByProject = new HashMap<>();
+        for (TaskStateView view : views) {
+            if (view.getProjectId() == null) {
+                results.put(view.getId(), bulkFailure(view.getId(), "Task is not assigned to a project"));
+            } else {
+                tasksByProject.computeIfAbsent(view.getProjectId(), id -> new ArrayList<>()).add(view);
+            }
+        }
+
+        List<TaskStateView> accessibleTasks = new ArrayList<>();
+        for (Project project : projectRepository.findAllById(tasksByProject.keySet())) {
+            List<TaskStateView> projectTasks = tasksByProject.remove(project.getId());
+            try {
+                validateProjectAccess(currentUser, project);
+                accessibleTasks.addAll(projectTasks);
+            } catch (DeniedAccessException ex) {
+                projectTasks.forEach(view -> results.put(view.getId(), bulkFailure(view.getId(), ex.getMessage())));
+            }
+        }
+        tasksByProject.values().forEach(projectTasks -> projectTasks.forEach(view ->
+                results.put(view.getId(), bulkFailure(view.getId(), "Project not found for task"))));
+
+        for (UUID taskId : taskIds) {
+            results.putIfAbsent(taskId, bulkFailure(taskId, "Task not found with id: " + taskId));
+        }
+        accessibleTasks.forEach(view -> results.remove(view.getId()));
+        return accessibleTasks;
+    }
+
+    private void recordBulkWrite(Set<UUID> taskIds, int updatedCount, Map<UUID, BulkTaskResult> results) {
+        if (updatedCount == taskIds.size()) {
+            taskIds.forEach(id -> results.put(id, bulkSuccess(id)));
+            return;
+        }
+        Set<UUID> remainingTaskIds = toTaskIds(taskRepository.findStateViewsByIdIn(taskIds));
+        for (UUID id : taskIds) {
+            results.put(id, remainingTaskIds.contains(id)
+                    ? bulkSuccess(id)
+                    : bulkFailure(id, "Task not found with id: " + id));
+        }
+    }
+
+    private void recordStatsChange(UUID projectId, TaskState previousState, TaskPriority previousPriority,
+                                   TaskState newState, TaskPriority newPriority) {
+        Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+        ProjectTaskStatRepository.addDelta(deltas, projectId, previousState, previousPriority, -1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, newState, newPriority, 1);
+        projectTaskStatRepository.applyDeltas(deltas);
+    }
+
+    private void recordTransition(UUID taskId, UUID projectId, TaskState fromState, TaskState toState,
+                                  String reason, UUID actorId) {
+        transitionRecorder.record(TaskStateTransition.builder()
+                .id(UUID.randomUUID())
+                .taskId(taskId)
+                .projectId(projectId)
+                .fromState(fromState)
+                .toState(toState)
+                .reason(reason)
+                .actorId(actorId)
+                .transitionedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void addStatsChange(Map<ProjectTaskStatId, Long> deltas, TaskStateView view,
+                                TaskState previousState, TaskPriority previousPriority,
+                                TaskState newState, TaskPriority newPriority) {
+        ProjectTaskStatRepository.addDelta(deltas, view.getProjectId(), previousState, previousPriority, -1);
+        ProjectTaskStatRepository.addDelta(deltas, view.getProjectId(), newState, newPriority, 1);
+    }
+
+    private Map<UUID, List<UUID>> findAssigneeIds(List<TaskStateView> views) {
+        if (views.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepository.findAssigneesByTaskIdIn(toTaskIds(views)).stream()
+                .collect(Collectors.groupingBy(TaskAssigneeView::getTaskId,
+                        Collectors.mapping(TaskAssigneeView::getUserId, Collectors.toList())));
+    }
+
+    private static List<UUID> assigneeIds(Task task) {
+        return task.getAssignees() == null
+                ? List.of()
+                : task.getAssignees().stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    private Set<UUID> toTaskIds(List<TaskStateView> views) {
+        return views.stream()
+                .map(TaskStateView::getId)
+                .collect(Collectors.toSet());
+    }
+
+    private BulkTaskOperationResponse toBulkResponse(Set<UUID> taskIds, Map<UUID, BulkTaskResult> results) {
+        List<BulkTaskResult> orderedResults = taskIds.stream()
+                .map(results::get)
+                .collect(Collectors.toList());
+        int succeeded = (int) orderedResults.stream().filter(BulkTaskResult::isSuccess).count();
+        return BulkTaskOperationResponse.builder()
+                .requested(taskIds.size())
+                .succeeded(succeeded)
+                .failed(orderedResults.size() - succeeded)
+                .results(orderedResults)
+                .build();
+    }
+
+    private BulkTaskResult bulkSuccess(UUID taskId) {
+        return BulkTaskResult.builder()
+                .taskId(taskId)
+                .success(true)
+                .build();
+    }
+
+    private BulkTaskResult bulkFailure(UUID taskId, String message) {
+        return BulkTaskResult.builder()
+                .taskId(taskId)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    private boolean requiresTransitionReason(TaskState state) {
+        return state == TaskState.BLOCKED || state == TaskState.CANCELLED;
     }
 
     private Task getTaskEntityById(UUID taskId) {
@@ -216,7 +538,15 @@ public class TaskServiceImpl extends BaseService implements TaskService {
             throw new InvalidStateTransitionException("Invalid state transition from " + currentState + " to " + newState);
         }
     }
-    
+
+    private Project getTaskProject(TaskStateView task) {
+        if (task.getProjectId() == null) {
+            throw new DeniedAccessException("Task is not assigned to a project");
+        }
+        return projectRepository.findById(task.getProjectId())
+                .orElseThrow(() -> new EntityNotFoundException("Project not found for task"));
+    }
+
     private void validateProjectAccess(CustomUserDetails currentUser, Project project) {
         log.info("Validating project access for user: {}", currentUser.getUsername());
         validateUserAccessToProject(currentUser, project);
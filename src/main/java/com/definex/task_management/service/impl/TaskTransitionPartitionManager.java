@@ -0,0 +1,40 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.repository.TaskStateTransitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps monthly partitions of the transition log created ahead of time so
+ * rows never fall into the default partition, which would block creating the
+ * partition for that month later.
+ */
+@Slf4j
+@Component
+public class TaskTransitionPartitionManager {
+    private final TaskStateTransitionRepository transitionRepository;
+    private final int monthsAhead;
+
+    public TaskTransitionPartitionManager(TaskStateTransitionRepository transitionRepository,
+                                          @Value("${app.transitions.partition-months-ahead:3}") int monthsAhead) {
+        this.transitionRepository = transitionRepository;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.transitions.partition-check-interval:PT6H}")
+    public void ensurePartitions() {
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            YearMonth month = current.plusMonths(offset);
+            try {
+                transitionRepository.createMonthlyPartition(month);
+            } catch (RuntimeException e) {
+                log.error("Failed to create task transition partition for {}: {}", month, e.getMessage());
+            }
+        }
+    }
+}
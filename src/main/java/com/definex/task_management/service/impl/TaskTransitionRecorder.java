@@ -0,0 +1,113 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.TaskStateTransitionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues state transitions once the surrounding transaction commits and writes
+ * them to the transition log in batches from a background thread, so the task
+ * write path only pays for an in-memory enqueue. When the queue is full the
+ * transition is written inline instead of being dropped.
+ */
+@Slf4j
+@Component
+public class TaskTransitionRecorder {
+    private final TaskStateTransitionRepository transitionRepository;
+    private final BlockingQueue<TaskStateTransition> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private ScheduledExecutorService scheduler;
+
+    public TaskTransitionRecorder(TaskStateTransitionRepository transitionRepository,
+                                  @Value("${app.transitions.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.transitions.batch-size:500}") int batchSize,
+                                  @Value("${app.transitions.flush-interval:PT1S}") Duration flushInterval) {
+        this.transitionRepository = transitionRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-transition-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(flushInterval.toMillis() * 2, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushSafely();
+    }
+
+    public void record(TaskStateTransition transition) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(transition);
+                }
+            });
+        } else {
+            enqueue(transition);
+        }
+    }
+
+    int flush() {
+        int written = 0;
+        List<TaskStateTransition> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            transitionRepository.insertAll(batch);
+            written += batch.size();
+            batch = new ArrayList<>(batchSize);
+        }
+        return written;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write task state transitions: {}", e.getMessage());
+        }
+    }
+
+    private void enqueue(TaskStateTransition transition) {
+        if (!queue.offer(transition)) {
+            log.warn("Task transition queue is full, writing transition for task id: {} inline", transition.getTaskId());
+            try {
+                transitionRepository.insertAll(List.of(transition));
+            } catch (RuntimeException e) {
+                log.error("Failed to write task state transition for task id: {}", transition.getTaskId(), e);
+            }
+        }
+    }
+}
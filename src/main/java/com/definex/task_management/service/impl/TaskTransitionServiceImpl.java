@@ -0,0 +1,85 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.CycleTimeResponse;
+import com.definex.task_management.dto.TaskTransitionResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.mapper.TaskMapper;
+import com.definex.task_management.repository.CycleTimeStats;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.TaskStateTransitionRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.TaskTransitionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class TaskTransitionServiceImpl extends BaseService implements TaskTransitionService {
+    static final int DEFAULT_WINDOW_DAYS = 90;
+    private static final double SECONDS_PER_HOUR = 3600.0;
+
+    private final TaskStateTransitionRepository transitionRepository;
+    private final TaskRepository taskRepository;
+
+    public TaskTransitionServiceImpl(TaskStateTransitionRepository transitionRepository,
+                                     TaskRepository taskRepository,
+                                     ProjectRepository projectRepository) {
+        super(projectRepository);
+        this.transitionRepository = transitionRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskTransitionResponse> getTaskHistory(UUID taskId) {
+        log.info("Fetching state transition history for task id: {}", taskId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        validateUserAccessToProject(currentUser, task.getProject());
+
+        return transitionRepository.findByTaskId(taskId).stream()
+                .map(TaskMapper::toTransitionResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CycleTimeResponse getCycleTime(UUID projectId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching cycle time for project id: {}", projectId);
+        CustomUserDetails currentUser = getCurrentUser();
+        Project project = projectRepository.findById(projectId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + projectId));
+        validateUserAccessToProject(currentUser, project);
+
+        LocalDateTime windowEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime windowStart = from != null ? from : windowEnd.minusDays(DEFAULT_WINDOW_DAYS);
+        CycleTimeStats stats = transitionRepository.findCycleTimeStats(projectId, windowStart, windowEnd);
+
+        return CycleTimeResponse.builder()
+                .projectId(projectId)
+                .from(windowStart)
+                .to(windowEnd)
+                .completedTasks(stats.getCompletedTasks())
+                .p50Hours(toHours(stats.getP50Seconds()))
+                .p75Hours(toHours(stats.getP75Seconds()))
+                .p90Hours(toHours(stats.getP90Seconds()))
+                .p95Hours(toHours(stats.getP95Seconds()))
+                .averageHours(toHours(stats.getAverageSeconds()))
+                .build();
+    }
+
+    private static Double toHours(Double seconds) {
+        return seconds != null ? seconds / SECONDS_PER_HOUR : null;
+    }
+}
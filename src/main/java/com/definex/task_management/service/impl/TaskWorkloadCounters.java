@@ -0,0 +1,230 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.projection.AssigneeWorkloadView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Open task counts per assignee, state and priority, held in memory so the
+ * workload view never scans tasks. Each user owns one fixed-size int array
+ * indexed by state and priority. Changes are applied once the task write
+ * commits, and the whole structure is rebuilt from the database at startup
+ * and periodically, which also picks up writes made by other instances.
+ * <p>
+ * A rebuild reads the database from one repeatable-read snapshot. That
+ * snapshot is taken while no counted transaction is between its commit and
+ * its in-memory change, and changes committed after it are buffered and
+ * replayed onto the rebuilt map, so each change is counted exactly once.
+ * Writers never wait for a rebuild to get that quiet moment: it only takes
+ * the commit lock when nobody holds it, since a committing transaction may
+ * itself be waiting on row locks of one that has yet to reach its commit.
+ */
+@Slf4j
+@Component
+public class TaskWorkloadCounters {
+    static final Set<TaskState> OPEN_STATES = EnumSet.of(
+            TaskState.BACKLOG, TaskState.IN_ANALYSIS, TaskState.IN_DEVELOPMENT, TaskState.BLOCKED);
+
+    private static final int PRIORITY_COUNT = TaskPriority.values().length;
+    private static final int SLOT_COUNT = TaskState.values().length * PRIORITY_COUNT;
+    private static final Duration SNAPSHOT_WAIT = Duration.ofSeconds(5);
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentMap<UUID, AtomicIntegerArray> counters = new ConcurrentHashMap<>();
+    private Queue<PendingDelta> pending;
+
+    public TaskWorkloadCounters(TaskRepository taskRepository, PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    public void adjust(Collection<UUID> userIds, TaskState state, TaskPriority priority, int delta) {
+        if (userIds == null || userIds.isEmpty() || !isCounted(state, priority)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean holdsCommitLock;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    commitLock.readLock().lock();
+                    holdsCommitLock = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    apply(userIds, state, priority, delta);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (holdsCommitLock) {
+                        holdsCommitLock = false;
+                        commitLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            apply(userIds, state, priority, delta);
+        }
+    }
+
+    public void move(Collection<UUID> userIds, TaskState previousState, TaskPriority previousPriority,
+                     TaskState newState, TaskPriority newPriority) {
+        if (previousState == newState && previousPriority == newPriority) {
+            return;
+        }
+        adjust(userIds, previousState, previousPriority, -1);
+        adjust(userIds, newState, newPriority, 1);
+    }
+
+    public int count(UUID userId, TaskState state, TaskPriority priority) {
+        AtomicIntegerArray slots = counters.get(userId);
+        return slots == null ? 0 : Math.max(slots.get(slot(state, priority)), 0);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${app.workload.rebuild-interval:PT10M}",
+            fixedDelayString = "${app.workload.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        Queue<PendingDelta> buffered = new ConcurrentLinkedQueue<>();
+        ConcurrentMap<UUID, AtomicIntegerArray> rebuilt = new ConcurrentHashMap<>();
+        try {
+            Boolean read = snapshotTransaction.execute(status -> {
+                if (!openSnapshot(buffered)) {
+                    return false;
+                }
+                for (AssigneeWorkloadView row : taskRepository.countAssignedTasksByState(OPEN_STATES)) {
+                    rebuilt.computeIfAbsent(row.getUserId(), id -> new AtomicIntegerArray(SLOT_COUNT))
+                            .set(slot(row.getState(), row.getPriority()), row.getTaskCount().intValue());
+                }
+                return true;
+            });
+            if (!Boolean.TRUE.equals(read)) {
+                log.warn("Skipped workload counter rebuild: commits kept overlapping for {}", SNAPSHOT_WAIT);
+                return;
+            }
+        } catch (RuntimeException e) {
+            clearPending();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (PendingDelta delta : buffered) {
+                add(rebuilt, delta.userIds(), delta.slot(), delta.delta());
+            }
+            counters = rebuilt;
+            pending = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        log.info("Rebuilt workload counters for {} assignees, replayed {} concurrent changes",
+                rebuilt.size(), buffered.size());
+    }
+
+    /**
+     * Starts buffering changes and fixes the transaction's snapshot in one
+     * step no commit can straddle. Polls instead of queueing for the lock, as
+     * a queued writer would stop committing transactions from taking it.
+     */
+    private boolean openSnapshot(Queue<PendingDelta> buffered) {
+        long deadline = System.nanoTime() + SNAPSHOT_WAIT.toNanos();
+        while (!commitLock.writeLock().tryLock()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        try {
+            swapLock.writeLock().lock();
+            try {
+                pending = buffered;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            taskRepository.openSnapshot();
+            return true;
+        } finally {
+            commitLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Collection<UUID> userIds, TaskState state, TaskPriority priority, int delta) {
+        int slot = slot(state, priority);
+        swapLock.readLock().lock();
+        try {
+            add(counters, userIds, slot, delta);
+            if (pending != null) {
+                pending.add(new PendingDelta(userIds, slot, delta));
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void clearPending() {
+        swapLock.writeLock().lock();
+        try {
+            pending = null;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static void add(ConcurrentMap<UUID, AtomicIntegerArray> target, Collection<UUID> userIds,
+                            int slot, int delta) {
+        for (UUID userId : userIds) {
+            target.computeIfAbsent(userId, id -> new AtomicIntegerArray(SLOT_COUNT)).addAndGet(slot, delta);
+        }
+    }
+
+    private static boolean isCounted(TaskState state, TaskPriority priority) {
+        return state != null && priority != null && OPEN_STATES.contains(state);
+    }
+
+    private static int slot(TaskState state, TaskPriority priority) {
+        return state.ordinal() * PRIORITY_COUNT + priority.ordinal();
+    }
+
+    private record PendingDelta(Collection<UUID> userIds, int slot, int delta) {
+    }
+}
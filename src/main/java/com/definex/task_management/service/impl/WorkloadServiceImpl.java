@@ -0,0 +1,84 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DepartmentWorkloadResponse;
+import com.definex.task_management.dto.UserWorkloadResponse;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.UserRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.BaseService;
+import com.definex.task_management.service.WorkloadService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class WorkloadServiceImpl extends BaseService implements WorkloadService {
+    private final UserRepository userRepository;
+    private final TaskWorkloadCounters workloadCounters;
+
+    public WorkloadServiceImpl(UserRepository userRepository, TaskWorkloadCounters workloadCounters) {
+        this.userRepository = userRepository;
+        this.workloadCounters = workloadCounters;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DepartmentWorkloadResponse getDepartmentWorkload(String department) {
+        log.info("Fetching workload for department: {}", department);
+        CustomUserDetails currentUser = getCurrentUser();
+        validateSameDepartment(currentUser, department);
+
+        List<UserWorkloadResponse> users = new ArrayList<>();
+        long openTasks = 0;
+        for (User user : userRepository.findByDepartmentOrderByName(department)) {
+            UserWorkloadResponse workload = toWorkload(user);
+            openTasks += workload.getOpenTasks();
+            users.add(workload);
+        }
+        users.sort(Comparator.comparingLong(UserWorkloadResponse::getOpenTasks));
+
+        return DepartmentWorkloadResponse.builder()
+                .department(department)
+                .openTasks(openTasks)
+                .users(users)
+                .build();
+    }
+
+    private UserWorkloadResponse toWorkload(User user) {
+        Map<TaskState, Long> tasksByState = new EnumMap<>(TaskState.class);
+        Map<TaskPriority, Long> tasksByPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            tasksByPriority.put(priority, 0L);
+        }
+        long openTasks = 0;
+        for (TaskState state : TaskWorkloadCounters.OPEN_STATES) {
+            long stateCount = 0;
+            for (TaskPriority priority : TaskPriority.values()) {
+                int count = workloadCounters.count(user.getId(), state, priority);
+                stateCount += count;
+                tasksByPriority.merge(priority, (long) count, Long::sum);
+            }
+            tasksByState.put(state, stateCount);
+            openTasks += stateCount;
+        }
+
+        return UserWorkloadResponse.builder()
+                .userId(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .openTasks(openTasks)
+                .tasksByState(tasksByState)
+                .tasksByPriority(tasksByPriority)
+                .build();
+    }
+}
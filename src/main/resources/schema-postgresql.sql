@@ -0,0 +1,111 @@
+CREATE UNLOGGED TABLE IF NOT EXISTS task_import_staging (
+    import_id uuid NOT NULL,
+    line_number bigint NOT NULL,
+    record_type varchar(16) NOT NULL,
+    task_id uuid NOT NULL,
+    comment_id uuid,
+    title text,
+    user_story text,
+    acceptance_criteria text,
+    state varchar(32),
+    priority varchar(32),
+    assignee_emails text,
+    author_email text,
+    content text,
+    PRIMARY KEY (import_id, line_number)
+);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(user_story, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(acceptance_criteria, '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(content, '')), 'D')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_comments_search_vector ON comments USING GIN (search_vector);
+
+CREATE TABLE IF NOT EXISTS schema_data_migrations (
+    name varchar(64) PRIMARY KEY,
+    applied_at timestamp(6) NOT NULL
+);
+
+-- One-time backfills: each claims its name first and only does work when the
+-- claim is new, so later starts stop at a one-time filter without scanning.
+WITH claimed AS (
+    INSERT INTO schema_data_migrations (name, applied_at) VALUES ('backfill_task_counters', now())
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+UPDATE tasks t
+SET comment_count = counts.comments,
+    attachment_count = counts.attachments,
+    total_attachment_bytes = counts.attachment_bytes
+FROM (
+    SELECT tk.id,
+           (SELECT count(*) FROM comments c WHERE c.task_id = tk.id AND c.deleted = false) AS comments,
+           (SELECT count(*) FROM attachments a WHERE a.task_id = tk.id AND a.deleted = false) AS attachments,
+           (SELECT coalesce(sum(a.file_size), 0) FROM attachments a WHERE a.task_id = tk.id AND a.deleted = false) AS attachment_bytes
+    FROM tasks tk
+) counts
+WHERE EXISTS (SELECT 1 FROM claimed)
+  AND counts.id = t.id
+  AND (t.comment_count, t.attachment_count, t.total_attachment_bytes)
+      IS DISTINCT FROM (counts.comments, counts.attachments, counts.attachment_bytes);
+
+WITH claimed AS (
+    INSERT INTO schema_data_migrations (name, applied_at) VALUES ('seed_project_task_stats', now())
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+INSERT INTO project_task_stats (project_id, state, priority, task_count)
+SELECT project_id, state, priority, count(*)
+FROM tasks
+WHERE EXISTS (SELECT 1 FROM claimed)
+  AND deleted = false AND project_id IS NOT NULL AND state IS NOT NULL AND priority IS NOT NULL
+GROUP BY project_id, state, priority
+ON CONFLICT (project_id, state, priority) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS task_state_transitions (
+    id uuid NOT NULL,
+    task_id uuid NOT NULL,
+    project_id uuid NOT NULL,
+    from_state varchar(32),
+    to_state varchar(32) NOT NULL,
+    reason text,
+    actor_id uuid,
+    transitioned_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id, transitioned_at)
+) PARTITION BY RANGE (transitioned_at);
+
+CREATE TABLE IF NOT EXISTS task_state_transitions_default PARTITION OF task_state_transitions DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_task_state_transitions_task ON task_state_transitions (task_id, transitioned_at);
+
+CREATE INDEX IF NOT EXISTS idx_task_state_transitions_project ON task_state_transitions (project_id, to_state, transitioned_at);
+
+-- Cycle time looks up when tasks left BACKLOG across every month before the
+-- window, so those rows get their own small per-partition index.
+CREATE INDEX IF NOT EXISTS idx_task_state_transitions_backlog_exit ON task_state_transitions (project_id, transitioned_at)
+    WHERE from_state = 'BACKLOG';
+
+WITH claimed AS (
+    INSERT INTO schema_data_migrations (name, applied_at) VALUES ('seed_project_daily_state_counts', now())
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+INSERT INTO project_daily_state_counts (project_id, snapshot_date, state, task_count)
+SELECT project_id, CURRENT_DATE, state, sum(task_count)
+FROM project_task_stats
+WHERE EXISTS (SELECT 1 FROM claimed)
+GROUP BY project_id, state
+ON CONFLICT (project_id, snapshot_date, state) DO NOTHING;
+
+-- Hibernate creates the enum check once and never widens it on update.
+ALTER TABLE attachment_uploads DROP CONSTRAINT IF EXISTS attachment_uploads_status_check;
+ALTER TABLE attachment_uploads ADD CONSTRAINT attachment_uploads_status_check
+    CHECK (status IN ('IN_PROGRESS', 'COMPLETING', 'COMPLETED'));
@@ -0,0 +1,169 @@
+package com.definex.task_management.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaOne;
+    private DataSource replicaTwo;
+    private Connection primaryConnection;
+    private Connection replicaOneConnection;
+    private Connection replicaTwoConnection;
+    private ReplicaLagMonitor lagMonitor;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replicaOne = mock(DataSource.class);
+        replicaTwo = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaOneConnection = mock(Connection.class);
+        replicaTwoConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replicaOne.getConnection()).thenReturn(replicaOneConnection);
+        when(replicaTwo.getConnection()).thenReturn(replicaTwoConnection);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaOne);
+        replicas.put("replica-2", replicaTwo);
+
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock();
+        lagMonitor = new ReplicaLagMonitor(replicas, Duration.ofSeconds(5), meterRegistry);
+        lagMonitor.recordLag("replica-1", 100);
+        lagMonitor.recordLag("replica-2", 200);
+
+        routingDataSource = new ReadReplicaRoutingDataSource(primary, replicas, lagMonitor,
+                new RecentWriteTracker(Duration.ofSeconds(5), clock), meterRegistry);
+        routingDataSource.afterPropertiesSet();
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("pm@example.com", null, Collections.emptyList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() throws SQLException {
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_RoundRobinsAcrossReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaOneConnection, routingDataSource.getConnection());
+        assertSame(replicaTwoConnection, routingDataSource.getConnection());
+        assertSame(replicaOneConnection, routingDataSource.getConnection());
+        assertEquals(2.0, meterRegistry.get("app.datasource.routing").tag("route", "replica-1").counter().count());
+    }
+
+    @Test
+    void readOnlyTransaction_SkipsLaggingReplica() throws SQLException {
+        lagMonitor.recordLag("replica-1", 10_000);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(replicaTwoConnection, routingDataSource.getConnection());
+        assertSame(replicaTwoConnection, routingDataSource.getConnection());
+        assertEquals(0.0, meterRegistry.get("app.datasource.replica.healthy").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void readOnlyTransaction_FallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+        lagMonitor.recordLag("replica-1", 10_000);
+        lagMonitor.recordLag("replica-2", -1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void readOnlyTransaction_StaysOnPrimaryAfterUsersWrite() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, routingDataSource.getConnection());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("other@example.com", null, Collections.emptyList()));
+        assertSame(replicaOneConnection, routingDataSource.getConnection());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("pm@example.com", null, Collections.emptyList()));
+        clock.advance(Duration.ofSeconds(6));
+        assertSame(replicaTwoConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void close_ShutsDownLagMonitor() {
+        ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+        ReadReplicaRoutingDataSource dataSource = new ReadReplicaRoutingDataSource(primary, Map.of(), monitor,
+                new RecentWriteTracker(Duration.ofSeconds(5), clock), null);
+
+        dataSource.close();
+
+        verify(monitor).close();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,30 +1,51 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.AttachmentArchive;
+import com.definex.task_management.dto.AttachmentDownload;
 import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.DirectUploadRequest;
+import com.definex.task_management.dto.DirectUploadResponse;
 import com.definex.task_management.entity.Attachment;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.PayloadTooLargeException;
+import com.definex.task_management.service.AttachmentArchiveService;
 import com.definex.task_management.service.AttachmentService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
-
-import java.io.ByteArrayInputStream;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +54,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 public class AttachmentControllerTest {
+    private static final String CHECKSUM = "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
     private static final String API_BASE_PATH = "/api/v1/attachments";
 
     @Autowired
@@ -41,12 +63,20 @@ public class AttachmentControllerTest {
     @MockitoBean
     private AttachmentService attachmentService;
 
+    @MockitoBean
+    private AttachmentArchiveService attachmentArchiveService;
+
     private UUID attachmentId;
     private UUID taskId;
     private AttachmentResponse attachmentResponse;
     private MockMultipartFile file;
     private List<AttachmentResponse> attachments;
     private Attachment attachment;
+    private AttachmentDownload download;
+    private String eTag;
+
+    @TempDir
+    Path tempDir;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -77,6 +107,18 @@ public class AttachmentControllerTest {
                 .fileName("test.txt")
                 .filePath("path/to/test.txt")
                 .build();
+
+        Path filePath = tempDir.resolve("test.txt");
+        Files.writeString(filePath, "Hello, World!");
+        download = AttachmentDownload.builder()
+                .id(attachmentId)
+                .fileName("test.txt")
+                .fileType(MediaType.TEXT_PLAIN_VALUE)
+                .fileSize(13)
+                .filePath(filePath)
+                .uploadDate(LocalDateTime.now())
+                .build();
+        eTag = "\"" + attachmentId + "-13\"";
     }
 
     @Test
@@ -107,6 +149,38 @@ public class AttachmentControllerTest {
                 .andExpect(jsonPath("$.message").value("You can only access attachments for tasks you are assigned to"));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "IT"})
+    void streamAttachment_ShouldPassRawBodyToService() throws Exception {
+        when(attachmentService.streamAttachment(eq(taskId), eq("test.txt"), eq("text/plain"), eq(13L), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    InputStream inputStream = invocation.getArgument(4);
+                    assertEquals("Hello, World!", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+                    return attachmentResponse;
+                });
+
+        mockMvc.perform(post(API_BASE_PATH + "/task/{taskId}", taskId)
+                        .param("fileName", "test.txt")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("Hello, World!"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(attachmentId.toString()));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "IT"})
+    void streamAttachment_ShouldReturnPayloadTooLarge() throws Exception {
+        when(attachmentService.streamAttachment(eq(taskId), eq("big.bin"), any(), anyLong(), any(InputStream.class)))
+                .thenThrow(new PayloadTooLargeException("Attachment exceeds the maximum size of 10 bytes"));
+
+        mockMvc.perform(post(API_BASE_PATH + "/task/{taskId}", taskId)
+                        .param("fileName", "big.bin")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[20]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Attachment exceeds the maximum size of 10 bytes"));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
     void getAttachmentById_ShouldReturnOk() throws Exception {
@@ -246,17 +320,167 @@ public class AttachmentControllerTest {
     @Test
     @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
     void downloadAttachment_ShouldReturnOk() throws Exception {
-        when(attachmentService.getAttachmentById(attachmentId)).thenReturn(attachmentResponse);
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
 
-        Resource mockResource = mock(Resource.class);
-        when(mockResource.exists()).thenReturn(true);
-        when(mockResource.isReadable()).thenReturn(true);
-        when(mockResource.getInputStream()).thenReturn(new ByteArrayInputStream("test content".getBytes()));
-        
-        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(mockResource);
-        
         mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/plain"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 13))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("test.txt")))
+                .andExpect(content().string("Hello, World!"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldRedirectToPresignedUrl_ForRemoteStorage() throws Exception {
+        String presignedUrl = "https://attachments.s3.amazonaws.com/blobs/abc?X-Amz-Signature=sig";
+        download.setFilePath(null);
+        download.setRedirectUri(URI.create(presignedUrl));
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId))
+                .andExpect(status().isFound())
+                .andExpect(header().string(HttpHeaders.LOCATION, presignedUrl))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void downloadThumbnail_ShouldReturnNotFound_WhileNotProcessed() throws Exception {
+        when(attachmentService.downloadThumbnail(attachmentId))
+                .thenThrow(new EntityNotFoundException("No thumbnail for attachment with id: " + attachmentId));
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/thumbnail", attachmentId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void createDirectUpload_ShouldReturnPresignedRequest() throws Exception {
+        DirectUploadResponse directUpload = DirectUploadResponse.builder()
+                .url("https://attachments.s3.amazonaws.com/blobs/" + CHECKSUM)
+                .method("PUT")
+                .headers(Map.of("content-length", "13"))
+                .build();
+        when(attachmentService.createDirectUpload(eq(taskId), any(DirectUploadRequest.class))).thenReturn(directUpload);
+
+        mockMvc.perform(post(API_BASE_PATH + "/task/{taskId}/direct-uploads", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"test.txt\",\"fileSize\":13,\"checksum\":\"" + CHECKSUM + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.method").value("PUT"))
+                .andExpect(jsonPath("$.headers.content-length").value("13"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void completeDirectUpload_ShouldReturnBadRequest_ForMalformedChecksum() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/task/{taskId}/direct-uploads/complete", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fileName\":\"test.txt\",\"fileSize\":13,\"checksum\":\"not-a-sha\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(attachmentService, never()).completeDirectUpload(any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnPartialContent_ForSingleRange() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=7-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 7-12/13"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+                .andExpect(content().string("World!"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnByteranges_ForSeveralRanges() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        MvcResult result = mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=0-4,-6"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges; boundary=")))
+                .andReturn();
+
+        String body = result.getResponse().getContentAsString();
+        assertEquals(body.length(), result.getResponse().getContentLengthLong());
+        assertTrue(body.contains("Content-Range: bytes 0-4/13\r\n\r\nHello\r\n"));
+        assertTrue(body.contains("Content-Range: bytes 7-12/13\r\n\r\nWorld!\r\n"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldServeCachedContent() throws Exception {
+        download.setFilePath(null);
+        download.setContent(ByteBuffer.wrap("Hello, World!".getBytes(StandardCharsets.UTF_8)).asReadOnlyBuffer());
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 13))
+                .andExpect(content().string("Hello, World!"));
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=7-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("World!"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnWholeFile_WhenIfRangeIsStale() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=7-")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Hello, World!"));
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=7-")
+                        .header(HttpHeaders.IF_RANGE, eTag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("World!"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnRangeNotSatisfiable() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.RANGE, "bytes=20-30"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */13"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnHeadersOnly_ForHead() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(head(API_BASE_PATH + "/{attachmentId}/download", attachmentId))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 13))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void downloadAttachment_ShouldReturnNotModified_WhenETagMatches() throws Exception {
+        when(attachmentService.downloadAttachment(attachmentId)).thenReturn(download);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{attachmentId}/download", attachmentId)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
@@ -280,4 +504,38 @@ public class AttachmentControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message").value("You can only access attachments for tasks you are assigned to"));
     }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_LEADER", "IT"})
+    void downloadTaskArchive_ShouldStreamZip() throws Exception {
+        AttachmentArchive archive = AttachmentArchive.builder()
+                .fileName("task-" + taskId + "-attachments.zip")
+                .entries(List.of())
+                .build();
+        when(attachmentArchiveService.getTaskArchive(taskId)).thenReturn(archive);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("PK".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).when(attachmentArchiveService).writeArchive(eq(archive), any());
+
+        mockMvc.perform(get(API_BASE_PATH + "/task/{taskId}/archive", taskId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/zip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        containsString("task-" + taskId + "-attachments.zip")))
+                .andExpect(content().string("PK"));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "IT"})
+    void downloadProjectArchive_ShouldReturnForbidden() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        when(attachmentArchiveService.getProjectArchive(projectId))
+                .thenThrow(new DeniedAccessException("User is not assigned to this project"));
+
+        mockMvc.perform(get(API_BASE_PATH + "/project/{projectId}/archive", projectId))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.message").value("User is not assigned to this project"));
+        verify(attachmentArchiveService, never()).writeArchive(any(), any());
+    }
 }
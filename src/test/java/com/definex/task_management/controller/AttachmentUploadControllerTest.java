@@ -0,0 +1,180 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.AttachmentUploadRequest;
+import com.definex.task_management.dto.AttachmentUploadResponse;
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.service.AttachmentUploadService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AttachmentUploadControllerTest {
+    private static final String API_BASE_PATH = "/api/v1/attachment-uploads";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private AttachmentUploadService attachmentUploadService;
+
+    private UUID uploadId;
+    private UUID taskId;
+    private AttachmentUploadResponse uploadResponse;
+
+    @BeforeEach
+    void setUp() {
+        uploadId = UUID.randomUUID();
+        taskId = UUID.randomUUID();
+
+        uploadResponse = AttachmentUploadResponse.builder()
+                .id(uploadId)
+                .taskId(taskId)
+                .fileName("spec.pdf")
+                .fileType("application/pdf")
+                .fileSize(20)
+                .chunkSize(8)
+                .receivedBytes(8)
+                .nextOffset(8)
+                .missingOffsets(List.of(8L, 16L))
+                .status(AttachmentUploadStatus.IN_PROGRESS)
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void createUpload_ShouldReturnOk() throws Exception {
+        AttachmentUploadRequest request = AttachmentUploadRequest.builder()
+                .taskId(taskId)
+                .fileName("spec.pdf")
+                .fileType("application/pdf")
+                .fileSize(20L)
+                .build();
+        when(attachmentUploadService.createUpload(request)).thenReturn(uploadResponse);
+
+        mockMvc.perform(post(API_BASE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(uploadId.toString()))
+                .andExpect(jsonPath("$.chunkSize").value(8));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void createUpload_ShouldReturnBadRequest_WhenSizeMissing() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskId\":\"" + taskId + "\",\"fileName\":\"spec.pdf\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(attachmentUploadService);
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void writeChunk_ShouldPassOffsetAndRawBodyToService() throws Exception {
+        byte[] chunk = {1, 2, 3, 4, 5, 6, 7, 8};
+        when(attachmentUploadService.writeChunk(eq(uploadId), eq(8L), eq(8L), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    InputStream inputStream = invocation.getArgument(3);
+                    assertArrayEquals(chunk, inputStream.readAllBytes());
+                    return uploadResponse;
+                });
+
+        mockMvc.perform(put(API_BASE_PATH + "/{uploadId}", uploadId)
+                        .param("offset", "8")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(chunk))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(8))
+                .andExpect(jsonPath("$.missingOffsets[1]").value(16));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void writeChunk_ShouldReturnForbidden_ForAnotherUsersUpload() throws Exception {
+        when(attachmentUploadService.writeChunk(eq(uploadId), eq(0L), eq(8L), any(InputStream.class)))
+                .thenThrow(new DeniedAccessException("You can only continue uploads you started"));
+
+        mockMvc.perform(put(API_BASE_PATH + "/{uploadId}", uploadId)
+                        .param("offset", "0")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[8]))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void getUpload_ShouldReturnOk() throws Exception {
+        when(attachmentUploadService.getUpload(uploadId)).thenReturn(uploadResponse);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{uploadId}", uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(8))
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void completeUpload_ShouldReturnAttachment() throws Exception {
+        UUID attachmentId = UUID.randomUUID();
+        when(attachmentUploadService.completeUpload(uploadId)).thenReturn(AttachmentResponse.builder()
+                .id(attachmentId)
+                .fileName("spec.pdf")
+                .fileSize(20L)
+                .taskId(taskId)
+                .build());
+
+        mockMvc.perform(post(API_BASE_PATH + "/{uploadId}/complete", uploadId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(attachmentId.toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void completeUpload_ShouldReturnBadRequest_WhenChunksMissing() throws Exception {
+        when(attachmentUploadService.completeUpload(uploadId))
+                .thenThrow(new InvalidAttachmentException("Upload is missing 2 chunks"));
+
+        mockMvc.perform(post(API_BASE_PATH + "/{uploadId}/complete", uploadId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Upload is missing 2 chunks"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void cancelUpload_ShouldReturnOk() throws Exception {
+        mockMvc.perform(delete(API_BASE_PATH + "/{uploadId}", uploadId))
+                .andExpect(status().isOk());
+
+        verify(attachmentUploadService).cancelUpload(uploadId);
+    }
+}
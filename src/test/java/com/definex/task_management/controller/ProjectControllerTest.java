@@ -1,5 +1,12 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.BurndownPoint;
+import com.definex.task_management.dto.BurndownResponse;
+import com.definex.task_management.dto.CumulativeFlowPoint;
+import com.definex.task_management.dto.CumulativeFlowResponse;
+import com.definex.task_management.dto.CycleTimeResponse;
+import com.definex.task_management.dto.DepartmentDashboardResponse;
+import com.definex.task_management.dto.ProjectDashboardResponse;
 import com.definex.task_management.dto.ProjectRequest;
 import com.definex.task_management.dto.ProjectResponse;
 import com.definex.task_management.dto.TaskResponse;
@@ -11,8 +18,10 @@ import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.mapper.UserMapper;
+import com.definex.task_management.service.ProjectDashboardService;
 import com.definex.task_management.service.ProjectService;
 import com.definex.task_management.service.TaskService;
+import com.definex.task_management.service.TaskTransitionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,11 +32,15 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -53,6 +66,12 @@ public class ProjectControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private ProjectDashboardService projectDashboardService;
+
+    @MockitoBean
+    private TaskTransitionService taskTransitionService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private ProjectRequest projectRequest;
@@ -501,4 +520,139 @@ public class ProjectControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.message").value("User does not have access to resources in another department"));
     }
+
+    @Test
+    @WithMockUser(roles = "PROJECT_MANAGER")
+    void getProjectDashboard_ShouldReturnCounts() throws Exception {
+        when(projectDashboardService.getProjectDashboard(projectId)).thenReturn(ProjectDashboardResponse.builder()
+                .projectId(projectId)
+                .totalTasks(3)
+                .tasksByState(Map.of(TaskState.BACKLOG, 2L, TaskState.COMPLETED, 1L))
+                .tasksByPriority(Map.of(TaskPriority.HIGH, 3L))
+                .build());
+
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/dashboard", projectId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(3))
+                .andExpect(jsonPath("$.tasksByState.BACKLOG").value(2))
+                .andExpect(jsonPath("$.tasksByPriority.HIGH").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_MEMBER")
+    void getProjectDashboard_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/dashboard", projectId))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(projectDashboardService);
+    }
+
+    @Test
+    @WithMockUser(roles = "PROJECT_GROUP_MANAGER")
+    void getDepartmentDashboard_ShouldReturnRollup() throws Exception {
+        when(projectDashboardService.getDepartmentDashboard("IT")).thenReturn(DepartmentDashboardResponse.builder()
+                .department("IT")
+                .totalTasks(5)
+                .projects(List.of(ProjectDashboardResponse.builder().projectId(projectId).totalTasks(5).build()))
+                .build());
+
+        mockMvc.perform(get(API_BASE_PATH + "/department/{department}/dashboard", "IT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTasks").value(5))
+                .andExpect(jsonPath("$.projects[0].projectId").value(projectId.toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "PROJECT_MANAGER")
+    void getDepartmentDashboard_ShouldReturnForbidden_ForProjectManager() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/department/{department}/dashboard", "IT"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(projectDashboardService);
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_LEADER")
+    void getCycleTime_ShouldPassWindowToService() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 9, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 10, 1, 0, 0);
+        when(taskTransitionService.getCycleTime(projectId, from, to)).thenReturn(CycleTimeResponse.builder()
+                .projectId(projectId)
+                .completedTasks(12)
+                .p50Hours(6.5)
+                .p90Hours(30.0)
+                .build());
+
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/cycle-time", projectId)
+                        .param("from", "2026-09-01T00:00:00")
+                        .param("to", "2026-10-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completedTasks").value(12))
+                .andExpect(jsonPath("$.p50Hours").value(6.5));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_MEMBER")
+    void getCycleTime_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/cycle-time", projectId))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(taskTransitionService);
+    }
+
+    @Test
+    @WithMockUser(roles = "PROJECT_MANAGER")
+    void getCumulativeFlow_ShouldReturnETagAndNotModified() throws Exception {
+        LocalDate day = LocalDate.of(2026, 9, 1);
+        when(projectDashboardService.getCumulativeFlow(projectId, day, day)).thenReturn(CumulativeFlowResponse.builder()
+                .projectId(projectId)
+                .from(day)
+                .to(day)
+                .points(List.of(CumulativeFlowPoint.builder()
+                        .date(day)
+                        .tasksByState(Map.of(TaskState.BACKLOG, 4L))
+                        .build()))
+                .build());
+
+        String eTag = mockMvc.perform(get(API_BASE_PATH + "/{projectId}/cumulative-flow", projectId)
+                        .param("from", "2026-09-01")
+                        .param("to", "2026-09-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, private"))
+                .andExpect(jsonPath("$.points[0].tasksByState.BACKLOG").value(4))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/cumulative-flow", projectId)
+                        .param("from", "2026-09-01")
+                        .param("to", "2026-09-01")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_LEADER")
+    void getBurndown_ShouldRevalidateWindowEndingToday() throws Exception {
+        LocalDate today = LocalDate.now();
+        when(projectDashboardService.getBurndown(projectId, null, null)).thenReturn(BurndownResponse.builder()
+                .projectId(projectId)
+                .from(today)
+                .to(today)
+                .points(List.of(BurndownPoint.builder().date(today).totalTasks(5).completedTasks(2).remainingTasks(3).build()))
+                .build());
+
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/burndown", projectId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.points[0].remainingTasks").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_MEMBER")
+    void getBurndown_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/{projectId}/burndown", projectId))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(projectDashboardService);
+    }
 }
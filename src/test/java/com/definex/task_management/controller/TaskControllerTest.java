@@ -1,19 +1,35 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.BulkTaskOperationResponse;
+import com.definex.task_management.dto.BulkTaskResult;
+import com.definex.task_management.dto.BulkTaskStateUpdateRequest;
 import com.definex.task_management.dto.ProjectResponse;
+import com.definex.task_management.dto.TaskCursorPageResponse;
+import com.definex.task_management.dto.TaskFilterRequest;
+import com.definex.task_management.dto.TaskFilterResponse;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
+import com.definex.task_management.dto.TaskSearchResponse;
+import com.definex.task_management.dto.TaskSearchResult;
 import com.definex.task_management.dto.TaskStateUpdateRequest;
+import com.definex.task_management.dto.TaskSummaryResponse;
+import com.definex.task_management.dto.TaskTransitionResponse;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskExportFormat;
 import com.definex.task_management.enums.TaskPriority;
 import com.definex.task_management.enums.TaskState;
 import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.PreconditionFailedException;
+import com.definex.task_management.exception.TaskStateConflictException;
 import com.definex.task_management.mapper.UserMapper;
 import com.definex.task_management.security.CustomUserDetails;
+import com.definex.task_management.service.TaskExportService;
+import com.definex.task_management.service.TaskSearchService;
 import com.definex.task_management.service.TaskService;
+import com.definex.task_management.service.TaskTransitionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,7 +43,10 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -51,6 +70,15 @@ public class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskSearchService taskSearchService;
+
+    @MockitoBean
+    private TaskTransitionService taskTransitionService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private TaskRequest taskRequest;
@@ -216,6 +244,51 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$[0].projectId").value(projectId.toString()));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void exportTasksUnderProject_ShouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(("id,title\n" + taskId + ",Test Task\n").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(taskExportService).exportTasksUnderProject(eq(projectId), eq(TaskExportFormat.CSV), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get(API_BASE_PATH + "/project/{projectId}/export", projectId)
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"project-" + projectId + "-tasks.csv\""))
+                .andExpect(content().string("id,title\n" + taskId + ",Test Task\n"));
+
+        verify(taskExportService).validateExportAccess(projectId);
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_MANAGER", "Engineering"})
+    void exportTasksUnderProject_ShouldReturnForbidden_WhenNoProjectAccess() throws Exception {
+        doThrow(new DeniedAccessException("User is not assigned to this project"))
+                .when(taskExportService).validateExportAccess(projectId);
+
+        mockMvc.perform(get(API_BASE_PATH + "/project/{projectId}/export", projectId))
+                .andExpect(status().isForbidden());
+
+        verify(taskExportService, never()).exportTasksUnderProject(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void exportTasksUnderProject_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/project/{projectId}/export", projectId))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(taskExportService);
+    }
+
     @Test
     @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
     void updateTask_ShouldReturnOk() throws Exception {
@@ -230,6 +303,37 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value(taskRequest.getTitle()));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void updateTask_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        taskResponse.setVersion(4L);
+        when(taskService.updateTask(eq(taskId), any(TaskRequest.class), eq(3L))).thenReturn(taskResponse);
+
+        mockMvc.perform(put(API_BASE_PATH + "/{taskId}", taskId)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
+    void updateTask_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        when(taskService.updateTask(eq(taskId), any(TaskRequest.class), eq(3L)))
+                .thenThrow(new PreconditionFailedException("Task has been modified, current version is 4"));
+
+        mockMvc.perform(put(API_BASE_PATH + "/{taskId}", taskId)
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(taskRequest)))
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message").value("Task has been modified, current version is 4"));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
     void updateTask_ShouldReturnForbidden() throws Exception {
@@ -292,6 +396,24 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(taskId.toString()));
     }
 
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void updateTaskState_ShouldReturnConflict_WhenStateChangedConcurrently() throws Exception {
+        TaskStateUpdateRequest stateRequest = TaskStateUpdateRequest.builder()
+                .newState(TaskState.IN_ANALYSIS)
+                .build();
+        when(taskService.updateTaskState(taskId, TaskState.IN_ANALYSIS, null))
+                .thenThrow(new TaskStateConflictException(taskId, TaskState.CANCELLED));
+
+        mockMvc.perform(patch(API_BASE_PATH + "/{taskId}/state", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stateRequest)))
+                .andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.taskId").value(taskId.toString()))
+                .andExpect(jsonPath("$.currentState").value("CANCELLED"));
+    }
+
     @Test
     @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_GROUP_MANAGER", "Engineering"})
     void updateTaskPriority_ShouldReturnOk() throws Exception {
@@ -337,4 +459,186 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("User is not assigned to this task"));
     }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_MANAGER", "Engineering"})
+    void bulkUpdateTaskState_ShouldReturnOk() throws Exception {
+        BulkTaskStateUpdateRequest request = BulkTaskStateUpdateRequest.builder()
+                .taskIds(Set.of(taskId))
+                .newState(TaskState.IN_ANALYSIS)
+                .build();
+        BulkTaskOperationResponse response = BulkTaskOperationResponse.builder()
+                .requested(1)
+                .succeeded(1)
+                .results(List.of(BulkTaskResult.builder().taskId(taskId).success(true).build()))
+                .build();
+        when(taskService.bulkUpdateTaskState(any(BulkTaskStateUpdateRequest.class))).thenReturn(response);
+
+        mockMvc.perform(patch(API_BASE_PATH + "/bulk/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].taskId").value(taskId.toString()));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_PROJECT_MANAGER", "Engineering"})
+    void bulkUpdateTaskState_ShouldReturnBadRequest_WhenNoTaskIds() throws Exception {
+        BulkTaskStateUpdateRequest request = BulkTaskStateUpdateRequest.builder()
+                .taskIds(Set.of())
+                .newState(TaskState.IN_ANALYSIS)
+                .build();
+
+        mockMvc.perform(patch(API_BASE_PATH + "/bulk/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).bulkUpdateTaskState(any());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void bulkAssignUserToTasks_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/bulk/assignees/{userId}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskIds\":[\"" + taskId + "\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void searchTasks_ShouldReturnRankedResults() throws Exception {
+        TaskSearchResponse response = TaskSearchResponse.builder()
+                .query("login")
+                .results(List.of(TaskSearchResult.builder()
+                        .id(taskId)
+                        .projectId(projectId)
+                        .title("Login page")
+                        .state(TaskState.BACKLOG)
+                        .priority(TaskPriority.HIGH)
+                        .rank(0.6)
+                        .matchedComments(1L)
+                        .build()))
+                .page(1)
+                .size(10)
+                .totalElements(11)
+                .totalPages(2)
+                .build();
+        when(taskSearchService.searchTasks("login", projectId, 1, 10)).thenReturn(response);
+
+        mockMvc.perform(get(API_BASE_PATH + "/search")
+                        .param("q", "login")
+                        .param("projectId", projectId.toString())
+                        .param("page", "1")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value(taskId.toString()))
+                .andExpect(jsonPath("$.results[0].matchedComments").value(1))
+                .andExpect(jsonPath("$.totalElements").value(11));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void searchTasks_ShouldReturnBadRequest_WhenPageSizeTooLarge() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/search")
+                        .param("q", "login")
+                        .param("size", "500"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskSearchService);
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_LEADER", "Engineering"})
+    void filterTasks_ShouldBindCriteriaFromQueryParameters() throws Exception {
+        TaskFilterRequest expectedFilter = TaskFilterRequest.builder()
+                .states(Set.of(TaskState.IN_DEVELOPMENT, TaskState.BLOCKED))
+                .priorities(Set.of(TaskPriority.CRITICAL))
+                .assigneeId(userId)
+                .build();
+        TaskFilterResponse response = TaskFilterResponse.builder()
+                .results(List.of(TaskSummaryResponse.builder()
+                        .id(taskId)
+                        .title("Login page")
+                        .state(TaskState.IN_DEVELOPMENT)
+                        .priority(TaskPriority.CRITICAL)
+                        .projectId(projectId)
+                        .build()))
+                .page(0)
+                .size(20)
+                .totalElements(1)
+                .totalPages(1)
+                .build();
+        when(taskSearchService.filterTasks(expectedFilter, 0, 20)).thenReturn(response);
+
+        mockMvc.perform(get(API_BASE_PATH + "/filter")
+                        .param("states", "IN_DEVELOPMENT", "BLOCKED")
+                        .param("priorities", "CRITICAL")
+                        .param("assigneeId", userId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value(taskId.toString()))
+                .andExpect(jsonPath("$.results[0].priority").value("CRITICAL"))
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void filterTasks_ShouldReturnBadRequest_ForUnknownState() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/filter")
+                        .param("states", "DONE"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(taskSearchService);
+    }
+
+    @Test
+    @WithMockUser(username = "test@example.com", authorities = {"ROLE_TEAM_MEMBER", "Engineering"})
+    void getMyTasks_ShouldReturnCursorPage() throws Exception {
+        UUID after = UUID.randomUUID();
+        TaskCursorPageResponse response = TaskCursorPageResponse.builder()
+                .results(List.of(TaskSummaryResponse.builder()
+                        .id(taskId)
+                        .title("Login page")
+                        .state(TaskState.BLOCKED)
+                        .build()))
+                .size(1)
+                .hasMore(true)
+                .nextCursor(taskId)
+                .build();
+        when(taskSearchService.getMyTasks(Set.of(TaskState.BLOCKED), null, after, 1)).thenReturn(response);
+
+        mockMvc.perform(get(API_BASE_PATH + "/mine")
+                        .param("states", "BLOCKED")
+                        .param("after", after.toString())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].id").value(taskId.toString()))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value(taskId.toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void getTaskTransitions_ShouldReturnHistory() throws Exception {
+        when(taskTransitionService.getTaskHistory(taskId)).thenReturn(List.of(
+                TaskTransitionResponse.builder().taskId(taskId).toState(TaskState.BACKLOG).build(),
+                TaskTransitionResponse.builder().taskId(taskId).fromState(TaskState.BACKLOG)
+                        .toState(TaskState.IN_ANALYSIS).build()));
+
+        mockMvc.perform(get(API_BASE_PATH + "/{taskId}/transitions", taskId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].fromState").value("BACKLOG"))
+                .andExpect(jsonPath("$[1].toState").value("IN_ANALYSIS"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void getTaskTransitions_ShouldReturnNotFound() throws Exception {
+        when(taskTransitionService.getTaskHistory(taskId))
+                .thenThrow(new EntityNotFoundException("Task not found with id: " + taskId));
+
+        mockMvc.perform(get(API_BASE_PATH + "/{taskId}/transitions", taskId))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,140 @@
+package com.definex.task_management.controller;
+
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskImportStatus;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.service.TaskImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskImportControllerTest {
+    private static final String API_BASE_PATH = "/api/v1/task-imports";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TaskImportService taskImportService;
+
+    private UUID importId;
+    private UUID projectId;
+    private TaskImportResponse importResponse;
+
+    @BeforeEach
+    void setUp() {
+        importId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+
+        importResponse = TaskImportResponse.builder()
+                .id(importId)
+                .projectId(projectId)
+                .format(TaskExportFormat.CSV)
+                .status(TaskImportStatus.COMPLETED)
+                .stagedThroughLine(2)
+                .stagedRecords(2)
+                .mergedTasks(2)
+                .errors(List.of())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = {"PROJECT_MANAGER"})
+    void startImport_ShouldPassRequestBodyToService() throws Exception {
+        String body = "external_id,title\nT-1,Login\nT-2,Signup\n";
+        when(taskImportService.startImport(eq(projectId), eq(TaskExportFormat.CSV), any(InputStream.class)))
+                .thenAnswer(invocation -> {
+                    InputStream inputStream = invocation.getArgument(2);
+                    assertEquals(body, new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+                    return importResponse;
+                });
+
+        mockMvc.perform(post(API_BASE_PATH + "/project/{projectId}", projectId)
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(importId.toString()))
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.mergedTasks").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"PROJECT_MANAGER"})
+    void startImport_ShouldReturnForbidden_WhenNoProjectAccess() throws Exception {
+        when(taskImportService.startImport(eq(projectId), eq(TaskExportFormat.NDJSON), any(InputStream.class)))
+                .thenThrow(new DeniedAccessException("User is not assigned to this project"));
+
+        mockMvc.perform(post(API_BASE_PATH + "/project/{projectId}", projectId)
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_MEMBER"})
+    void startImport_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(post(API_BASE_PATH + "/project/{projectId}", projectId)
+                        .contentType("application/x-ndjson")
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(taskImportService);
+    }
+
+    @Test
+    @WithMockUser(roles = {"PROJECT_GROUP_MANAGER"})
+    void resumeImport_ShouldReturnOk() throws Exception {
+        when(taskImportService.resumeImport(eq(importId), any(InputStream.class))).thenReturn(importResponse);
+
+        mockMvc.perform(post(API_BASE_PATH + "/{importId}/resume", importId)
+                        .contentType("text/csv")
+                        .content("external_id,title\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stagedThroughLine").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void getImport_ShouldReturnOk() throws Exception {
+        when(taskImportService.getImport(importId)).thenReturn(importResponse);
+
+        mockMvc.perform(get(API_BASE_PATH + "/{importId}", importId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.projectId").value(projectId.toString()))
+                .andExpect(jsonPath("$.format").value("CSV"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"TEAM_LEADER"})
+    void getImport_ShouldReturnNotFound() throws Exception {
+        when(taskImportService.getImport(importId))
+                .thenThrow(new EntityNotFoundException("Task import not found with id: " + importId));
+
+        mockMvc.perform(get(API_BASE_PATH + "/{importId}", importId))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -1,10 +1,13 @@
 package com.definex.task_management.controller;
 
+import com.definex.task_management.dto.DepartmentWorkloadResponse;
 import com.definex.task_management.dto.UserRequest;
 import com.definex.task_management.dto.UserResponse;
+import com.definex.task_management.dto.UserWorkloadResponse;
 import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.service.UserService;
+import com.definex.task_management.service.WorkloadService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -41,6 +44,9 @@ public class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private WorkloadService workloadService;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private UserRequest userRequest;
@@ -212,4 +218,28 @@ public class UserControllerTest {
 
         verify(userService).deleteUser(userId);
     }
+
+    @Test
+    @WithMockUser(roles = "TEAM_LEADER")
+    void getDepartmentWorkload_ShouldReturnOk() throws Exception {
+        when(workloadService.getDepartmentWorkload("Engineering")).thenReturn(DepartmentWorkloadResponse.builder()
+                .department("Engineering")
+                .openTasks(4)
+                .users(List.of(UserWorkloadResponse.builder().userId(userId).openTasks(4).build()))
+                .build());
+
+        mockMvc.perform(get(API_BASE_PATH + "/department/{department}/workload", "Engineering"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openTasks").value(4))
+                .andExpect(jsonPath("$.users[0].userId").value(userId.toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "TEAM_MEMBER")
+    void getDepartmentWorkload_ShouldReturnForbidden_ForTeamMember() throws Exception {
+        mockMvc.perform(get(API_BASE_PATH + "/department/{department}/workload", "Engineering"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(workloadService);
+    }
 }
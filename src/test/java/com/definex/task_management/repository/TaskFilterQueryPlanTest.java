@@ -0,0 +1,207 @@
+package com.definex.task_management.repository;
+
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the filter queries' EXPLAIN on Postgres over enough rows for the
+ * planner to choose between sequential scans and the composite indexes.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.definex.task_management.repository.TaskFilterQueryPlanTest$CapturingInspector"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@ActiveProfiles("test")
+class TaskFilterQueryPlanTest {
+    private static final String SEQ_SCAN = "Seq Scan";
+    private static final int USERS = 5_000;
+    private static final int PROJECTS = 20_000;
+    private static final int DEPARTMENTS = 50;
+    private static final int TASKS = 200_000;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static boolean seeded;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void departmentWideStateAndPriorityFilter_UsesIndexes() {
+        assertNoSeqScans(Specification.allOf(
+                TaskSpecifications.inDepartment("IT"),
+                TaskSpecifications.hasStates(Set.of(TaskState.IN_DEVELOPMENT)),
+                TaskSpecifications.hasPriorities(Set.of(TaskPriority.CRITICAL))));
+    }
+
+    @Test
+    void assigneeFilterForProjectMember_UsesIndexes() {
+        assertNoSeqScans(Specification.allOf(
+                TaskSpecifications.inDepartment("IT"),
+                TaskSpecifications.visibleTo(id(1)),
+                TaskSpecifications.hasStates(Set.of(TaskState.IN_DEVELOPMENT)),
+                TaskSpecifications.hasPriorities(Set.of(TaskPriority.CRITICAL)),
+                TaskSpecifications.assignedTo(id(1))));
+    }
+
+    @Test
+    void projectAndStateFilter_UsesIndexes() {
+        assertNoSeqScans(Specification.allOf(
+                TaskSpecifications.inDepartment("IT"),
+                TaskSpecifications.visibleTo(id(1)),
+                TaskSpecifications.inProject(id(DEPARTMENTS)),
+                TaskSpecifications.hasStates(Set.of(TaskState.BACKLOG, TaskState.BLOCKED))));
+    }
+
+    @Test
+    void assigneeOnlyFilter_UsesIndexes() {
+        assertNoSeqScans(Specification.allOf(
+                TaskSpecifications.inDepartment("IT"),
+                TaskSpecifications.assignedTo(id(1))));
+    }
+
+    private void assertNoSeqScans(Specification<Task> specification) {
+        taskRepository.findAll(specification, PageRequest.of(1, 20, Sort.by("id")));
+
+        List<String> statements = List.copyOf(CapturingInspector.STATEMENTS);
+        assertEquals(2, statements.size(), "expected a page query and a count query");
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(SEQ_SCAN), () -> "Sequential scan in plan:\n" + plan);
+        }
+    }
+
+    /**
+     * Spreads the tasks evenly over projects, states and priorities, with one
+     * assignee each and five members per project, then refreshes statistics.
+     */
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, deleted, department, email, name, password, role) " +
+                "SELECT " + idSql("i") + ", false, 'D' || (i % " + DEPARTMENTS + "), " +
+                "'user' || i || '@example.com', 'User ' || i, 'secret', 'TEAM_MEMBER' " +
+                "FROM generate_series(1, " + USERS + ") i");
+        jdbcTemplate.update("INSERT INTO projects (id, deleted, department, title, status, version) " +
+                "SELECT " + idSql("i") + ", false, " +
+                "CASE WHEN i % " + DEPARTMENTS + " = 0 THEN 'IT' ELSE 'D' || (i % " + DEPARTMENTS + ") END, " +
+                "'Project ' || i, 'IN_PROGRESS', 0 FROM generate_series(1, " + PROJECTS + ") i");
+        jdbcTemplate.update("INSERT INTO project_team_members (project_id, user_id) " +
+                "SELECT " + idSql("p") + ", " + idSql("(p + m) % " + USERS + " + 1") + " " +
+                "FROM generate_series(1, " + PROJECTS + ") p, generate_series(0, 4) m");
+        jdbcTemplate.update("INSERT INTO tasks (id, deleted, version, attachment_count, comment_count, " +
+                "total_attachment_bytes, title, state, priority, project_id) " +
+                "SELECT " + idSql("i") + ", false, 0, 0, 0, 0, 'Task ' || i, " +
+                "(ARRAY[" + enumValues(TaskState.values()) + "])[i % " + TaskState.values().length + " + 1], " +
+                "(ARRAY[" + enumValues(TaskPriority.values()) + "])[i / 7 % " + TaskPriority.values().length + " + 1], " +
+                idSql("i % " + PROJECTS + " + 1") + " FROM generate_series(1, " + TASKS + ") i");
+        jdbcTemplate.update("INSERT INTO task_assignees (task_id, user_id) " +
+                "SELECT " + idSql("i") + ", " + idSql("i % " + USERS + " + 1") + " " +
+                "FROM generate_series(1, " + TASKS + ") i");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String idSql(String number) {
+        return "('00000000-0000-0000-0000-' || lpad(to_hex(" + number + "), 12, '0'))::uuid";
+    }
+
+    private static UUID id(int number) {
+        return UUID.fromString(String.format("00000000-0000-0000-0000-%012x", number));
+    }
+
+    private static String enumValues(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Plans the statement as Hibernate prepared it. The generic plan is the one
+     * reused for every parameter value, so the arguments can all be null.
+     */
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = String.join(", ", Collections.nCopies(parameters, "NULL"));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("PREPARE filter_query AS " + numbered);
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rows = statement.executeQuery("EXPLAIN EXECUTE filter_query(" + arguments + ")")) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                statement.execute("DEALLOCATE filter_query");
+                statement.execute("RESET plan_cache_mode");
+                return plan.toString();
+            }
+        });
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.AttachmentArchive;
+import com.definex.task_management.dto.AttachmentArchiveEntry;
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentArchiveServiceImplTest {
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @TempDir
+    Path tempDir;
+
+    private AttachmentArchiveServiceImpl archiveService;
+    private User user;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        archiveService = new AttachmentArchiveServiceImpl(attachmentRepository, taskRepository, projectRepository,
+                new LocalAttachmentStorage(fileStore));
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.TEAM_MEMBER)
+                .department("IT")
+                .build();
+        project = Project.builder()
+                .id(UUID.randomUUID())
+                .title("Test Project")
+                .department("IT")
+                .build();
+        task = Task.builder()
+                .id(UUID.randomUUID())
+                .title("Login / Signup")
+                .project(project)
+                .assignees(new HashSet<>(Set.of(user)))
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(projectRepository.isTeamMember(project.getId(), user.getId())).thenReturn(true);
+    }
+
+    @Test
+    void getTaskArchive_NumbersDuplicateFileNames() {
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(attachmentRepository.findByTaskId(task.getId())).thenReturn(List.of(
+                attachment("spec.pdf", LocalDateTime.now().minusDays(2)),
+                attachment("Spec.pdf", LocalDateTime.now().minusDays(1)),
+                attachment("notes", LocalDateTime.now())));
+
+        AttachmentArchive archive = archiveService.getTaskArchive(task.getId());
+
+        assertEquals("task-" + task.getId() + "-attachments.zip", archive.getFileName());
+        assertEquals(List.of("spec.pdf", "Spec (2).pdf", "notes"),
+                archive.getEntries().stream().map(AttachmentArchiveEntry::getName).toList());
+    }
+
+    @Test
+    void getTaskArchive_DeniesTeamMemberNotAssignedToTask() {
+        task.setAssignees(new HashSet<>());
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        assertThrows(DeniedAccessException.class, () -> archiveService.getTaskArchive(task.getId()));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void getProjectArchive_GivesTeamMemberOnlyAssignedTasksInFolders() {
+        when(projectRepository.findById(project.getId())).thenReturn(Optional.of(project));
+        when(attachmentRepository.findByProjectIdAndAssigneeId(project.getId(), user.getId()))
+                .thenReturn(List.of(attachment("spec.pdf", LocalDateTime.now())));
+
+        AttachmentArchive archive = archiveService.getProjectArchive(project.getId());
+
+        assertEquals("Login _ Signup (" + task.getId().toString().substring(0, 8) + ")/spec.pdf",
+                archive.getEntries().get(0).getName());
+        verify(attachmentRepository, never()).findByProjectId(any());
+    }
+
+    @Test
+    void getProjectArchive_DeniesUserFromAnotherDepartment() {
+        project.setDepartment("Finance");
+        when(projectRepository.findById(project.getId())).thenReturn(Optional.of(project));
+
+        assertThrows(DeniedAccessException.class, () -> archiveService.getProjectArchive(project.getId()));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void writeArchive_StoresCompressedContentAndDeflatesTheRest() throws IOException {
+        byte[] photo = new byte[10_000];
+        for (int i = 0; i < photo.length; i++) {
+            photo[i] = (byte) (i * 31);
+        }
+        String notes = "meeting notes ".repeat(500);
+        Files.write(tempDir.resolve("photo-blob"), photo);
+        Files.writeString(tempDir.resolve("notes-blob"), notes);
+        AttachmentArchive archive = AttachmentArchive.builder()
+                .fileName("task-attachments.zip")
+                .entries(List.of(
+                        entry("photo.jpg", "image/jpeg", "photo-blob"),
+                        entry("missing.txt", "text/plain", "missing-blob"),
+                        entry("notes.txt", "text/plain", "notes-blob")))
+                .build();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        archiveService.writeArchive(archive, outputStream);
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            ZipEntry first = zip.getNextEntry();
+            assertEquals("photo.jpg", first.getName());
+            assertEquals(ZipEntry.STORED, first.getMethod());
+            assertArrayEquals(photo, zip.readAllBytes());
+
+            ZipEntry second = zip.getNextEntry();
+            assertEquals("notes.txt", second.getName());
+            assertEquals(ZipEntry.DEFLATED, second.getMethod());
+            assertEquals(notes, new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+
+            assertNull(zip.getNextEntry());
+        }
+        assertTrue(outputStream.size() < photo.length + notes.length());
+    }
+
+    @Test
+    void isCompressed_UsesContentTypeAndExtension() {
+        assertTrue(AttachmentArchiveServiceImpl.isCompressed("photo", "image/png"));
+        assertTrue(AttachmentArchiveServiceImpl.isCompressed("clip.bin", "video/mp4; codecs=avc1"));
+        assertTrue(AttachmentArchiveServiceImpl.isCompressed("report.DOCX", "application/octet-stream"));
+        assertFalse(AttachmentArchiveServiceImpl.isCompressed("diagram.svg", "image/svg+xml"));
+        assertFalse(AttachmentArchiveServiceImpl.isCompressed("notes.txt", "text/plain"));
+    }
+
+    private Attachment attachment(String fileName, LocalDateTime uploadDate) {
+        return Attachment.builder()
+                .id(UUID.randomUUID())
+                .fileName(fileName)
+                .fileType("application/pdf")
+                .filePath("blobs/" + fileName)
+                .fileSize(10L)
+                .task(task)
+                .uploadDate(uploadDate)
+                .build();
+    }
+
+    private static AttachmentArchiveEntry entry(String name, String fileType, String filePath) {
+        return AttachmentArchiveEntry.builder()
+                .attachmentId(UUID.randomUUID())
+                .name(name)
+                .fileType(fileType)
+                .filePath(filePath)
+                .uploadDate(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.definex.task_management.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AttachmentContentCacheTest {
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentContentCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        cache = new AttachmentContentCache(DataSize.ofBytes(100), DataSize.ofBytes(60), 2, meterRegistryProvider);
+    }
+
+    @Test
+    void get_AdmitsContentOnlyOnceRequestedRepeatedly() throws IOException {
+        Path file = write("logo", "x".repeat(40));
+
+        assertTrue(get("logo", file).isEmpty());
+        Optional<ByteBuffer> admitted = get("logo", file);
+        Optional<ByteBuffer> hit = get("logo", file);
+
+        assertEquals("x".repeat(40), text(admitted.orElseThrow()));
+        assertEquals("x".repeat(40), text(hit.orElseThrow()));
+        assertTrue(hit.get().isDirect());
+        assertTrue(hit.get().isReadOnly());
+        assertEquals(40L, cache.residentBytes());
+        assertEquals(1.0, meterRegistry.get("app.attachments.cache.hits").functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("app.attachments.cache.misses").functionCounter().count());
+        assertEquals(1.0 / 3, meterRegistry.get("app.attachments.cache.hit.ratio").gauge().value(), 1e-9);
+        assertEquals(40.0, meterRegistry.get("app.attachments.cache.resident").gauge().value());
+    }
+
+    @Test
+    void get_KeepsFrequentEntryUntilCandidateIsRequestedMoreOften() throws IOException {
+        Path logo = write("logo", "l".repeat(60));
+        Path spec = write("spec", "s".repeat(60));
+        for (int i = 0; i < 4; i++) {
+            get("logo", logo);
+        }
+
+        assertTrue(get("spec", spec).isEmpty());
+        assertTrue(get("spec", spec).isEmpty());
+        assertTrue(get("logo", logo).isPresent());
+        assertEquals(1, cache.size());
+
+        for (int i = 0; i < 4; i++) {
+            get("spec", spec);
+        }
+
+        assertEquals("s".repeat(60), text(get("spec", spec).orElseThrow()));
+        assertEquals(60L, cache.residentBytes());
+        assertEquals(1.0, meterRegistry.get("app.attachments.cache.evictions").functionCounter().count());
+    }
+
+    @Test
+    void get_LeavesLargeFilesOnDisk() throws IOException {
+        Path file = write("video", "v".repeat(61));
+
+        get("video", file);
+        get("video", file);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_DropsEntry() throws IOException {
+        Path file = write("logo", "x".repeat(40));
+        get("logo", file);
+        get("logo", file);
+
+        cache.invalidate("logo");
+
+        assertEquals(0L, cache.residentBytes());
+        assertEquals(0, cache.size());
+    }
+
+    private Optional<ByteBuffer> get(String key, Path file) throws IOException {
+        return cache.get(key, file, Files.size(file));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+
+    private static String text(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+}
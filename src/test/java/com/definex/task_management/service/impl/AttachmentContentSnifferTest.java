@@ -0,0 +1,67 @@
+package com.definex.task_management.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AttachmentContentSnifferTest {
+
+    @Test
+    void sniff_RecognisesMagicNumbers() {
+        assertEquals("image/png", sniff(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 13));
+        assertEquals("image/jpeg", sniff(0xFF, 0xD8, 0xFF, 0xE0));
+        assertEquals("application/pdf", sniff('%', 'P', 'D', 'F', '-', '1', '.', '7'));
+        assertEquals("application/zip", sniff('P', 'K', 0x03, 0x04, 0x14, 0x00));
+        assertEquals("image/webp", sniff('R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P'));
+        assertEquals("video/quicktime", sniff(0, 0, 0, 0x14, 'f', 't', 'y', 'p', 'q', 't', ' ', ' '));
+        assertEquals("application/x-ole-storage", sniff(0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1));
+    }
+
+    @Test
+    void sniff_TellsTextFromBinary() {
+        assertEquals("text/plain", sniff("id,name\n1,Ada\n"));
+        assertEquals("image/svg+xml", sniff("<?xml version=\"1.0\"?>\n<svg xmlns=\"http://www.w3.org/2000/svg\"/>"));
+        assertEquals("text/html", sniff("  <!DOCTYPE html><html></html>"));
+        assertNull(sniff('a', 'b', 0, 'c'));
+        assertNull(sniff('a', 0xC3, 0x28));
+        assertNull(AttachmentContentSniffer.sniff(new byte[0], 0));
+    }
+
+    @Test
+    void sniff_AcceptsMultiByteCharacterCutOffAtEndOfHead() {
+        byte[] text = "naïve çaç".getBytes(StandardCharsets.UTF_8);
+        byte[] head = Arrays.copyOf(text, text.length - 1);
+
+        assertEquals("text/plain", AttachmentContentSniffer.sniff(head, head.length));
+        assertEquals("naïve ça", AttachmentContentSniffer.decodeText(head, head.length));
+    }
+
+    @Test
+    void resolve_KeepsClaimedTypeOnlyWithinSameFamily() {
+        String docx = "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+        assertEquals(docx, AttachmentContentSniffer.resolve(docx, "application/zip"));
+        assertEquals("text/csv", AttachmentContentSniffer.resolve("text/csv", "text/plain"));
+        assertEquals("application/msword", AttachmentContentSniffer.resolve("application/msword", "application/x-ole-storage"));
+        assertEquals("image/jpeg", AttachmentContentSniffer.resolve("image/png", "image/jpeg"));
+        assertEquals("application/pdf", AttachmentContentSniffer.resolve("text/plain", "application/pdf"));
+        assertEquals("image/png", AttachmentContentSniffer.resolve("application/octet-stream", "image/png"));
+        assertEquals("text/markdown", AttachmentContentSniffer.resolve("text/markdown", null));
+        assertEquals("application/octet-stream", AttachmentContentSniffer.resolve(null, null));
+    }
+
+    private static String sniff(int... bytes) {
+        byte[] head = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            head[i] = (byte) bytes[i];
+        }
+        return AttachmentContentSniffer.sniff(head, head.length);
+    }
+
+    private static String sniff(String text) {
+        byte[] head = text.getBytes(StandardCharsets.UTF_8);
+        return AttachmentContentSniffer.sniff(head, head.length);
+    }
+}
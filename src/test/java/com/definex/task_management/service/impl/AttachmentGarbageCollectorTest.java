@@ -0,0 +1,238 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.AttachmentUploadRepository;
+import com.definex.task_management.repository.projection.BlobReferenceView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentGarbageCollectorTest {
+    private static final String FIRST = "a".repeat(64);
+    private static final String SECOND = "b".repeat(64);
+    private static final String THIRD = "c".repeat(64);
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentUploadRepository uploadRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentGarbageCollector collector;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        collector = new AttachmentGarbageCollector(blobRepository, attachmentRepository, uploadRepository,
+                new LocalAttachmentStorage(fileStore), fileStore, transactionManager,
+                Duration.ofHours(1), Duration.ofDays(7), 1, 0, meterRegistryProvider);
+    }
+
+    @Test
+    void collect_MergesListingWithBlobRows() throws IOException {
+        writeBlob(FIRST);
+        writeBlob(THIRD);
+        returnRows(row(SECOND, 1, 1), row(THIRD, 1, 1));
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(3, result.scanned());
+        assertEquals(1, result.quarantined());
+        assertEquals(1, result.missing());
+        assertQuarantined(FIRST);
+        assertTrue(Files.exists(tempDir.resolve(AttachmentBlobStore.blobKey(THIRD))));
+        verify(blobRepository).claim(eq(FIRST), any(LocalDateTime.class));
+        verify(blobRepository).deleteByChecksum(FIRST);
+        verify(blobRepository, never()).claim(eq(THIRD), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.get("app.attachments.gc.missing").gauge().value());
+        assertEquals(1.0, meterRegistry.get("app.attachments.gc.quarantined").functionCounter().count());
+    }
+
+    @Test
+    void collect_CollectsContentOfDeletedTasks() throws IOException {
+        writeBlob(FIRST);
+        returnRows(row(FIRST, 2, 0));
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(1, result.quarantined());
+        assertQuarantined(FIRST);
+        verify(attachmentRepository).softDeleteByChecksum(FIRST);
+        verify(blobRepository).deleteByChecksum(FIRST);
+    }
+
+    @Test
+    void collect_KeepsContentReferencedByConcurrentUpload() throws IOException {
+        writeBlob(FIRST);
+        returnRows();
+        when(attachmentRepository.countLiveByChecksum(FIRST)).thenReturn(1L);
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(0, result.quarantined());
+        assertTrue(Files.exists(tempDir.resolve(AttachmentBlobStore.blobKey(FIRST))));
+        verify(blobRepository, never()).deleteByChecksum(anyString());
+        verify(attachmentRepository, never()).softDeleteByChecksum(anyString());
+    }
+
+    @Test
+    void collect_LeavesFilesYoungerThanGracePeriod() throws IOException {
+        Path file = writeBlob(FIRST);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        returnRows();
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(0, result.quarantined());
+        assertTrue(Files.exists(file));
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void collect_DropsUnreferencedRowWithoutFile() {
+        returnRows(row(FIRST, 0, 0));
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(1, result.quarantined());
+        assertEquals(0, result.missing());
+        verify(blobRepository).deleteByChecksum(FIRST);
+    }
+
+    @Test
+    void collect_PurgesExpiredQuarantine() throws IOException {
+        returnRows();
+        Path expired = tempDir.resolve(AttachmentGarbageCollector.QUARANTINE_DIRECTORY).resolve("2000-01-01").resolve(FIRST);
+        Path recent = tempDir.resolve(AttachmentGarbageCollector.QUARANTINE_DIRECTORY)
+                .resolve(LocalDate.now().toString()).resolve(SECOND);
+        Files.createDirectories(expired.getParent());
+        Files.createDirectories(recent.getParent());
+        Files.writeString(expired, "old");
+        Files.writeString(recent, "new");
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(1, result.purged());
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent));
+    }
+
+    @Test
+    void collect_RemovesStaleUploadFilesButKeepsUploadsInProgress() throws IOException {
+        returnRows();
+        Path uploads = tempDir.resolve(AttachmentFileStore.UPLOADS_DIRECTORY);
+        Path leftover = uploads.resolve("leftover.tmp");
+        Path inProgress = uploads.resolve("chunked.part");
+        Path fresh = uploads.resolve("fresh.tmp");
+        Files.writeString(leftover, "x");
+        Files.writeString(inProgress, "x");
+        Files.writeString(fresh, "x");
+        age(leftover);
+        age(inProgress);
+        when(uploadRepository.existsByFilePath(inProgress.toString())).thenReturn(true);
+
+        AttachmentGarbageCollector.Result result = collector.collect();
+
+        assertEquals(1, result.uploadsRemoved());
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(inProgress));
+        assertTrue(Files.exists(fresh));
+    }
+
+    private Path writeBlob(String checksum) throws IOException {
+        Path file = tempDir.resolve(AttachmentBlobStore.blobKey(checksum));
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "content");
+        age(file);
+        return file;
+    }
+
+    private static void age(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+    }
+
+    private void assertQuarantined(String checksum) {
+        assertFalse(Files.exists(tempDir.resolve(AttachmentBlobStore.blobKey(checksum))));
+        assertTrue(Files.exists(tempDir.resolve(AttachmentGarbageCollector.QUARANTINE_DIRECTORY)
+                .resolve(LocalDate.now().toString()).resolve(checksum)));
+    }
+
+    private void returnRows(BlobReferenceView... rows) {
+        when(blobRepository.findReferencesAfter(anyString(), anyInt())).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return Arrays.stream(rows)
+                    .filter(row -> row.getChecksum().compareTo(after) > 0)
+                    .limit(limit)
+                    .toList();
+        });
+    }
+
+    private static BlobReferenceView row(String checksum, int refCount, long liveReferences) {
+        return new BlobReferenceView() {
+            @Override
+            public String getChecksum() {
+                return checksum;
+            }
+
+            @Override
+            public Integer getRefCount() {
+                return refCount;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.now().minusDays(2);
+            }
+
+            @Override
+            public Long getLiveReferences() {
+                return liveReferences;
+            }
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentLayoutMigratorTest {
+    private static final String TEST_CONTENT_SHA256 =
+            "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentProcessor processor;
+
+    @Mock
+    private AttachmentContentCache contentCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private AttachmentLayoutMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        LocalAttachmentStorage storage = new LocalAttachmentStorage(fileStore);
+        AttachmentBlobStore blobStore =
+                new AttachmentBlobStore(blobRepository, storage, processor, contentCache, transactionManager);
+        migrator = new AttachmentLayoutMigrator(attachmentRepository, blobStore, transactionManager, 10);
+    }
+
+    @Test
+    void migrate_MovesFlatBlobToShardedKey() throws IOException {
+        String flatKey = AttachmentBlobStore.flatBlobKey(TEST_CONTENT_SHA256);
+        Files.createDirectories(tempDir.resolve(AttachmentBlobStore.BLOBS_DIRECTORY));
+        Files.writeString(tempDir.resolve(flatKey), "test content");
+        Attachment attachment = attachment(flatKey, TEST_CONTENT_SHA256);
+        returnBatches(attachment);
+        when(blobRepository.lock(TEST_CONTENT_SHA256)).thenReturn(Optional.of(TEST_CONTENT_SHA256));
+
+        assertEquals(1, migrator.migrate());
+
+        String key = AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256);
+        assertFalse(Files.exists(tempDir.resolve(flatKey)));
+        assertEquals("test content", Files.readString(tempDir.resolve(key)));
+        verify(attachmentRepository).updateBlobPath(TEST_CONTENT_SHA256, flatKey, key);
+    }
+
+    @Test
+    void migrate_SkipsFlatBlobThatWasPurged() throws IOException {
+        String flatKey = AttachmentBlobStore.flatBlobKey(TEST_CONTENT_SHA256);
+        Files.createDirectories(tempDir.resolve(AttachmentBlobStore.BLOBS_DIRECTORY));
+        Files.writeString(tempDir.resolve(flatKey), "test content");
+        returnBatches(attachment(flatKey, TEST_CONTENT_SHA256));
+        when(blobRepository.lock(TEST_CONTENT_SHA256)).thenReturn(Optional.empty());
+
+        assertEquals(0, migrator.migrate());
+
+        verify(attachmentRepository, never()).updateBlobPath(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void migrate_HashesLegacyFileAndMovesItIntoBlob() throws IOException {
+        Path legacyFile = tempDir.resolve(UUID.randomUUID() + "_notes.txt");
+        Files.writeString(legacyFile, "test content", StandardCharsets.UTF_8);
+        Attachment attachment = attachment(legacyFile.toString(), null);
+        returnBatches(attachment);
+        String key = AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256);
+        when(attachmentRepository.moveToBlob(attachment.getId(), legacyFile.toString(), key, TEST_CONTENT_SHA256))
+                .thenReturn(1);
+
+        assertEquals(1, migrator.migrate());
+
+        verify(blobRepository).acquire(eq(TEST_CONTENT_SHA256), eq(12L), any(LocalDateTime.class));
+        assertFalse(Files.exists(legacyFile));
+        assertEquals("test content", Files.readString(tempDir.resolve(key)));
+    }
+
+    @Test
+    void migrate_SkipsAttachmentWhoseFileIsMissing() {
+        Path legacyFile = tempDir.resolve(UUID.randomUUID() + "_gone.txt");
+        returnBatches(attachment(legacyFile.toString(), null));
+
+        assertEquals(0, migrator.migrate());
+
+        verifyNoInteractions(blobRepository);
+        verify(attachmentRepository, never()).moveToBlob(any(), anyString(), anyString(), anyString());
+    }
+
+    private void returnBatches(Attachment attachment) {
+        when(attachmentRepository.findUnshardedAfter(any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(attachment), List.of());
+    }
+
+    private static Attachment attachment(String filePath, String checksum) {
+        return Attachment.builder()
+                .id(UUID.randomUUID())
+                .fileName("notes.txt")
+                .fileType("text/plain")
+                .fileSize(12L)
+                .filePath(filePath)
+                .checksum(checksum)
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.enums.AttachmentProcessingStatus;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentProcessorTest {
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AttachmentProcessor processor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(blobRepository.markProcessed(anyString(), any(), any(), anyBoolean(), anyBoolean())).thenReturn(1);
+        meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        processor = new AttachmentProcessor(blobRepository, attachmentRepository,
+                new LocalAttachmentStorage(fileStore), fileStore, transactionManager,
+                1, 10, 5, Duration.ofMinutes(1), 256, 20, DataSize.ofMegabytes(10), 10_000_000,
+                meterRegistryProvider);
+    }
+
+    @Test
+    void process_MakesThumbnailAndCorrectsClaimedImageType() throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 400, BufferedImage.TYPE_INT_RGB), "png", png);
+        String checksum = writeBlob(png.toByteArray());
+        Attachment attachment = attachment(checksum, "application/octet-stream");
+
+        processor.process(checksum);
+
+        verify(blobRepository).markProcessed(checksum, AttachmentProcessingStatus.READY, "image/png", true, false);
+        verify(attachmentRepository).updateFileType(attachment.getId(), "image/png");
+        BufferedImage thumbnail = ImageIO.read(tempDir.resolve(AttachmentBlobStore.thumbnailKey(checksum)).toFile());
+        assertEquals(256, thumbnail.getWidth());
+        assertEquals(171, thumbnail.getHeight());
+        assertEquals(1.0, meterRegistry.get("app.attachments.processing.processed").functionCounter().count());
+    }
+
+    @Test
+    void process_WritesPreviewAndKeepsMoreSpecificTextType() throws IOException {
+        String checksum = writeBlob("id,name\n1,Ada Lovelace\n2,Alan Turing\n".getBytes(StandardCharsets.UTF_8));
+        attachment(checksum, "text/csv");
+
+        processor.process(checksum);
+
+        verify(blobRepository).markProcessed(checksum, AttachmentProcessingStatus.READY, "text/plain", false, true);
+        verify(attachmentRepository, never()).updateFileType(any(), anyString());
+        assertEquals("id,name\n1,Ada Lovela",
+                Files.readString(tempDir.resolve(AttachmentBlobStore.previewKey(checksum))));
+    }
+
+    @Test
+    void process_MarksContentNotMatchingItsChecksumAsFailed() throws IOException {
+        String checksum = writeBlob("original".getBytes(StandardCharsets.UTF_8));
+        Files.writeString(tempDir.resolve(AttachmentBlobStore.blobKey(checksum)), "tampered");
+
+        processor.process(checksum);
+
+        verify(blobRepository).markAttempt(checksum, AttachmentProcessingStatus.FAILED, 1, null);
+        verify(blobRepository, never()).markProcessed(anyString(), any(), any(), anyBoolean(), anyBoolean());
+        verifyNoInteractions(attachmentRepository);
+    }
+
+    @Test
+    void process_RetriesMissingContentWithBackoffAndThenGivesUp() {
+        String checksum = "a".repeat(64);
+        when(blobRepository.findById(checksum))
+                .thenReturn(Optional.of(blob(checksum, 10, 2)))
+                .thenReturn(Optional.of(blob(checksum, 10, 4)));
+
+        LocalDateTime before = LocalDateTime.now();
+        processor.process(checksum);
+        processor.process(checksum);
+
+        verify(blobRepository).markAttempt(eq(checksum), eq(AttachmentProcessingStatus.PENDING), eq(3),
+                argThat(next -> !next.isBefore(before.plusMinutes(4)) && next.isBefore(before.plusMinutes(5))));
+        verify(blobRepository).markAttempt(checksum, AttachmentProcessingStatus.FAILED, 5, null);
+        assertEquals(1.0, meterRegistry.get("app.attachments.processing.retried").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("app.attachments.processing.failed").functionCounter().count());
+    }
+
+    @Test
+    void process_OnlyCorrectsTypeOfNewAttachmentForProcessedContent() {
+        String checksum = "b".repeat(64);
+        AttachmentBlob blob = blob(checksum, 10, 0);
+        blob.setProcessingStatus(AttachmentProcessingStatus.READY);
+        blob.setContentType("application/pdf");
+        when(blobRepository.findById(checksum)).thenReturn(Optional.of(blob));
+        Attachment attachment = attachment(checksum, "text/plain");
+
+        processor.process(checksum);
+
+        verify(attachmentRepository).updateFileType(attachment.getId(), "application/pdf");
+        verify(blobRepository, never()).markProcessed(anyString(), any(), any(), anyBoolean(), anyBoolean());
+    }
+
+    private String writeBlob(byte[] content) throws IOException {
+        String checksum = HexFormat.of().formatHex(AttachmentFileStore.sha256().digest(content));
+        Path file = tempDir.resolve(AttachmentBlobStore.blobKey(checksum));
+        Files.createDirectories(file.getParent());
+        Files.write(file, content);
+        when(blobRepository.findById(checksum)).thenReturn(Optional.of(blob(checksum, content.length, 0)));
+        return checksum;
+    }
+
+    private static AttachmentBlob blob(String checksum, long fileSize, int attempts) {
+        return AttachmentBlob.builder()
+                .checksum(checksum)
+                .fileSize(fileSize)
+                .refCount(1)
+                .createdAt(LocalDateTime.now())
+                .processingAttempts(attempts)
+                .build();
+    }
+
+    private Attachment attachment(String checksum, String fileType) {
+        Attachment attachment = Attachment.builder()
+                .id(UUID.randomUUID())
+                .fileName("upload")
+                .fileType(fileType)
+                .checksum(checksum)
+                .build();
+        lenient().when(attachmentRepository.findByChecksum(checksum)).thenReturn(List.of(attachment));
+        return attachment;
+    }
+}
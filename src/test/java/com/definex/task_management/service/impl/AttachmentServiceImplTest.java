@@ -1,14 +1,24 @@
 package com.definex.task_management.service.impl;
 
+import com.definex.task_management.dto.AttachmentDownload;
 import com.definex.task_management.dto.AttachmentRequest;
 import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.DirectUploadRequest;
+import com.definex.task_management.dto.DirectUploadResponse;
 import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentBlob;
+import com.definex.task_management.entity.AttachmentDirectUpload;
 import com.definex.task_management.entity.Project;
 import com.definex.task_management.entity.Task;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.exception.InsufficientStorageException;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.exception.PayloadTooLargeException;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentDirectUploadRepository;
 import com.definex.task_management.repository.AttachmentRepository;
 import com.definex.task_management.repository.TaskRepository;
 import com.definex.task_management.security.CustomUserDetails;
@@ -18,24 +28,32 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.Resource;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AttachmentServiceImplTest {
+    private static final String TEST_CONTENT_SHA256 =
+            "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
 
     @Mock
     private AttachmentRepository attachmentRepository;
@@ -43,6 +61,24 @@ class AttachmentServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentDirectUploadRepository directUploadRepository;
+
+    @Mock
+    private AttachmentProcessor processor;
+
+    @Mock
+    private AttachmentContentCache contentCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AttachmentStoreHealthIndicator storeHealth;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -53,6 +89,7 @@ class AttachmentServiceImplTest {
     Path tempDir;
 
     private AttachmentServiceImpl attachmentService;
+    private LocalAttachmentStorage storage;
 
     private UUID attachmentId;
     private UUID taskId;
@@ -67,7 +104,13 @@ class AttachmentServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        attachmentService = new AttachmentServiceImpl(attachmentRepository, taskRepository, tempDir.toString());
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        storage = spy(new LocalAttachmentStorage(fileStore));
+        AttachmentBlobStore blobStore =
+                new AttachmentBlobStore(blobRepository, storage, processor, contentCache, transactionManager);
+        attachmentService = new AttachmentServiceImpl(attachmentRepository, directUploadRepository, taskRepository,
+                fileStore, blobStore, storage, storeHealth, contentCache, transactionManager, Duration.ofDays(1));
 
         attachmentId = UUID.randomUUID();
         taskId = UUID.randomUUID();
@@ -121,6 +164,7 @@ class AttachmentServiceImplTest {
 
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(customUserDetails);
+        lenient().when(taskRepository.addAttachmentWithinQuota(eq(taskId), anyLong(), eq(100L))).thenReturn(1);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -136,8 +180,134 @@ class AttachmentServiceImplTest {
         assertEquals("test.txt", response.getFileName());
         assertEquals(taskId, response.getTaskId());
 
-        verify(taskRepository).findById(taskId);
+        verify(taskRepository, times(2)).findById(taskId);
         verify(attachmentRepository).save(any(Attachment.class));
+        verify(taskRepository).addAttachmentWithinQuota(taskId, 12L, 100L);
+    }
+
+    @Test
+    void streamAttachment_WritesBodyWithSizeAndChecksum() throws IOException {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AttachmentResponse response = attachmentService.streamAttachment(taskId, "../specs/login.txt", null, 12,
+                new ByteArrayInputStream("test content".getBytes()));
+
+        assertEquals("login.txt", response.getFileName());
+        assertEquals("application/octet-stream", response.getFileType());
+        assertEquals(12L, response.getFileSize());
+        assertEquals(TEST_CONTENT_SHA256, response.getChecksum());
+        assertEquals("test content", Files.readString(blobPath(TEST_CONTENT_SHA256)));
+        assertEquals(0, countUploads());
+        verify(blobRepository).acquire(eq(TEST_CONTENT_SHA256), eq(12L), any(LocalDateTime.class));
+        verify(taskRepository).addAttachmentWithinQuota(taskId, 12L, 100L);
+    }
+
+    @Test
+    void streamAttachment_ReferencesContentThatIsAlreadyStored() throws IOException {
+        Path blob = Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AttachmentResponse response = attachmentService.streamAttachment(taskId, "copy.txt", "text/plain", 12,
+                new ByteArrayInputStream("test content".getBytes()));
+
+        assertEquals(TEST_CONTENT_SHA256, response.getChecksum());
+        verify(attachmentRepository).save(argThat(saved -> saved.getFilePath().equals(AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256))));
+        verify(blobRepository).acquire(eq(TEST_CONTENT_SHA256), eq(12L), any(LocalDateTime.class));
+        assertEquals(0, countUploads());
+        try (var blobs = Files.list(blob.getParent())) {
+            assertEquals(1, blobs.count());
+        }
+    }
+
+    @Test
+    void streamAttachment_RejectsDeclaredSizeOverTaskQuotaBeforeReading() throws IOException {
+        task.setTotalAttachmentBytes(90L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        InputStream body = mock(InputStream.class);
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> attachmentService.streamAttachment(taskId, "big.bin", "application/octet-stream", 20, body));
+
+        verifyNoInteractions(body);
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void streamAttachment_RefusesUploadWhileStoreIsNearlyFull() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        doThrow(new InsufficientStorageException("Attachment storage has only 10 bytes free"))
+                .when(storeHealth).checkAcceptingUploads(12);
+        InputStream body = mock(InputStream.class);
+
+        assertThrows(InsufficientStorageException.class,
+                () -> attachmentService.streamAttachment(taskId, "spec.txt", "text/plain", 12, body));
+
+        verifyNoInteractions(body);
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void streamAttachment_RemovesPartialFileWhenBodyExceedsLimit() throws IOException {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(PayloadTooLargeException.class, () -> attachmentService.streamAttachment(
+                taskId, "big.bin", "application/octet-stream", -1, new ByteArrayInputStream(new byte[65])));
+
+        assertEquals(0, countUploads());
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void streamAttachment_RechecksQuotaAfterStreamingBeforeRecording() throws IOException {
+        Task filledMeanwhile = Task.builder()
+                .id(taskId)
+                .project(project)
+                .assignees(task.getAssignees())
+                .totalAttachmentBytes(95L)
+                .build();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task), Optional.of(filledMeanwhile));
+
+        assertThrows(PayloadTooLargeException.class, () -> attachmentService.streamAttachment(
+                taskId, "spec.txt", "text/plain", 12, new ByteArrayInputStream("test content".getBytes())));
+
+        assertEquals(0, countUploads());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+        verify(blobRepository, never()).acquire(any(), anyLong(), any());
+    }
+
+    @Test
+    void streamAttachment_RejectsUploadThatLosesTheQuotaToAConcurrentOne() throws IOException {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.addAttachmentWithinQuota(taskId, 12L, 100L)).thenReturn(0);
+
+        assertThrows(PayloadTooLargeException.class, () -> attachmentService.streamAttachment(
+                taskId, "spec.txt", "text/plain", 12, new ByteArrayInputStream("test content".getBytes())));
+
+        assertEquals(0, countUploads());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void streamAttachment_RemovesPartialFileWhenBodyIsShort() throws IOException {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class, () -> attachmentService.streamAttachment(
+                taskId, "spec.pdf", "application/pdf", 40, new ByteArrayInputStream(new byte[10])));
+
+        assertEquals(0, countUploads());
+        verify(blobRepository, never()).acquire(any(), anyLong(), any());
+    }
+
+    @Test
+    void streamAttachment_RequiresFileName() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class, () -> attachmentService.streamAttachment(
+                taskId, "  ", "text/plain", 1, new ByteArrayInputStream(new byte[1])));
     }
 
     @Test
@@ -239,14 +409,37 @@ class AttachmentServiceImplTest {
                 
         when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
 
-        Resource resource = attachmentService.downloadAttachment(attachmentId);
+        AttachmentDownload download = attachmentService.downloadAttachment(attachmentId);
 
-        assertNotNull(resource);
-        assertTrue(resource.exists());
-        assertEquals("test.txt", resource.getFilename());
+        assertEquals(testFilePath, download.getFilePath());
+        assertEquals("test.txt", download.getFileName());
+        assertEquals("text/plain", download.getFileType());
+        assertEquals(12L, download.getFileSize());
         verify(attachmentRepository).findById(attachmentId);
     }
 
+    @Test
+    void downloadAttachment_ServesHotContentFromCache() throws IOException {
+        Path testFilePath = Files.write(tempDir.resolve("test.txt"), "test content".getBytes());
+        attachment.setFilePath(testFilePath.toString());
+        ByteBuffer cached = ByteBuffer.allocateDirect(12);
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(contentCache.get(testFilePath.toString(), testFilePath, 12L)).thenReturn(Optional.of(cached));
+
+        AttachmentDownload download = attachmentService.downloadAttachment(attachmentId);
+
+        assertSame(cached, download.getContent());
+        assertEquals(12L, download.getFileSize());
+    }
+
+    @Test
+    void downloadAttachment_FileMissingOnDisk() {
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+
+        assertThrows(EntityNotFoundException.class,
+                () -> attachmentService.downloadAttachment(attachmentId));
+    }
+
     @Test
     void downloadAttachment_NotFound() {
         when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.empty());
@@ -257,14 +450,213 @@ class AttachmentServiceImplTest {
         verify(attachmentRepository).findById(attachmentId);
     }
 
+    @Test
+    void downloadThumbnail_ServesThumbnailNextToBlob() throws IOException {
+        Path thumbnail = tempDir.resolve(AttachmentBlobStore.thumbnailKey(TEST_CONTENT_SHA256));
+        Files.createDirectories(thumbnail.getParent());
+        Files.write(thumbnail, new byte[42]);
+        attachment.setFileName("photo.jpg");
+        attachment.setChecksum(TEST_CONTENT_SHA256);
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(blobRepository.findById(TEST_CONTENT_SHA256)).thenReturn(Optional.of(AttachmentBlob.builder()
+                .checksum(TEST_CONTENT_SHA256)
+                .thumbnail(true)
+                .build()));
+
+        AttachmentDownload download = attachmentService.downloadThumbnail(attachmentId);
+
+        assertEquals(thumbnail, download.getFilePath());
+        assertEquals("photo-thumbnail.png", download.getFileName());
+        assertEquals("image/png", download.getFileType());
+        assertEquals(42L, download.getFileSize());
+    }
+
+    @Test
+    void downloadPreview_NotFoundBeforeProcessing() {
+        attachment.setChecksum(TEST_CONTENT_SHA256);
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(blobRepository.findById(TEST_CONTENT_SHA256)).thenReturn(Optional.of(AttachmentBlob.builder()
+                .checksum(TEST_CONTENT_SHA256)
+                .build()));
+
+        assertThrows(EntityNotFoundException.class, () -> attachmentService.downloadPreview(attachmentId));
+    }
+
+    @Test
+    void createDirectUpload_RejectsStorageWithoutPresignedUrls() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class, () -> attachmentService.createDirectUpload(taskId,
+                directUploadRequest(12L)));
+    }
+
+    @Test
+    void createDirectUpload_RecordsPendingUploadForCurrentUser() {
+        DirectUploadResponse presigned = DirectUploadResponse.builder().url("https://storage/put").method("PUT").build();
+        doReturn(true).when(storage).supportsDirectUploads();
+        doReturn(Optional.of(presigned)).when(storage)
+                .presignUpload(AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256), 12L, TEST_CONTENT_SHA256);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        DirectUploadResponse response = attachmentService.createDirectUpload(taskId, directUploadRequest(12L));
+
+        assertSame(presigned, response);
+        verify(directUploadRepository).save(argThat((AttachmentDirectUpload pending) ->
+                pending.getTask() == task && pending.getStartedBy().equals(userId)
+                        && pending.getChecksum().equals(TEST_CONTENT_SHA256) && pending.getFileSize() == 12L));
+    }
+
+    @Test
+    void createDirectUpload_RefusesContentThatIsAlreadyStored() throws IOException {
+        Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        doReturn(true).when(storage).supportsDirectUploads();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class, () -> attachmentService.createDirectUpload(taskId,
+                directUploadRequest(12L)));
+
+        verify(storage, never()).presignUpload(any(), anyLong(), any());
+        verify(directUploadRepository, never()).save(any());
+    }
+
+    @Test
+    void completeDirectUpload_RejectsStorageWithoutPresignedUrls() throws IOException {
+        Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class,
+                () -> attachmentService.completeDirectUpload(taskId, directUploadRequest(12L)));
+
+        verifyNoInteractions(directUploadRepository, blobRepository);
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void completeDirectUpload_RejectsUploadThatWasNeverStarted() throws IOException {
+        Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        doReturn(true).when(storage).supportsDirectUploads();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class,
+                () -> attachmentService.completeDirectUpload(taskId, directUploadRequest(12L)));
+
+        verify(directUploadRepository).consume(taskId, userId, TEST_CONTENT_SHA256, 12L);
+        verifyNoInteractions(blobRepository);
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void completeDirectUpload_ReferencesUploadedContent() throws IOException {
+        Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        doReturn(true).when(storage).supportsDirectUploads();
+        when(directUploadRepository.consume(taskId, userId, TEST_CONTENT_SHA256, 12L)).thenReturn(1);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AttachmentResponse response = attachmentService.completeDirectUpload(taskId, directUploadRequest(12L));
+
+        assertEquals("spec.txt", response.getFileName());
+        assertEquals(TEST_CONTENT_SHA256, response.getChecksum());
+        verify(attachmentRepository).save(argThat(saved -> saved.getFilePath().equals(AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256))));
+        verify(blobRepository).acquire(eq(TEST_CONTENT_SHA256), eq(12L), any(LocalDateTime.class));
+        verify(taskRepository).addAttachmentWithinQuota(taskId, 12L, 100L);
+    }
+
+    @Test
+    void completeDirectUpload_RejectsContentNotUploadedYet() {
+        doReturn(true).when(storage).supportsDirectUploads();
+        when(directUploadRepository.consume(taskId, userId, TEST_CONTENT_SHA256, 12L)).thenReturn(1);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class,
+                () -> attachmentService.completeDirectUpload(taskId, directUploadRequest(12L)));
+
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
+    @Test
+    void completeDirectUpload_RejectsSizeDifferentFromUploadedContent() throws IOException {
+        Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        doReturn(true).when(storage).supportsDirectUploads();
+        when(directUploadRepository.consume(taskId, userId, TEST_CONTENT_SHA256, 20L)).thenReturn(1);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(InvalidAttachmentException.class,
+                () -> attachmentService.completeDirectUpload(taskId, directUploadRequest(20L)));
+
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+    }
+
     @Test
     void deleteAttachment_Success() {
         when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.softDeleteById(attachmentId)).thenReturn(1);
 
         attachmentService.deleteAttachment(attachmentId);
 
         verify(attachmentRepository).findById(attachmentId);
-        verify(attachmentRepository).delete(attachment);
+        verify(attachmentRepository).softDeleteById(attachmentId);
+        verify(taskRepository).adjustAttachmentTotals(taskId, -1, -100L);
+    }
+
+    @Test
+    void deleteAttachment_RemovesBlobWithLastReference() throws IOException {
+        Path blob = Files.writeString(blobPath(TEST_CONTENT_SHA256), "test content");
+        attachment.setChecksum(TEST_CONTENT_SHA256);
+        attachment.setFilePath(AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256));
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.softDeleteById(attachmentId)).thenReturn(1);
+        when(blobRepository.release(TEST_CONTENT_SHA256)).thenReturn(1);
+        when(blobRepository.lockUnreferenced(TEST_CONTENT_SHA256)).thenReturn(Optional.of(TEST_CONTENT_SHA256));
+
+        attachmentService.deleteAttachment(attachmentId);
+
+        assertFalse(Files.exists(blob));
+        verify(blobRepository).deleteUnreferenced(TEST_CONTENT_SHA256);
+        verify(contentCache).invalidate(AttachmentBlobStore.blobKey(TEST_CONTENT_SHA256));
+    }
+
+    @Test
+    void deleteAttachment_KeepsBlobStillReferencedElsewhere_ForFlatBlobPath() throws IOException {
+        Path blob = Files.writeString(Files.createDirectories(tempDir.resolve(AttachmentBlobStore.BLOBS_DIRECTORY))
+                .resolve(TEST_CONTENT_SHA256), "test content");
+        attachment.setChecksum(TEST_CONTENT_SHA256);
+        attachment.setFilePath(blob.toString());
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.softDeleteById(attachmentId)).thenReturn(1);
+        when(blobRepository.release(TEST_CONTENT_SHA256)).thenReturn(1);
+        when(blobRepository.lockUnreferenced(TEST_CONTENT_SHA256)).thenReturn(Optional.empty());
+
+        attachmentService.deleteAttachment(attachmentId);
+
+        assertTrue(Files.exists(blob));
+        verify(blobRepository, never()).deleteUnreferenced(any());
+        verify(contentCache, never()).invalidate(any());
+    }
+
+    @Test
+    void deleteAttachment_RemovesFileStoredBeforeContentAddressing() throws IOException {
+        Path legacyFile = Files.writeString(tempDir.resolve("legacy_test.txt"), "test content");
+        attachment.setChecksum(TEST_CONTENT_SHA256);
+        attachment.setFilePath(legacyFile.toString());
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.softDeleteById(attachmentId)).thenReturn(1);
+
+        attachmentService.deleteAttachment(attachmentId);
+
+        assertFalse(Files.exists(legacyFile));
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    void deleteAttachment_AlreadyDeletedConcurrently() {
+        when(attachmentRepository.findById(attachmentId)).thenReturn(Optional.of(attachment));
+        when(attachmentRepository.softDeleteById(attachmentId)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> attachmentService.deleteAttachment(attachmentId));
+
+        verify(taskRepository, never()).adjustAttachmentTotals(any(), anyInt(), anyLong());
     }
 
     @Test
@@ -275,7 +667,8 @@ class AttachmentServiceImplTest {
                 () -> attachmentService.deleteAttachment(attachmentId));
 
         verify(attachmentRepository).findById(attachmentId);
-        verify(attachmentRepository, never()).delete(any());
+        verify(attachmentRepository, never()).softDeleteById(any());
+        verify(taskRepository, never()).adjustAttachmentTotals(any(), anyInt(), anyLong());
     }
 
     @Test
@@ -293,6 +686,28 @@ class AttachmentServiceImplTest {
                 () -> attachmentService.deleteAttachment(attachmentId));
 
         verify(attachmentRepository).findById(attachmentId);
-        verify(attachmentRepository, never()).delete(any());
+        verify(attachmentRepository, never()).softDeleteById(any());
+        verify(taskRepository, never()).adjustAttachmentTotals(any(), anyInt(), anyLong());
+    }
+
+    private Path blobPath(String checksum) throws IOException {
+        Path blob = tempDir.resolve(AttachmentBlobStore.blobKey(checksum));
+        Files.createDirectories(blob.getParent());
+        return blob;
+    }
+
+    private DirectUploadRequest directUploadRequest(long fileSize) {
+        return DirectUploadRequest.builder()
+                .fileName("spec.txt")
+                .fileType("text/plain")
+                .fileSize(fileSize)
+                .checksum(TEST_CONTENT_SHA256)
+                .build();
+    }
+
+    private long countUploads() throws IOException {
+        try (var files = Files.list(tempDir.resolve(AttachmentFileStore.UPLOADS_DIRECTORY))) {
+            return files.count();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.exception.InsufficientStorageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AttachmentStoreHealthIndicatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void health_IsUnknownBeforeFirstSample() {
+        AttachmentStoreHealthIndicator indicator = indicator(DataSize.ofBytes(0), null);
+
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    void sample_ReportsSpaceAndWriteLatency() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AttachmentStoreHealthIndicator indicator = indicator(DataSize.ofBytes(0), meterRegistry);
+
+        indicator.sample();
+        Health health = indicator.health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertTrue((long) health.getDetails().get("freeBytes") > 0);
+        assertTrue((long) health.getDetails().get("writeLatencyMs") >= 0);
+        assertEquals(1.0, meterRegistry.get("app.attachments.store.accepting.uploads").gauge().value());
+        assertFalse(Files.exists(tempDir.resolve(AttachmentFileStore.UPLOADS_DIRECTORY).resolve(".health-probe")));
+        assertDoesNotThrow(() -> indicator.checkAcceptingUploads(1024));
+    }
+
+    @Test
+    void sample_TakesStoreOutOfServiceWhenFreeSpaceIsLow() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AttachmentStoreHealthIndicator indicator = indicator(DataSize.ofTerabytes(1024 * 1024), meterRegistry);
+
+        indicator.sample();
+
+        assertEquals(AttachmentStoreHealthIndicator.UPLOADS_REFUSED, indicator.health().getStatus());
+        assertEquals(0.0, meterRegistry.get("app.attachments.store.accepting.uploads").gauge().value());
+        InsufficientStorageException ex = assertThrows(InsufficientStorageException.class,
+                () -> indicator.checkAcceptingUploads(1));
+        assertTrue(ex.getMessage().startsWith("Attachment storage has only"));
+    }
+
+    @Test
+    void checkAcceptingUploads_RefusesUploadLargerThanFreeSpace() {
+        AttachmentStoreHealthIndicator indicator = indicator(DataSize.ofBytes(0), null);
+        indicator.sample();
+
+        assertThrows(InsufficientStorageException.class, () -> indicator.checkAcceptingUploads(Long.MAX_VALUE / 2));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AttachmentStoreHealthIndicator indicator(DataSize minFreeSpace, MeterRegistry meterRegistry) {
+        ObjectProvider<MeterRegistry> meterRegistryProvider = mock(ObjectProvider.class);
+        when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        return new AttachmentStoreHealthIndicator(fileStore, minFreeSpace, 0.95, Duration.ofSeconds(1),
+                meterRegistryProvider);
+    }
+}
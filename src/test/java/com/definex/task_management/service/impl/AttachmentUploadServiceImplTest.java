@@ -0,0 +1,332 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.AttachmentResponse;
+import com.definex.task_management.dto.AttachmentUploadRequest;
+import com.definex.task_management.dto.AttachmentUploadResponse;
+import com.definex.task_management.entity.Attachment;
+import com.definex.task_management.entity.AttachmentUpload;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.AttachmentUploadStatus;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.InvalidAttachmentException;
+import com.definex.task_management.exception.PayloadTooLargeException;
+import com.definex.task_management.exception.ResourceConflictException;
+import com.definex.task_management.repository.AttachmentBlobRepository;
+import com.definex.task_management.repository.AttachmentRepository;
+import com.definex.task_management.repository.AttachmentUploadChunkRepository;
+import com.definex.task_management.repository.AttachmentUploadRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttachmentUploadServiceImplTest {
+    private static final String ABCDEFGHIJ_SHA256 =
+            "72399361da6a7754fec986dca5b7cbaf1c810a28ded4abaf56b2106d06cb78b0";
+
+    @Mock
+    private AttachmentUploadRepository uploadRepository;
+
+    @Mock
+    private AttachmentUploadChunkRepository chunkRepository;
+
+    @Mock
+    private AttachmentRepository attachmentRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private AttachmentBlobRepository blobRepository;
+
+    @Mock
+    private AttachmentProcessor processor;
+
+    @Mock
+    private AttachmentContentCache contentCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AttachmentStoreHealthIndicator storeHealth;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @TempDir
+    Path tempDir;
+
+    private AttachmentUploadServiceImpl uploadService;
+
+    private UUID userId;
+    private UUID taskId;
+    private UUID uploadId;
+    private Task task;
+    private AttachmentUpload upload;
+    private Path partFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        AttachmentFileStore fileStore =
+                new AttachmentFileStore(tempDir.toString(), DataSize.ofBytes(64), DataSize.ofBytes(100));
+        uploadService = new AttachmentUploadServiceImpl(uploadRepository, chunkRepository, attachmentRepository,
+                taskRepository, fileStore,
+                new AttachmentBlobStore(blobRepository, new LocalAttachmentStorage(fileStore), processor, contentCache,
+                        transactionManager),
+                storeHealth,
+                transactionManager, DataSize.ofBytes(4), Duration.ofDays(1));
+
+        userId = UUID.randomUUID();
+        taskId = UUID.randomUUID();
+        uploadId = UUID.randomUUID();
+
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.TEAM_MEMBER)
+                .department("IT")
+                .build();
+
+        Project project = Project.builder()
+                .id(UUID.randomUUID())
+                .title("Test Project")
+                .department("IT")
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .build();
+
+        task = Task.builder()
+                .id(taskId)
+                .title("Test Task")
+                .project(project)
+                .assignees(new HashSet<>(Collections.singletonList(user)))
+                .build();
+
+        partFile = tempDir.resolve(AttachmentFileStore.UPLOADS_DIRECTORY).resolve("upload.part");
+        Files.write(partFile, new byte[10]);
+        upload = AttachmentUpload.builder()
+                .id(uploadId)
+                .task(task)
+                .startedBy(userId)
+                .fileName("spec.pdf")
+                .fileType("application/pdf")
+                .fileSize(10)
+                .chunkSize(4)
+                .filePath(partFile.toString())
+                .status(AttachmentUploadStatus.IN_PROGRESS)
+                .startedAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(uploadRepository.findById(uploadId)).thenReturn(Optional.of(upload));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createUpload_PreallocatesPartFile() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(uploadRepository.save(any(AttachmentUpload.class))).thenAnswer(invocation -> {
+            AttachmentUpload saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+
+        AttachmentUploadResponse response = uploadService.createUpload(AttachmentUploadRequest.builder()
+                .taskId(taskId)
+                .fileName("C:\\docs\\spec.pdf")
+                .fileSize(10L)
+                .build());
+
+        assertEquals("spec.pdf", response.getFileName());
+        assertEquals("application/octet-stream", response.getFileType());
+        assertEquals(4, response.getChunkSize());
+        assertEquals(List.of(0L, 4L, 8L), response.getMissingOffsets());
+        assertEquals(0L, response.getNextOffset());
+
+        verify(uploadRepository).save(argThat(saved -> {
+            try {
+                return Files.size(Paths.get(saved.getFilePath())) == 10;
+            } catch (IOException ex) {
+                return false;
+            }
+        }));
+    }
+
+    @Test
+    void createUpload_RejectsFileOverQuota() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(PayloadTooLargeException.class, () -> uploadService.createUpload(AttachmentUploadRequest.builder()
+                .taskId(taskId)
+                .fileName("big.bin")
+                .fileSize(65L)
+                .build()));
+
+        verify(uploadRepository, never()).save(any(AttachmentUpload.class));
+    }
+
+    @Test
+    void writeChunk_WritesAtOffsetAndCountsRetriesOnce() throws IOException {
+        when(chunkRepository.markReceived(uploadId, 1)).thenReturn(1, 0);
+        when(chunkRepository.findChunkIndexes(uploadId)).thenReturn(List.of(1));
+
+        AttachmentUploadResponse response = uploadService.writeChunk(uploadId, 4, 4,
+                new ByteArrayInputStream("efgh".getBytes()));
+        uploadService.writeChunk(uploadId, 4, 4, new ByteArrayInputStream("efgh".getBytes()));
+
+        assertEquals("\0\0\0\0efgh\0\0", new String(Files.readAllBytes(partFile)));
+        assertEquals(List.of(0L, 8L), response.getMissingOffsets());
+        verify(uploadRepository, times(1)).addReceivedBytes(eq(uploadId), eq(4L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void writeChunk_RejectsMisalignedWrongSizedOrShortChunks() {
+        assertThrows(InvalidAttachmentException.class,
+                () -> uploadService.writeChunk(uploadId, 3, 4, new ByteArrayInputStream(new byte[4])));
+        assertThrows(InvalidAttachmentException.class,
+                () -> uploadService.writeChunk(uploadId, 8, 4, new ByteArrayInputStream(new byte[4])));
+        assertThrows(InvalidAttachmentException.class,
+                () -> uploadService.writeChunk(uploadId, 8, 2, new ByteArrayInputStream(new byte[1])));
+
+        verify(chunkRepository, never()).markReceived(any(), anyInt());
+    }
+
+    @Test
+    void writeChunk_RejectsOtherUsersUpload() {
+        upload.setStartedBy(UUID.randomUUID());
+
+        assertThrows(DeniedAccessException.class,
+                () -> uploadService.writeChunk(uploadId, 0, 4, new ByteArrayInputStream(new byte[4])));
+    }
+
+    @Test
+    void completeUpload_StoresPartFileByChecksumAndCreatesAttachment() throws IOException {
+        Files.writeString(partFile, "abcdefghij");
+        when(chunkRepository.findChunkIndexes(uploadId)).thenReturn(List.of(0, 1, 2));
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> {
+            Attachment saved = invocation.getArgument(0);
+            saved.setId(UUID.randomUUID());
+            return saved;
+        });
+        when(uploadRepository.claimCompletion(eq(uploadId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(taskRepository.addAttachmentWithinQuota(taskId, 10L, 100L)).thenReturn(1);
+        when(uploadRepository.markCompleted(eq(uploadId), any(UUID.class), any(LocalDateTime.class))).thenReturn(1);
+
+        AttachmentResponse response = uploadService.completeUpload(uploadId);
+
+        assertEquals("spec.pdf", response.getFileName());
+        assertEquals(10L, response.getFileSize());
+        assertEquals(ABCDEFGHIJ_SHA256, response.getChecksum());
+        assertFalse(Files.exists(partFile));
+        assertEquals("abcdefghij", Files.readString(
+                tempDir.resolve(AttachmentBlobStore.blobKey(ABCDEFGHIJ_SHA256))));
+        verify(blobRepository).acquire(eq(ABCDEFGHIJ_SHA256), eq(10L), any(LocalDateTime.class));
+        verify(taskRepository).addAttachmentWithinQuota(taskId, 10L, 100L);
+        verify(chunkRepository).deleteByUploadId(uploadId);
+    }
+
+    @Test
+    void completeUpload_RejectsWhileAnotherCompletionRuns() {
+        when(chunkRepository.findChunkIndexes(uploadId)).thenReturn(List.of(0, 1, 2));
+        when(uploadRepository.claimCompletion(eq(uploadId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertThrows(ResourceConflictException.class, () -> uploadService.completeUpload(uploadId));
+
+        verify(blobRepository, never()).acquire(anyString(), anyLong(), any(LocalDateTime.class));
+        assertTrue(Files.exists(partFile));
+    }
+
+    @Test
+    void completeUpload_ReopensUploadWhenRecordingFails() throws IOException {
+        Files.writeString(partFile, "abcdefghij");
+        when(chunkRepository.findChunkIndexes(uploadId)).thenReturn(List.of(0, 1, 2));
+        when(uploadRepository.claimCompletion(eq(uploadId), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.addAttachmentWithinQuota(taskId, 10L, 100L)).thenReturn(1);
+        when(uploadRepository.markCompleted(any(), any(), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(InvalidAttachmentException.class, () -> uploadService.completeUpload(uploadId));
+
+        verify(uploadRepository).updateStatus(eq(uploadId), eq(AttachmentUploadStatus.COMPLETING),
+                eq(AttachmentUploadStatus.IN_PROGRESS), any(LocalDateTime.class));
+        assertEquals("abcdefghij", Files.readString(partFile));
+    }
+
+    @Test
+    void writeChunk_RejectsUploadBeingCompleted() throws IOException {
+        upload.setStatus(AttachmentUploadStatus.COMPLETING);
+
+        assertThrows(InvalidAttachmentException.class,
+                () -> uploadService.writeChunk(uploadId, 0, 4, new ByteArrayInputStream(new byte[4])));
+
+        verify(chunkRepository, never()).markReceived(any(), anyInt());
+        assertArrayEquals(new byte[10], Files.readAllBytes(partFile));
+    }
+
+    @Test
+    void completeUpload_RejectsMissingChunks() {
+        when(chunkRepository.findChunkIndexes(uploadId)).thenReturn(List.of(0, 2));
+
+        InvalidAttachmentException ex = assertThrows(InvalidAttachmentException.class,
+                () -> uploadService.completeUpload(uploadId));
+
+        assertEquals("Upload is missing 1 chunks", ex.getMessage());
+        verify(attachmentRepository, never()).save(any(Attachment.class));
+        assertTrue(Files.exists(partFile));
+    }
+
+    @Test
+    void purgeAbandonedUploads_RemovesIdleSessionsAndPartFiles() {
+        when(uploadRepository.findTop100ByUpdatedAtBeforeOrderByUpdatedAt(any(LocalDateTime.class)))
+                .thenReturn(List.of(upload));
+        when(uploadRepository.deleteIfIdleSince(eq(uploadId), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(1, uploadService.purgeAbandonedUploads());
+
+        assertFalse(Files.exists(partFile));
+        verify(chunkRepository).deleteByUploadId(uploadId);
+    }
+}
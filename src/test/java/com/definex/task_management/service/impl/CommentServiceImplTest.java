@@ -124,6 +124,7 @@ class CommentServiceImplTest {
         verify(taskRepository).findById(taskId);
         verify(userRepository).findById(userId);
         verify(commentRepository).save(any(Comment.class));
+        verify(taskRepository).adjustCommentCount(taskId, 1);
     }
 
     @Test
@@ -261,11 +262,24 @@ class CommentServiceImplTest {
     @Test
     void deleteComment_Success() {
         when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+        when(commentRepository.softDeleteById(commentId)).thenReturn(1);
 
         commentService.deleteComment(commentId);
 
         verify(commentRepository).findById(commentId);
-        verify(commentRepository).delete(comment);
+        verify(commentRepository).softDeleteById(commentId);
+        verify(taskRepository).adjustCommentCount(taskId, -1);
+    }
+
+    @Test
+    void deleteComment_AlreadyDeletedConcurrently() {
+        when(commentRepository.findById(commentId)).thenReturn(Optional.of(comment));
+        when(commentRepository.softDeleteById(commentId)).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> commentService.deleteComment(commentId));
+
+        verify(taskRepository, never()).adjustCommentCount(any(), anyInt());
     }
 
     @Test
@@ -276,7 +290,8 @@ class CommentServiceImplTest {
                 () -> commentService.deleteComment(commentId));
 
         verify(commentRepository).findById(commentId);
-        verify(commentRepository, never()).delete(any());
+        verify(commentRepository, never()).softDeleteById(any());
+        verify(taskRepository, never()).adjustCommentCount(any(), anyInt());
     }
 
     @Test
@@ -294,6 +309,7 @@ class CommentServiceImplTest {
                 () -> commentService.deleteComment(commentId));
 
         verify(commentRepository).findById(commentId);
-        verify(commentRepository, never()).delete(any());
+        verify(commentRepository, never()).softDeleteById(any());
+        verify(taskRepository, never()).adjustCommentCount(any(), anyInt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,316 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.BurndownPoint;
+import com.definex.task_management.dto.BurndownResponse;
+import com.definex.task_management.dto.CumulativeFlowResponse;
+import com.definex.task_management.dto.DepartmentDashboardResponse;
+import com.definex.task_management.dto.ProjectDashboardResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStat;
+import com.definex.task_management.entity.ProjectTaskStatId;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.repository.ProjectDailyStateCountRepository;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
+import com.definex.task_management.repository.projection.DailyStateCountView;
+import com.definex.task_management.repository.projection.ProjectTaskStatView;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectDashboardServiceImplTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private ProjectTaskStatRepository projectTaskStatRepository;
+
+    @Mock
+    private ProjectDailyStateCountRepository projectDailyStateCountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private ProjectDashboardServiceImpl projectDashboardService;
+
+    private UUID projectId;
+    private UUID userId;
+    private Project project;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.PROJECT_MANAGER)
+                .department("IT")
+                .build();
+
+        project = Project.builder()
+                .id(projectId)
+                .title("Test Project")
+                .department("IT")
+                .status(ProjectStatus.IN_PROGRESS)
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .tasks(new HashSet<>())
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getProjectDashboard_SumsStatRows() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectTaskStatRepository.findByProjectId(projectId)).thenReturn(List.of(
+                stat(TaskState.BACKLOG, TaskPriority.HIGH, 2),
+                stat(TaskState.BACKLOG, TaskPriority.LOW, 1),
+                stat(TaskState.COMPLETED, TaskPriority.HIGH, 4)));
+
+        ProjectDashboardResponse response = projectDashboardService.getProjectDashboard(projectId);
+
+        assertEquals(7, response.getTotalTasks());
+        assertEquals(3L, response.getTasksByState().get(TaskState.BACKLOG));
+        assertEquals(0L, response.getTasksByState().get(TaskState.BLOCKED));
+        assertEquals(6L, response.getTasksByPriority().get(TaskPriority.HIGH));
+        assertEquals("Test Project", response.getProjectTitle());
+    }
+
+    @Test
+    void getProjectDashboard_ValidatesProjectAccess() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class, () -> projectDashboardService.getProjectDashboard(projectId));
+
+        verify(projectTaskStatRepository, never()).findByProjectId(any());
+    }
+
+    @Test
+    void getDepartmentDashboard_RollsUpProjects() {
+        UUID otherProjectId = UUID.randomUUID();
+        List<ProjectTaskStatView> stats = List.of(
+                view(projectId, "Alpha", TaskState.BACKLOG, TaskPriority.HIGH, 2),
+                view(projectId, "Alpha", TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 1),
+                view(otherProjectId, "Beta", TaskState.BACKLOG, TaskPriority.LOW, 5));
+        when(projectTaskStatRepository.findDepartmentStats("IT")).thenReturn(stats);
+
+        DepartmentDashboardResponse response = projectDashboardService.getDepartmentDashboard("IT");
+
+        assertEquals(8, response.getTotalTasks());
+        assertEquals(7L, response.getTasksByState().get(TaskState.BACKLOG));
+        assertEquals(5L, response.getTasksByPriority().get(TaskPriority.LOW));
+        assertEquals(2, response.getProjects().size());
+        assertEquals(3, response.getProjects().get(0).getTotalTasks());
+        assertEquals("Beta", response.getProjects().get(1).getProjectTitle());
+    }
+
+    @Test
+    void getDepartmentDashboard_RejectsOtherDepartment() {
+        assertThrows(DeniedAccessException.class, () -> projectDashboardService.getDepartmentDashboard("HR"));
+
+        verifyNoInteractions(projectTaskStatRepository);
+    }
+
+    @Test
+    void getCumulativeFlow_CarriesCountsForwardAcrossGaps() {
+        LocalDate from = LocalDate.now().minusDays(3);
+        LocalDate to = LocalDate.now().minusDays(1);
+        List<DailyStateCountView> rows = List.of(
+                dailyView(from.minusDays(2), TaskState.BACKLOG, 2),
+                dailyView(from.plusDays(1), TaskState.BACKLOG, 3),
+                dailyView(from.plusDays(1), TaskState.COMPLETED, 1));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectDailyStateCountRepository.findRange(projectId, from, to)).thenReturn(rows);
+
+        CumulativeFlowResponse response = projectDashboardService.getCumulativeFlow(projectId, from, to);
+
+        assertEquals(from, response.getFrom());
+        assertEquals(to, response.getTo());
+        assertEquals(3, response.getPoints().size());
+        assertEquals(from, response.getPoints().get(0).getDate());
+        assertEquals(2L, response.getPoints().get(0).getTasksByState().get(TaskState.BACKLOG));
+        assertEquals(0L, response.getPoints().get(0).getTasksByState().get(TaskState.COMPLETED));
+        assertEquals(3L, response.getPoints().get(2).getTasksByState().get(TaskState.BACKLOG));
+        assertEquals(1L, response.getPoints().get(2).getTasksByState().get(TaskState.COMPLETED));
+    }
+
+    @Test
+    void getCumulativeFlow_DefaultsAndCapsWindow() {
+        LocalDate today = LocalDate.now();
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectDailyStateCountRepository.findRange(eq(projectId), any(), any())).thenReturn(List.of());
+
+        CumulativeFlowResponse defaults = projectDashboardService.getCumulativeFlow(projectId, null, null);
+        CumulativeFlowResponse capped = projectDashboardService.getCumulativeFlow(
+                projectId, today.minusYears(5), today.plusDays(10));
+
+        assertEquals(today.minusDays(ProjectDashboardServiceImpl.DEFAULT_WINDOW_DAYS - 1), defaults.getFrom());
+        assertEquals(today, defaults.getTo());
+        assertEquals(ProjectDashboardServiceImpl.DEFAULT_WINDOW_DAYS, defaults.getPoints().size());
+        assertEquals(today.minusDays(ProjectDashboardServiceImpl.MAX_WINDOW_DAYS - 1), capped.getFrom());
+        assertEquals(ProjectDashboardServiceImpl.MAX_WINDOW_DAYS, capped.getPoints().size());
+    }
+
+    @Test
+    void getCumulativeFlow_ValidatesProjectAccess() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class, () -> projectDashboardService.getCumulativeFlow(projectId, null, null));
+
+        verifyNoInteractions(projectDailyStateCountRepository);
+    }
+
+    @Test
+    void getBurndown_LeavesCancelledTasksOutOfScope() {
+        LocalDate day = LocalDate.now().minusDays(1);
+        List<DailyStateCountView> rows = List.of(
+                dailyView(day, TaskState.BACKLOG, 4),
+                dailyView(day, TaskState.CANCELLED, 2),
+                dailyView(day, TaskState.COMPLETED, 3));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectDailyStateCountRepository.findRange(projectId, day, day)).thenReturn(rows);
+
+        BurndownResponse response = projectDashboardService.getBurndown(projectId, day, day);
+
+        BurndownPoint point = response.getPoints().get(0);
+        assertEquals(7, point.getTotalTasks());
+        assertEquals(3, point.getCompletedTasks());
+        assertEquals(4, point.getRemainingTasks());
+    }
+
+    @Test
+    void reconcileTaskStats_LocksBeforeRecountingEachProject() {
+        UUID otherProjectId = UUID.randomUUID();
+        when(projectRepository.findAllIds()).thenReturn(List.of(projectId, otherProjectId));
+        when(projectTaskStatRepository.reconcileProject(projectId)).thenReturn(2L);
+        when(projectTaskStatRepository.reconcileProject(otherProjectId)).thenReturn(0L);
+        when(projectDailyStateCountRepository.resyncTodaysSnapshot(projectId)).thenReturn(1);
+
+        assertEquals(3, projectDashboardService.reconcileTaskStats());
+
+        InOrder inOrder = inOrder(projectTaskStatRepository, projectDailyStateCountRepository);
+        inOrder.verify(projectTaskStatRepository).lockProjectStats(projectId);
+        inOrder.verify(projectTaskStatRepository).reconcileProject(projectId);
+        inOrder.verify(projectDailyStateCountRepository).resyncTodaysSnapshot(projectId);
+        inOrder.verify(projectTaskStatRepository).lockProjectStats(otherProjectId);
+        inOrder.verify(projectTaskStatRepository).reconcileProject(otherProjectId);
+        inOrder.verify(projectDailyStateCountRepository).resyncTodaysSnapshot(otherProjectId);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void appendDailySnapshots_RunsInTransaction() {
+        when(projectDailyStateCountRepository.appendTodaysSnapshot()).thenReturn(6);
+
+        assertEquals(6, projectDashboardService.appendDailySnapshots());
+
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void applyDeltas_SkipsZeroDeltasAndUsesLockOrder() {
+        ProjectTaskStatRepository repository = mock(ProjectTaskStatRepository.class, CALLS_REAL_METHODS);
+        doReturn(1).when(repository).applyDelta(any(), anyString(), anyString(), anyLong());
+        doReturn(1).when(repository).patchDailyCount(any(), anyString(), anyLong());
+        Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.IN_DEVELOPMENT, TaskPriority.LOW, 1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.BACKLOG, TaskPriority.HIGH, -1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.BLOCKED, TaskPriority.LOW, 1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.BLOCKED, TaskPriority.LOW, -1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.BLOCKED, null, 1);
+
+        repository.applyDeltas(deltas);
+
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).applyDelta(projectId, "BACKLOG", "HIGH", -1L);
+        inOrder.verify(repository).applyDelta(projectId, "IN_DEVELOPMENT", "LOW", 1L);
+        inOrder.verify(repository).patchDailyCount(projectId, "BACKLOG", -1L);
+        inOrder.verify(repository).patchDailyCount(projectId, "IN_DEVELOPMENT", 1L);
+        verify(repository, times(2)).applyDelta(any(), anyString(), anyString(), anyLong());
+        verify(repository, times(2)).patchDailyCount(any(), anyString(), anyLong());
+    }
+
+    @Test
+    void applyDeltas_PriorityChangeLeavesDailyCountsAlone() {
+        ProjectTaskStatRepository repository = mock(ProjectTaskStatRepository.class, CALLS_REAL_METHODS);
+        doReturn(1).when(repository).applyDelta(any(), anyString(), anyString(), anyLong());
+        Map<ProjectTaskStatId, Long> deltas = new HashMap<>();
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.IN_ANALYSIS, TaskPriority.HIGH, -1);
+        ProjectTaskStatRepository.addDelta(deltas, projectId, TaskState.IN_ANALYSIS, TaskPriority.LOW, 1);
+
+        repository.applyDeltas(deltas);
+
+        verify(repository, times(2)).applyDelta(any(), anyString(), anyString(), anyLong());
+        verify(repository, never()).patchDailyCount(any(), anyString(), anyLong());
+    }
+
+    private ProjectTaskStat stat(TaskState state, TaskPriority priority, long count) {
+        return ProjectTaskStat.builder()
+                .id(new ProjectTaskStatId(projectId, state, priority))
+                .taskCount(count)
+                .build();
+    }
+
+    private DailyStateCountView dailyView(LocalDate date, TaskState state, long count) {
+        DailyStateCountView view = mock(DailyStateCountView.class);
+        when(view.getSnapshotDate()).thenReturn(date);
+        when(view.getState()).thenReturn(state);
+        when(view.getTaskCount()).thenReturn(count);
+        return view;
+    }
+
+    private ProjectTaskStatView view(UUID id, String title, TaskState state, TaskPriority priority, long count) {
+        ProjectTaskStatView view = mock(ProjectTaskStatView.class);
+        when(view.getProjectId()).thenReturn(id);
+        lenient().when(view.getProjectTitle()).thenReturn(title);
+        when(view.getState()).thenReturn(state);
+        when(view.getPriority()).thenReturn(priority);
+        when(view.getTaskCount()).thenReturn(count);
+        return view;
+    }
+}
@@ -3,14 +3,20 @@ package com.definex.task_management.service.impl;
 import com.definex.task_management.dto.ProjectRequest;
 import com.definex.task_management.dto.ProjectResponse;
 import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStatId;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
 import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.exception.InvalidStateTransitionException;
+import com.definex.task_management.exception.PreconditionFailedException;
 import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
 import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.projection.TaskStateView;
 import com.definex.task_management.security.CustomUserDetails;
 import com.definex.task_management.service.TaskService;
 import com.definex.task_management.service.UserService;
@@ -42,6 +48,9 @@ class ProjectServiceImplTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private ProjectTaskStatRepository projectTaskStatRepository;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -192,6 +201,18 @@ class ProjectServiceImplTest {
         verify(projectRepository).save(any(Project.class));
     }
 
+    @Test
+    void updateProject_StaleVersion() {
+        setupSecurityContext(customUserDetails);
+        project.setVersion(5L);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> projectService.updateProject(projectId, projectRequest, 4L));
+
+        verify(projectRepository, never()).save(any(Project.class));
+    }
+
     @Test
     void updateProjectStatus_Success() {
         setupSecurityContext(customUserDetails);
@@ -224,40 +245,63 @@ class ProjectServiceImplTest {
     void addTeamMember_Success() {
         setupSecurityContext(customUserDetails);
         UUID newUserId = UUID.randomUUID();
-        User newUser = User.builder()
-                .id(newUserId)
-                .department("IT")
-                .build();
 
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(userService.getUserEntityById(newUserId)).thenReturn(newUser);
-        when(projectRepository.save(any(Project.class))).thenReturn(project);
+        when(projectRepository.addTeamMember(projectId, newUserId)).thenReturn(1);
 
         ProjectResponse response = projectService.addTeamMember(projectId, newUserId);
 
         assertNotNull(response);
         assertEquals(projectId, response.getId());
 
-        verify(projectRepository).findById(projectId);
-        verify(userService).getUserEntityById(newUserId);
-        verify(projectRepository).save(any(Project.class));
+        verify(projectRepository).incrementVersion(projectId);
+        verify(userService, never()).getUserEntityById(any());
+        verify(projectRepository, never()).save(any(Project.class));
+    }
+
+    @Test
+    void addTeamMember_UserNotFound() {
+        setupSecurityContext(customUserDetails);
+        UUID missingUserId = UUID.randomUUID();
+
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.addTeamMember(projectId, missingUserId)).thenReturn(0);
+        when(userService.getUserEntityById(missingUserId))
+                .thenThrow(new EntityNotFoundException("User not found with id: " + missingUserId));
+
+        assertThrows(EntityNotFoundException.class, () -> projectService.addTeamMember(projectId, missingUserId));
+        verify(projectRepository, never()).incrementVersion(any());
     }
 
     @Test
     void removeTeamMember_Success() {
         setupSecurityContext(customUserDetails);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
-        when(userService.getUserEntityById(userId)).thenReturn(user);
-        when(projectRepository.save(any(Project.class))).thenReturn(project);
+        when(projectRepository.removeTeamMember(projectId, userId)).thenReturn(1);
 
         ProjectResponse response = projectService.removeTeamMember(projectId, userId);
 
         assertNotNull(response);
         assertEquals(projectId, response.getId());
 
-        verify(projectRepository).findById(projectId);
-        verify(userService).getUserEntityById(userId);
-        verify(projectRepository).save(any(Project.class));
+        assertNotNull(response.getTeamMembers());
+
+        verify(projectRepository).incrementVersion(projectId);
+        verify(projectRepository, never()).save(any(Project.class));
+    }
+
+    @Test
+    void removeTeamMember_NotMemberLeavesProjectUnchanged() {
+        setupSecurityContext(customUserDetails);
+        UUID otherUserId = UUID.randomUUID();
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.removeTeamMember(projectId, otherUserId)).thenReturn(0);
+        when(userService.getUserEntityById(otherUserId)).thenReturn(User.builder().id(otherUserId).build());
+
+        ProjectResponse response = projectService.removeTeamMember(projectId, otherUserId);
+
+        assertEquals(projectId, response.getId());
+        verify(projectRepository, never()).incrementVersion(any());
     }
 
     @Test
@@ -284,6 +328,7 @@ class ProjectServiceImplTest {
                 .build();
         
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(projectWithUser));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
 
         ProjectResponse response = projectService.getProjectByIdWithValidation(projectId, userId);
 
@@ -345,6 +390,12 @@ class ProjectServiceImplTest {
     void assignTask_Success() {
         setupSecurityContext(customUserDetails);
         UUID taskId = UUID.randomUUID();
+        UUID previousProjectId = UUID.randomUUID();
+        TaskStateView view = mock(TaskStateView.class);
+        when(view.getProjectId()).thenReturn(previousProjectId);
+        when(view.getState()).thenReturn(TaskState.IN_DEVELOPMENT);
+        when(view.getPriority()).thenReturn(TaskPriority.HIGH);
+        when(taskRepository.findStateViewsByIdIn(Set.of(taskId))).thenReturn(List.of(view));
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
         when(taskRepository.assignTaskToProject(taskId, projectId)).thenReturn(1);
         when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
@@ -356,6 +407,9 @@ class ProjectServiceImplTest {
         
         verify(projectRepository, times(2)).findById(projectId);
         verify(taskRepository).assignTaskToProject(taskId, projectId);
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                new ProjectTaskStatId(previousProjectId, TaskState.IN_DEVELOPMENT, TaskPriority.HIGH), -1L,
+                new ProjectTaskStatId(projectId, TaskState.IN_DEVELOPMENT, TaskPriority.HIGH), 1L));
     }
     
     @Test
@@ -0,0 +1,139 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DirectUploadResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3AttachmentStorageTest {
+    private static final String CHECKSUM = "6ae8a75555209fd6c44157c0aed8016e763ff435a19cf186f76863140143ff72";
+
+    @Mock
+    private S3Client s3Client;
+
+    @TempDir
+    Path tempDir;
+
+    private S3Presigner presigner;
+    private S3AttachmentStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        presigner = S3Presigner.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create("http://localhost:9000"))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+                .build();
+        storage = new S3AttachmentStorage(s3Client, presigner, "attachments", Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        presigner.close();
+    }
+
+    @Test
+    void presignUpload_SignsLengthAndChecksum() {
+        DirectUploadResponse upload = storage.presignUpload("blobs/" + CHECKSUM, 12, CHECKSUM).orElseThrow();
+
+        assertEquals("PUT", upload.getMethod());
+        assertTrue(upload.getUrl().startsWith("http://localhost:9000/attachments/blobs/" + CHECKSUM + "?"));
+        String signedHeaders = queryParameter(upload.getUrl(), "X-Amz-SignedHeaders");
+        assertTrue(signedHeaders.contains("content-length"));
+        assertTrue(signedHeaders.contains("x-amz-checksum-sha256"));
+        assertEquals("12", upload.getHeaders().get("content-length"));
+        assertEquals("auinVVUgn9bEQVfArtgBbnY/9DWhnPGG92hjFAFD/3I=", upload.getHeaders().get("x-amz-checksum-sha256"));
+        assertFalse(upload.getHeaders().containsKey("host"));
+        assertNotNull(upload.getExpiresAt());
+    }
+
+    @Test
+    void presignDownload_OverridesFileNameAndType() {
+        URI uri = storage.presignDownload("blobs/" + CHECKSUM, "rapor ş.pdf", "application/pdf").orElseThrow();
+
+        assertEquals("/attachments/blobs/" + CHECKSUM, uri.getPath());
+        assertEquals("application/pdf", queryParameter(uri.toString(), "response-content-type"));
+        assertTrue(queryParameter(uri.toString(), "response-content-disposition")
+                .contains("filename*=UTF-8''rapor%20%C5%9F.pdf"));
+    }
+
+    @Test
+    void exists_ReturnsFalseForMissingObject() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+        assertFalse(storage.exists("blobs/" + CHECKSUM));
+    }
+
+    @Test
+    void size_ThrowsNoSuchFileForMissingObject() {
+        when(s3Client.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+        assertThrows(NoSuchFileException.class, () -> storage.size("blobs/" + CHECKSUM));
+    }
+
+    @Test
+    void size_ReturnsObjectLength() throws IOException {
+        when(s3Client.headObject(any(HeadObjectRequest.class)))
+                .thenReturn(HeadObjectResponse.builder().contentLength(12L).build());
+
+        assertEquals(12L, storage.size("blobs/" + CHECKSUM));
+    }
+
+    @Test
+    void put_UploadsFileAndRemovesSource() throws IOException {
+        Path source = Files.writeString(tempDir.resolve("upload.tmp"), "test content");
+
+        storage.put("blobs/" + CHECKSUM, source);
+
+        verify(s3Client).putObject(
+                argThat((PutObjectRequest request) -> request.bucket().equals("attachments")
+                        && request.key().equals("blobs/" + CHECKSUM)),
+                any(RequestBody.class));
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void localFile_IsNotAvailable() {
+        assertTrue(storage.localFile("blobs/" + CHECKSUM).isEmpty());
+    }
+
+    private static String queryParameter(String url, String name) {
+        for (String parameter : URI.create(url).getRawQuery().split("&")) {
+            String[] pair = parameter.split("=", 2);
+            if (pair[0].equals(name)) {
+                return URLDecoder.decode(pair[1], StandardCharsets.UTF_8);
+            }
+        }
+        throw new AssertionError("No query parameter " + name + " in " + url);
+    }
+}
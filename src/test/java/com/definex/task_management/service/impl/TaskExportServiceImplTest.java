@@ -0,0 +1,197 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskExportServiceImpl taskExportService;
+
+    private UUID projectId;
+    private UUID userId;
+    private Project project;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.PROJECT_MANAGER)
+                .department("IT")
+                .build();
+
+        project = Project.builder()
+                .id(projectId)
+                .title("Test Project")
+                .department("IT")
+                .status(ProjectStatus.IN_PROGRESS)
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .tasks(new HashSet<>())
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void exportTasksUnderProject_WritesNdjsonLinePerTask() throws Exception {
+        Task first = task("First", TaskState.BACKLOG);
+        Task second = task("Second", TaskState.IN_DEVELOPMENT);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.streamByProjectId(projectId)).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskExportService.exportTasksUnderProject(projectId, TaskExportFormat.NDJSON, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        assertEquals(first.getId().toString(), firstLine.get("id").asText());
+        assertEquals(projectId.toString(), firstLine.get("projectId").asText());
+        assertEquals("BACKLOG", firstLine.get("state").asText());
+        assertEquals(userId.toString(), firstLine.get("assigneeIds").get(0).asText());
+        assertEquals("Second", objectMapper.readTree(lines[1]).get("title").asText());
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    void exportTasksUnderProject_WritesQuotedCsv() throws Exception {
+        Task task = task("Login, signup and \"reset\"", TaskState.BLOCKED);
+        task.setStateTransitionReason("Waiting on\nsecurity review");
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.streamByProjectId(projectId)).thenReturn(Stream.of(task));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskExportService.exportTasksUnderProject(projectId, TaskExportFormat.CSV, outputStream);
+
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith(TaskExportServiceImpl.CSV_HEADER + "\n"));
+        assertTrue(csv.contains(",\"Login, signup and \"\"reset\"\"\","));
+        assertTrue(csv.contains(",BLOCKED,MEDIUM,\"Waiting on\nsecurity review\",3," + userId + "\n"));
+    }
+
+    @Test
+    void exportTasksUnderProject_NeutralisesCsvFormulas() throws Exception {
+        Task task = task("=HYPERLINK(\"http://evil\",\"x\")", TaskState.BACKLOG);
+        task.setUserStory("@SUM(A1:A2)");
+        task.setAcceptanceCriteria("-2+3");
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.streamByProjectId(projectId)).thenReturn(Stream.of(task));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskExportService.exportTasksUnderProject(projectId, TaskExportFormat.CSV, outputStream);
+
+        String csv = outputStream.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'@SUM(A1:A2),'-2+3,BACKLOG,"));
+    }
+
+    @Test
+    void exportTasksUnderProject_ClearsPersistenceContextWhileScrolling() throws Exception {
+        int taskCount = TaskExportServiceImpl.CLEAR_INTERVAL * 2 + 1;
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.streamByProjectId(projectId))
+                .thenReturn(IntStream.range(0, taskCount).mapToObj(i -> task("Task " + i, TaskState.BACKLOG)));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        taskExportService.exportTasksUnderProject(projectId, TaskExportFormat.NDJSON, outputStream);
+
+        assertEquals(taskCount, outputStream.toString(StandardCharsets.UTF_8).split("\n").length);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void exportTasksUnderProject_ProjectNotFound() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () ->
+                taskExportService.exportTasksUnderProject(projectId, TaskExportFormat.NDJSON, new ByteArrayOutputStream()));
+
+        verify(taskRepository, never()).streamByProjectId(any());
+    }
+
+    @Test
+    void validateExportAccess_NotProjectMember() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class, () -> taskExportService.validateExportAccess(projectId));
+    }
+
+    private Task task(String title, TaskState state) {
+        return Task.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .state(state)
+                .priority(TaskPriority.MEDIUM)
+                .version(3L)
+                .project(project)
+                .assignees(new HashSet<>(Collections.singletonList(user)))
+                .build();
+    }
+}
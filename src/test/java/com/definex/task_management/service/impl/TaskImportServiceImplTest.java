@@ -0,0 +1,356 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.TaskImportResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.TaskImport;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskExportFormat;
+import com.definex.task_management.enums.TaskImportStatus;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.ResourceConflictException;
+import com.definex.task_management.repository.MergedAssigneeCount;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.StagedImportRow;
+import com.definex.task_management.repository.TaskImportRepository;
+import com.definex.task_management.repository.TaskImportStagingRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskImportServiceImplTest {
+
+    @Mock
+    private TaskImportRepository taskImportRepository;
+
+    @Mock
+    private TaskImportStagingRepository stagingRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private TaskWorkloadCounters workloadCounters;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskImportServiceImpl taskImportService;
+
+    private UUID projectId;
+    private UUID userId;
+    private Project project;
+    private TaskImport storedImport;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.PROJECT_MANAGER)
+                .department("IT")
+                .build();
+
+        project = Project.builder()
+                .id(projectId)
+                .title("Test Project")
+                .department("IT")
+                .status(ProjectStatus.IN_PROGRESS)
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .tasks(new HashSet<>())
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
+        lenient().when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        lenient().when(taskImportRepository.save(any(TaskImport.class))).thenAnswer(invocation -> {
+            TaskImport taskImport = invocation.getArgument(0);
+            if (taskImport.getId() == null) {
+                taskImport.setId(UUID.randomUUID());
+            }
+            storedImport = taskImport;
+            return taskImport;
+        });
+        lenient().when(taskImportRepository.findById(any(UUID.class)))
+                .thenAnswer(invocation -> Optional.ofNullable(storedImport));
+        lenient().when(stagingRepository.copyIntoStaging(any(UUID.class), anyList()))
+                .thenAnswer(invocation -> (long) ((List<?>) invocation.getArgument(1)).size());
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void startImport_StagesValidNdjsonRecordsAndMerges() {
+        String body = String.join("\n",
+                "{\"externalId\":\"T-1\",\"title\":\"Login\",\"userStory\":\"As a user\",\"acceptanceCriteria\":\"Works\"," +
+                        "\"priority\":\"high\",\"state\":\"in_analysis\",\"assigneeEmails\":[\" Dev@Example.com \",\"qa@example.com\"]}",
+                "{\"recordType\":\"comment\",\"taskExternalId\":\"T-1\",\"authorEmail\":\"PM@example.com\",\"content\":\"Ported\"}",
+                "{\"externalId\":\"T-2\",\"title\":\"Signup\",\"userStory\":\"As a user\",\"acceptanceCriteria\":\"Works\",\"priority\":\"URGENT\"}",
+                "{not json",
+                "");
+        when(stagingRepository.mergeTasks(any(UUID.class), eq(projectId))).thenReturn(1);
+        UUID devId = UUID.randomUUID();
+        UUID qaId = UUID.randomUUID();
+        when(stagingRepository.mergeAssignees(any(UUID.class), eq(projectId))).thenReturn(List.of(
+                merged(devId, TaskState.IN_ANALYSIS, TaskPriority.HIGH, 1),
+                merged(qaId, TaskState.IN_ANALYSIS, TaskPriority.HIGH, 1),
+                merged(devId, TaskState.BACKLOG, TaskPriority.LOW, 2)));
+        when(stagingRepository.mergeComments(any(UUID.class), eq(projectId))).thenReturn(1);
+
+        TaskImportResponse response = taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream(body));
+
+        assertEquals(TaskImportStatus.COMPLETED, response.getStatus());
+        assertEquals(projectId, response.getProjectId());
+        assertEquals(2, response.getStagedRecords());
+        assertEquals(2, response.getRejectedRecords());
+        assertEquals(4, response.getStagedThroughLine());
+        assertEquals(1, response.getMergedTasks());
+        assertEquals(4, response.getMergedAssignees());
+        assertEquals(1, response.getMergedComments());
+        verify(workloadCounters).adjust(List.of(devId, qaId), TaskState.IN_ANALYSIS, TaskPriority.HIGH, 1);
+        verify(workloadCounters).adjust(List.of(devId), TaskState.BACKLOG, TaskPriority.LOW, 2);
+        verify(workloadCounters, never()).rebuild();
+        assertEquals("Line 3: Unknown priority: URGENT", response.getErrors().get(0));
+        assertTrue(response.getErrors().get(1).startsWith("Line 4: Malformed JSON"));
+
+        List<StagedImportRow> rows = captureStagedRows(1).get(0);
+        StagedImportRow task = rows.get(0);
+        StagedImportRow comment = rows.get(1);
+        assertEquals("TASK", task.getRecordType());
+        assertEquals("HIGH", task.getPriority());
+        assertEquals("IN_ANALYSIS", task.getState());
+        assertEquals("dev@example.com;qa@example.com", task.getAssigneeEmails());
+        assertEquals("COMMENT", comment.getRecordType());
+        assertEquals(task.getTaskId(), comment.getTaskId());
+        assertEquals("pm@example.com", comment.getAuthorEmail());
+        assertNotNull(comment.getCommentId());
+        verify(stagingRepository).deleteStagedRows(response.getId());
+    }
+
+    @Test
+    void startImport_ParsesCsvByHeaderName() {
+        String body = "priority,title,external_id,user_story,acceptance_criteria,assignee_emails\n" +
+                "LOW,\"Report, \"\"monthly\"\"\",T-9,\"Line one\nline two\",Done,a@example.com;b@example.com\n";
+
+        TaskImportResponse response = taskImportService.startImport(projectId, TaskExportFormat.CSV, stream(body));
+
+        assertEquals(TaskImportStatus.COMPLETED, response.getStatus());
+        StagedImportRow row = captureStagedRows(1).get(0).get(0);
+        assertEquals(1, row.getLineNumber());
+        assertEquals("Report, \"monthly\"", row.getTitle());
+        assertEquals("Line one\nline two", row.getUserStory());
+        assertEquals("LOW", row.getPriority());
+        assertNull(row.getState());
+        assertEquals("a@example.com;b@example.com", row.getAssigneeEmails());
+    }
+
+    @Test
+    void startImport_DerivesSameTaskIdForSameExternalId() {
+        String body = "{\"externalId\":\"T-1\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}\n";
+
+        taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream(body));
+        taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream(body));
+
+        List<List<StagedImportRow>> batches = captureStagedRows(2);
+        assertEquals(batches.get(0).get(0).getTaskId(), batches.get(1).get(0).getTaskId());
+    }
+
+    @Test
+    void startImport_CommitsProgressPerChunk() {
+        StringBuilder body = new StringBuilder();
+        int records = TaskImportServiceImpl.CHUNK_SIZE * 2 + 10;
+        for (int i = 0; i < records; i++) {
+            body.append("{\"externalId\":\"T-").append(i)
+                    .append("\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}\n");
+        }
+
+        TaskImportResponse response = taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream(body.toString()));
+
+        List<List<StagedImportRow>> batches = captureStagedRows(3);
+        assertEquals(TaskImportServiceImpl.CHUNK_SIZE, batches.get(0).size());
+        assertEquals(10, batches.get(2).size());
+        assertEquals(records, response.getStagedRecords());
+        assertEquals(records, response.getStagedThroughLine());
+    }
+
+    @Test
+    void startImport_MarksImportFailedWhenStagingFails() {
+        when(stagingRepository.copyIntoStaging(any(UUID.class), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+        String body = "{\"externalId\":\"T-1\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}\n";
+
+        TaskImportResponse response = taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream(body));
+
+        assertEquals(TaskImportStatus.FAILED, response.getStatus());
+        assertEquals(0, response.getStagedThroughLine());
+        assertEquals(List.of("Import failed: connection reset"), response.getErrors());
+        verify(stagingRepository, never()).mergeTasks(any(), any());
+    }
+
+    @Test
+    void startImport_NotProjectMember() {
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class,
+                () -> taskImportService.startImport(projectId, TaskExportFormat.NDJSON, stream("")));
+
+        verify(taskImportRepository, never()).save(any());
+    }
+
+    @Test
+    void resumeImport_SkipsLinesAlreadyStaged() {
+        storedImport = TaskImport.builder()
+                .id(UUID.randomUUID())
+                .project(project)
+                .startedBy(userId)
+                .format(TaskExportFormat.NDJSON)
+                .status(TaskImportStatus.FAILED)
+                .stagedThroughLine(2)
+                .stagedRecords(2)
+                .build();
+        String body = String.join("\n",
+                "{\"externalId\":\"T-1\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}",
+                "{\"externalId\":\"T-2\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}",
+                "{\"externalId\":\"T-3\",\"title\":\"A\",\"userStory\":\"B\",\"acceptanceCriteria\":\"C\",\"priority\":\"LOW\"}");
+        when(taskImportRepository.claimForResume(eq(storedImport.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        TaskImportResponse response = taskImportService.resumeImport(storedImport.getId(), stream(body));
+
+        List<StagedImportRow> rows = captureStagedRows(1).get(0);
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.get(0).getLineNumber());
+        assertEquals(3, response.getStagedRecords());
+        assertEquals(TaskImportStatus.COMPLETED, response.getStatus());
+    }
+
+    @Test
+    void resumeImport_CsvSeeksToLastStagedRecord() {
+        String header = "external_id,title,user_story,acceptance_criteria,priority\r\n";
+        String first = "T-1,A,\"Multi\nline\",C,LOW\r\n";
+        String second = "T-2,A,B,C,LOW\r\n";
+        String third = "T-3,Third,B,C,HIGH\r\n";
+        storedImport = TaskImport.builder()
+                .id(UUID.randomUUID())
+                .project(project)
+                .startedBy(userId)
+                .format(TaskExportFormat.CSV)
+                .status(TaskImportStatus.FAILED)
+                .stagedThroughLine(2)
+                .stagedThroughPosition(header.length() + first.length())
+                .stagedRecords(2)
+                .build();
+        when(taskImportRepository.claimForResume(eq(storedImport.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(1);
+
+        TaskImportResponse response = taskImportService.resumeImport(storedImport.getId(),
+                stream(header + first + second + third));
+
+        List<StagedImportRow> rows = captureStagedRows(1).get(0);
+        assertEquals(1, rows.size());
+        assertEquals(3, rows.get(0).getLineNumber());
+        assertEquals("Third", rows.get(0).getTitle());
+        assertEquals("HIGH", rows.get(0).getPriority());
+        assertEquals(3, response.getStagedThroughLine());
+        assertEquals(header.length() + first.length() + second.length(), storedImport.getStagedThroughPosition());
+    }
+
+    @Test
+    void resumeImport_RejectsResumeWhileAnotherRunHoldsTheImport() {
+        storedImport = TaskImport.builder()
+                .id(UUID.randomUUID())
+                .project(project)
+                .startedBy(userId)
+                .format(TaskExportFormat.NDJSON)
+                .status(TaskImportStatus.STAGING)
+                .build();
+        when(taskImportRepository.claimForResume(eq(storedImport.getId()), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+
+        assertThrows(ResourceConflictException.class,
+                () -> taskImportService.resumeImport(storedImport.getId(), stream("ignored")));
+
+        verifyNoInteractions(stagingRepository);
+    }
+
+    @Test
+    void resumeImport_CompletedImportIsNotRestaged() {
+        storedImport = TaskImport.builder()
+                .id(UUID.randomUUID())
+                .project(project)
+                .format(TaskExportFormat.CSV)
+                .status(TaskImportStatus.COMPLETED)
+                .build();
+
+        TaskImportResponse response = taskImportService.resumeImport(storedImport.getId(), stream("ignored"));
+
+        assertEquals(TaskImportStatus.COMPLETED, response.getStatus());
+        verifyNoInteractions(stagingRepository);
+    }
+
+    private List<List<StagedImportRow>> captureStagedRows(int times) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StagedImportRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stagingRepository, times(times)).copyIntoStaging(any(UUID.class), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private MergedAssigneeCount merged(UUID userId, TaskState state, TaskPriority priority, int taskCount) {
+        return MergedAssigneeCount.builder()
+                .userId(userId)
+                .state(state)
+                .priority(priority)
+                .taskCount(taskCount)
+                .build();
+    }
+
+    private ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
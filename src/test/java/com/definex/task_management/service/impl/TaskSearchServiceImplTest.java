@@ -0,0 +1,233 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.TaskCursorPageResponse;
+import com.definex.task_management.dto.TaskFilterRequest;
+import com.definex.task_management.dto.TaskFilterResponse;
+import com.definex.task_management.dto.TaskSearchResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.projection.TaskSearchHit;
+import com.definex.task_management.repository.projection.TaskSummaryView;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchServiceImplTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskSearchServiceImpl taskSearchService;
+
+    private UUID projectId;
+    private UUID userId;
+    private Project project;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.TEAM_MEMBER)
+                .department("IT")
+                .build();
+
+        project = Project.builder()
+                .id(projectId)
+                .title("Test Project")
+                .department("IT")
+                .status(ProjectStatus.IN_PROGRESS)
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .tasks(new HashSet<>())
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void searchTasks_UsesPrefixQueryAndMembershipFilter() {
+        TaskSearchHit hit = mock(TaskSearchHit.class);
+        UUID taskId = UUID.randomUUID();
+        when(hit.getId()).thenReturn(taskId);
+        when(hit.getState()).thenReturn(TaskState.BACKLOG);
+        when(hit.getPriority()).thenReturn(TaskPriority.HIGH);
+        when(hit.getRank()).thenReturn(0.6);
+        when(hit.getMatchedComments()).thenReturn(2L);
+        when(taskRepository.search(anyString(), anyString(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(List.of(hit), PageRequest.of(0, 20), 21));
+
+        TaskSearchResponse response = taskSearchService.searchTasks("Login pag", null, 0, 20);
+
+        verify(taskRepository).search("login:* & pag:*", "IT", null, userId, false, PageRequest.of(0, 20));
+        assertEquals(1, response.getResults().size());
+        assertEquals(taskId, response.getResults().get(0).getId());
+        assertEquals(2L, response.getResults().get(0).getMatchedComments());
+        assertEquals(21, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+    }
+
+    @Test
+    void searchTasks_ProjectGroupManagerSearchesWholeDepartment() {
+        user.setRole(UserRole.PROJECT_GROUP_MANAGER);
+        when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        when(taskRepository.search(anyString(), anyString(), any(), any(), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        taskSearchService.searchTasks("login", null, 0, 20);
+
+        verify(taskRepository).search("login:*", "IT", null, userId, true, PageRequest.of(0, 20));
+    }
+
+    @Test
+    void searchTasks_ValidatesProjectAccess() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class, () -> taskSearchService.searchTasks("login", projectId, 0, 20));
+
+        verify(taskRepository, never()).search(any(), any(), any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void searchTasks_SkipsQueryWithoutSearchableTerms() {
+        TaskSearchResponse response = taskSearchService.searchTasks("&|!()", null, 0, 20);
+
+        assertTrue(response.getResults().isEmpty());
+        assertEquals(0, response.getTotalElements());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterTasks_ReturnsSummariesSortedById() {
+        Task task = Task.builder()
+                .id(UUID.randomUUID())
+                .title("Login")
+                .state(TaskState.IN_DEVELOPMENT)
+                .priority(TaskPriority.CRITICAL)
+                .version(2L)
+                .project(project)
+                .build();
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(task), PageRequest.of(0, 20), 1));
+
+        TaskFilterResponse response = taskSearchService.filterTasks(TaskFilterRequest.builder()
+                .states(Set.of(TaskState.IN_DEVELOPMENT))
+                .priorities(Set.of(TaskPriority.CRITICAL))
+                .projectId(projectId)
+                .assigneeId(userId)
+                .build(), 0, 20);
+
+        verify(taskRepository).findAll(any(Specification.class), eq(PageRequest.of(0, 20, Sort.by("id"))));
+        assertEquals(1, response.getTotalElements());
+        assertEquals("Login", response.getResults().get(0).getTitle());
+        assertEquals("Test Project", response.getResults().get(0).getProjectTitle());
+        assertEquals(2L, response.getResults().get(0).getVersion());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void filterTasks_ValidatesProjectAccess() {
+        project.setDepartment("HR");
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+
+        assertThrows(DeniedAccessException.class, () -> taskSearchService.filterTasks(
+                TaskFilterRequest.builder().projectId(projectId).build(), 0, 20));
+
+        verify(taskRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getMyTasks_FirstPageReturnsCursorWhenMoreRowsExist() {
+        List<TaskSummaryView> rows = List.of(summaryView(), summaryView(), summaryView());
+        when(taskRepository.findAssignedTasks(userId, List.of("BLOCKED"),
+                List.of("CRITICAL", "HIGH", "MEDIUM", "LOW"), 3)).thenReturn(rows);
+
+        TaskCursorPageResponse response = taskSearchService.getMyTasks(Set.of(TaskState.BLOCKED), null, null, 2);
+
+        assertTrue(response.isHasMore());
+        assertEquals(2, response.getResults().size());
+        assertEquals(rows.get(1).getId(), response.getNextCursor());
+        verify(taskRepository, never()).findAssignedTasksAfter(any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getMyTasks_LastPageHasNoCursor() {
+        UUID after = UUID.randomUUID();
+        List<TaskSummaryView> rows = List.of(summaryView());
+        when(taskRepository.findAssignedTasksAfter(eq(userId), eq(after), anyList(), eq(List.of("HIGH")), eq(21)))
+                .thenReturn(rows);
+
+        TaskCursorPageResponse response = taskSearchService.getMyTasks(null, Set.of(TaskPriority.HIGH), after, 20);
+
+        assertFalse(response.isHasMore());
+        assertNull(response.getNextCursor());
+        assertEquals(rows.get(0).getId(), response.getResults().get(0).getId());
+    }
+
+    @Test
+    void toPrefixTsQuery_StripsOperatorsAndLimitsTerms() {
+        assertEquals("a:* & b:*", TaskSearchServiceImpl.toPrefixTsQuery("a:* | !b a"));
+        assertEquals(TaskSearchServiceImpl.MAX_TERMS,
+                TaskSearchServiceImpl.toPrefixTsQuery("one two three four five six seven eight nine ten").split(" & ").length);
+    }
+
+    private TaskSummaryView summaryView() {
+        TaskSummaryView view = mock(TaskSummaryView.class);
+        lenient().when(view.getId()).thenReturn(UUID.randomUUID());
+        lenient().when(view.getProjectId()).thenReturn(projectId);
+        return view;
+    }
+}
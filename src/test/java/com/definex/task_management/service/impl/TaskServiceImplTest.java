@@ -1,8 +1,12 @@
 package com.definex.task_management.service.impl;
 
+import com.definex.task_management.dto.BulkTaskOperationResponse;
+import com.definex.task_management.dto.BulkTaskPriorityUpdateRequest;
+import com.definex.task_management.dto.BulkTaskStateUpdateRequest;
 import com.definex.task_management.dto.TaskRequest;
 import com.definex.task_management.dto.TaskResponse;
 import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.ProjectTaskStatId;
 import com.definex.task_management.entity.Task;
 import com.definex.task_management.entity.User;
 import com.definex.task_management.enums.ProjectStatus;
@@ -12,8 +16,14 @@ import com.definex.task_management.enums.UserRole;
 import com.definex.task_management.exception.DeniedAccessException;
 import com.definex.task_management.exception.EntityNotFoundException;
 import com.definex.task_management.exception.InvalidStateTransitionException;
+import com.definex.task_management.exception.PreconditionFailedException;
+import com.definex.task_management.exception.TaskStateConflictException;
 import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.ProjectTaskStatRepository;
 import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.projection.TaskAssigneeView;
+import com.definex.task_management.repository.projection.TaskStateView;
 import com.definex.task_management.security.CustomUserDetails;
 import com.definex.task_management.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +40,9 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,9 +54,18 @@ class TaskServiceImplTest {
     @Mock
     private ProjectRepository projectRepository;
 
+    @Mock
+    private ProjectTaskStatRepository projectTaskStatRepository;
+
     @Mock
     private UserService userService;
 
+    @Mock
+    private TaskTransitionRecorder transitionRecorder;
+
+    @Mock
+    private TaskWorkloadCounters workloadCounters;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -113,6 +135,7 @@ class TaskServiceImplTest {
 
         lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
         lenient().when(authentication.getPrincipal()).thenReturn(customUserDetails);
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -135,6 +158,10 @@ class TaskServiceImplTest {
         verify(projectRepository).findByIdAndUserAccess(projectId, userId);
         verify(userService).getUserEntityById(userId);
         verify(taskRepository).save(any(Task.class));
+        verify(projectTaskStatRepository).applyDeltas(Map.of(statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), 1L));
+        verify(transitionRecorder).record(argThat(transition -> transition.getFromState() == null
+                && transition.getToState() == TaskState.BACKLOG
+                && taskId.equals(transition.getTaskId())));
     }
 
     @Test
@@ -183,29 +210,81 @@ class TaskServiceImplTest {
 
     @Test
     void updateTaskState_Success() {
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.findStateViewById(taskId)).thenReturn(Optional.of(stateView(taskId, TaskState.BACKLOG)));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.compareAndSetState(taskId, "BACKLOG", "IN_ANALYSIS", null)).thenReturn(Optional.of(4L));
+        TaskAssigneeView assignee = assigneeView(taskId, userId);
+        when(taskRepository.findAssigneesByTaskIdIn(Set.of(taskId))).thenReturn(List.of(assignee));
 
         TaskResponse response = taskService.updateTaskState(taskId, TaskState.IN_ANALYSIS, "Reason");
 
         assertNotNull(response);
         assertEquals(taskId, response.getId());
         assertEquals(TaskState.IN_ANALYSIS, response.getState());
+        assertEquals(TaskPriority.MEDIUM, response.getPriority());
+        assertEquals(4L, response.getVersion());
+        assertEquals(projectId, response.getProjectId());
 
-        verify(taskRepository).findById(taskId);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository, never()).findById(any(UUID.class));
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L,
+                statKey(TaskState.IN_ANALYSIS, TaskPriority.MEDIUM), 1L));
+        verify(transitionRecorder).record(argThat(transition -> transition.getFromState() == TaskState.BACKLOG
+                && transition.getToState() == TaskState.IN_ANALYSIS
+                && transition.getReason() == null
+                && userId.equals(transition.getActorId())
+                && projectId.equals(transition.getProjectId())));
+        verify(workloadCounters).move(List.of(userId), TaskState.BACKLOG, TaskPriority.MEDIUM,
+                TaskState.IN_ANALYSIS, TaskPriority.MEDIUM);
+    }
+
+    @Test
+    void updateTaskState_KeepsReasonForBlockedTransition() {
+        when(taskRepository.findStateViewById(taskId)).thenReturn(Optional.of(stateView(taskId, TaskState.IN_ANALYSIS)));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.compareAndSetState(taskId, "IN_ANALYSIS", "BLOCKED", "Waiting on API"))
+                .thenReturn(Optional.of(1L));
+
+        TaskResponse response = taskService.updateTaskState(taskId, TaskState.BLOCKED, "Waiting on API");
+
+        assertEquals(TaskState.BLOCKED, response.getState());
+        verify(transitionRecorder).record(argThat(transition -> "Waiting on API".equals(transition.getReason())));
+    }
+
+    @Test
+    void updateTaskState_ConcurrentTransition() {
+        when(taskRepository.findStateViewById(taskId)).thenReturn(Optional.of(stateView(taskId, TaskState.BACKLOG)));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(taskRepository.compareAndSetState(taskId, "BACKLOG", "IN_ANALYSIS", null)).thenReturn(Optional.empty());
+        when(taskRepository.findStateById(taskId)).thenReturn(Optional.of(TaskState.CANCELLED));
+
+        TaskStateConflictException exception = assertThrows(TaskStateConflictException.class,
+                () -> taskService.updateTaskState(taskId, TaskState.IN_ANALYSIS, null));
+
+        assertEquals(TaskState.CANCELLED, exception.getCurrentState());
+        verifyNoInteractions(projectTaskStatRepository, transitionRecorder, workloadCounters);
     }
 
     @Test
     void updateTaskState_InvalidTransition() {
-        task.setState(TaskState.COMPLETED);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.findStateViewById(taskId)).thenReturn(Optional.of(stateView(taskId, TaskState.COMPLETED)));
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
 
         assertThrows(InvalidStateTransitionException.class,
                 () -> taskService.updateTaskState(taskId, TaskState.BACKLOG, "Reason"));
 
-        verify(taskRepository).findById(taskId);
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, never()).compareAndSetState(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateTaskState_NotFound() {
+        when(taskRepository.findStateViewById(taskId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> taskService.updateTaskState(taskId, TaskState.IN_ANALYSIS, null));
+
+        verifyNoInteractions(projectTaskStatRepository, transitionRecorder, workloadCounters);
     }
 
     @Test
@@ -221,44 +300,82 @@ class TaskServiceImplTest {
 
         verify(taskRepository).findById(taskId);
         verify(taskRepository).save(any(Task.class));
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L,
+                statKey(TaskState.BACKLOG, TaskPriority.HIGH), 1L));
     }
 
     @Test
     void assignUserToTask_Success() {
         UUID newUserId = UUID.randomUUID();
-        User newUser = User.builder()
-                .id(newUserId)
-                .department("IT")
-                .build();
 
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(userService.getUserEntityById(newUserId)).thenReturn(newUser);
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.addAssignee(taskId, newUserId)).thenReturn(1);
 
         TaskResponse response = taskService.assignUserToTask(taskId, newUserId);
 
         assertNotNull(response);
         assertEquals(taskId, response.getId());
+        assertNotNull(response.getAssignees());
+        assertNotNull(response.getComments());
 
-        verify(taskRepository).findById(taskId);
-        verify(userService).getUserEntityById(newUserId);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).incrementVersions(Set.of(taskId));
+        verify(userService, never()).getUserEntityById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(workloadCounters).adjust(List.of(newUserId), TaskState.BACKLOG, TaskPriority.MEDIUM, 1);
     }
 
     @Test
-    void removeUserFromTask_Success() {
+    void assignUserToTask_AlreadyAssigned() {
         when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.addAssignee(taskId, userId)).thenReturn(0);
         when(userService.getUserEntityById(userId)).thenReturn(user);
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        TaskResponse response = taskService.assignUserToTask(taskId, userId);
+
+        assertEquals(taskId, response.getId());
+        verify(taskRepository, never()).incrementVersions(anyCollection());
+        verifyNoInteractions(workloadCounters);
+    }
+
+    @Test
+    void assignUserToTask_UserNotFound() {
+        UUID missingUserId = UUID.randomUUID();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.addAssignee(taskId, missingUserId)).thenReturn(0);
+        when(userService.getUserEntityById(missingUserId))
+                .thenThrow(new EntityNotFoundException("User not found with id: " + missingUserId));
+
+        assertThrows(EntityNotFoundException.class, () -> taskService.assignUserToTask(taskId, missingUserId));
+        verify(taskRepository, never()).incrementVersions(anyCollection());
+    }
+
+    @Test
+    void removeUserFromTask_Success() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.removeAssignee(taskId, userId)).thenReturn(1);
 
         TaskResponse response = taskService.removeUserFromTask(taskId, userId);
 
         assertNotNull(response);
         assertEquals(taskId, response.getId());
 
-        verify(taskRepository).findById(taskId);
-        verify(userService).getUserEntityById(userId);
-        verify(taskRepository).save(any(Task.class));
+        verify(taskRepository).incrementVersions(Set.of(taskId));
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void removeUserFromTask_NotAssigned() {
+        UUID otherUserId = UUID.randomUUID();
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(taskRepository.removeAssignee(taskId, otherUserId)).thenReturn(0);
+        when(userService.getUserEntityById(otherUserId)).thenReturn(User.builder().id(otherUserId).build());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> taskService.removeUserFromTask(taskId, otherUserId));
+
+        assertEquals("User is not assigned to this task", exception.getMessage());
+        verify(taskRepository, never()).incrementVersions(anyCollection());
     }
 
     @Test
@@ -273,6 +390,8 @@ class TaskServiceImplTest {
 
         verify(taskRepository).findById(taskId);
         verify(taskRepository).delete(task);
+        verify(projectTaskStatRepository).applyDeltas(Map.of(statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L));
+        verify(workloadCounters).adjust(List.of(userId), TaskState.BACKLOG, TaskPriority.MEDIUM, -1);
     }
 
     @Test
@@ -306,6 +425,30 @@ class TaskServiceImplTest {
         verify(taskRepository).save(any(Task.class));
     }
 
+    @Test
+    void updateTask_MatchingVersion() {
+        task.setVersion(2L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(userService.getUserEntityById(userId)).thenReturn(user);
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        TaskResponse response = taskService.updateTask(taskId, taskRequest, 2L);
+
+        assertEquals(2L, response.getVersion());
+        verify(taskRepository).save(any(Task.class));
+    }
+
+    @Test
+    void updateTask_StaleVersion() {
+        task.setVersion(3L);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> taskService.updateTask(taskId, taskRequest, 2L));
+
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     @Test
     void updateTask_NotFound() {
         when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
@@ -350,6 +493,9 @@ class TaskServiceImplTest {
         assertEquals(1, responses.size());
         assertEquals(taskId, responses.get(0).getId());
         assertEquals(task.getTitle(), responses.get(0).getTitle());
+        assertEquals(0, responses.get(0).getCommentCount());
+        assertNull(responses.get(0).getComments());
+        assertNull(responses.get(0).getAttachments());
 
         verify(projectRepository).findByIdAndUserAccess(projectId, userId);
         verify(taskRepository).findByProjectId(projectId);
@@ -366,4 +512,200 @@ class TaskServiceImplTest {
         verify(projectRepository).findByIdAndUserAccess(projectId, userId);
         verify(taskRepository, never()).findByProjectId(any(UUID.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void bulkUpdateTaskState_ReportsPerTaskOutcome() {
+        UUID completedTaskId = UUID.randomUUID();
+        UUID missingTaskId = UUID.randomUUID();
+        Set<UUID> taskIds = new LinkedHashSet<>(List.of(taskId, completedTaskId, missingTaskId));
+        BulkTaskStateUpdateRequest request = BulkTaskStateUpdateRequest.builder()
+                .taskIds(taskIds)
+                .newState(TaskState.IN_ANALYSIS)
+                .build();
+
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(
+                stateView(taskId, TaskState.BACKLOG),
+                stateView(completedTaskId, TaskState.COMPLETED)));
+        when(projectRepository.findAllById(Set.of(projectId))).thenReturn(List.of(project));
+        when(taskRepository.bulkUpdateState(Set.of(taskId), "BACKLOG", "IN_ANALYSIS", null))
+                .thenReturn(List.of(stateView(taskId, TaskState.IN_ANALYSIS)));
+        TaskAssigneeView assignee = assigneeView(taskId, userId);
+        when(taskRepository.findAssigneesByTaskIdIn(Set.of(taskId))).thenReturn(List.of(assignee));
+
+        BulkTaskOperationResponse response = taskService.bulkUpdateTaskState(request);
+
+        assertEquals(3, response.getRequested());
+        assertEquals(1, response.getSucceeded());
+        assertEquals(2, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("Invalid state transition from COMPLETED to IN_ANALYSIS", response.getResults().get(1).getMessage());
+        assertEquals("Task not found with id: " + missingTaskId, response.getResults().get(2).getMessage());
+        verify(projectRepository, times(1)).findAllById(any());
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L,
+                statKey(TaskState.IN_ANALYSIS, TaskPriority.MEDIUM), 1L));
+        verify(transitionRecorder, times(1)).record(any(TaskStateTransition.class));
+        verify(transitionRecorder).record(argThat(transition -> taskId.equals(transition.getTaskId())));
+        verify(workloadCounters).move(List.of(userId), TaskState.BACKLOG, TaskPriority.MEDIUM,
+                TaskState.IN_ANALYSIS, TaskPriority.MEDIUM);
+    }
+
+    @Test
+    void bulkUpdateTaskState_OnlyRecordsRowsChangedFromTheirReadState() {
+        UUID movedTaskId = UUID.randomUUID();
+        UUID blockedTaskId = UUID.randomUUID();
+        Set<UUID> taskIds = new LinkedHashSet<>(List.of(taskId, movedTaskId, blockedTaskId));
+        BulkTaskStateUpdateRequest request = BulkTaskStateUpdateRequest.builder()
+                .taskIds(taskIds)
+                .newState(TaskState.IN_ANALYSIS)
+                .build();
+
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(
+                stateView(taskId, TaskState.BACKLOG),
+                stateView(movedTaskId, TaskState.BACKLOG),
+                stateView(blockedTaskId, TaskState.BLOCKED)));
+        when(projectRepository.findAllById(Set.of(projectId))).thenReturn(List.of(project));
+        when(taskRepository.bulkUpdateState(Set.of(taskId, movedTaskId), "BACKLOG", "IN_ANALYSIS", null))
+                .thenReturn(List.of(stateView(taskId, TaskState.IN_ANALYSIS)));
+        when(taskRepository.bulkUpdateState(Set.of(blockedTaskId), "BLOCKED", "IN_ANALYSIS", null))
+                .thenReturn(List.of());
+
+        BulkTaskOperationResponse response = taskService.bulkUpdateTaskState(request);
+
+        assertEquals(1, response.getSucceeded());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("Task state was changed concurrently", response.getResults().get(1).getMessage());
+        assertEquals("Task state was changed concurrently", response.getResults().get(2).getMessage());
+        verify(taskRepository, times(1)).findStateViewsByIdIn(any());
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L,
+                statKey(TaskState.IN_ANALYSIS, TaskPriority.MEDIUM), 1L));
+        verify(transitionRecorder).record(argThat(transition -> taskId.equals(transition.getTaskId())
+                && transition.getFromState() == TaskState.BACKLOG));
+        verifyNoMoreInteractions(transitionRecorder);
+    }
+
+    @Test
+    void bulkUpdateTaskPriority_DeniesTasksOfInaccessibleProjects() {
+        Project otherProject = Project.builder()
+                .id(UUID.randomUUID())
+                .department("HR")
+                .teamMembers(new HashSet<>())
+                .build();
+        UUID otherTaskId = UUID.randomUUID();
+        Set<UUID> taskIds = new LinkedHashSet<>(List.of(taskId, otherTaskId));
+        BulkTaskPriorityUpdateRequest request = BulkTaskPriorityUpdateRequest.builder()
+                .taskIds(taskIds)
+                .priority(TaskPriority.CRITICAL)
+                .build();
+
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(
+                stateView(taskId, TaskState.BACKLOG),
+                stateView(otherTaskId, TaskState.BACKLOG, otherProject.getId())));
+        when(projectRepository.findAllById(Set.of(projectId, otherProject.getId())))
+                .thenReturn(List.of(project, otherProject));
+        when(taskRepository.bulkUpdatePriority(Set.of(taskId), TaskPriority.CRITICAL)).thenReturn(1);
+
+        BulkTaskOperationResponse response = taskService.bulkUpdateTaskPriority(request);
+
+        assertEquals(1, response.getSucceeded());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("User does not have access to resources in another department",
+                response.getResults().get(1).getMessage());
+        verify(projectTaskStatRepository).applyDeltas(Map.of(
+                statKey(TaskState.BACKLOG, TaskPriority.MEDIUM), -1L,
+                statKey(TaskState.BACKLOG, TaskPriority.CRITICAL), 1L));
+    }
+
+    @Test
+    void bulkAssignUserToTasks_Success() {
+        Set<UUID> taskIds = Set.of(taskId);
+        when(userService.getUserEntityById(userId)).thenReturn(user);
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(stateView(taskId, TaskState.BACKLOG)));
+        when(projectRepository.findAllById(Set.of(projectId))).thenReturn(List.of(project));
+        when(taskRepository.bulkAddAssignee(Set.of(taskId), userId)).thenReturn(List.of(taskId));
+
+        BulkTaskOperationResponse response = taskService.bulkAssignUserToTasks(userId, taskIds);
+
+        assertEquals(1, response.getSucceeded());
+        verify(taskRepository).incrementVersions(Set.of(taskId));
+        verify(taskRepository, never()).findAssignedTaskIds(any(), any());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(workloadCounters).adjust(List.of(userId), TaskState.BACKLOG, TaskPriority.MEDIUM, 1);
+    }
+
+    @Test
+    void bulkAssignUserToTasks_ReportsAndSkipsExistingAssignments() {
+        Set<UUID> taskIds = Set.of(taskId);
+        when(userService.getUserEntityById(userId)).thenReturn(user);
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(stateView(taskId, TaskState.BACKLOG)));
+        when(projectRepository.findAllById(Set.of(projectId))).thenReturn(List.of(project));
+        when(taskRepository.bulkAddAssignee(Set.of(taskId), userId)).thenReturn(List.of());
+        when(taskRepository.findAssignedTaskIds(Set.of(taskId), userId)).thenReturn(List.of(taskId));
+
+        BulkTaskOperationResponse response = taskService.bulkAssignUserToTasks(userId, taskIds);
+
+        assertEquals(0, response.getSucceeded());
+        assertEquals("User is already assigned to this task", response.getResults().get(0).getMessage());
+        verify(taskRepository, never()).incrementVersions(any());
+        verifyNoInteractions(workloadCounters);
+    }
+
+    @Test
+    void bulkRemoveUserFromTasks_FailsForUnassignedTasks() {
+        UUID unassignedTaskId = UUID.randomUUID();
+        Set<UUID> taskIds = new LinkedHashSet<>(List.of(taskId, unassignedTaskId));
+        when(taskRepository.findStateViewsByIdIn(taskIds)).thenReturn(List.of(
+                stateView(taskId, TaskState.BACKLOG),
+                stateView(unassignedTaskId, TaskState.BACKLOG)));
+        when(projectRepository.findAllById(Set.of(projectId))).thenReturn(List.of(project));
+        when(taskRepository.findAssignedTaskIds(Set.of(taskId, unassignedTaskId), userId)).thenReturn(List.of(taskId));
+        when(taskRepository.bulkRemoveAssignee(Set.of(taskId), userId)).thenReturn(1);
+
+        BulkTaskOperationResponse response = taskService.bulkRemoveUserFromTasks(userId, taskIds);
+
+        assertEquals(1, response.getSucceeded());
+        assertEquals("User is not assigned to this task", response.getResults().get(1).getMessage());
+        verify(workloadCounters).adjust(List.of(userId), TaskState.BACKLOG, TaskPriority.MEDIUM, -1);
+        verifyNoMoreInteractions(workloadCounters);
+    }
+
+    private TaskAssigneeView assigneeView(UUID id, UUID assigneeId) {
+        TaskAssigneeView view = mock(TaskAssigneeView.class);
+        when(view.getTaskId()).thenReturn(id);
+        when(view.getUserId()).thenReturn(assigneeId);
+        return view;
+    }
+
+    private TaskStateView stateView(UUID id, TaskState state) {
+        return stateView(id, state, projectId);
+    }
+
+    private TaskStateView stateView(UUID id, TaskState state, UUID viewProjectId) {
+        return new TaskStateView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public TaskState getState() {
+                return state;
+            }
+
+            @Override
+            public TaskPriority getPriority() {
+                return TaskPriority.MEDIUM;
+            }
+
+            @Override
+            public UUID getProjectId() {
+                return viewProjectId;
+            }
+        };
+    }
+
+    private ProjectTaskStatId statKey(TaskState state, TaskPriority priority) {
+        return new ProjectTaskStatId(projectId, state, priority);
+    }
+}
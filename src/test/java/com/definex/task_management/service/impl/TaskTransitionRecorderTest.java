@@ -0,0 +1,88 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.TaskStateTransitionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTransitionRecorderTest {
+
+    @Mock
+    private TaskStateTransitionRepository transitionRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flush_WritesQueuedTransitionsInBatches() {
+        TaskTransitionRecorder recorder = new TaskTransitionRecorder(transitionRepository, 10, 2, Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            recorder.record(transition());
+        }
+
+        assertEquals(5, recorder.flush());
+
+        verify(transitionRepository, times(2)).insertAll(argThat(batch -> batch.size() == 2));
+        verify(transitionRepository).insertAll(argThat(batch -> batch.size() == 1));
+        assertEquals(0, recorder.flush());
+    }
+
+    @Test
+    void record_WaitsForTransactionCommit() {
+        TaskTransitionRecorder recorder = new TaskTransitionRecorder(transitionRepository, 10, 10, Duration.ofSeconds(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        recorder.record(transition());
+        assertEquals(0, recorder.flush());
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(1, recorder.flush());
+        verify(transitionRepository, times(1)).insertAll(argThat(batch -> batch.size() == 1));
+    }
+
+    @Test
+    void record_WritesInlineWhenQueueIsFull() {
+        TaskTransitionRecorder recorder = new TaskTransitionRecorder(transitionRepository, 1, 10, Duration.ofSeconds(1));
+        recorder.record(transition());
+        TaskStateTransition overflow = transition();
+
+        recorder.record(overflow);
+
+        verify(transitionRepository).insertAll(List.of(overflow));
+        assertEquals(1, recorder.flush());
+    }
+
+    private TaskStateTransition transition() {
+        return TaskStateTransition.builder()
+                .id(UUID.randomUUID())
+                .taskId(UUID.randomUUID())
+                .projectId(UUID.randomUUID())
+                .fromState(TaskState.BACKLOG)
+                .toState(TaskState.IN_ANALYSIS)
+                .actorId(UUID.randomUUID())
+                .transitionedAt(LocalDateTime.now())
+                .build();
+    }
+}
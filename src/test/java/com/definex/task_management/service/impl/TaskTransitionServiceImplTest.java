@@ -0,0 +1,188 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.CycleTimeResponse;
+import com.definex.task_management.dto.TaskTransitionResponse;
+import com.definex.task_management.entity.Project;
+import com.definex.task_management.entity.Task;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.ProjectStatus;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.exception.EntityNotFoundException;
+import com.definex.task_management.repository.CycleTimeStats;
+import com.definex.task_management.repository.ProjectRepository;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.TaskStateTransition;
+import com.definex.task_management.repository.TaskStateTransitionRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTransitionServiceImplTest {
+
+    @Mock
+    private TaskStateTransitionRepository transitionRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private TaskTransitionServiceImpl taskTransitionService;
+
+    private UUID taskId;
+    private UUID projectId;
+    private UUID userId;
+    private Project project;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskId = UUID.randomUUID();
+        projectId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+
+        User user = User.builder()
+                .id(userId)
+                .name("Test User")
+                .email("test@example.com")
+                .role(UserRole.TEAM_LEADER)
+                .department("IT")
+                .build();
+
+        project = Project.builder()
+                .id(projectId)
+                .title("Test Project")
+                .department("IT")
+                .status(ProjectStatus.IN_PROGRESS)
+                .teamMembers(new HashSet<>(Collections.singletonList(user)))
+                .tasks(new HashSet<>())
+                .build();
+
+        task = Task.builder()
+                .id(taskId)
+                .title("Test Task")
+                .state(TaskState.IN_ANALYSIS)
+                .project(project)
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        lenient().when(projectRepository.isTeamMember(projectId, userId)).thenReturn(true);
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getTaskHistory_ReturnsTransitionsInOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 9, 0);
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(transitionRepository.findByTaskId(taskId)).thenReturn(List.of(
+                transition(null, TaskState.BACKLOG, createdAt),
+                transition(TaskState.BACKLOG, TaskState.IN_ANALYSIS, createdAt.plusHours(3))));
+
+        List<TaskTransitionResponse> history = taskTransitionService.getTaskHistory(taskId);
+
+        assertEquals(2, history.size());
+        assertNull(history.get(0).getFromState());
+        assertEquals(TaskState.IN_ANALYSIS, history.get(1).getToState());
+        assertEquals(createdAt.plusHours(3), history.get(1).getTransitionedAt());
+    }
+
+    @Test
+    void getTaskHistory_ValidatesProjectAccess() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        when(projectRepository.isTeamMember(projectId, userId)).thenReturn(false);
+
+        assertThrows(DeniedAccessException.class, () -> taskTransitionService.getTaskHistory(taskId));
+
+        verifyNoInteractions(transitionRepository);
+    }
+
+    @Test
+    void getTaskHistory_TaskNotFound() {
+        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> taskTransitionService.getTaskHistory(taskId));
+    }
+
+    @Test
+    void getCycleTime_ConvertsPercentilesToHours() {
+        LocalDateTime from = LocalDateTime.of(2026, 9, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 10, 1, 0, 0);
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(transitionRepository.findCycleTimeStats(projectId, from, to)).thenReturn(CycleTimeStats.builder()
+                .completedTasks(4)
+                .p50Seconds(7200.0)
+                .p75Seconds(10800.0)
+                .p90Seconds(36000.0)
+                .p95Seconds(72000.0)
+                .averageSeconds(18000.0)
+                .build());
+
+        CycleTimeResponse response = taskTransitionService.getCycleTime(projectId, from, to);
+
+        assertEquals(4, response.getCompletedTasks());
+        assertEquals(2.0, response.getP50Hours());
+        assertEquals(20.0, response.getP95Hours());
+        assertEquals(5.0, response.getAverageHours());
+    }
+
+    @Test
+    void getCycleTime_DefaultsToTrailingWindowWithoutCompletions() {
+        when(projectRepository.findById(projectId)).thenReturn(Optional.of(project));
+        when(transitionRepository.findCycleTimeStats(eq(projectId), any(), any()))
+                .thenReturn(CycleTimeStats.builder().completedTasks(0).build());
+
+        CycleTimeResponse response = taskTransitionService.getCycleTime(projectId, null, null);
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(transitionRepository).findCycleTimeStats(eq(projectId), from.capture(), to.capture());
+        assertEquals(to.getValue().minusDays(TaskTransitionServiceImpl.DEFAULT_WINDOW_DAYS), from.getValue());
+        assertEquals(0, response.getCompletedTasks());
+        assertNull(response.getP50Hours());
+    }
+
+    private TaskStateTransition transition(TaskState fromState, TaskState toState, LocalDateTime at) {
+        return TaskStateTransition.builder()
+                .id(UUID.randomUUID())
+                .taskId(taskId)
+                .projectId(projectId)
+                .fromState(fromState)
+                .toState(toState)
+                .actorId(userId)
+                .transitionedAt(at)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.repository.TaskRepository;
+import com.definex.task_management.repository.projection.AssigneeWorkloadView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWorkloadCountersTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private TaskWorkloadCounters workloadCounters;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rebuild_ReplacesCountsWithDatabaseTotals() {
+        workloadCounters.adjust(List.of(userId), TaskState.BLOCKED, TaskPriority.LOW, 1);
+        List<AssigneeWorkloadView> rows = List.of(row(TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 3));
+        when(taskRepository.countAssignedTasksByState(TaskWorkloadCounters.OPEN_STATES)).thenReturn(rows);
+
+        workloadCounters.rebuild();
+
+        assertEquals(3, workloadCounters.count(userId, TaskState.IN_DEVELOPMENT, TaskPriority.HIGH));
+        assertEquals(0, workloadCounters.count(userId, TaskState.BLOCKED, TaskPriority.LOW));
+    }
+
+    @Test
+    void rebuild_ReplaysChangesAppliedWhileReading() {
+        List<AssigneeWorkloadView> rows = List.of(row(TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 3));
+        when(taskRepository.countAssignedTasksByState(TaskWorkloadCounters.OPEN_STATES)).thenAnswer(invocation -> {
+            workloadCounters.adjust(List.of(userId), TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 1);
+            return rows;
+        });
+
+        workloadCounters.rebuild();
+        workloadCounters.adjust(List.of(userId), TaskState.BLOCKED, TaskPriority.LOW, 1);
+
+        assertEquals(4, workloadCounters.count(userId, TaskState.IN_DEVELOPMENT, TaskPriority.HIGH));
+        assertEquals(1, workloadCounters.count(userId, TaskState.BLOCKED, TaskPriority.LOW));
+    }
+
+    @Test
+    void rebuild_DoesNotReplayChangesCommittedBeforeTheSnapshot() {
+        TransactionSynchronizationManager.initSynchronization();
+        workloadCounters.adjust(List.of(userId), TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 1);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+
+        List<AssigneeWorkloadView> rows = List.of(row(TaskState.IN_DEVELOPMENT, TaskPriority.HIGH, 3));
+        when(taskRepository.countAssignedTasksByState(TaskWorkloadCounters.OPEN_STATES)).thenReturn(rows);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(workloadCounters::rebuild);
+        verify(taskRepository, after(100).never()).openSnapshot();
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        rebuild.join();
+
+        assertEquals(3, workloadCounters.count(userId, TaskState.IN_DEVELOPMENT, TaskPriority.HIGH));
+    }
+
+    @Test
+    void move_ShiftsCountAndIgnoresClosedStates() {
+        workloadCounters.adjust(List.of(userId), TaskState.IN_ANALYSIS, TaskPriority.MEDIUM, 1);
+
+        workloadCounters.move(List.of(userId), TaskState.IN_ANALYSIS, TaskPriority.MEDIUM,
+                TaskState.IN_DEVELOPMENT, TaskPriority.MEDIUM);
+        workloadCounters.move(List.of(userId), TaskState.IN_DEVELOPMENT, TaskPriority.MEDIUM,
+                TaskState.COMPLETED, TaskPriority.MEDIUM);
+
+        assertEquals(0, workloadCounters.count(userId, TaskState.IN_ANALYSIS, TaskPriority.MEDIUM));
+        assertEquals(0, workloadCounters.count(userId, TaskState.IN_DEVELOPMENT, TaskPriority.MEDIUM));
+        assertEquals(0, workloadCounters.count(userId, TaskState.COMPLETED, TaskPriority.MEDIUM));
+        assertEquals(0, workloadCounters.count(UUID.randomUUID(), TaskState.BACKLOG, TaskPriority.MEDIUM));
+    }
+
+    @Test
+    void adjust_WaitsForTransactionCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        workloadCounters.adjust(List.of(userId), TaskState.BACKLOG, TaskPriority.CRITICAL, 1);
+        assertEquals(0, workloadCounters.count(userId, TaskState.BACKLOG, TaskPriority.CRITICAL));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertEquals(1, workloadCounters.count(userId, TaskState.BACKLOG, TaskPriority.CRITICAL));
+    }
+
+    private AssigneeWorkloadView row(TaskState state, TaskPriority priority, long count) {
+        AssigneeWorkloadView view = mock(AssigneeWorkloadView.class);
+        when(view.getUserId()).thenReturn(userId);
+        when(view.getState()).thenReturn(state);
+        when(view.getPriority()).thenReturn(priority);
+        when(view.getTaskCount()).thenReturn(count);
+        return view;
+    }
+}
@@ -0,0 +1,111 @@
+package com.definex.task_management.service.impl;
+
+import com.definex.task_management.dto.DepartmentWorkloadResponse;
+import com.definex.task_management.dto.UserWorkloadResponse;
+import com.definex.task_management.entity.User;
+import com.definex.task_management.enums.TaskPriority;
+import com.definex.task_management.enums.TaskState;
+import com.definex.task_management.enums.UserRole;
+import com.definex.task_management.exception.DeniedAccessException;
+import com.definex.task_management.repository.UserRepository;
+import com.definex.task_management.security.CustomUserDetails;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TaskWorkloadCounters workloadCounters;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private WorkloadServiceImpl workloadService;
+
+    private User user;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .name("Lead")
+                .email("lead@example.com")
+                .role(UserRole.TEAM_LEADER)
+                .department("IT")
+                .build();
+        developer = User.builder()
+                .id(UUID.randomUUID())
+                .name("Dev")
+                .email("dev@example.com")
+                .role(UserRole.TEAM_MEMBER)
+                .department("IT")
+                .build();
+
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getPrincipal()).thenReturn(new CustomUserDetails(user));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getDepartmentWorkload_SumsCountersAndListsLeastLoadedFirst() {
+        when(userRepository.findByDepartmentOrderByName("IT")).thenReturn(List.of(developer, user));
+        Map<String, Integer> counts = Map.of(
+                key(developer.getId(), TaskState.IN_DEVELOPMENT, TaskPriority.HIGH), 2,
+                key(developer.getId(), TaskState.BLOCKED, TaskPriority.LOW), 1);
+        when(workloadCounters.count(any(), any(), any())).thenAnswer(invocation -> counts.getOrDefault(
+                key(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)), 0));
+
+        DepartmentWorkloadResponse response = workloadService.getDepartmentWorkload("IT");
+
+        assertEquals(3, response.getOpenTasks());
+        assertEquals(user.getId(), response.getUsers().get(0).getUserId());
+        UserWorkloadResponse workload = response.getUsers().get(1);
+        assertEquals(3, workload.getOpenTasks());
+        assertEquals(2L, workload.getTasksByState().get(TaskState.IN_DEVELOPMENT));
+        assertEquals(1L, workload.getTasksByPriority().get(TaskPriority.LOW));
+        assertEquals(0L, workload.getTasksByPriority().get(TaskPriority.CRITICAL));
+        assertFalse(workload.getTasksByState().containsKey(TaskState.COMPLETED));
+    }
+
+    @Test
+    void getDepartmentWorkload_RejectsOtherDepartment() {
+        assertThrows(DeniedAccessException.class, () -> workloadService.getDepartmentWorkload("HR"));
+
+        verify(userRepository, never()).findByDepartmentOrderByName(any());
+        verifyNoInteractions(workloadCounters);
+    }
+
+    private static String key(UUID userId, TaskState state, TaskPriority priority) {
+        return userId + ":" + state + ":" + priority;
+    }
+}